@@ -15,10 +15,8 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletResponse;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -28,6 +26,7 @@ import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
 import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsExportFilter;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -41,6 +40,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -66,13 +66,13 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         EventRepresentationModelAssembler eventRepresentationModelAssembler,
         APIEventToEntityConverters eventConverters,
         AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler,
-        ObjectMapper objectMapper
+        AuditEventsExporter auditEventsExporter
     ) {
         this.eventsRepository = eventsRepository;
         this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
         this.eventConverters = eventConverters;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
-        this.auditEventsExporter = new AuditEventsExporter(objectMapper);
+        this.auditEventsExporter = auditEventsExporter;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -89,13 +89,23 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
     }
 
     @GetMapping(path = "/export/{fileName}")
-    public void export(@PathVariable(value = "fileName") String fileName, HttpServletResponse response)
-        throws Exception {
-        Collection<AuditEventEntity> allAuditInPage = eventsRepository.findAllByOrderByTimestampDesc();
-
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = toCloudRuntimeEvents(allAuditInPage);
-
-        auditEventsExporter.exportCsv(events, fileName, response);
+    public void export(
+        @PathVariable(value = "fileName") String fileName,
+        @RequestParam(value = "from", required = false) Long fromTimestamp,
+        @RequestParam(value = "to", required = false) Long toTimestamp,
+        @RequestParam(value = "processInstanceId", required = false) String processInstanceId,
+        @RequestParam(value = "eventType", required = false) List<String> eventTypes,
+        @RequestParam(value = "format", defaultValue = "csv") String format,
+        @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+        HttpServletResponse response
+    ) throws Exception {
+        AuditEventsExportFilter filter = new AuditEventsExportFilter(
+            fromTimestamp,
+            toTimestamp,
+            processInstanceId,
+            eventTypes
+        );
+        auditEventsExporter.export(filter, fileName, AuditEventsExporter.Format.fromValue(format), gzip, response);
     }
 
     private List<CloudRuntimeEvent<?, CloudRuntimeEventType>> toCloudRuntimeEvents(
@@ -104,8 +114,14 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
 
         for (AuditEventEntity aee : allAuditInPage) {
-            events.add(eventConverters.getConverterByEventTypeName(aee.getEventType()).convertToAPI(aee));
+            events.add(toCloudRuntimeEvent(aee));
         }
         return events;
     }
+
+    private CloudRuntimeEvent<?, CloudRuntimeEventType> toCloudRuntimeEvent(AuditEventEntity auditEventEntity) {
+        return eventConverters
+            .getConverterByEventTypeName(auditEventEntity.getEventType())
+            .convertToAPI(auditEventEntity);
+    }
 }
@@ -17,6 +17,7 @@ package org.activiti.cloud.services.audit.jpa.controllers;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
@@ -42,6 +43,8 @@ import org.springframework.web.bind.annotation.RestController;
 )
 public class AuditEventsDeleteController {
 
+    private static final int DELETE_CHUNK_SIZE = 1000;
+
     private final EventsRepository eventsRepository;
 
     private final EventRepresentationModelAssembler eventRepresentationModelAssembler;
@@ -63,8 +66,10 @@ public class AuditEventsDeleteController {
     public CollectionModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> deleteEvents() {
         Collection<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> result = new ArrayList<>();
         Iterable<AuditEventEntity> iterable = eventsRepository.findAll();
+        List<Long> ids = new ArrayList<>();
 
         for (AuditEventEntity entity : iterable) {
+            ids.add(entity.getId());
             result.add(
                 eventRepresentationModelAssembler.toModel(
                     eventConverters.getConverterByEventTypeName(entity.getEventType()).convertToAPI(entity)
@@ -72,7 +77,10 @@ public class AuditEventsDeleteController {
             );
         }
 
-        eventsRepository.deleteAll(iterable);
+        // delete by id chunks rather than one statement per entity
+        for (int from = 0; from < ids.size(); from += DELETE_CHUNK_SIZE) {
+            eventsRepository.deleteAllByIdIn(ids.subList(from, Math.min(from + DELETE_CHUNK_SIZE, ids.size())));
+        }
 
         return CollectionModel.of(result);
     }
@@ -16,62 +16,139 @@
 package org.activiti.cloud.services.audit.jpa.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import jakarta.servlet.http.HttpServletResponse;
-import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.jpa.controllers.csv.CsvLogEntry;
 import org.activiti.cloud.services.audit.jpa.controllers.csv.ObjectToJsonStrategy;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsExportFilter;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 public class AuditEventsExporter {
 
     private static final String HEADER_ATTACHMENT_FILENAME = "attachment;filename=";
     private static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
-    private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+    private static final String GZIP_ENCODING = "gzip";
+    private static final int BUFFER_SIZE = 64 * 1024;
 
-    private ObjectToJsonStrategy objectToJsonStrategy;
+    public enum Format {
+        CSV("text/csv"),
+        NDJSON("application/x-ndjson");
 
-    public AuditEventsExporter(ObjectMapper objectMapper) {
-        objectToJsonStrategy = new ObjectToJsonStrategy(objectMapper);
+        private final String contentType;
+
+        Format(String contentType) {
+            this.contentType = contentType;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public static Format fromValue(String value) {
+            return Arrays
+                .stream(values())
+                .filter(format -> format.name().equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unsupported export format '" + value + "'"));
+        }
+    }
+
+    private final EventsRepository eventsRepository;
+
+    private final APIEventToEntityConverters eventConverters;
+
+    private final ObjectToJsonStrategy objectToJsonStrategy;
+
+    private final ObjectWriter eventWriter;
+
+    public AuditEventsExporter(
+        EventsRepository eventsRepository,
+        APIEventToEntityConverters eventConverters,
+        ObjectMapper objectMapper
+    ) {
+        this.eventsRepository = eventsRepository;
+        this.eventConverters = eventConverters;
+        this.objectToJsonStrategy = new ObjectToJsonStrategy(objectMapper);
+        this.eventWriter = objectMapper.writer();
     }
 
-    public void exportCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
+    /**
+     * Writes the events matching the filter to the response while they are being read, so that only one event at a
+     * time is held in memory. The result stream is consumed inside the read-only transaction it was opened in.
+     */
+    @Transactional(readOnly = true)
+    public void export(
+        AuditEventsExportFilter filter,
         String fileName,
+        Format format,
+        boolean gzip,
         HttpServletResponse response
     ) throws Exception {
-        setHttpHeaders(fileName, response);
-        writeEventsAsCsv(events, response);
+        setHttpHeaders(fileName, format, gzip, response);
+
+        OutputStream outputStream = gzip
+            ? new GZIPOutputStream(response.getOutputStream(), BUFFER_SIZE)
+            : response.getOutputStream();
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        try (writer; Stream<AuditEventEntity> auditEvents = eventsRepository.streamForExport(filter)) {
+            Iterator<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = auditEvents
+                .map(this::toCloudRuntimeEvent)
+                .iterator();
+            if (format == Format.NDJSON) {
+                writeEventsAsNdjson(events, writer);
+            } else {
+                writeEventsAsCsv(events, writer);
+            }
+        }
     }
 
-    private void setHttpHeaders(String fileName, HttpServletResponse response) {
-        response.setContentType(CSV_CONTENT_TYPE);
-        response.setHeader(HEADER_CONTENT_DISPOSITION, HEADER_ATTACHMENT_FILENAME + fileName);
+    private CloudRuntimeEvent<?, CloudRuntimeEventType> toCloudRuntimeEvent(AuditEventEntity auditEventEntity) {
+        return eventConverters
+            .getConverterByEventTypeName(auditEventEntity.getEventType())
+            .convertToAPI(auditEventEntity);
     }
 
-    private void writeEventsAsCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
-        HttpServletResponse response
-    ) throws Exception {
-        List<CsvLogEntry> entries = toCsvLogEntryList(events);
+    private void setHttpHeaders(String fileName, Format format, boolean gzip, HttpServletResponse response) {
+        response.setContentType(format.getContentType());
+        response.setHeader(HEADER_CONTENT_DISPOSITION, HEADER_ATTACHMENT_FILENAME + fileName);
+        if (gzip) {
+            response.setHeader(HEADER_CONTENT_ENCODING, GZIP_ENCODING);
+        }
+    }
 
-        PrintWriter writer = response.getWriter();
-        StatefulBeanToCsv beanToCsv = new StatefulBeanToCsvBuilder<List<CloudRuntimeEvent>>(writer)
+    private void writeEventsAsCsv(Iterator<CloudRuntimeEvent<?, CloudRuntimeEventType>> events, Writer writer)
+        throws Exception {
+        StatefulBeanToCsv<CsvLogEntry> beanToCsv = new StatefulBeanToCsvBuilder<CsvLogEntry>(writer)
             .withMappingStrategy(objectToJsonStrategy)
             .build();
-        beanToCsv.write(entries);
-        writer.close();
+        while (events.hasNext()) {
+            beanToCsv.write(new CsvLogEntry(events.next()));
+        }
     }
 
-    private List<CsvLogEntry> toCsvLogEntryList(List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events) {
-        List<CsvLogEntry> entries = new ArrayList<>();
-        for (CloudRuntimeEvent event : events) {
-            entries.add(new CsvLogEntry(event));
+    private void writeEventsAsNdjson(Iterator<CloudRuntimeEvent<?, CloudRuntimeEventType>> events, Writer writer)
+        throws Exception {
+        while (events.hasNext()) {
+            writer.write(eventWriter.writeValueAsString(events.next()));
+            writer.write('\n');
         }
-        return entries;
     }
 }
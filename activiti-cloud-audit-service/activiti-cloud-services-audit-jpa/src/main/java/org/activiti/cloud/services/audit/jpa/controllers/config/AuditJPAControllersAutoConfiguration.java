@@ -15,12 +15,29 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsAdminControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsDeleteController;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsExporter;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
 @AutoConfiguration
 @Import({ AuditEventsAdminControllerImpl.class, AuditEventsControllerImpl.class, AuditEventsDeleteController.class })
-public class AuditJPAControllersAutoConfiguration {}
+public class AuditJPAControllersAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsExporter auditEventsExporter(
+        EventsRepository eventsRepository,
+        APIEventToEntityConverters eventConverters,
+        ObjectMapper objectMapper
+    ) {
+        return new AuditEventsExporter(eventsRepository, eventConverters, objectMapper);
+    }
+}
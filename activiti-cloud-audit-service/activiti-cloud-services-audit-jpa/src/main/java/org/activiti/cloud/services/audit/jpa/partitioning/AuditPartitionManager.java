@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Maintains the monthly range partitions of the audit table on PostgreSQL. Partitions are created ahead of time, so
+ * that new events never land in the default partition, and whole partitions can be dropped by the retention.
+ * Queries bounded on the event timestamp only scan the matching partitions.
+ */
+public class AuditPartitionManager {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditPartitionManager.class);
+
+    static final String TABLE_NAME = "audit_event";
+
+    static final String PARTITION_PREFIX = TABLE_NAME + "_p";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX_FORMAT = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String IS_PARTITIONED_QUERY =
+        "select count(*) from pg_partitioned_table pt join pg_class c on c.oid = pt.partrelid where c.relname = ?";
+
+    private static final String PARTITIONS_QUERY =
+        "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+        "join pg_class p on p.oid = i.inhparent where p.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuditPartitioningProperties properties;
+
+    private final Clock clock;
+
+    public AuditPartitionManager(JdbcTemplate jdbcTemplate, AuditPartitioningProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public boolean isPartitioned() {
+        try {
+            Integer count = jdbcTemplate.queryForObject(IS_PARTITIONED_QUERY, Integer.class, TABLE_NAME);
+            return count != null && count > 0;
+        } catch (DataAccessException e) {
+            // not a PostgreSQL database
+            return false;
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${activiti.cloud.audit.partitioning.cron:0 0 1 * * *}")
+    public void createPartitions() {
+        if (!isPartitioned()) {
+            LOGGER.warn("Audit partitioning is enabled but table '{}' is not partitioned", TABLE_NAME);
+            return;
+        }
+
+        YearMonth currentMonth = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= properties.getPrecreatedPartitions(); i++) {
+            createPartition(currentMonth.plusMonths(i));
+        }
+    }
+
+    /**
+     * Drops the partitions whose whole time range is before the given timestamp.
+     *
+     * @return the number of dropped partitions
+     */
+    public int dropPartitionsEndingBefore(long cutoffTimestamp) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+
+        int dropped = 0;
+        for (String partition : getPartitions()) {
+            Optional<YearMonth> month = partitionMonth(partition);
+            if (month.isPresent() && startOf(month.get().plusMonths(1)) <= cutoffTimestamp) {
+                jdbcTemplate.execute("drop table if exists " + partition);
+                LOGGER.info("Dropped audit partition '{}'", partition);
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    public List<String> getPartitions() {
+        return jdbcTemplate.queryForList(PARTITIONS_QUERY, String.class, TABLE_NAME);
+    }
+
+    static String partitionName(YearMonth month) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX_FORMAT.format(month);
+    }
+
+    static Optional<YearMonth> partitionMonth(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(
+                YearMonth.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX_FORMAT)
+            );
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    static long startOf(YearMonth month) {
+        return month.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private void createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        try {
+            jdbcTemplate.execute(
+                "create table if not exists " +
+                partition +
+                " partition of " +
+                TABLE_NAME +
+                " for values from (" +
+                startOf(month) +
+                ") to (" +
+                startOf(month.plusMonths(1)) +
+                ")"
+            );
+        } catch (DataAccessException e) {
+            // e.g. the default partition holds events of that month, which then stay out of the monthly retention
+            LOGGER.warn("Audit partition '{}' could not be created: {}", partition, e.getMessage());
+        }
+    }
+}
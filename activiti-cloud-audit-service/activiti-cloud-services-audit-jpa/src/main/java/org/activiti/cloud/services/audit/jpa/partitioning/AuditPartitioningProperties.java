@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.audit.partitioning")
+public class AuditPartitioningProperties {
+
+    /**
+     * Whether the monthly partitions of the audit table are maintained. The table has to be partitioned by the
+     * Liquibase changelog first, using spring.audit.liquibase.parameters.auditPartitioning=true (PostgreSQL only).
+     */
+    private boolean enabled = false;
+
+    /**
+     * Cron expression of the partition maintenance schedule.
+     */
+    private String cron = "0 0 1 * * *";
+
+    /**
+     * Number of monthly partitions created ahead of the current month.
+     */
+    private int precreatedPartitions = 3;
+
+    public AuditPartitioningProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public int getPrecreatedPartitions() {
+        return precreatedPartitions;
+    }
+
+    public void setPrecreatedPartitions(int precreatedPartitions) {
+        this.precreatedPartitions = precreatedPartitions;
+    }
+}
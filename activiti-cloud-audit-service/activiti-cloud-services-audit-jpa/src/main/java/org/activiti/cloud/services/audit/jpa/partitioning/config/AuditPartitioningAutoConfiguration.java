@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning.config;
+
+import java.time.Clock;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditPartitionManager;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditPartitioningProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "activiti.cloud.audit.partitioning.enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditPartitioningProperties.class)
+@EnableScheduling
+public class AuditPartitioningAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditPartitionManager auditPartitionManager(
+        JdbcTemplate jdbcTemplate,
+        AuditPartitioningProperties auditPartitioningProperties
+    ) {
+        return new AuditPartitionManager(jdbcTemplate, auditPartitioningProperties, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+
+public class AuditEventsExportFilter {
+
+    private final Long fromTimestamp;
+
+    private final Long toTimestamp;
+
+    private final String processInstanceId;
+
+    private final List<String> eventTypes;
+
+    public AuditEventsExportFilter(
+        Long fromTimestamp,
+        Long toTimestamp,
+        String processInstanceId,
+        List<String> eventTypes
+    ) {
+        this.fromTimestamp = fromTimestamp;
+        this.toTimestamp = toTimestamp;
+        this.processInstanceId = processInstanceId;
+        this.eventTypes = eventTypes;
+    }
+
+    public Long getFromTimestamp() {
+        return fromTimestamp;
+    }
+
+    public Long getToTimestamp() {
+        return toTimestamp;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public List<String> getEventTypes() {
+        return eventTypes;
+    }
+
+    public Predicate[] toPredicates(Root<AuditEventEntity> root, CriteriaBuilder builder) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (fromTimestamp != null) {
+            predicates.add(builder.greaterThanOrEqualTo(root.get("timestamp"), fromTimestamp));
+        }
+        if (toTimestamp != null) {
+            predicates.add(builder.lessThan(root.get("timestamp"), toTimestamp));
+        }
+        if (processInstanceId != null) {
+            predicates.add(builder.equal(root.get("processInstanceId"), processInstanceId));
+        }
+        if (eventTypes != null && !eventTypes.isEmpty()) {
+            predicates.add(root.get("eventType").in(eventTypes));
+        }
+        return predicates.toArray(new Predicate[0]);
+    }
+}
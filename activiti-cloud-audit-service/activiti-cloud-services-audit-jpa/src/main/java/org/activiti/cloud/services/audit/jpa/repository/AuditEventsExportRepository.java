@@ -0,0 +1,27 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import java.util.stream.Stream;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+
+public interface AuditEventsExportRepository {
+    /**
+     * Streams the events matching the filter, latest first, from a forward only cursor. The stream must be consumed
+     * and closed within a transaction; returned entities are detached, so memory stays bounded by the fetch size.
+     */
+    Stream<AuditEventEntity> streamForExport(AuditEventsExportFilter filter);
+}
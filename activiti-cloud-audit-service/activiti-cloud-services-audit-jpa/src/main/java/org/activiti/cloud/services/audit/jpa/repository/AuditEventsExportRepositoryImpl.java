@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.stream.Stream;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.hibernate.jpa.HibernateHints;
+
+public class AuditEventsExportRepositoryImpl implements AuditEventsExportRepository {
+
+    static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<AuditEventEntity> streamForExport(AuditEventsExportFilter filter) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditEventEntity> query = builder.createQuery(AuditEventEntity.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        query.select(root).where(filter.toPredicates(root, builder)).orderBy(builder.desc(root.get("timestamp")));
+
+        return entityManager
+            .createQuery(query)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+            .setHint(HibernateHints.HINT_READ_ONLY, true)
+            .getResultStream()
+            .peek(entityManager::detach);
+    }
+}
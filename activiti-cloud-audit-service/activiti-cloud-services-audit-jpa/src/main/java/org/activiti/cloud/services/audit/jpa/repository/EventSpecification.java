@@ -17,10 +17,14 @@ package org.activiti.cloud.services.audit.jpa.repository;
 
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.ClassUtils;
 
 public class EventSpecification implements Specification<AuditEventEntity> {
 
@@ -47,9 +51,9 @@ public class EventSpecification implements Specification<AuditEventEntity> {
             case NEGATION:
                 return builder.notEqual(root.get(criteria.getKey()), criteria.getValue());
             case GREATER_THAN:
-                return builder.greaterThan(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.greaterThan(comparablePath(root), comparableValue(root));
             case LESS_THAN:
-                return builder.lessThan(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.lessThan(comparablePath(root), comparableValue(root));
             case LIKE:
                 return builder.like(root.get(criteria.getKey()), criteria.getValue().toString());
             case STARTS_WITH:
@@ -62,4 +66,27 @@ public class EventSpecification implements Specification<AuditEventEntity> {
                 return null;
         }
     }
+
+    private Path<Comparable<Object>> comparablePath(Root<AuditEventEntity> root) {
+        return root.get(criteria.getKey());
+    }
+
+    /**
+     * Converts the value to the type of the attribute, so that ranges on numeric attributes like the timestamp are
+     * compared as numbers and can be used to prune the partitions of the audit table.
+     */
+    @SuppressWarnings("unchecked")
+    private Comparable<Object> comparableValue(Root<AuditEventEntity> root) {
+        Class<?> attributeType = ClassUtils.resolvePrimitiveIfNecessary(root.get(criteria.getKey()).getJavaType());
+        Object value = criteria.getValue();
+        ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+        if (
+            Comparable.class.isAssignableFrom(attributeType) &&
+            conversionService.canConvert(value.getClass(), attributeType)
+        ) {
+            return (Comparable<Object>) conversionService.convert(value, attributeType);
+        }
+        return (Comparable<Object>) (Comparable<?>) value.toString();
+    }
 }
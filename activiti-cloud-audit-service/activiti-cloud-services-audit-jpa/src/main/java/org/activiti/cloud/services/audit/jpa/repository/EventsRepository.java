@@ -19,14 +19,25 @@ import java.util.Collection;
 import java.util.Optional;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.data.rest.core.annotation.RepositoryRestResource;
+import org.springframework.transaction.annotation.Transactional;
 
 @RepositoryRestResource(exported = false)
 public interface EventsRepository<T extends AuditEventEntity>
-    extends PagingAndSortingRepository<T, Long>, JpaSpecificationExecutor<T>, CrudRepository<T, Long> {
+    extends
+        PagingAndSortingRepository<T, Long>,
+        JpaSpecificationExecutor<T>,
+        CrudRepository<T, Long>,
+        AuditEventsExportRepository {
     Optional<T> findByEventId(String eventId);
 
-    Collection<T> findAllByOrderByTimestampDesc();
+    @Transactional
+    @Modifying
+    @Query("delete from AuditEvent e where e.id in :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.activiti.api.process.model.events.ProcessRuntimeEvent;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes audit events with set based statements, a chunk of ids at a time. Only the ids of the events to delete are
+ * read, entities are never loaded, and every chunk is committed on its own so that locks are held briefly.
+ */
+public class AuditEventsPurger {
+
+    static final List<String> PROCESS_END_EVENT_TYPES = List.of(
+        ProcessRuntimeEvent.ProcessEvents.PROCESS_COMPLETED.name(),
+        ProcessRuntimeEvent.ProcessEvents.PROCESS_CANCELLED.name()
+    );
+
+    private static final String OLDER_THAN_QUERY = "select e.id from AuditEvent e where e.timestamp < :cutoff";
+
+    private static final String ENDED_PROCESS_INSTANCES_QUERY =
+        "select e.id from AuditEvent e where e.eventType not in :endEventTypes and e.processInstanceId in (" +
+        "select c.processInstanceId from AuditEvent c where c.eventType in :endEventTypes and c.timestamp < :cutoff)";
+
+    // an end event is the only marker of an ended process instance: it is kept until no other event of its process
+    // instance is left, so that a run cut short by maxChunksPerRun leaves nothing behind for good
+    private static final String PROCESS_END_EVENTS_QUERY =
+        "select e.id from AuditEvent e where e.eventType in :endEventTypes and e.timestamp < :cutoff and not exists (" +
+        "select o.id from AuditEvent o where o.processInstanceId = e.processInstanceId " +
+        "and o.eventType not in :endEventTypes)";
+
+    private static final String DELETE_QUERY = "delete from AuditEvent e where e.id in :ids";
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AuditRetentionProperties properties;
+
+    private final AtomicLong deletedEvents = new AtomicLong();
+
+    private final AtomicLong deletedChunks = new AtomicLong();
+
+    public AuditEventsPurger(
+        EntityManager entityManager,
+        TransactionTemplate transactionTemplate,
+        AuditRetentionProperties properties
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    public long purgeEventsOlderThan(long cutoffTimestamp) {
+        return purge(OLDER_THAN_QUERY, Map.of("cutoff", cutoffTimestamp));
+    }
+
+    public long purgeProcessInstancesEndedBefore(long cutoffTimestamp) {
+        Map<String, Object> parameters = Map.of("cutoff", cutoffTimestamp, "endEventTypes", PROCESS_END_EVENT_TYPES);
+        // the end events go last, they are what identifies the remaining events of the ended process instances
+        return purge(ENDED_PROCESS_INSTANCES_QUERY, parameters) + purge(PROCESS_END_EVENTS_QUERY, parameters);
+    }
+
+    public long getDeletedEvents() {
+        return deletedEvents.get();
+    }
+
+    public long getDeletedChunks() {
+        return deletedChunks.get();
+    }
+
+    private long purge(String idsQuery, Map<String, Object> parameters) {
+        long deleted = 0;
+        int chunks = 0;
+        int deletedInChunk;
+        do {
+            deletedInChunk = transactionTemplate.execute(status -> deleteChunk(idsQuery, parameters));
+            deleted += deletedInChunk;
+            chunks++;
+        } while (deletedInChunk == properties.getChunkSize() && !maxChunksReached(chunks) && pause());
+        return deleted;
+    }
+
+    private int deleteChunk(String idsQuery, Map<String, Object> parameters) {
+        TypedQuery<Long> query = entityManager
+            .createQuery(idsQuery, Long.class)
+            .setMaxResults(properties.getChunkSize());
+        parameters.forEach(query::setParameter);
+        List<Long> ids = query.getResultList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = entityManager.createQuery(DELETE_QUERY).setParameter("ids", ids).executeUpdate();
+        deletedEvents.addAndGet(deleted);
+        deletedChunks.incrementAndGet();
+        return ids.size();
+    }
+
+    private boolean maxChunksReached(int chunks) {
+        return properties.getMaxChunksPerRun() > 0 && chunks >= properties.getMaxChunksPerRun();
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPauseBetweenChunks().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Clock;
+import java.time.Duration;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditPartitionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+public class AuditRetentionJob {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditRetentionJob.class);
+
+    private final AuditEventsPurger auditEventsPurger;
+
+    private final AuditRetentionProperties properties;
+
+    private final Clock clock;
+
+    private final AuditPartitionManager auditPartitionManager;
+
+    private volatile long lastRunDeletedEvents;
+
+    private volatile long lastRunDurationMillis;
+
+    public AuditRetentionJob(AuditEventsPurger auditEventsPurger, AuditRetentionProperties properties, Clock clock) {
+        this(auditEventsPurger, properties, clock, null);
+    }
+
+    /**
+     * @param auditPartitionManager when not null, partitions older than the maximum age are dropped as a whole
+     *                              before the remaining events are purged
+     */
+    public AuditRetentionJob(
+        AuditEventsPurger auditEventsPurger,
+        AuditRetentionProperties properties,
+        Clock clock,
+        AuditPartitionManager auditPartitionManager
+    ) {
+        this.auditEventsPurger = auditEventsPurger;
+        this.properties = properties;
+        this.clock = clock;
+        this.auditPartitionManager = auditPartitionManager;
+    }
+
+    @Scheduled(cron = "${activiti.cloud.audit.retention.cron:0 0 2 * * *}")
+    public void purge() {
+        long start = clock.millis();
+        long deleted = 0;
+
+        if (properties.getMaxAge() != null) {
+            long cutoff = cutoff(start, properties.getMaxAge());
+            if (auditPartitionManager != null) {
+                int droppedPartitions = auditPartitionManager.dropPartitionsEndingBefore(cutoff);
+                LOGGER.info("Audit retention dropped {} partitions", droppedPartitions);
+            }
+            deleted += auditEventsPurger.purgeEventsOlderThan(cutoff);
+        }
+        if (properties.getCompletedProcessInstanceMaxAge() != null) {
+            deleted +=
+                auditEventsPurger.purgeProcessInstancesEndedBefore(
+                    cutoff(start, properties.getCompletedProcessInstanceMaxAge())
+                );
+        }
+
+        lastRunDeletedEvents = deleted;
+        lastRunDurationMillis = clock.millis() - start;
+        LOGGER.info("Audit retention purged {} events in {} ms", deleted, lastRunDurationMillis);
+    }
+
+    public long getLastRunDeletedEvents() {
+        return lastRunDeletedEvents;
+    }
+
+    public long getLastRunDurationMillis() {
+        return lastRunDurationMillis;
+    }
+
+    private long cutoff(long now, Duration maxAge) {
+        return now - maxAge.toMillis();
+    }
+}
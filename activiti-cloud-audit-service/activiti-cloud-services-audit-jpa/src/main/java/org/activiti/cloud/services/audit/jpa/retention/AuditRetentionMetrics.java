@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class AuditRetentionMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.audit.retention";
+
+    private final AuditEventsPurger auditEventsPurger;
+
+    private final AuditRetentionJob auditRetentionJob;
+
+    public AuditRetentionMetrics(AuditEventsPurger auditEventsPurger, AuditRetentionJob auditRetentionJob) {
+        this.auditEventsPurger = auditEventsPurger;
+        this.auditRetentionJob = auditRetentionJob;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".deleted", auditEventsPurger, AuditEventsPurger::getDeletedEvents)
+            .description("Number of audit events deleted by the retention purge")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".chunks", auditEventsPurger, AuditEventsPurger::getDeletedChunks)
+            .description("Number of delete statements run by the retention purge")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + ".last.run.deleted", auditRetentionJob, AuditRetentionJob::getLastRunDeletedEvents)
+            .description("Number of audit events deleted by the last retention run")
+            .register(registry);
+        Gauge
+            .builder(
+                METRIC_PREFIX + ".last.run.duration",
+                auditRetentionJob,
+                AuditRetentionJob::getLastRunDurationMillis
+            )
+            .description("Duration of the last retention run")
+            .baseUnit("milliseconds")
+            .register(registry);
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.audit.retention")
+public class AuditRetentionProperties {
+
+    /**
+     * Whether audit events are purged periodically.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Cron expression of the purge schedule.
+     */
+    private String cron = "0 0 2 * * *";
+
+    /**
+     * Events older than this are deleted. Not set means events are kept regardless of their age.
+     */
+    private Duration maxAge;
+
+    /**
+     * Events of process instances that completed or were cancelled longer ago than this are deleted.
+     * Not set means the events of ended process instances are kept.
+     */
+    private Duration completedProcessInstanceMaxAge;
+
+    /**
+     * Number of events deleted by each statement, each one in its own transaction.
+     */
+    private int chunkSize = 1000;
+
+    /**
+     * Pause between two chunks, so that the purge does not starve the ingestion of new events.
+     */
+    private Duration pauseBetweenChunks = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of chunks deleted by each rule in a single run, 0 means no limit.
+     */
+    private int maxChunksPerRun = 0;
+
+    public AuditRetentionProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCron() {
+        return cron;
+    }
+
+    public void setCron(String cron) {
+        this.cron = cron;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public Duration getCompletedProcessInstanceMaxAge() {
+        return completedProcessInstanceMaxAge;
+    }
+
+    public void setCompletedProcessInstanceMaxAge(Duration completedProcessInstanceMaxAge) {
+        this.completedProcessInstanceMaxAge = completedProcessInstanceMaxAge;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getPauseBetweenChunks() {
+        return pauseBetweenChunks;
+    }
+
+    public void setPauseBetweenChunks(Duration pauseBetweenChunks) {
+        this.pauseBetweenChunks = pauseBetweenChunks;
+    }
+
+    public int getMaxChunksPerRun() {
+        return maxChunksPerRun;
+    }
+
+    public void setMaxChunksPerRun(int maxChunksPerRun) {
+        this.maxChunksPerRun = maxChunksPerRun;
+    }
+}
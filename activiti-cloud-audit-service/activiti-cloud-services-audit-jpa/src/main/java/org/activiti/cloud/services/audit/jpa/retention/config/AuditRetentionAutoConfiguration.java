@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention.config;
+
+import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import org.activiti.cloud.services.audit.jpa.partitioning.AuditPartitionManager;
+import org.activiti.cloud.services.audit.jpa.retention.AuditEventsPurger;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionJob;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionMetrics;
+import org.activiti.cloud.services.audit.jpa.retention.AuditRetentionProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "activiti.cloud.audit.retention.enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditRetentionProperties.class)
+@EnableScheduling
+public class AuditRetentionAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsPurger auditEventsPurger(
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        AuditRetentionProperties auditRetentionProperties
+    ) {
+        return new AuditEventsPurger(
+            entityManager,
+            new TransactionTemplate(transactionManager),
+            auditRetentionProperties
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditRetentionJob auditRetentionJob(
+        AuditEventsPurger auditEventsPurger,
+        AuditRetentionProperties auditRetentionProperties,
+        ObjectProvider<AuditPartitionManager> auditPartitionManager
+    ) {
+        return new AuditRetentionJob(
+            auditEventsPurger,
+            auditRetentionProperties,
+            Clock.systemUTC(),
+            auditPartitionManager.getIfAvailable()
+        );
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class AuditRetentionMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditRetentionMetrics auditRetentionMetrics(
+            AuditEventsPurger auditEventsPurger,
+            AuditRetentionJob auditRetentionJob
+        ) {
+            return new AuditRetentionMetrics(auditEventsPurger, auditRetentionJob);
+        }
+    }
+}
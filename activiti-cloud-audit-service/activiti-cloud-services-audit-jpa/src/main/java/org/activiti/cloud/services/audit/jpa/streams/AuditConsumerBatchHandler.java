@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Stores the events of a batch of broker messages, as delivered by the audit binding in consumer batch mode, in a
+ * single transaction. Each message of the batch gets its own message id, as it would when consumed on its own.
+ * <p>
+ * When the batch fails, each of its messages is stored again on its own. If a message still fails, its exception is
+ * rethrown and the broker redelivers the whole batch, so the messages of the batch stored before it are stored again.
+ */
+public class AuditConsumerBatchHandler {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditConsumerBatchHandler.class);
+
+    private final EventsRepository eventsRepository;
+
+    private final AuditEventEntityFactory auditEventEntityFactory;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AuditConsumerChannelHandler singleMessageHandler;
+
+    public AuditConsumerBatchHandler(
+        EventsRepository eventsRepository,
+        APIEventToEntityConverters eventConverters,
+        TransactionTemplate transactionTemplate,
+        AuditConsumerChannelHandler singleMessageHandler
+    ) {
+        this.eventsRepository = eventsRepository;
+        this.auditEventEntityFactory = new AuditEventEntityFactory(eventConverters);
+        this.transactionTemplate = transactionTemplate;
+        this.singleMessageHandler = singleMessageHandler;
+    }
+
+    public void receiveCloudRuntimeEvents(MessageHeaders batchHeaders, List<List<CloudRuntimeEvent<?, ?>>> payloads) {
+        List<BatchedMessage> messages = new ArrayList<>();
+        for (List<CloudRuntimeEvent<?, ?>> payload : payloads) {
+            CloudRuntimeEvent<?, ?>[] events = Optional
+                .ofNullable(payload)
+                .orElse(List.of())
+                .toArray(new CloudRuntimeEvent[0]);
+            // copying the headers gives the message a new id
+            messages.add(new BatchedMessage(new MessageHeaders(batchHeaders), events));
+        }
+
+        try {
+            store(messages);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to store a batch of {} audit messages, storing them one by one", messages.size(), e);
+            messages.forEach(message -> singleMessageHandler.receiveCloudRuntimeEvent(message.headers, message.events));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void store(List<BatchedMessage> messages) {
+        transactionTemplate.execute(status -> {
+            List<AuditEventEntity> entities = new ArrayList<>();
+            for (BatchedMessage message : messages) {
+                entities.addAll(auditEventEntityFactory.toEntities(message.headers, message.events));
+            }
+            return eventsRepository.saveAll(entities);
+        });
+    }
+
+    private static class BatchedMessage {
+
+        private final MessageHeaders headers;
+
+        private final CloudRuntimeEvent<?, ?>[] events;
+
+        private BatchedMessage(MessageHeaders headers, CloudRuntimeEvent<?, ?>[] events) {
+            this.headers = headers;
+            this.events = events;
+        }
+    }
+}
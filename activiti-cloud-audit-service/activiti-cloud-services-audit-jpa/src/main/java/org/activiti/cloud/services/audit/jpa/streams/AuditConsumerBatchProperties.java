@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.audit.consumer.batch")
+public class AuditConsumerBatchProperties {
+
+    /**
+     * Whether the audit binding consumes the broker messages in batches, storing the events of a batch in a single
+     * transaction. The binding consumer batch settings are derived from these properties.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of broker messages in a batch. With RabbitMQ it should not exceed the consumer prefetch.
+     */
+    private int maxMessages = 20;
+
+    /**
+     * Maximum time, in milliseconds, the binder waits for more messages before delivering a partial batch.
+     */
+    private long receiveTimeout = 50;
+
+    public AuditConsumerBatchProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public void setMaxMessages(int maxMessages) {
+        this.maxMessages = maxMessages;
+    }
+
+    public long getReceiveTimeout() {
+        return receiveTimeout;
+    }
+
+    public void setReceiveTimeout(long receiveTimeout) {
+        this.receiveTimeout = receiveTimeout;
+    }
+}
@@ -25,13 +25,21 @@ import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverte
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannels;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerBatchHandler;
+import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerBatchProperties;
 import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerChannelHandlerImpl;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @AutoConfiguration
+@EnableConfigurationProperties(AuditConsumerBatchProperties.class)
 public class AuditJPAStreamsAutoConfiguration {
 
     @Bean
@@ -45,6 +53,11 @@ public class AuditJPAStreamsAutoConfiguration {
 
     @FunctionBinding(input = AuditConsumerChannels.AUDIT_CONSUMER)
     @Bean
+    @ConditionalOnProperty(
+        name = "activiti.cloud.audit.consumer.batch.enabled",
+        havingValue = "false",
+        matchIfMissing = true
+    )
     public Consumer<Message<List<CloudRuntimeEvent<?, ?>>>> auditConsumerChannelHandlerConsumer(
         AuditConsumerChannelHandler handler
     ) {
@@ -58,4 +71,41 @@ public class AuditJPAStreamsAutoConfiguration {
             );
         };
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "activiti.cloud.audit.consumer.batch.enabled", havingValue = "true")
+    static class AuditConsumerBatchConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public AuditConsumerBatchHandler auditConsumerBatchHandler(
+            EventsRepository eventsRepository,
+            APIEventToEntityConverters eventConverters,
+            PlatformTransactionManager transactionManager,
+            AuditConsumerChannelHandler handler
+        ) {
+            return new AuditConsumerBatchHandler(
+                eventsRepository,
+                eventConverters,
+                new TransactionTemplate(transactionManager),
+                handler
+            );
+        }
+
+        /**
+         * In consumer batch mode the binder delivers the payloads of several broker messages at once, each of them
+         * being the list of events of one message.
+         */
+        @FunctionBinding(input = AuditConsumerChannels.AUDIT_CONSUMER)
+        @Bean
+        public Consumer<Message<List<List<CloudRuntimeEvent<?, ?>>>>> auditConsumerBatchHandlerConsumer(
+            AuditConsumerBatchHandler batchHandler
+        ) {
+            return message ->
+                batchHandler.receiveCloudRuntimeEvents(
+                    message.getHeaders(),
+                    Optional.ofNullable(message.getPayload()).orElse(Collections.emptyList())
+                );
+        }
+    }
 }
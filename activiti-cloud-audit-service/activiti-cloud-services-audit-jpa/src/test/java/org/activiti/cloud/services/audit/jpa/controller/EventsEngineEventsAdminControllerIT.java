@@ -25,8 +25,11 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.activiti.api.model.shared.event.VariableEvent;
 import org.activiti.api.process.model.events.ProcessRuntimeEvent;
 import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
@@ -38,12 +41,15 @@ import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
 import org.activiti.cloud.services.audit.api.config.AuditAPIAutoConfiguration;
 import org.activiti.cloud.services.audit.jpa.conf.AuditJPAAutoConfiguration;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsAdminControllerImpl;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsExporter;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.events.VariableCreatedEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsExportFilter;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
@@ -61,7 +67,14 @@ import org.springframework.test.web.servlet.MvcResult;
 @WebMvcTest(AuditEventsAdminControllerImpl.class)
 @EnableSpringDataWebSupport
 @AutoConfigureMockMvc
-@Import({ AuditAPIAutoConfiguration.class, AuditJPAAutoConfiguration.class, AlfrescoWebAutoConfiguration.class })
+@Import(
+    {
+        AuditAPIAutoConfiguration.class,
+        AuditJPAAutoConfiguration.class,
+        AlfrescoWebAutoConfiguration.class,
+        AuditEventsExporter.class,
+    }
+)
 public class EventsEngineEventsAdminControllerIT {
 
     private static final String HEADER_ATTACHMENT_FILENAME = "attachment;filename=";
@@ -106,7 +119,7 @@ public class EventsEngineEventsAdminControllerIT {
         List<AuditEventEntity> events = buildEventsData(1);
         events.add(buildVariableAuditEventEntity(2));
 
-        given(eventsRepository.findAllByOrderByTimestampDesc()).willReturn(events);
+        given(eventsRepository.streamForExport(any(AuditEventsExportFilter.class))).willReturn(events.stream());
 
         MvcResult response = mockMvc
             .perform(get("/admin/{version}/events/export/" + CSV_FILENAME, "v1"))
@@ -116,6 +129,56 @@ public class EventsEngineEventsAdminControllerIT {
         assertCsv(response.getResponse(), CSV_CONTENT);
     }
 
+    @Test
+    public void exportEventsAsNdjsonUsingFilters() throws Exception {
+        List<AuditEventEntity> events = buildEventsData(1);
+        events.add(buildVariableAuditEventEntity(2));
+
+        ArgumentCaptor<AuditEventsExportFilter> filterCaptor = ArgumentCaptor.forClass(AuditEventsExportFilter.class);
+        given(eventsRepository.streamForExport(filterCaptor.capture())).willReturn(events.stream());
+
+        MvcResult response = mockMvc
+            .perform(
+                get("/admin/{version}/events/export/{fileName}", "v1", "audit.ndjson")
+                    .param("from", "1657205977000")
+                    .param("to", "1657205978000")
+                    .param("processInstanceId", "10")
+                    .param("eventType", "PROCESS_STARTED", "VARIABLE_CREATED")
+                    .param("format", "ndjson")
+            )
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(response.getResponse().getContentType()).isEqualTo("application/x-ndjson");
+        assertThat(response.getResponse().getContentAsString().split("\n"))
+            .hasSize(2)
+            .allSatisfy(line -> assertThatJson(line).node("appName").isEqualTo("testApp"));
+        assertThat(filterCaptor.getValue().getFromTimestamp()).isEqualTo(1657205977000L);
+        assertThat(filterCaptor.getValue().getToTimestamp()).isEqualTo(1657205978000L);
+        assertThat(filterCaptor.getValue().getProcessInstanceId()).isEqualTo("10");
+        assertThat(filterCaptor.getValue().getEventTypes()).containsExactly("PROCESS_STARTED", "VARIABLE_CREATED");
+    }
+
+    @Test
+    public void exportEventsCompressed() throws Exception {
+        given(eventsRepository.streamForExport(any(AuditEventsExportFilter.class)))
+            .willReturn(buildEventsData(1).stream());
+
+        MvcResult response = mockMvc
+            .perform(get("/admin/{version}/events/export/" + CSV_FILENAME, "v1").param("gzip", "true"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThat(response.getResponse().getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (
+            GZIPInputStream content = new GZIPInputStream(
+                new ByteArrayInputStream(response.getResponse().getContentAsByteArray())
+            )
+        ) {
+            assertThat(new String(content.readAllBytes(), StandardCharsets.UTF_8)).contains("\"PROCESS_STARTED\"");
+        }
+    }
+
     private List<AuditEventEntity> buildEventsData(int recordsNumber) {
         List<AuditEventEntity> eventsList = new ArrayList<>();
 
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.partitioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditPartitionManagerTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2023-06-15T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    public void should_namePartitionsAfterTheirMonth() {
+        assertThat(AuditPartitionManager.partitionName(YearMonth.of(2023, 6))).isEqualTo("audit_event_p202306");
+        assertThat(AuditPartitionManager.partitionMonth("audit_event_p202306")).contains(YearMonth.of(2023, 6));
+        assertThat(AuditPartitionManager.partitionMonth("audit_event_default")).isEmpty();
+    }
+
+    @Test
+    public void should_createCurrentAndPrecreatedPartitions() {
+        //given
+        AuditPartitioningProperties properties = new AuditPartitioningProperties();
+        properties.setPrecreatedPartitions(1);
+        givenPartitionedTable();
+        AuditPartitionManager partitionManager = new AuditPartitionManager(jdbcTemplate, properties, clock);
+
+        //when
+        partitionManager.createPartitions();
+
+        //then
+        verify(jdbcTemplate)
+            .execute(
+                "create table if not exists audit_event_p202306 partition of audit_event " +
+                "for values from (1685577600000) to (1688169600000)"
+            );
+        verify(jdbcTemplate)
+            .execute(
+                "create table if not exists audit_event_p202307 partition of audit_event " +
+                "for values from (1688169600000) to (1690848000000)"
+            );
+    }
+
+    @Test
+    public void should_notCreatePartitionsWhenTableIsNotPartitioned() {
+        //given
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("audit_event"))).willReturn(0);
+        AuditPartitionManager partitionManager = new AuditPartitionManager(
+            jdbcTemplate,
+            new AuditPartitioningProperties(),
+            clock
+        );
+
+        //when
+        partitionManager.createPartitions();
+
+        //then
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    public void should_dropOnlyPartitionsEndingBeforeTheCutoff() {
+        //given
+        givenPartitionedTable();
+        given(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("audit_event")))
+            .willReturn(List.of("audit_event_default", "audit_event_p202304", "audit_event_p202305"));
+        AuditPartitionManager partitionManager = new AuditPartitionManager(
+            jdbcTemplate,
+            new AuditPartitioningProperties(),
+            clock
+        );
+
+        //when
+        int dropped = partitionManager.dropPartitionsEndingBefore(
+            AuditPartitionManager.startOf(YearMonth.of(2023, 5)) + 1
+        );
+
+        //then
+        assertThat(dropped).isEqualTo(1);
+        verify(jdbcTemplate).execute("drop table if exists audit_event_p202304");
+        verify(jdbcTemplate, never()).execute("drop table if exists audit_event_p202305");
+        verify(jdbcTemplate, never()).execute("drop table if exists audit_event_default");
+    }
+
+    private void givenPartitionedTable() {
+        given(jdbcTemplate.queryForObject(anyString(), eq(Integer.class), eq("audit_event"))).willReturn(1);
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.activiti.api.process.model.events.ProcessRuntimeEvent.ProcessEvents;
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessCancelledAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessCompletedEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessUpdatedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@TestPropertySource("classpath:application-test.properties")
+@SpringBootTest
+@EnableAutoConfiguration
+public class AuditEventsPurgerIT {
+
+    private static final long CUTOFF = 1_000L;
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    private AuditRetentionProperties properties;
+
+    private AuditEventsPurger purger;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new AuditRetentionProperties();
+        properties.setPauseBetweenChunks(Duration.ZERO);
+        purger = new AuditEventsPurger(entityManager, new TransactionTemplate(transactionManager), properties);
+    }
+
+    @AfterEach
+    public void cleanUp() {
+        eventsRepository.deleteAll();
+    }
+
+    @Test
+    public void should_deleteEventsOlderThanCutoff() {
+        //given
+        save(new ProcessStartedAuditEventEntity(), "old", ProcessEvents.PROCESS_STARTED, CUTOFF - 1);
+        save(new ProcessUpdatedAuditEventEntity(), "old", ProcessEvents.PROCESS_UPDATED, CUTOFF);
+
+        //when
+        long deleted = purger.purgeEventsOlderThan(CUTOFF);
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(eventTypesOf("old")).containsExactly(ProcessEvents.PROCESS_UPDATED.name());
+    }
+
+    @Test
+    public void should_deleteAllEventsOfProcessInstancesEndedBeforeCutoff() {
+        //given
+        save(new ProcessStartedAuditEventEntity(), "completed", ProcessEvents.PROCESS_STARTED, CUTOFF - 10);
+        save(new ProcessCompletedEventEntity(), "completed", ProcessEvents.PROCESS_COMPLETED, CUTOFF - 1);
+        save(new ProcessStartedAuditEventEntity(), "cancelled", ProcessEvents.PROCESS_STARTED, CUTOFF - 10);
+        save(new ProcessCancelledAuditEventEntity(), "cancelled", ProcessEvents.PROCESS_CANCELLED, CUTOFF - 1);
+        save(new ProcessStartedAuditEventEntity(), "recent", ProcessEvents.PROCESS_STARTED, CUTOFF - 10);
+        save(new ProcessCompletedEventEntity(), "recent", ProcessEvents.PROCESS_COMPLETED, CUTOFF + 1);
+        save(new ProcessStartedAuditEventEntity(), "running", ProcessEvents.PROCESS_STARTED, CUTOFF - 10);
+
+        //when
+        long deleted = purger.purgeProcessInstancesEndedBefore(CUTOFF);
+
+        //then
+        assertThat(deleted).isEqualTo(4);
+        assertThat(eventTypesOf("completed")).isEmpty();
+        assertThat(eventTypesOf("cancelled")).isEmpty();
+        assertThat(eventTypesOf("recent")).hasSize(2);
+        assertThat(eventTypesOf("running")).hasSize(1);
+    }
+
+    @Test
+    public void should_keepEndEvent_when_otherEventsOfTheProcessInstanceAreLeft() {
+        //given
+        properties.setChunkSize(1);
+        properties.setMaxChunksPerRun(1);
+        save(new ProcessStartedAuditEventEntity(), "completed", ProcessEvents.PROCESS_STARTED, CUTOFF - 10);
+        save(new ProcessUpdatedAuditEventEntity(), "completed", ProcessEvents.PROCESS_UPDATED, CUTOFF - 5);
+        save(new ProcessCompletedEventEntity(), "completed", ProcessEvents.PROCESS_COMPLETED, CUTOFF - 1);
+
+        //when
+        purger.purgeProcessInstancesEndedBefore(CUTOFF);
+
+        //then
+        assertThat(eventTypesOf("completed")).hasSize(2).contains(ProcessEvents.PROCESS_COMPLETED.name());
+
+        //when
+        purger.purgeProcessInstancesEndedBefore(CUTOFF);
+
+        //then
+        assertThat(eventTypesOf("completed")).isEmpty();
+    }
+
+    private void save(AuditEventEntity event, String processInstanceId, ProcessEvents eventType, long timestamp) {
+        event.setProcessInstanceId(processInstanceId);
+        event.setEventType(eventType.name());
+        event.setTimestamp(timestamp);
+        eventsRepository.save(event);
+    }
+
+    private List<String> eventTypesOf(String processInstanceId) {
+        return StreamSupport
+            .stream(eventsRepository.findAll().spliterator(), false)
+            .filter(event -> processInstanceId.equals(event.getProcessInstanceId()))
+            .map(AuditEventEntity::getEventType)
+            .collect(Collectors.toList());
+    }
+}
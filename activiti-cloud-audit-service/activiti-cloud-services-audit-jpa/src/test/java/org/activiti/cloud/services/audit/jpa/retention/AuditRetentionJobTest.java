@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.retention;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditRetentionJobTest {
+
+    private static final Instant NOW = Instant.parse("2023-06-01T00:00:00Z");
+
+    @Mock
+    private AuditEventsPurger auditEventsPurger;
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    public void should_purgeEventsOlderThanMaxAge() {
+        //given
+        AuditRetentionProperties properties = new AuditRetentionProperties();
+        properties.setMaxAge(Duration.ofDays(30));
+        long cutoff = NOW.minus(Duration.ofDays(30)).toEpochMilli();
+        given(auditEventsPurger.purgeEventsOlderThan(cutoff)).willReturn(42L);
+        AuditRetentionJob job = new AuditRetentionJob(auditEventsPurger, properties, clock);
+
+        //when
+        job.purge();
+
+        //then
+        verify(auditEventsPurger).purgeEventsOlderThan(cutoff);
+        verify(auditEventsPurger, never()).purgeProcessInstancesEndedBefore(anyLong());
+        assertThat(job.getLastRunDeletedEvents()).isEqualTo(42L);
+    }
+
+    @Test
+    public void should_purgeEndedProcessInstancesOlderThanCompletedMaxAge() {
+        //given
+        AuditRetentionProperties properties = new AuditRetentionProperties();
+        properties.setMaxAge(Duration.ofDays(365));
+        properties.setCompletedProcessInstanceMaxAge(Duration.ofDays(7));
+        long cutoff = NOW.minus(Duration.ofDays(7)).toEpochMilli();
+        given(auditEventsPurger.purgeEventsOlderThan(NOW.minus(Duration.ofDays(365)).toEpochMilli())).willReturn(1L);
+        given(auditEventsPurger.purgeProcessInstancesEndedBefore(cutoff)).willReturn(10L);
+        AuditRetentionJob job = new AuditRetentionJob(auditEventsPurger, properties, clock);
+
+        //when
+        job.purge();
+
+        //then
+        verify(auditEventsPurger).purgeProcessInstancesEndedBefore(cutoff);
+        assertThat(job.getLastRunDeletedEvents()).isEqualTo(11L);
+    }
+
+    @Test
+    public void should_notPurgeWithoutMaxAge() {
+        //given
+        AuditRetentionJob job = new AuditRetentionJob(auditEventsPurger, new AuditRetentionProperties(), clock);
+
+        //when
+        job.purge();
+
+        //then
+        verify(auditEventsPurger, never()).purgeEventsOlderThan(anyLong());
+        verify(auditEventsPurger, never()).purgeProcessInstancesEndedBefore(anyLong());
+        assertThat(job.getLastRunDeletedEvents()).isZero();
+    }
+}
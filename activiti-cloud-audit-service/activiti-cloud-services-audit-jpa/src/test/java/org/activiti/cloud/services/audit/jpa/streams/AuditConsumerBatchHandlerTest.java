@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.activiti.api.process.model.events.ProcessRuntimeEvent;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
+import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessCreatedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditConsumerBatchHandlerTest {
+
+    @Mock
+    private EventsRepository eventsRepository;
+
+    @Mock
+    private APIEventToEntityConverters converters;
+
+    @Mock
+    private EventToEntityConverter converter;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private AuditConsumerChannelHandler singleMessageHandler;
+
+    @Captor
+    private ArgumentCaptor<Iterable<AuditEventEntity>> entitiesCaptor;
+
+    @Captor
+    private ArgumentCaptor<MessageHeaders> headersCaptor;
+
+    private AuditConsumerBatchHandler batchHandler;
+
+    @BeforeEach
+    public void setUp() {
+        when(transactionTemplate.execute(any()))
+            .thenAnswer(invocation -> invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        batchHandler =
+            new AuditConsumerBatchHandler(eventsRepository, converters, transactionTemplate, singleMessageHandler);
+    }
+
+    @Test
+    public void should_storeAllMessagesOfTheBatchInOneTransaction() {
+        //given
+        givenProcessCreatedEventsAreConverted();
+        CloudProcessCreatedEventImpl first = new CloudProcessCreatedEventImpl();
+        CloudProcessCreatedEventImpl second = new CloudProcessCreatedEventImpl();
+        CloudProcessCreatedEventImpl third = new CloudProcessCreatedEventImpl();
+
+        //when
+        batchHandler.receiveCloudRuntimeEvents(
+            new MessageHeaders(Map.of()),
+            List.of(List.of(first, second), List.of(third))
+        );
+
+        //then
+        verify(transactionTemplate).execute(any());
+        verify(eventsRepository).saveAll(entitiesCaptor.capture());
+        assertThat(entitiesCaptor.getValue()).hasSize(3);
+        assertThat(first.getMessageId()).isEqualTo(second.getMessageId()).isNotEqualTo(third.getMessageId());
+        verify(singleMessageHandler, never()).receiveCloudRuntimeEvent(any(), any());
+    }
+
+    @Test
+    public void should_storeEachMessageOnItsOwn_when_batchFails() {
+        //given
+        givenProcessCreatedEventsAreConverted();
+        given(eventsRepository.saveAll(any())).willThrow(new IllegalStateException("failed"));
+        CloudRuntimeEvent<?, ?> first = new CloudProcessCreatedEventImpl();
+        CloudRuntimeEvent<?, ?> second = new CloudProcessCreatedEventImpl();
+
+        //when
+        batchHandler.receiveCloudRuntimeEvents(new MessageHeaders(Map.of()), List.of(List.of(first), List.of(second)));
+
+        //then
+        verify(singleMessageHandler).receiveCloudRuntimeEvent(headersCaptor.capture(), eq(first));
+        verify(singleMessageHandler).receiveCloudRuntimeEvent(headersCaptor.capture(), eq(second));
+        assertThat(headersCaptor.getAllValues().get(0).getId())
+            .isNotEqualTo(headersCaptor.getAllValues().get(1).getId());
+    }
+
+    @Test
+    public void should_rethrow_when_aMessageFailsOnItsOwn() {
+        //given
+        given(eventsRepository.saveAll(any())).willThrow(new IllegalStateException("failed"));
+        CloudRuntimeEvent<?, ?> event = new CloudProcessCreatedEventImpl();
+        willThrow(new IllegalStateException("failed again"))
+            .given(singleMessageHandler)
+            .receiveCloudRuntimeEvent(any(), eq(event));
+
+        //then
+        assertThatThrownBy(() ->
+                batchHandler.receiveCloudRuntimeEvents(new MessageHeaders(Map.of()), List.of(List.of(event)))
+            )
+            .hasMessage("failed again");
+    }
+
+    private void givenProcessCreatedEventsAreConverted() {
+        when(converters.getConverterByEventTypeName(ProcessRuntimeEvent.ProcessEvents.PROCESS_CREATED.name()))
+            .thenReturn(converter);
+        when(converter.convertToEntity(any())).thenAnswer(invocation -> new ProcessCreatedAuditEventEntity());
+    }
+}
@@ -0,0 +1,3 @@
+CREATE INDEX IF NOT EXISTS audit_event_timestamp_idx ON audit_event(timestamp);
+CREATE INDEX IF NOT EXISTS audit_event_proc_inst_id_idx ON audit_event(process_instance_id);
+CREATE INDEX IF NOT EXISTS audit_event_event_type_ts_idx ON audit_event(event_type, timestamp);
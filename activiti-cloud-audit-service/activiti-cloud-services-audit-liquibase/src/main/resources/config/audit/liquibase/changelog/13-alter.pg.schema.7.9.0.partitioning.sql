@@ -0,0 +1,50 @@
+-- Recreates audit_event as a table partitioned by month on timestamp and moves the existing events into monthly
+-- partitions named audit_event_pYYYYMM, from the month of the oldest event to three months ahead. The default
+-- partition is left empty, so creating the partition of a later month never has to scan the audit history, and
+-- the retention drops the history month by month.
+-- Events without a timestamp cannot be routed to a month. They get timestamp 0 and land in audit_event_p197001,
+-- which the retention drops before any other partition.
+ALTER TABLE audit_event RENAME TO audit_event_legacy;
+CREATE TABLE audit_event (LIKE audit_event_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (timestamp);
+ALTER TABLE audit_event ALTER COLUMN timestamp SET NOT NULL;
+CREATE TABLE audit_event_default PARTITION OF audit_event DEFAULT;
+
+DO $$
+DECLARE
+    month_start timestamp;
+    last_month timestamp;
+BEGIN
+    IF EXISTS (SELECT 1 FROM audit_event_legacy WHERE timestamp IS NULL OR timestamp < 2678400000) THEN
+        CREATE TABLE audit_event_p197001 PARTITION OF audit_event FOR VALUES FROM (MINVALUE) TO (2678400000);
+    END IF;
+
+    SELECT
+        date_trunc('month', to_timestamp(min(timestamp) / 1000.0) AT TIME ZONE 'UTC'),
+        date_trunc('month', to_timestamp(max(timestamp) / 1000.0) AT TIME ZONE 'UTC')
+    INTO month_start, last_month
+    FROM audit_event_legacy
+    WHERE timestamp >= 2678400000;
+
+    last_month := greatest(last_month, date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months');
+    month_start := coalesce(month_start, date_trunc('month', now() AT TIME ZONE 'UTC'));
+
+    WHILE month_start <= last_month LOOP
+        EXECUTE format(
+            'CREATE TABLE %I PARTITION OF audit_event FOR VALUES FROM (%s) TO (%s)',
+            'audit_event_p' || to_char(month_start, 'YYYYMM'),
+            (extract(epoch FROM month_start) * 1000)::bigint,
+            (extract(epoch FROM month_start + interval '1 month') * 1000)::bigint
+        );
+        month_start := month_start + interval '1 month';
+    END LOOP;
+END $$;
+
+UPDATE audit_event_legacy SET timestamp = 0 WHERE timestamp IS NULL;
+INSERT INTO audit_event SELECT * FROM audit_event_legacy;
+DROP TABLE audit_event_legacy;
+
+ALTER TABLE audit_event ADD CONSTRAINT audit_event_pkey PRIMARY KEY (id, timestamp);
+CREATE INDEX IF NOT EXISTS audit_event_event_id_idx ON audit_event(event_id);
+CREATE INDEX IF NOT EXISTS audit_event_timestamp_idx ON audit_event(timestamp);
+CREATE INDEX IF NOT EXISTS audit_event_proc_inst_id_idx ON audit_event(process_instance_id);
+CREATE INDEX IF NOT EXISTS audit_event_event_type_ts_idx ON audit_event(event_type, timestamp);
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+import org.activiti.cloud.api.process.model.IntegrationRequest;
+import org.activiti.cloud.common.messaging.acknowledgment.ManualAcknowledgment;
+import org.activiti.cloud.connectors.starter.configuration.ConnectorProperties;
+import org.activiti.cloud.connectors.starter.model.IntegrationErrorBuilder;
+import org.activiti.cloud.connectors.starter.model.IntegrationResultBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+
+/**
+ * Consumes the integration requests of a connector with an {@link AsyncIntegrationRequestHandler}, and publishes the
+ * integration result, or error, once the handler completes.
+ * <p>
+ * At most {@code maxInFlight} requests are handled at the same time: when the limit is reached, the consumer thread
+ * waits, so that no more messages are taken from the broker.
+ * <p>
+ * Requests are only handled concurrently when the connector binding acknowledges its messages manually, with
+ * {@code acknowledge-mode: MANUAL} and a {@code prefetch} of at least {@code maxInFlight} on the Rabbit binder, or
+ * {@code ack-mode: MANUAL} and {@code async-acks: true} on the Kafka binder. The consumer thread then returns as soon
+ * as the request is handed to the handler, and the message is acknowledged once the result has been published, or
+ * rejected when it could not be published. Otherwise the consumer thread waits for the result to be published, so
+ * that the binder acknowledges the message afterwards.
+ */
+public class AsyncIntegrationRequestConsumer implements Consumer<Message<IntegrationRequest>> {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncIntegrationRequestConsumer.class);
+
+    private final AsyncIntegrationRequestHandler handler;
+    private final IntegrationResultSender integrationResultSender;
+    private final IntegrationErrorSender integrationErrorSender;
+    private final ConnectorProperties connectorProperties;
+    private final Semaphore inFlight;
+
+    public AsyncIntegrationRequestConsumer(
+        AsyncIntegrationRequestHandler handler,
+        IntegrationResultSender integrationResultSender,
+        IntegrationErrorSender integrationErrorSender,
+        ConnectorProperties connectorProperties,
+        int maxInFlight
+    ) {
+        this.handler = handler;
+        this.integrationResultSender = integrationResultSender;
+        this.integrationErrorSender = integrationErrorSender;
+        this.connectorProperties = connectorProperties;
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+    }
+
+    @Override
+    public void accept(Message<IntegrationRequest> message) {
+        IntegrationRequest integrationRequest = message.getPayload();
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to handle integration request", e);
+        }
+
+        CompletableFuture<Void> published = handle(integrationRequest)
+            .handle((variables, cause) -> {
+                publish(integrationRequest, variables, cause);
+                return null;
+            });
+        published.whenComplete((result, failure) -> inFlight.release());
+
+        ManualAcknowledgment
+            .from(message)
+            .ifPresentOrElse(
+                acknowledgment ->
+                    published.whenComplete((result, failure) -> {
+                        if (failure == null) {
+                            acknowledgment.acknowledge();
+                        } else {
+                            logger.error(
+                                "Unable to publish the outcome of integration request {}",
+                                integrationRequest.getIntegrationContext().getId(),
+                                failure
+                            );
+                            acknowledgment.reject();
+                        }
+                    }),
+                published::join
+            );
+    }
+
+    private CompletableFuture<Map<String, Object>> handle(IntegrationRequest integrationRequest) {
+        try {
+            return handler.handle(integrationRequest).toCompletableFuture();
+        } catch (RuntimeException cause) {
+            return CompletableFuture.failedFuture(cause);
+        }
+    }
+
+    private void publish(IntegrationRequest integrationRequest, Map<String, Object> variables, Throwable cause) {
+        if (cause == null) {
+            integrationResultSender.send(
+                IntegrationResultBuilder
+                    .resultFor(integrationRequest, connectorProperties)
+                    .withOutboundVariables(variables != null ? variables : Map.of())
+                    .buildMessage()
+            );
+        } else {
+            Throwable error = cause instanceof CompletionException && cause.getCause() != null
+                ? cause.getCause()
+                : cause;
+            logger.debug("Integration request {} failed", integrationRequest.getIntegrationContext().getId(), error);
+            integrationErrorSender.send(
+                IntegrationErrorBuilder.errorFor(integrationRequest, connectorProperties, error).buildMessage()
+            );
+        }
+    }
+
+    public int getAvailableSlots() {
+        return inFlight.availablePermits();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import org.activiti.cloud.api.process.model.IntegrationRequest;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.activiti.cloud.connectors.starter.configuration.AsyncConnectorProperties;
+import org.activiti.cloud.connectors.starter.configuration.ConnectorProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the consumers of asynchronous connectors. A connector binds the created consumer to its integration
+ * requests destination, the same way it would bind a blocking {@code Consumer<IntegrationRequest>}.
+ */
+public class AsyncIntegrationRequestConsumerFactory implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncIntegrationRequestConsumerFactory.class);
+
+    private final IntegrationResultSender integrationResultSender;
+    private final IntegrationErrorSender integrationErrorSender;
+    private final ConnectorProperties connectorProperties;
+    private final AsyncConnectorProperties asyncConnectorProperties;
+    private final ExecutorService blockingExecutor;
+
+    public AsyncIntegrationRequestConsumerFactory(
+        IntegrationResultSender integrationResultSender,
+        IntegrationErrorSender integrationErrorSender,
+        ConnectorProperties connectorProperties,
+        AsyncConnectorProperties asyncConnectorProperties
+    ) {
+        this.integrationResultSender = integrationResultSender;
+        this.integrationErrorSender = integrationErrorSender;
+        this.connectorProperties = connectorProperties;
+        this.asyncConnectorProperties = asyncConnectorProperties;
+        this.blockingExecutor =
+            asyncConnectorProperties.isVirtualThreads() ? virtualThreadExecutor() : cachedThreadPool();
+    }
+
+    /**
+     * Creates a consumer for a handler returning a {@link java.util.concurrent.CompletionStage}.
+     */
+    public AsyncIntegrationRequestConsumer create(AsyncIntegrationRequestHandler handler) {
+        return new AsyncIntegrationRequestConsumer(
+            handler,
+            integrationResultSender,
+            integrationErrorSender,
+            connectorProperties,
+            asyncConnectorProperties.getMaxInFlight()
+        );
+    }
+
+    /**
+     * Creates a consumer for a blocking handler, run off the consumer thread: on virtual threads when enabled and
+     * supported, on a thread pool otherwise. The number of threads is bounded by the maximum in-flight requests.
+     */
+    public AsyncIntegrationRequestConsumer createBlocking(Function<IntegrationRequest, Map<String, Object>> handler) {
+        return create(integrationRequest ->
+            CompletableFuture.supplyAsync(() -> handler.apply(integrationRequest), blockingExecutor)
+        );
+    }
+
+    private static ExecutorService virtualThreadExecutor() {
+        return MessagingExecutors
+            .virtualThreadPerTaskExecutor()
+            .orElseGet(() -> {
+                logger.warn("Virtual threads are not supported by this Java runtime, using platform threads instead");
+                return cachedThreadPool();
+            });
+    }
+
+    private static ExecutorService cachedThreadPool() {
+        return MessagingExecutors.cachedThreadPool("connector-handler-");
+    }
+
+    @Override
+    public void close() {
+        blockingExecutor.shutdown();
+    }
+}
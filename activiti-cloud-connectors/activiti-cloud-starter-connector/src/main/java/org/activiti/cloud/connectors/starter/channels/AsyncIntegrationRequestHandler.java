@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import org.activiti.cloud.api.process.model.IntegrationRequest;
+import reactor.core.publisher.Mono;
+
+/**
+ * Asynchronous connector handler: it returns the outbound variables of the integration request once the remote call
+ * completes, without blocking the consumer thread. A handler completing exceptionally produces an integration error.
+ *
+ * @see AsyncIntegrationRequestConsumerFactory
+ */
+@FunctionalInterface
+public interface AsyncIntegrationRequestHandler {
+    CompletionStage<Map<String, Object>> handle(IntegrationRequest integrationRequest);
+
+    static AsyncIntegrationRequestHandler fromMono(Function<IntegrationRequest, Mono<Map<String, Object>>> handler) {
+        return integrationRequest -> handler.apply(integrationRequest).defaultIfEmpty(Map.of()).toFuture();
+    }
+}
@@ -16,6 +16,7 @@
 package org.activiti.cloud.connectors.starter.configuration;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.activiti.cloud.connectors.starter.channels.AsyncIntegrationRequestConsumerFactory;
 import org.activiti.cloud.connectors.starter.channels.IntegrationErrorChannelResolver;
 import org.activiti.cloud.connectors.starter.channels.IntegrationErrorChannelResolverImpl;
 import org.activiti.cloud.connectors.starter.channels.IntegrationErrorDestinationBuilder;
@@ -40,7 +41,7 @@ import org.springframework.context.annotation.PropertySource;
 
 @AutoConfiguration
 @PropertySource("classpath:activiti-cloud-connector.properties")
-@EnableConfigurationProperties(ConnectorProperties.class)
+@EnableConfigurationProperties({ ConnectorProperties.class, AsyncConnectorProperties.class })
 public class ActivitiCloudConnectorAutoConfiguration {
 
     @Bean
@@ -116,4 +117,20 @@ public class ActivitiCloudConnectorAutoConfiguration {
     ) {
         return new IntegrationErrorSenderImpl(streamBridge, integrationChannelResolver);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AsyncIntegrationRequestConsumerFactory asyncIntegrationRequestConsumerFactory(
+        IntegrationResultSender integrationResultSender,
+        IntegrationErrorSender integrationErrorSender,
+        ConnectorProperties connectorProperties,
+        AsyncConnectorProperties asyncConnectorProperties
+    ) {
+        return new AsyncIntegrationRequestConsumerFactory(
+            integrationResultSender,
+            integrationErrorSender,
+            connectorProperties,
+            asyncConnectorProperties
+        );
+    }
 }
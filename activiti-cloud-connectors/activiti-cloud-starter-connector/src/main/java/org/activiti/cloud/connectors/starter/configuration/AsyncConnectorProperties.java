@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("activiti.cloud.connector.async")
+public class AsyncConnectorProperties {
+
+    /**
+     * Maximum number of integration requests of a connector being handled at the same time. When reached, the
+     * consumer thread waits for a request to complete before taking the next message from the broker. Requests are
+     * only handled concurrently when the connector binding acknowledges its messages manually.
+     */
+    private int maxInFlight = 64;
+
+    /**
+     * Whether blocking connector handlers run on virtual threads, when the Java runtime supports them.
+     */
+    private boolean virtualThreads = false;
+
+    public AsyncConnectorProperties() {
+        // default constructor
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+}
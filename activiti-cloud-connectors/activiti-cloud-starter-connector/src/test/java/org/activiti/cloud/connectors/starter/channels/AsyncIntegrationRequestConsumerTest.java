@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.connectors.starter.channels;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+
+import com.rabbitmq.client.Channel;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
+import org.activiti.cloud.api.process.model.IntegrationError;
+import org.activiti.cloud.api.process.model.IntegrationRequest;
+import org.activiti.cloud.api.process.model.IntegrationResult;
+import org.activiti.cloud.api.process.model.impl.IntegrationRequestImpl;
+import org.activiti.cloud.connectors.starter.configuration.ConnectorProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+public class AsyncIntegrationRequestConsumerTest {
+
+    @Mock
+    private IntegrationResultSender integrationResultSender;
+
+    @Mock
+    private IntegrationErrorSender integrationErrorSender;
+
+    @Captor
+    private ArgumentCaptor<Message<IntegrationResult>> resultCaptor;
+
+    @Captor
+    private ArgumentCaptor<Message<IntegrationError>> errorCaptor;
+
+    private IntegrationRequestImpl integrationRequest;
+
+    @BeforeEach
+    public void setUp() {
+        IntegrationContextImpl integrationContext = new IntegrationContextImpl();
+        integrationContext.setId("integrationContextId");
+        integrationRequest = new IntegrationRequestImpl(integrationContext);
+        integrationRequest.setAppName("myApp");
+        integrationRequest.setServiceFullName("myService");
+    }
+
+    @Test
+    public void should_sendIntegrationResult_when_handlerCompletes() {
+        //given
+        AsyncIntegrationRequestConsumer consumer = consumer(
+            request -> CompletableFuture.completedFuture(Map.of("answer", 42)),
+            1
+        );
+
+        //when
+        consumer.accept(MessageBuilder.<IntegrationRequest>withPayload(integrationRequest).build());
+
+        //then
+        then(integrationResultSender).should().send(resultCaptor.capture());
+        assertThat(resultCaptor.getValue().getPayload().getIntegrationContext().getOutBoundVariables())
+            .containsEntry("answer", 42);
+        then(integrationErrorSender).should(never()).send(any());
+        assertThat(consumer.getAvailableSlots()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_sendIntegrationError_when_handlerCompletesExceptionally() {
+        //given
+        AsyncIntegrationRequestConsumer consumer = consumer(
+            request -> CompletableFuture.failedFuture(new IllegalStateException("remote call failed")),
+            1
+        );
+
+        //when
+        consumer.accept(MessageBuilder.<IntegrationRequest>withPayload(integrationRequest).build());
+
+        //then
+        then(integrationErrorSender).should().send(errorCaptor.capture());
+        assertThat(errorCaptor.getValue().getPayload().getErrorMessage()).isEqualTo("remote call failed");
+        then(integrationResultSender).should(never()).send(any());
+        assertThat(consumer.getAvailableSlots()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_acknowledgeMessage_when_resultIsPublished() throws Exception {
+        //given
+        CompletableFuture<Map<String, Object>> pending = new CompletableFuture<>();
+        AsyncIntegrationRequestConsumer consumer = consumer(request -> pending, 2);
+        Channel channel = mock(Channel.class);
+
+        //when
+        consumer.accept(manuallyAcknowledgedMessage(channel, 7L));
+
+        //then
+        then(channel).shouldHaveNoInteractions();
+        assertThat(consumer.getAvailableSlots()).isEqualTo(1);
+
+        //when
+        pending.complete(Map.of());
+
+        //then
+        then(integrationResultSender).should().send(any());
+        then(channel).should().basicAck(7L, false);
+        assertThat(consumer.getAvailableSlots()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_rejectMessage_when_resultCanNotBePublished() throws Exception {
+        //given
+        AsyncIntegrationRequestConsumer consumer = consumer(request -> CompletableFuture.completedFuture(Map.of()), 1);
+        willThrow(new IllegalStateException("broker unavailable")).given(integrationResultSender).send(any());
+        Channel channel = mock(Channel.class);
+
+        //when
+        consumer.accept(manuallyAcknowledgedMessage(channel, 7L));
+
+        //then
+        then(channel).should().basicNack(7L, false, false);
+        then(channel).should(never()).basicAck(anyLong(), anyBoolean());
+        assertThat(consumer.getAvailableSlots()).isEqualTo(1);
+    }
+
+    private Message<IntegrationRequest> manuallyAcknowledgedMessage(Channel channel, long deliveryTag) {
+        return MessageBuilder
+            .<IntegrationRequest>withPayload(integrationRequest)
+            .setHeader(AmqpHeaders.CHANNEL, channel)
+            .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+            .build();
+    }
+
+    private AsyncIntegrationRequestConsumer consumer(AsyncIntegrationRequestHandler handler, int maxInFlight) {
+        return new AsyncIntegrationRequestConsumer(
+            handler,
+            integrationResultSender,
+            integrationErrorSender,
+            new ConnectorProperties(),
+            maxInFlight
+        );
+    }
+}
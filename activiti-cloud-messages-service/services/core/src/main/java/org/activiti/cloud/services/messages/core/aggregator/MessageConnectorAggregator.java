@@ -36,6 +36,7 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
 
     private volatile boolean expireGroupsUponCompletion = false;
     private volatile boolean completeGroupsWhenEmpty = false;
+    private volatile boolean removeReleasedGroupsDirectly = false;
 
     public MessageConnectorAggregator(
         MessageGroupProcessor processor,
@@ -78,9 +79,35 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
         this.completeGroupsWhenEmpty = completeGroupsWhenEmpty;
     }
 
+    public boolean isRemoveReleasedGroupsDirectly() {
+        return removeReleasedGroupsDirectly;
+    }
+
+    /**
+     * Will set the 'removeReleasedGroupsDirectly' flag. It relies on the released group being the current state of
+     * the group in the store, as it is when the groups are read through the near cache.
+     *
+     * @param removeReleasedGroupsDirectly true when a group emptied by a release should be removed without removing
+     *                                     its messages and completing it in the store first.
+     *
+     * @see #afterRelease
+     */
+    public void setRemoveReleasedGroupsDirectly(boolean removeReleasedGroupsDirectly) {
+        this.removeReleasedGroupsDirectly = removeReleasedGroupsDirectly;
+    }
+
+    /**
+     * Expires the group as if its group timeout elapsed, unless it has changed since it was read.
+     * @param messageGroup the group to expire.
+     */
+    public void forceExpire(MessageGroup messageGroup) {
+        forceComplete(messageGroup);
+    }
+
     /**
      * Remove all completed messages from group. Complete the group if empty and remove if expired
      * If the {@link #expireGroupsUponCompletion} is true, then remove group fully.
+     * If the {@link #removeReleasedGroupsDirectly} is also true, a group emptied by the release is removed right away.
      * @param messageGroup the group to clean up.
      * @param completedMessages The completed messages.
      */
@@ -97,6 +124,11 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
                 .filter(completedMessages::contains)
                 .collect(Collectors.toList());
 
+            if (isRemovedDirectly(messageGroup, deletedMessages)) {
+                remove(messageGroup);
+                return;
+            }
+
             if (!deletedMessages.isEmpty()) {
                 messageStore.removeMessagesFromGroup(groupId, deletedMessages);
             }
@@ -113,4 +145,13 @@ public class MessageConnectorAggregator extends AbstractCorrelatingMessageHandle
             remove(messageGroup);
         }
     }
+
+    private boolean isRemovedDirectly(MessageGroup messageGroup, Collection<Message<?>> deletedMessages) {
+        return (
+            this.removeReleasedGroupsDirectly &&
+            this.completeGroupsWhenEmpty &&
+            this.expireGroupsUponCompletion &&
+            deletedMessages.size() == messageGroup.size()
+        );
+    }
 }
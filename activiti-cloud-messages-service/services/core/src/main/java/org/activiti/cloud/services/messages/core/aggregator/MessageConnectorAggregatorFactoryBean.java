@@ -77,6 +77,8 @@ public class MessageConnectorAggregatorFactoryBean
 
     private Boolean releaseLockBeforeSend;
 
+    private Boolean removeReleasedGroupsDirectly;
+
     public MessageConnectorAggregatorFactoryBean() {
         super();
         // defaults
@@ -206,6 +208,12 @@ public class MessageConnectorAggregatorFactoryBean
         return this;
     }
 
+    public MessageConnectorAggregatorFactoryBean removeReleasedGroupsDirectly(Boolean removeReleasedGroupsDirectly) {
+        this.removeReleasedGroupsDirectly = removeReleasedGroupsDirectly;
+
+        return this;
+    }
+
     public MessageConnectorAggregatorFactoryBean beanFactory(BeanFactory beanFactory) {
         this.setBeanFactory(beanFactory);
 
@@ -294,6 +302,10 @@ public class MessageConnectorAggregatorFactoryBean
             aggregator.setReleaseLockBeforeSend(this.releaseLockBeforeSend);
         }
 
+        if (this.removeReleasedGroupsDirectly != null) {
+            aggregator.setRemoveReleasedGroupsDirectly(this.removeReleasedGroupsDirectly);
+        }
+
         return aggregator;
     }
 
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the correlation groups near cache.
+ *
+ */
+@ConfigurationProperties(MessageGroupCacheProperties.PREFIX)
+public class MessageGroupCacheProperties {
+
+    static final String PREFIX = "activiti.cloud.services.messages.near-cache";
+
+    /**
+     * Enables the write-through near cache of correlation groups in front of the message store, for the aggregator,
+     * the handler advices and the message group processors. It requires partitioned consumers with local locks, so
+     * that the messages of a correlation are consumed by a single instance: the startup fails otherwise.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of correlation groups kept in the near cache
+     */
+    private int maxGroups = 10000;
+
+    /**
+     * Time after which a cached correlation group is read again from the message store
+     */
+    private Duration timeToLive = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxGroups() {
+        return maxGroups;
+    }
+
+    public void setMaxGroups(int maxGroups) {
+        this.maxGroups = maxGroups;
+    }
+
+    public Duration getTimeToLive() {
+        return timeToLive;
+    }
+
+    public void setTimeToLive(Duration timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import org.activiti.cloud.services.messages.core.aggregator.MessageConnectorAggregator;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupExpiryIndex;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupExpiryWheel;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupReaper;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupReaperMetrics;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupStoreExpiryIndex;
+import org.activiti.cloud.services.messages.core.store.CorrelationMessageGroupStore;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.integration.context.IntegrationContextUtils;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Expired message groups reaper: replaces the scans of the message store and the scheduled timer per group by an
+ * expiry index and a single reaper. The group timeout of the aggregator is not set when the reaper is enabled, and the
+ * correlation groups are indexed by the {@link CorrelationMessageGroupStore}.
+ *
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "activiti.cloud.services.messages.reaper.enabled", havingValue = "true")
+@EnableConfigurationProperties(MessageGroupReaperProperties.class)
+public class MessageGroupReaperConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessageGroupExpiryWheel messageGroupExpiryWheel(MessageGroupReaperProperties properties) {
+        return new MessageGroupExpiryWheel(properties.getBucket().toMillis());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessageGroupExpiryIndex messageGroupExpiryIndex(MessageGroupStore messageStore) {
+        return new MessageGroupStoreExpiryIndex(messageStore);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MessageGroupReaper messageGroupReaper(
+        MessageConnectorAggregator aggregator,
+        CorrelationMessageGroupStore correlationMessageGroupStore,
+        MessageGroupExpiryWheel messageGroupExpiryWheel,
+        MessageGroupExpiryIndex messageGroupExpiryIndex,
+        @Qualifier(IntegrationContextUtils.TASK_SCHEDULER_BEAN_NAME) TaskScheduler taskScheduler,
+        MessageGroupReaperProperties properties
+    ) {
+        return new MessageGroupReaper(
+            aggregator,
+            correlationMessageGroupStore.getMessageGroupStore(),
+            messageGroupExpiryWheel,
+            messageGroupExpiryIndex,
+            taskScheduler,
+            properties
+        );
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class MessageGroupReaperMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MessageGroupReaperMetrics messageGroupReaperMetrics(MessageGroupReaper messageGroupReaper) {
+            return new MessageGroupReaperMetrics(messageGroupReaper);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the expired message groups reaper.
+ *
+ */
+@ConfigurationProperties(MessageGroupReaperProperties.PREFIX)
+public class MessageGroupReaperProperties {
+
+    static final String PREFIX = "activiti.cloud.services.messages.reaper";
+
+    /**
+     * Enables the reaper of the message groups not modified for longer than the timeout. It replaces the group
+     * timeout of the aggregator, which is then ignored.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Time after the last modification of a message group when it expires
+     */
+    private Duration timeout = Duration.ofHours(1);
+
+    /**
+     * Delay between two runs of the reaper
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * Minimum delay between two queries of the message store expiry index
+     */
+    private Duration indexScanInterval = Duration.ofMinutes(5);
+
+    /**
+     * Time span of the expiry wheel buckets
+     */
+    private Duration bucket = Duration.ofSeconds(1);
+
+    /**
+     * Maximum number of message groups expired per batch
+     */
+    private int batchSize = 100;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getIndexScanInterval() {
+        return indexScanInterval;
+    }
+
+    public void setIndexScanInterval(Duration indexScanInterval) {
+        this.indexScanInterval = indexScanInterval;
+    }
+
+    public Duration getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(Duration bucket) {
+        this.bucket = bucket;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
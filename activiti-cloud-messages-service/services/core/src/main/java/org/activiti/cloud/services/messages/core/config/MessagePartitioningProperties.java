@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties of the Messages Service when correlations are sharded across partitioned replicas.
+ *
+ */
+@ConfigurationProperties(MessagePartitioningProperties.PREFIX)
+public class MessagePartitioningProperties {
+
+    static final String PREFIX = "activiti.cloud.services.messages.partitioning";
+
+    /**
+     * Use in-process locks instead of the message store lock registry, as each replica owns its correlation groups
+     */
+    private boolean localLocks = true;
+
+    /**
+     * Number of in-process locks shared by the correlation groups, rounded down to a power of two
+     */
+    private int lockStripes = 256;
+
+    public boolean isLocalLocks() {
+        return localLocks;
+    }
+
+    public void setLocalLocks(boolean localLocks) {
+        this.localLocks = localLocks;
+    }
+
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+}
@@ -33,15 +33,21 @@ import org.activiti.cloud.services.messages.core.processor.MessageGroupProcessor
 import org.activiti.cloud.services.messages.core.processor.MessageGroupProcessorHandlerChain;
 import org.activiti.cloud.services.messages.core.processor.ReceiveMessagePayloadGroupProcessor;
 import org.activiti.cloud.services.messages.core.processor.StartMessagePayloadGroupProcessor;
+import org.activiti.cloud.services.messages.core.reaper.ExpiryIndexingMessageGroupStore;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupExpiryWheel;
 import org.activiti.cloud.services.messages.core.release.MessageGroupReleaseChain;
 import org.activiti.cloud.services.messages.core.release.MessageGroupReleaseStrategyChain;
 import org.activiti.cloud.services.messages.core.release.MessageSentReleaseHandler;
 import org.activiti.cloud.services.messages.core.router.CommandConsumerDestinationMapper;
 import org.activiti.cloud.services.messages.core.router.CommandConsumerMessageChannelResolver;
 import org.activiti.cloud.services.messages.core.router.CommandConsumerMessageRouter;
+import org.activiti.cloud.services.messages.core.store.CachingMessageGroupStore;
+import org.activiti.cloud.services.messages.core.store.CorrelationMessageGroupStore;
+import org.activiti.cloud.services.messages.core.store.DelegatingMessageGroupStore;
 import org.activiti.cloud.services.messages.core.support.ChainBuilder;
 import org.activiti.cloud.services.messages.core.support.LockTemplate;
 import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -83,9 +89,9 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @AutoConfiguration
 @EnableIntegration
 @EnableIntegrationManagement
-@EnableConfigurationProperties(MessageAggregatorProperties.class)
+@EnableConfigurationProperties({ MessageAggregatorProperties.class, MessageGroupCacheProperties.class })
 @EnableTransactionManagement
-@Import(MessageConnectorProcessorConfiguration.class)
+@Import({ MessageConnectorProcessorConfiguration.class, MessageGroupReaperConfiguration.class })
 @PropertySource("classpath:config/activiti-cloud-services-messages-core.properties")
 public class MessagesCoreAutoConfiguration {
 
@@ -158,20 +164,73 @@ public class MessagesCoreAutoConfiguration {
         CorrelationStrategy correlationStrategy,
         ReleaseStrategy releaseStrategy,
         MessageGroupProcessor processorBean,
-        MessageGroupStore messageStore,
+        CorrelationMessageGroupStore correlationMessageGroupStore,
         LockRegistry lockRegistry,
         BeanFactory beanFactory,
-        MessageChannel discardChannel
+        MessageChannel discardChannel,
+        ObjectProvider<MessageGroupReaperProperties> messageGroupReaperProperties
     ) {
+        // the reaper replaces the group timeout: both would expire the same groups
+        boolean reaperEnabled = messageGroupReaperProperties.getIfAvailable() != null;
+
         return new MessageConnectorAggregatorFactoryBean()
             .discardChannel(discardChannel)
-            .groupTimeoutExpression(this.properties.getGroupTimeout())
+            .groupTimeoutExpression(reaperEnabled ? null : this.properties.getGroupTimeout())
             .lockRegistry(lockRegistry)
             .correlationStrategy(correlationStrategy)
             .releaseStrategy(releaseStrategy)
             .beanFactory(beanFactory)
             .processorBean(processorBean)
-            .messageStore(messageStore);
+            .messageStore(correlationMessageGroupStore.getMessageGroupStore())
+            .removeReleasedGroupsDirectly(correlationMessageGroupStore.isCached());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public CorrelationMessageGroupStore correlationMessageGroupStore(
+        MessageGroupStore messageStore,
+        MessageGroupCacheProperties cacheProperties,
+        ActivitiCloudMessagingProperties messagingProperties,
+        LockRegistry lockRegistry,
+        ObjectProvider<MessageGroupExpiryWheel> messageGroupExpiryWheel,
+        ObjectProvider<MessageGroupReaperProperties> messageGroupReaperProperties
+    ) {
+        MessageGroupStore correlationStore = messageStore;
+        MessageGroupExpiryWheel expiryWheel = messageGroupExpiryWheel.getIfAvailable();
+
+        if (expiryWheel != null) {
+            correlationStore =
+                new ExpiryIndexingMessageGroupStore(
+                    correlationStore,
+                    expiryWheel,
+                    messageGroupReaperProperties.getObject().getTimeout().toMillis()
+                );
+        }
+
+        if (
+            cacheProperties.isEnabled() &&
+            !(DelegatingMessageGroupStore.unwrap(messageStore) instanceof SimpleMessageStore)
+        ) {
+            // the near cache only sees the changes made by this instance, which must therefore own its groups
+            if (
+                !Boolean.TRUE.equals(messagingProperties.isPartitioned()) ||
+                !(lockRegistry instanceof DefaultLockRegistry)
+            ) {
+                throw new IllegalStateException(
+                    "The correlation groups near cache requires partitioned consumption " +
+                    "(activiti.cloud.messaging.partitioned=true) with local locks " +
+                    "(activiti.cloud.services.messages.partitioning.local-locks=true)"
+                );
+            }
+            correlationStore =
+                new CachingMessageGroupStore(
+                    correlationStore,
+                    cacheProperties.getMaxGroups(),
+                    cacheProperties.getTimeToLive()
+                );
+        }
+
+        return new CorrelationMessageGroupStore(correlationStore);
     }
 
     @Bean
@@ -199,21 +258,29 @@ public class MessagesCoreAutoConfiguration {
     @Bean
     @ConditionalOnMissingBean(name = "messageReceivedHandlerAdvice")
     public MessageConnectorHandlerAdvice messageReceivedHandlerAdvice(
-        MessageGroupStore messageStore,
+        CorrelationMessageGroupStore correlationMessageGroupStore,
         CorrelationStrategy correlationStrategy,
         LockTemplate lockTemplate
     ) {
-        return new MessageReceivedHandlerAdvice(messageStore, correlationStrategy, lockTemplate);
+        return new MessageReceivedHandlerAdvice(
+            correlationMessageGroupStore.getMessageGroupStore(),
+            correlationStrategy,
+            lockTemplate
+        );
     }
 
     @Bean
     @ConditionalOnMissingBean(name = "subscriptionCancelledHandlerAdvice")
     public MessageConnectorHandlerAdvice subscriptionCancelledHandlerAdvice(
-        MessageGroupStore messageStore,
+        CorrelationMessageGroupStore correlationMessageGroupStore,
         CorrelationStrategy correlationStrategy,
         LockTemplate lockTemplate
     ) {
-        return new SubscriptionCancelledHandlerAdvice(messageStore, correlationStrategy, lockTemplate);
+        return new SubscriptionCancelledHandlerAdvice(
+            correlationMessageGroupStore.getMessageGroupStore(),
+            correlationStrategy,
+            lockTemplate
+        );
     }
 
     @Bean
@@ -237,7 +304,11 @@ public class MessagesCoreAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public MessageGroupProcessorChain messageGroupProcessorChain(MessageGroupStore messageGroupStore) {
+    public MessageGroupProcessorChain messageGroupProcessorChain(
+        CorrelationMessageGroupStore correlationMessageGroupStore
+    ) {
+        MessageGroupStore messageGroupStore = correlationMessageGroupStore.getMessageGroupStore();
+
         return ChainBuilder
             .of(MessageGroupProcessorChain.class)
             .first(new StartMessagePayloadGroupProcessor(messageGroupStore))
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigureOrder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+/**
+ * Sharded correlation processing: message events are partitioned by correlation group, so that each replica
+ * consumes the partitions it owns and is the only one changing its correlation groups. The remote lock registry
+ * of the message store starters is then replaced by striped in-process locks.
+ * Runs before the message store starters, so that their lock registry backs off.
+ *
+ */
+@AutoConfiguration(before = MessagesCoreAutoConfiguration.class)
+@AutoConfigureOrder(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "activiti.cloud.messaging.partitioned", havingValue = "true")
+@EnableConfigurationProperties(MessagePartitioningProperties.class)
+public class MessagesPartitioningAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        name = "activiti.cloud.services.messages.partitioning.local-locks",
+        havingValue = "true",
+        matchIfMissing = true
+    )
+    public LockRegistry lockRegistry(MessagePartitioningProperties properties) {
+        int lockStripes = Integer.highestOneBit(Math.max(1, properties.getLockStripes()));
+
+        return new DefaultLockRegistry(lockStripes - 1);
+    }
+}
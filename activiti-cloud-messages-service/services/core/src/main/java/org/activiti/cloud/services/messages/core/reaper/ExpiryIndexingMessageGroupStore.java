@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import org.activiti.cloud.services.messages.core.store.DelegatingMessageGroupStore;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.messaging.Message;
+
+/**
+ * Keeps the {@link MessageGroupExpiryWheel} up to date with the changes of the correlation groups: a group is
+ * rescheduled whenever it changes and cancelled when it is removed.
+ *
+ */
+public class ExpiryIndexingMessageGroupStore extends DelegatingMessageGroupStore {
+
+    private final MessageGroupExpiryWheel expiryWheel;
+    private final long timeoutMillis;
+
+    public ExpiryIndexingMessageGroupStore(
+        MessageGroupStore delegate,
+        MessageGroupExpiryWheel expiryWheel,
+        long timeoutMillis
+    ) {
+        super(delegate);
+        this.expiryWheel = expiryWheel;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+        super.addMessagesToGroup(groupId, messages);
+
+        touch(groupId);
+    }
+
+    @Override
+    public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+        try {
+            return super.addMessageToGroup(groupId, message);
+        } finally {
+            touch(groupId);
+        }
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+        super.removeMessagesFromGroup(groupId, messages);
+
+        touch(groupId);
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Message<?>... messages) {
+        removeMessagesFromGroup(groupId, Arrays.asList(messages));
+    }
+
+    @Override
+    public void removeMessageGroup(Object groupId) {
+        super.removeMessageGroup(groupId);
+
+        expiryWheel.cancel(groupId);
+    }
+
+    private void touch(Object groupId) {
+        expiryWheel.schedule(groupId, System.currentTimeMillis() + timeoutMillis);
+    }
+}
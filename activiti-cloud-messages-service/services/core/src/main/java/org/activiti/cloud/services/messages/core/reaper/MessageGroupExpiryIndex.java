@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import java.util.List;
+
+/**
+ * Persistent expiry index of the message store, used to find the groups that are not tracked by the in-memory
+ * {@link MessageGroupExpiryWheel}, i.e. groups changed by other instances or before a restart.
+ *
+ */
+public interface MessageGroupExpiryIndex {
+    /**
+     * Finds the groups not modified since the given time.
+     *
+     * @param lastModifiedBefore the time in milliseconds.
+     * @param maxGroups the maximum number of groups to return.
+     * @return the ids of the expired groups, at most {@code maxGroups}.
+     */
+    List<Object> findExpiredGroups(long lastModifiedBefore, int maxGroups);
+}
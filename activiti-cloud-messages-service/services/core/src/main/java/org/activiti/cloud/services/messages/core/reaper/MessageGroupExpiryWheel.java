@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory expiry index of correlation groups: groups are kept in time buckets of their expiry time, so that due
+ * groups are found without scanning the message store and without a scheduled timer per group.
+ *
+ */
+public class MessageGroupExpiryWheel {
+
+    private final long bucketMillis;
+    private final ConcurrentSkipListMap<Long, Set<Object>> buckets = new ConcurrentSkipListMap<>();
+    private final Map<Object, Long> groupBuckets = new ConcurrentHashMap<>();
+
+    public MessageGroupExpiryWheel(long bucketMillis) {
+        this.bucketMillis = Math.max(1, bucketMillis);
+    }
+
+    /**
+     * Schedules or reschedules the expiry of a group.
+     *
+     * @param groupId the group id.
+     * @param expiresAt the expiry time in milliseconds.
+     */
+    public void schedule(Object groupId, long expiresAt) {
+        long bucket = expiresAt / bucketMillis;
+        Long previous = groupBuckets.put(groupId, bucket);
+
+        if (previous == null || previous != bucket) {
+            buckets.computeIfAbsent(bucket, key -> ConcurrentHashMap.newKeySet()).add(groupId);
+
+            if (previous != null) {
+                removeFromBucket(previous, groupId);
+            }
+        }
+    }
+
+    public void cancel(Object groupId) {
+        Long bucket = groupBuckets.remove(groupId);
+
+        if (bucket != null) {
+            removeFromBucket(bucket, groupId);
+        }
+    }
+
+    /**
+     * Removes and returns the groups expiring before the given time.
+     *
+     * @param now the current time in milliseconds.
+     * @param maxGroups the maximum number of groups to return.
+     * @return the due groups, at most {@code maxGroups}.
+     */
+    public List<Object> pollDue(long now, int maxGroups) {
+        List<Object> result = new ArrayList<>();
+        Iterator<Map.Entry<Long, Set<Object>>> dueBuckets = buckets.headMap(now / bucketMillis).entrySet().iterator();
+
+        while (result.size() < maxGroups && dueBuckets.hasNext()) {
+            Map.Entry<Long, Set<Object>> bucket = dueBuckets.next();
+            Iterator<Object> groupIds = bucket.getValue().iterator();
+
+            while (result.size() < maxGroups && groupIds.hasNext()) {
+                Object groupId = groupIds.next();
+                groupIds.remove();
+
+                if (groupBuckets.remove(groupId, bucket.getKey())) {
+                    result.add(groupId);
+                }
+            }
+
+            if (bucket.getValue().isEmpty()) {
+                buckets.remove(bucket.getKey(), bucket.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return groupBuckets.size();
+    }
+
+    public Collection<Object> getGroupIds() {
+        return groupBuckets.keySet();
+    }
+
+    private void removeFromBucket(long bucket, Object groupId) {
+        buckets.computeIfPresent(
+            bucket,
+            (key, groupIds) -> {
+                groupIds.remove(groupId);
+                return groupIds.isEmpty() ? null : groupIds;
+            }
+        );
+    }
+}
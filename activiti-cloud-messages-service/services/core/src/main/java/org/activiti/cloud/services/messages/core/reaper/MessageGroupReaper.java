@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import org.activiti.cloud.services.messages.core.aggregator.MessageConnectorAggregator;
+import org.activiti.cloud.services.messages.core.config.MessageGroupReaperProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Single reaper of the expired correlation groups, i.e. orphaned waiting subscriptions or never correlated messages.
+ * <p>
+ * Each run expires in batches the groups due in the {@link MessageGroupExpiryWheel}, and periodically the groups
+ * found by the {@link MessageGroupExpiryIndex} of the message store, which covers the groups changed by other
+ * instances or before a restart. Groups are expired through the aggregator, so that the group timeout settings,
+ * e.g. 'sendPartialResultOnExpiry' and 'expireGroupsUponTimeout', still apply.
+ *
+ */
+public class MessageGroupReaper implements SmartLifecycle, Runnable {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageGroupReaper.class);
+
+    private final MessageConnectorAggregator aggregator;
+    private final MessageGroupStore messageGroupStore;
+    private final MessageGroupExpiryWheel expiryWheel;
+    private final MessageGroupExpiryIndex expiryIndex;
+    private final TaskScheduler taskScheduler;
+    private final long timeoutMillis;
+    private final Duration interval;
+    private final long indexScanIntervalMillis;
+    private final int batchSize;
+
+    private final AtomicLong reapedGroups = new AtomicLong();
+    private final AtomicLong failedGroups = new AtomicLong();
+    private volatile long lastReapDurationMillis;
+    private volatile long lastIndexScan;
+    private volatile ScheduledFuture<?> scheduledFuture;
+
+    public MessageGroupReaper(
+        MessageConnectorAggregator aggregator,
+        MessageGroupStore messageGroupStore,
+        MessageGroupExpiryWheel expiryWheel,
+        MessageGroupExpiryIndex expiryIndex,
+        TaskScheduler taskScheduler,
+        MessageGroupReaperProperties properties
+    ) {
+        this.aggregator = aggregator;
+        this.messageGroupStore = messageGroupStore;
+        this.expiryWheel = expiryWheel;
+        this.expiryIndex = expiryIndex;
+        this.taskScheduler = taskScheduler;
+        this.timeoutMillis = properties.getTimeout().toMillis();
+        this.interval = properties.getInterval();
+        this.indexScanIntervalMillis = properties.getIndexScanInterval().toMillis();
+        this.batchSize = Math.max(1, properties.getBatchSize());
+    }
+
+    @Override
+    public void run() {
+        long start = System.currentTimeMillis();
+
+        try {
+            List<Object> dueGroups;
+            do {
+                dueGroups = expiryWheel.pollDue(System.currentTimeMillis(), batchSize);
+                dueGroups.forEach(this::reap);
+            } while (dueGroups.size() == batchSize);
+
+            if (start - lastIndexScan >= indexScanIntervalMillis) {
+                lastIndexScan = start;
+                reapIndexedGroups(start);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Failed to reap expired message groups", e);
+        } finally {
+            lastReapDurationMillis = System.currentTimeMillis() - start;
+        }
+    }
+
+    private void reapIndexedGroups(long now) {
+        Set<Object> seenGroups = new HashSet<>();
+        List<Object> expiredGroups;
+        boolean fullBatch;
+        do {
+            expiredGroups = expiryIndex.findExpiredGroups(now - timeoutMillis, batchSize);
+            fullBatch = expiredGroups.size() == batchSize;
+            // groups that could not be expired are found again by the next query
+            expiredGroups = expiredGroups.stream().filter(seenGroups::add).toList();
+            expiredGroups.forEach(this::reap);
+        } while (fullBatch && !expiredGroups.isEmpty());
+    }
+
+    private void reap(Object groupId) {
+        try {
+            MessageGroup group = messageGroupStore.getMessageGroup(groupId);
+            long expiresAt = lastModified(group) + timeoutMillis;
+
+            // empty groups are left to the aggregator, which removes them after 'minimumTimeoutForEmptyGroups'
+            if (group.size() > 0 && expiresAt > System.currentTimeMillis()) {
+                expiryWheel.schedule(groupId, expiresAt);
+                return;
+            }
+
+            aggregator.forceExpire(group);
+            reapedGroups.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedGroups.incrementAndGet();
+            logger.warn("Failed to expire message group {}", groupId, e);
+        }
+    }
+
+    static long lastModified(MessageGroup group) {
+        return group.getLastModified() > 0 ? group.getLastModified() : group.getTimestamp();
+    }
+
+    @Override
+    public synchronized void start() {
+        if (scheduledFuture == null) {
+            scheduledFuture = taskScheduler.scheduleWithFixedDelay(this, interval);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduledFuture != null) {
+            scheduledFuture.cancel(false);
+            scheduledFuture = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduledFuture != null;
+    }
+
+    public int getBacklog() {
+        return expiryWheel.size();
+    }
+
+    public long getReapedGroups() {
+        return reapedGroups.get();
+    }
+
+    public long getFailedGroups() {
+        return failedGroups.get();
+    }
+
+    public long getLastReapDurationMillis() {
+        return lastReapDurationMillis;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class MessageGroupReaperMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.messages.reaper.";
+
+    private final MessageGroupReaper reaper;
+
+    public MessageGroupReaperMetrics(MessageGroupReaper reaper) {
+        this.reaper = reaper;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + "backlog", reaper, MessageGroupReaper::getBacklog)
+            .description("Message groups tracked by the expiry wheel")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + "last.duration", reaper, MessageGroupReaper::getLastReapDurationMillis)
+            .description("Duration of the last reaper run in milliseconds")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + "reaped", reaper, MessageGroupReaper::getReapedGroups)
+            .description("Expired message groups")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + "failed", reaper, MessageGroupReaper::getFailedGroups)
+            .description("Message groups that could not be expired")
+            .register(registry);
+    }
+}
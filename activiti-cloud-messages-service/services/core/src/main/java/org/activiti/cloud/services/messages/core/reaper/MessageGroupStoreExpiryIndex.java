@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupStore;
+
+/**
+ * {@link MessageGroupExpiryIndex} for message stores without an expiry index: it iterates over the groups of the
+ * store, like {@link MessageGroupStore#expireMessageGroups(long)} does.
+ *
+ */
+public class MessageGroupStoreExpiryIndex implements MessageGroupExpiryIndex {
+
+    private final MessageGroupStore messageGroupStore;
+
+    public MessageGroupStoreExpiryIndex(MessageGroupStore messageGroupStore) {
+        this.messageGroupStore = messageGroupStore;
+    }
+
+    @Override
+    public List<Object> findExpiredGroups(long lastModifiedBefore, int maxGroups) {
+        List<Object> result = new ArrayList<>();
+        Iterator<MessageGroup> groups = messageGroupStore.iterator();
+
+        while (result.size() < maxGroups && groups.hasNext()) {
+            MessageGroup group = groups.next();
+
+            if (MessageGroupReaper.lastModified(group) < lastModifiedBefore) {
+                result.add(group.getGroupId());
+            }
+        }
+
+        return result;
+    }
+}
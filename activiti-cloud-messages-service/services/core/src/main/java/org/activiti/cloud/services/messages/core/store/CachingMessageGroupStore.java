@@ -0,0 +1,318 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.store;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupCallback;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.messaging.Message;
+
+/**
+ * Write-through near cache of correlation groups in front of a {@link MessageGroupStore}.
+ * <p>
+ * Every change is written to the delegate store first and then applied to the cached group, so that reads of a
+ * correlation group, i.e. {@code getMessageGroup} and {@code messageGroupSize}, don't need a round-trip to the store
+ * once the group is cached. The changes that the cached group shows to be no-ops, like completing a completed group or
+ * removing messages that are not in the group, are not written to the store at all. The cache only sees the changes
+ * made through this instance: it requires the messages of a correlation to be consumed by a single instance, i.e.
+ * partitioned consumers with local locks. Cached groups are read again from the store after the configured time to
+ * live, and the cache is cleared whenever groups are expired. When the cache is full, the least recently used group is
+ * evicted. Locking is left to the lock registry: with partitioned consumers, the in-process locks of the partitioning
+ * configuration avoid the lock round-trips to the store as well.
+ *
+ */
+public class CachingMessageGroupStore extends DelegatingMessageGroupStore {
+
+    private final int maxGroups;
+    private final long timeToLiveMillis;
+    private final Map<Object, CachedGroup> cache;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public CachingMessageGroupStore(MessageGroupStore delegate, int maxGroups, Duration timeToLive) {
+        super(delegate);
+        this.maxGroups = maxGroups;
+        this.timeToLiveMillis = timeToLive.toMillis();
+        this.cache =
+            Collections.synchronizedMap(
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Object, CachedGroup> eldest) {
+                        return size() > maxGroups;
+                    }
+                }
+            );
+    }
+
+    @Override
+    public int messageGroupSize(Object groupId) {
+        return getMessageGroup(groupId).size();
+    }
+
+    @Override
+    public MessageGroup getMessageGroup(Object groupId) {
+        return new SimpleMessageGroup(cachedGroup(groupId));
+    }
+
+    @Override
+    public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+        addMessagesToGroup(groupId, message);
+
+        return getMessageGroup(groupId);
+    }
+
+    @Override
+    public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+        getDelegate().addMessagesToGroup(groupId, messages);
+
+        update(
+            groupId,
+            group -> {
+                Arrays.stream(messages).forEach(group::add);
+                group.setLastModified(System.currentTimeMillis());
+            }
+        );
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+        SimpleMessageGroup cached = freshCachedGroup(groupId);
+        Collection<Message<?>> stored = cached == null
+            ? messages
+            : messages.stream().filter(message -> containsMessage(cached, message)).collect(Collectors.toList());
+
+        if (!stored.isEmpty()) {
+            getDelegate().removeMessagesFromGroup(groupId, stored);
+        }
+
+        removeCachedMessages(groupId, messages.stream().map(message -> message.getHeaders().getId()));
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Message<?>... messages) {
+        removeMessagesFromGroup(groupId, Arrays.asList(messages));
+    }
+
+    @Override
+    public void removeMessageFromGroupById(Object groupId, UUID messageId) {
+        super.removeMessageFromGroupById(groupId, messageId);
+
+        removeCachedMessages(groupId, Stream.of(messageId));
+    }
+
+    @Override
+    public Message<?> pollMessageFromGroup(Object groupId) {
+        Message<?> message = getDelegate().pollMessageFromGroup(groupId);
+
+        if (message != null) {
+            removeCachedMessages(groupId, Stream.of(message.getHeaders().getId()));
+        }
+
+        return message;
+    }
+
+    @Override
+    public void removeMessageGroup(Object groupId) {
+        getDelegate().removeMessageGroup(groupId);
+
+        cache.remove(groupId);
+    }
+
+    @Override
+    public void completeGroup(Object groupId) {
+        if (isCached(groupId, MessageGroup::isComplete)) {
+            return;
+        }
+
+        getDelegate().completeGroup(groupId);
+
+        update(groupId, SimpleMessageGroup::complete);
+    }
+
+    @Override
+    public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+        if (isCached(groupId, group -> group.getLastReleasedMessageSequenceNumber() == sequenceNumber)) {
+            return;
+        }
+
+        getDelegate().setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+
+        update(groupId, group -> group.setLastReleasedMessageSequenceNumber(sequenceNumber));
+    }
+
+    @Override
+    public void setGroupCondition(Object groupId, String condition) {
+        if (isCached(groupId, group -> Objects.equals(group.getCondition(), condition))) {
+            return;
+        }
+
+        getDelegate().setGroupCondition(groupId, condition);
+
+        update(groupId, group -> group.setCondition(condition));
+    }
+
+    @Override
+    public Message<?> getOneMessageFromGroup(Object groupId) {
+        return cachedGroup(groupId).getOne();
+    }
+
+    @Override
+    public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+        return List.copyOf(cachedGroup(groupId).getMessages());
+    }
+
+    @Override
+    public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+        return getMessagesForGroup(groupId).stream();
+    }
+
+    @Override
+    public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+        super.registerMessageGroupExpiryCallback((messageGroupStore, group) -> {
+            cache.remove(group.getGroupId());
+            callback.execute(messageGroupStore, group);
+        });
+    }
+
+    @Override
+    public int expireMessageGroups(long timeout) {
+        try {
+            return super.expireMessageGroups(timeout);
+        } finally {
+            cache.clear();
+        }
+    }
+
+    public int getCachedGroups() {
+        return cache.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public void evict(Object groupId) {
+        cache.remove(groupId);
+    }
+
+    private SimpleMessageGroup cachedGroup(Object groupId) {
+        long now = System.currentTimeMillis();
+        CachedGroup cached = cache.get(groupId);
+
+        if (cached != null && now - cached.cachedAt < timeToLiveMillis) {
+            hits.increment();
+            return cached.group;
+        }
+
+        misses.increment();
+        SimpleMessageGroup group = new SimpleMessageGroup(getDelegate().getMessageGroup(groupId));
+        put(groupId, new CachedGroup(group, now));
+
+        return group;
+    }
+
+    private boolean isCached(Object groupId, Predicate<MessageGroup> state) {
+        SimpleMessageGroup cached = freshCachedGroup(groupId);
+
+        return cached != null && state.test(cached);
+    }
+
+    private SimpleMessageGroup freshCachedGroup(Object groupId) {
+        CachedGroup cached = cache.get(groupId);
+
+        return cached != null && System.currentTimeMillis() - cached.cachedAt < timeToLiveMillis ? cached.group : null;
+    }
+
+    private static boolean containsMessage(MessageGroup group, Message<?> message) {
+        UUID messageId = message.getHeaders().getId();
+
+        return group.getMessages().stream().anyMatch(candidate -> messageId.equals(candidate.getHeaders().getId()));
+    }
+
+    private void removeCachedMessages(Object groupId, Stream<UUID> messageIds) {
+        Set<UUID> removed = messageIds.collect(Collectors.toSet());
+
+        update(
+            groupId,
+            group -> {
+                group
+                    .getMessages()
+                    .stream()
+                    .filter(message -> removed.contains(message.getHeaders().getId()))
+                    .collect(Collectors.toList())
+                    .forEach(group::remove);
+                group.setLastModified(System.currentTimeMillis());
+            }
+        );
+    }
+
+    // cached groups are replaced rather than changed in place, so that readers never see a partial update
+    private void update(Object groupId, GroupChange change) {
+        cache.computeIfPresent(
+            groupId,
+            (key, cached) -> {
+                SimpleMessageGroup group = new SimpleMessageGroup(cached.group);
+                change.apply(group);
+                return new CachedGroup(group, cached.cachedAt);
+            }
+        );
+    }
+
+    // the cache is ordered by access: once the stale groups are dropped, putting a group into a full cache evicts the
+    // least recently used one
+    private void put(Object groupId, CachedGroup cached) {
+        if (cache.size() >= maxGroups) {
+            long now = System.currentTimeMillis();
+            cache.values().removeIf(entry -> now - entry.cachedAt >= timeToLiveMillis);
+        }
+
+        cache.put(groupId, cached);
+    }
+
+    private interface GroupChange {
+        void apply(SimpleMessageGroup group);
+    }
+
+    private static class CachedGroup {
+
+        private final SimpleMessageGroup group;
+        private final long cachedAt;
+
+        CachedGroup(SimpleMessageGroup group, long cachedAt) {
+            this.group = group;
+            this.cachedAt = cachedAt;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.store;
+
+import org.springframework.integration.store.MessageGroupStore;
+
+/**
+ * The {@link MessageGroupStore} the correlation of message events goes through: the aggregator, the handler advices,
+ * the message group processors and the reaper share it, so that they all see the same correlation groups.
+ * <p>
+ * It is the configured message store, decorated by the expiry index of the reaper and by the
+ * {@link CachingMessageGroupStore} near cache when they are enabled. It is exposed by this holder rather than as a {@link MessageGroupStore} bean,
+ * so that the configured message store bean is left as is for everything else.
+ *
+ */
+public class CorrelationMessageGroupStore {
+
+    private final MessageGroupStore messageGroupStore;
+
+    public CorrelationMessageGroupStore(MessageGroupStore messageGroupStore) {
+        this.messageGroupStore = messageGroupStore;
+    }
+
+    public MessageGroupStore getMessageGroupStore() {
+        return messageGroupStore;
+    }
+
+    public boolean isCached() {
+        return messageGroupStore instanceof CachingMessageGroupStore;
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.store;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.MessageGroupCallback;
+import org.springframework.integration.store.MessageGroupMetadata;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.messaging.Message;
+
+/**
+ * {@link MessageGroupStore} that delegates every operation to another store. Base class of the message store
+ * decorators of the Messages Service.
+ *
+ */
+public class DelegatingMessageGroupStore implements MessageGroupStore {
+
+    private final MessageGroupStore delegate;
+
+    public DelegatingMessageGroupStore(MessageGroupStore delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Returns the innermost store wrapped by the given store decorators.
+     *
+     * @param messageStore the message store, possibly decorated.
+     * @return the decorated message store.
+     */
+    public static MessageGroupStore unwrap(MessageGroupStore messageStore) {
+        MessageGroupStore result = messageStore;
+
+        while (result instanceof DelegatingMessageGroupStore delegating) {
+            result = delegating.getDelegate();
+        }
+
+        return result;
+    }
+
+    public MessageGroupStore getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public int messageGroupSize(Object groupId) {
+        return delegate.messageGroupSize(groupId);
+    }
+
+    @Override
+    public MessageGroup getMessageGroup(Object groupId) {
+        return delegate.getMessageGroup(groupId);
+    }
+
+    @Override
+    public MessageGroup addMessageToGroup(Object groupId, Message<?> message) {
+        return delegate.addMessageToGroup(groupId, message);
+    }
+
+    @Override
+    public void addMessagesToGroup(Object groupId, Message<?>... messages) {
+        delegate.addMessagesToGroup(groupId, messages);
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Collection<Message<?>> messages) {
+        delegate.removeMessagesFromGroup(groupId, messages);
+    }
+
+    @Override
+    public void removeMessagesFromGroup(Object groupId, Message<?>... messages) {
+        delegate.removeMessagesFromGroup(groupId, messages);
+    }
+
+    public void removeMessageFromGroupById(Object groupId, UUID messageId) {
+        delegate.removeMessageFromGroupById(groupId, messageId);
+    }
+
+    @Override
+    public Message<?> pollMessageFromGroup(Object groupId) {
+        return delegate.pollMessageFromGroup(groupId);
+    }
+
+    @Override
+    public void removeMessageGroup(Object groupId) {
+        delegate.removeMessageGroup(groupId);
+    }
+
+    @Override
+    public void completeGroup(Object groupId) {
+        delegate.completeGroup(groupId);
+    }
+
+    @Override
+    public void setLastReleasedSequenceNumberForGroup(Object groupId, int sequenceNumber) {
+        delegate.setLastReleasedSequenceNumberForGroup(groupId, sequenceNumber);
+    }
+
+    @Override
+    public void setGroupCondition(Object groupId, String condition) {
+        delegate.setGroupCondition(groupId, condition);
+    }
+
+    @Override
+    public Message<?> getOneMessageFromGroup(Object groupId) {
+        return delegate.getOneMessageFromGroup(groupId);
+    }
+
+    @Override
+    public Collection<Message<?>> getMessagesForGroup(Object groupId) {
+        return delegate.getMessagesForGroup(groupId);
+    }
+
+    @Override
+    public Stream<Message<?>> streamMessagesForGroup(Object groupId) {
+        return delegate.streamMessagesForGroup(groupId);
+    }
+
+    @Override
+    public MessageGroupMetadata getGroupMetadata(Object groupId) {
+        return delegate.getGroupMetadata(groupId);
+    }
+
+    @Override
+    public int getMessageCountForAllMessageGroups() {
+        return delegate.getMessageCountForAllMessageGroups();
+    }
+
+    @Override
+    public int getMessageGroupCount() {
+        return delegate.getMessageGroupCount();
+    }
+
+    @Override
+    public Iterator<MessageGroup> iterator() {
+        return delegate.iterator();
+    }
+
+    @Override
+    public void registerMessageGroupExpiryCallback(MessageGroupCallback callback) {
+        delegate.registerMessageGroupExpiryCallback((messageGroupStore, group) -> callback.execute(this, group));
+    }
+
+    @Override
+    public int expireMessageGroups(long timeout) {
+        return delegate.expireMessageGroups(timeout);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import org.activiti.cloud.common.messaging.ActivitiCloudMessagingProperties;
+import org.activiti.cloud.services.messages.core.store.CorrelationMessageGroupStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+public class MessagesCoreAutoConfigurationNearCacheTest {
+
+    private final MessagesCoreAutoConfiguration configuration = new MessagesCoreAutoConfiguration();
+
+    private final MessageGroupStore messageStore = mock(MessageGroupStore.class);
+
+    private final ActivitiCloudMessagingProperties messagingProperties = mock(ActivitiCloudMessagingProperties.class);
+
+    private final MessageGroupCacheProperties cacheProperties = new MessageGroupCacheProperties();
+
+    @BeforeEach
+    public void setUp() {
+        cacheProperties.setEnabled(true);
+    }
+
+    @Test
+    public void should_cacheCorrelationGroups_when_consumptionIsPartitionedWithLocalLocks() {
+        //given
+        given(messagingProperties.isPartitioned()).willReturn(true);
+
+        //when
+        CorrelationMessageGroupStore correlationStore = correlationMessageGroupStore(new DefaultLockRegistry());
+
+        //then
+        assertThat(correlationStore.isCached()).isTrue();
+    }
+
+    @Test
+    public void should_failFast_when_consumptionIsNotPartitioned() {
+        //given
+        given(messagingProperties.isPartitioned()).willReturn(false);
+
+        //then
+        assertThatThrownBy(() -> correlationMessageGroupStore(new DefaultLockRegistry()))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void should_failFast_when_locksAreNotLocal() {
+        //given
+        given(messagingProperties.isPartitioned()).willReturn(true);
+
+        //then
+        assertThatThrownBy(() -> correlationMessageGroupStore(mock(LockRegistry.class)))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CorrelationMessageGroupStore correlationMessageGroupStore(LockRegistry lockRegistry) {
+        return configuration.correlationMessageGroupStore(
+            messageStore,
+            cacheProperties,
+            messagingProperties,
+            lockRegistry,
+            mock(ObjectProvider.class),
+            mock(ObjectProvider.class)
+        );
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class MessageGroupExpiryWheelTest {
+
+    private MessageGroupExpiryWheel expiryWheel = new MessageGroupExpiryWheel(10);
+
+    @Test
+    public void should_pollOnlyDueGroups() {
+        //given
+        expiryWheel.schedule("due", 1_000);
+        expiryWheel.schedule("later", 5_000);
+
+        //when
+        var dueGroups = expiryWheel.pollDue(2_000, 10);
+
+        //then
+        assertThat(dueGroups).containsExactly("due");
+        assertThat(expiryWheel.getGroupIds()).containsExactly("later");
+    }
+
+    @Test
+    public void should_moveGroupToNewBucket_when_groupIsRescheduled() {
+        //given
+        expiryWheel.schedule("group", 1_000);
+
+        //when
+        expiryWheel.schedule("group", 5_000);
+
+        //then
+        assertThat(expiryWheel.pollDue(2_000, 10)).isEmpty();
+        assertThat(expiryWheel.pollDue(6_000, 10)).containsExactly("group");
+        assertThat(expiryWheel.size()).isZero();
+    }
+
+    @Test
+    public void should_notPollGroup_when_groupIsCancelled() {
+        //given
+        expiryWheel.schedule("group", 1_000);
+
+        //when
+        expiryWheel.cancel("group");
+
+        //then
+        assertThat(expiryWheel.pollDue(2_000, 10)).isEmpty();
+        assertThat(expiryWheel.size()).isZero();
+    }
+
+    @Test
+    public void should_pollAtMostMaxGroups() {
+        //given
+        expiryWheel.schedule("first", 1_000);
+        expiryWheel.schedule("second", 1_100);
+        expiryWheel.schedule("third", 1_200);
+
+        //when
+        var dueGroups = expiryWheel.pollDue(2_000, 2);
+
+        //then
+        assertThat(dueGroups).containsExactly("first", "second");
+        assertThat(expiryWheel.pollDue(2_000, 2)).containsExactly("third");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.reaper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
+
+import java.time.Duration;
+import java.util.List;
+import org.activiti.cloud.services.messages.core.aggregator.MessageConnectorAggregator;
+import org.activiti.cloud.services.messages.core.config.MessageGroupReaperProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.TaskScheduler;
+
+@ExtendWith(MockitoExtension.class)
+public class MessageGroupReaperTest {
+
+    @Mock
+    private MessageConnectorAggregator aggregator;
+
+    @Mock
+    private MessageGroupExpiryIndex expiryIndex;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    private SimpleMessageStore messageStore;
+
+    private MessageGroupExpiryWheel expiryWheel;
+
+    private MessageGroupReaper reaper;
+
+    @BeforeEach
+    public void setUp() {
+        MessageGroupReaperProperties properties = new MessageGroupReaperProperties();
+        properties.setTimeout(Duration.ofMinutes(1));
+
+        messageStore = new SimpleMessageStore();
+        expiryWheel = new MessageGroupExpiryWheel(10);
+        reaper = new MessageGroupReaper(aggregator, messageStore, expiryWheel, expiryIndex, taskScheduler, properties);
+    }
+
+    @Test
+    public void should_rescheduleDueGroup_when_groupWasModifiedWithinTimeout() {
+        //given
+        messageStore.addMessageToGroup("group", MessageBuilder.withPayload("waiting").build());
+        expiryWheel.schedule("group", 0);
+        given(expiryIndex.findExpiredGroups(anyLong(), anyInt())).willReturn(List.of());
+
+        //when
+        reaper.run();
+
+        //then
+        assertThat(reaper.getReapedGroups()).isZero();
+        assertThat(expiryWheel.getGroupIds()).containsExactly("group");
+        then(aggregator).should(never()).forceExpire(any(MessageGroup.class));
+    }
+
+    @Test
+    public void should_expireIndexedGroup_when_groupIsFoundByStoreIndex() {
+        //given
+        given(expiryIndex.findExpiredGroups(anyLong(), anyInt())).willReturn(List.of("orphaned"));
+
+        //when
+        reaper.run();
+
+        //then
+        then(aggregator).should().forceExpire(any(MessageGroup.class));
+        assertThat(reaper.getReapedGroups()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.core.store;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.store.MessageGroup;
+import org.springframework.integration.store.SimpleMessageStore;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class CachingMessageGroupStoreTest {
+
+    private static final String GROUP_ID = "app:message:key";
+
+    private SimpleMessageStore delegate;
+
+    private CachingMessageGroupStore messageStore;
+
+    @BeforeEach
+    public void setUp() {
+        delegate = spy(new SimpleMessageStore());
+        messageStore = new CachingMessageGroupStore(delegate, 10, Duration.ofMinutes(1));
+    }
+
+    @Test
+    public void should_readGroupFromStoreOnlyOnce_when_groupIsCached() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, MessageBuilder.withPayload("waiting").build());
+
+        //when
+        MessageGroup group = messageStore.getMessageGroup(GROUP_ID);
+        int size = messageStore.messageGroupSize(GROUP_ID);
+
+        //then
+        assertThat(group.getMessages()).extracting(Message::getPayload).containsExactly("waiting");
+        assertThat(size).isEqualTo(1);
+        assertThat(messageStore.getMisses()).isEqualTo(1);
+        assertThat(messageStore.getHits()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_writeThroughToDelegate_when_messagesAreRemoved() {
+        //given
+        Message<String> waiting = MessageBuilder.withPayload("waiting").build();
+        Message<String> sent = MessageBuilder.withPayload("sent").build();
+        messageStore.addMessagesToGroup(GROUP_ID, waiting, sent);
+        messageStore.getMessageGroup(GROUP_ID);
+
+        //when
+        messageStore.removeMessagesFromGroup(GROUP_ID, sent);
+
+        //then
+        assertThat(delegate.getMessageGroup(GROUP_ID).getMessages()).containsExactly(waiting);
+        assertThat(messageStore.getMessageGroup(GROUP_ID).getMessages()).containsExactly(waiting);
+    }
+
+    @Test
+    public void should_evictCachedGroup_when_groupIsRemoved() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, MessageBuilder.withPayload("waiting").build());
+
+        //when
+        messageStore.removeMessageGroup(GROUP_ID);
+
+        //then
+        assertThat(messageStore.getCachedGroups()).isZero();
+        assertThat(messageStore.messageGroupSize(GROUP_ID)).isZero();
+    }
+
+    @Test
+    public void should_completeCachedGroup_when_groupIsCompleted() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, MessageBuilder.withPayload("waiting").build());
+
+        //when
+        messageStore.completeGroup(GROUP_ID);
+
+        //then
+        assertThat(messageStore.getMessageGroup(GROUP_ID).isComplete()).isTrue();
+        assertThat(delegate.getMessageGroup(GROUP_ID).isComplete()).isTrue();
+    }
+
+    @Test
+    public void should_notWriteToDelegate_when_cachedGroupIsAlreadyComplete() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, MessageBuilder.withPayload("waiting").build());
+        messageStore.completeGroup(GROUP_ID);
+
+        //when
+        messageStore.completeGroup(GROUP_ID);
+
+        //then
+        verify(delegate).completeGroup(GROUP_ID);
+    }
+
+    @Test
+    public void should_notWriteToDelegate_when_removedMessagesAreNotInCachedGroup() {
+        //given
+        Message<String> waiting = MessageBuilder.withPayload("waiting").build();
+        messageStore.addMessageToGroup(GROUP_ID, waiting);
+
+        //when
+        messageStore.removeMessagesFromGroup(GROUP_ID, MessageBuilder.withPayload("other").build());
+
+        //then
+        verify(delegate, never()).removeMessagesFromGroup(any(), anyCollection());
+        assertThat(messageStore.getMessageGroup(GROUP_ID).getMessages()).containsExactly(waiting);
+    }
+
+    @Test
+    public void should_notWriteToDelegate_when_groupConditionIsUnchanged() {
+        //given
+        messageStore.addMessageToGroup(GROUP_ID, MessageBuilder.withPayload("waiting").build());
+        messageStore.setGroupCondition(GROUP_ID, "condition");
+
+        //when
+        messageStore.setGroupCondition(GROUP_ID, "condition");
+
+        //then
+        verify(delegate).setGroupCondition(GROUP_ID, "condition");
+        assertThat(messageStore.getMessageGroup(GROUP_ID).getCondition()).isEqualTo("condition");
+    }
+
+    @Test
+    public void should_evictTheLeastRecentlyUsedGroup_when_cacheIsFull() {
+        //given
+        messageStore = new CachingMessageGroupStore(delegate, 2, Duration.ofMinutes(1));
+        messageStore.getMessageGroup("first");
+        messageStore.getMessageGroup("second");
+        messageStore.getMessageGroup("first");
+
+        //when
+        messageStore.getMessageGroup("third");
+
+        //then
+        assertThat(messageStore.getCachedGroups()).isEqualTo(2);
+        messageStore.getMessageGroup("first");
+        messageStore.getMessageGroup("third");
+        assertThat(messageStore.getHits()).isEqualTo(3);
+        messageStore.getMessageGroup("second");
+        assertThat(messageStore.getMisses()).isEqualTo(4);
+    }
+}
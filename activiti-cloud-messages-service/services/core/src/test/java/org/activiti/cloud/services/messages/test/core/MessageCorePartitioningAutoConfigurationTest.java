@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.test.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.integration.support.locks.DefaultLockRegistry;
+import org.springframework.integration.support.locks.LockRegistry;
+
+@SpringBootTest(
+    properties = {
+        "activiti.cloud.application.name=my-activiti-rb-app",
+        "activiti.cloud.messaging.partitioned=true",
+        "activiti.cloud.messaging.partition-count=4",
+        "activiti.cloud.messaging.instance-index=1",
+    }
+)
+@Import(TestChannelBinderConfiguration.class)
+public class MessageCorePartitioningAutoConfigurationTest {
+
+    @Autowired
+    private LockRegistry lockRegistry;
+
+    @Autowired
+    private ApplicationContext applicationContext;
+
+    @SpringBootApplication
+    static class Application {}
+
+    @Test
+    public void should_consumePartitionsAndUseLocalLocks_when_messagingIsPartitioned() {
+        assertThat(lockRegistry).isInstanceOf(DefaultLockRegistry.class);
+
+        assertThat(getProperty("spring.cloud.stream.bindings.messageConnectorInput.consumer.partitioned"))
+            .isEqualTo("true");
+        assertThat(getProperty("spring.cloud.stream.instanceIndex")).isEqualTo("1");
+        assertThat(getProperty("spring.cloud.stream.instanceCount")).isEqualTo("4");
+    }
+
+    private String getProperty(String name) {
+        return applicationContext.getEnvironment().getProperty(name);
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.messages.jdbc;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.List;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupExpiryIndex;
+import org.springframework.integration.aggregator.CorrelationStrategy;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
+import org.springframework.messaging.Message;
+
+/**
+ * {@link MessageGroupExpiryIndex} of the JDBC message store: expired groups are found with a query on the
+ * UPDATED_DATE column of the message group table, backed by the index of the
+ * {@link JdbcMessageGroupExpiryIndexInitializer} schema script.
+ * <p>
+ * The table only holds the group keys, i.e. the hashes of the correlation keys computed by the JDBC message store.
+ * Each expired group is read from the store, and the correlation key of its messages is returned, so that the reaper
+ * expires the group under the id the aggregator, the expiry wheel and the near cache know it by.
+ */
+public class JdbcMessageGroupExpiryIndex implements MessageGroupExpiryIndex {
+
+    public static final String DEFAULT_TABLE_PREFIX = "INT_";
+    public static final String DEFAULT_REGION = "DEFAULT";
+
+    private static final String FIND_EXPIRED_GROUPS =
+        "SELECT GROUP_KEY FROM %PREFIX%MESSAGE_GROUP WHERE REGION = ? AND UPDATED_DATE < ? ORDER BY UPDATED_DATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MessageGroupStore messageStore;
+    private final CorrelationStrategy correlationStrategy;
+    private final String tablePrefix;
+    private final String region;
+
+    public JdbcMessageGroupExpiryIndex(
+        JdbcTemplate jdbcTemplate,
+        MessageGroupStore messageStore,
+        CorrelationStrategy correlationStrategy,
+        String tablePrefix,
+        String region
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.messageStore = messageStore;
+        this.correlationStrategy = correlationStrategy;
+        this.tablePrefix = tablePrefix;
+        this.region = region;
+    }
+
+    @Override
+    public List<Object> findExpiredGroups(long lastModifiedBefore, int maxGroups) {
+        List<String> groupKeys = jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(getQuery(FIND_EXPIRED_GROUPS));
+                statement.setString(1, region);
+                statement.setTimestamp(2, new Timestamp(lastModifiedBefore));
+                statement.setMaxRows(maxGroups);
+                return statement;
+            },
+            new SingleColumnRowMapper<>(String.class)
+        );
+
+        return groupKeys.stream().map(this::correlationKey).toList();
+    }
+
+    // group keys are accepted as group ids by the JDBC message store: an empty group has no correlation key to map
+    // back to, it is returned under its group key and expired as such
+    private Object correlationKey(String groupKey) {
+        Message<?> message = messageStore.getMessageGroup(groupKey).getOne();
+
+        return message != null ? correlationStrategy.getCorrelationKey(message) : groupKey;
+    }
+
+    private String getQuery(String query) {
+        return query.replace("%PREFIX%", tablePrefix);
+    }
+}
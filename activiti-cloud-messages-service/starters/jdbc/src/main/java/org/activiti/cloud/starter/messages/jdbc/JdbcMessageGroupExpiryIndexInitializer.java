@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.messages.jdbc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Creates the (REGION, UPDATED_DATE) index of the message group table queried by the
+ * {@link JdbcMessageGroupExpiryIndex}. It is initialized like the Spring Integration schema, after it: the script is
+ * run according to {@code spring.integration.jdbc.initialize-schema}, and errors such as an already existing index are
+ * ignored. The {@code %PREFIX%} placeholder of the script is replaced by the table prefix of the message store. When
+ * the schema is managed outside of the application, the script should be applied along with it.
+ *
+ */
+public class JdbcMessageGroupExpiryIndexInitializer extends DataSourceScriptDatabaseInitializer {
+
+    public static final String SCHEMA_LOCATION =
+        "classpath:org/activiti/cloud/starter/messages/jdbc/schema-message-group-expiry-index.sql";
+
+    private final String tablePrefix;
+
+    public JdbcMessageGroupExpiryIndexInitializer(
+        DataSource dataSource,
+        DatabaseInitializationMode mode,
+        String tablePrefix
+    ) {
+        super(dataSource, getSettings(mode));
+        this.tablePrefix = tablePrefix;
+    }
+
+    @Override
+    protected void runScripts(Scripts scripts) {
+        Charset encoding = scripts.getEncoding() != null ? scripts.getEncoding() : StandardCharsets.UTF_8;
+        List<Resource> resources = new ArrayList<>();
+        for (Resource script : scripts) {
+            resources.add(withTablePrefix(script, encoding));
+        }
+
+        super.runScripts(
+            new Scripts(resources)
+                .continueOnError(scripts.isContinueOnError())
+                .separator(scripts.getSeparator())
+                .encoding(encoding)
+        );
+    }
+
+    private Resource withTablePrefix(Resource script, Charset encoding) {
+        try {
+            String sql = StreamUtils.copyToString(script.getInputStream(), encoding).replace("%PREFIX%", tablePrefix);
+            return new ByteArrayResource(sql.getBytes(encoding), script.getDescription());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + script.getDescription(), e);
+        }
+    }
+
+    static DatabaseInitializationSettings getSettings(DatabaseInitializationMode mode) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(List.of(SCHEMA_LOCATION));
+        settings.setMode(mode);
+        settings.setContinueOnError(true);
+        return settings;
+    }
+}
@@ -18,13 +18,20 @@ package org.activiti.cloud.starter.messages.jdbc;
 import javax.sql.DataSource;
 import org.activiti.cloud.services.messages.core.config.MessageAggregatorProperties;
 import org.activiti.cloud.services.messages.core.config.MessagesCoreAutoConfiguration;
+import org.activiti.cloud.services.messages.core.reaper.MessageGroupExpiryIndex;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.integration.IntegrationAutoConfiguration;
+import org.springframework.boot.autoconfigure.integration.IntegrationDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.integration.IntegrationProperties;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.integration.aggregator.CorrelationStrategy;
 import org.springframework.integration.jdbc.lock.DefaultLockRepository;
 import org.springframework.integration.jdbc.lock.JdbcLockRegistry;
 import org.springframework.integration.jdbc.lock.LockRepository;
@@ -38,7 +45,11 @@ import org.springframework.util.StringUtils;
 
 @AutoConfiguration(
     before = { MessagesCoreAutoConfiguration.class },
-    after = { DataSourceAutoConfiguration.class, DataSourceTransactionManagerAutoConfiguration.class }
+    after = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        IntegrationAutoConfiguration.class,
+    }
 )
 @ConditionalOnClass(JdbcMessageStore.class)
 @PropertySource("classpath:config/activiti-cloud-starter-messages-jdbc.properties")
@@ -56,6 +67,42 @@ public class JdbcMessageStoreAutoConfiguration {
         return messageStore;
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.messages.reaper.enabled", havingValue = "true")
+    public MessageGroupExpiryIndex messageGroupExpiryIndex(
+        JdbcTemplate jdbcTemplate,
+        MessageGroupStore messageStore,
+        CorrelationStrategy correlationStrategy,
+        MessageAggregatorProperties properties
+    ) {
+        return new JdbcMessageGroupExpiryIndex(
+            jdbcTemplate,
+            messageStore,
+            correlationStrategy,
+            tablePrefix(properties),
+            JdbcMessageGroupExpiryIndex.DEFAULT_REGION
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.messages.reaper.enabled", havingValue = "true")
+    @ConditionalOnBean(IntegrationDataSourceScriptDatabaseInitializer.class)
+    public JdbcMessageGroupExpiryIndexInitializer jdbcMessageGroupExpiryIndexInitializer(
+        DataSource dataSource,
+        IntegrationProperties integrationProperties,
+        MessageAggregatorProperties properties,
+        IntegrationDataSourceScriptDatabaseInitializer integrationDataSourceInitializer
+    ) {
+        // depending on the Spring Integration schema initializer creates the message group table before its index
+        return new JdbcMessageGroupExpiryIndexInitializer(
+            dataSource,
+            integrationProperties.getJdbc().getInitializeSchema(),
+            tablePrefix(properties)
+        );
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ConcurrentMetadataStore metadataStore(JdbcTemplate jdbcTemplate) {
@@ -73,4 +120,10 @@ public class JdbcMessageStoreAutoConfiguration {
     public LockRegistry lockRegistry(LockRepository lockRepository) {
         return new JdbcLockRegistry(lockRepository);
     }
+
+    private static String tablePrefix(MessageAggregatorProperties properties) {
+        return StringUtils.hasText(properties.getMessageStoreEntity())
+            ? properties.getMessageStoreEntity()
+            : JdbcMessageGroupExpiryIndex.DEFAULT_TABLE_PREFIX;
+    }
 }
@@ -0,0 +1 @@
+CREATE INDEX %PREFIX%MSG_GROUP_UPDATED_IDX ON %PREFIX%MESSAGE_GROUP (REGION, UPDATED_DATE);
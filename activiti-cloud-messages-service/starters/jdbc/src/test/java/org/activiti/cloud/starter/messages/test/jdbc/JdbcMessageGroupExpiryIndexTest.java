@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.messages.test.jdbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+import java.util.List;
+import org.activiti.cloud.starter.messages.jdbc.JdbcMessageGroupExpiryIndex;
+import org.junit.jupiter.api.Test;
+import org.springframework.integration.IntegrationMessageHeaderAccessor;
+import org.springframework.integration.aggregator.HeaderAttributeCorrelationStrategy;
+import org.springframework.integration.store.MessageGroupStore;
+import org.springframework.integration.store.SimpleMessageGroup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class JdbcMessageGroupExpiryIndexTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    private final MessageGroupStore messageStore = mock(MessageGroupStore.class);
+
+    private final JdbcMessageGroupExpiryIndex expiryIndex = new JdbcMessageGroupExpiryIndex(
+        jdbcTemplate,
+        messageStore,
+        new HeaderAttributeCorrelationStrategy(IntegrationMessageHeaderAccessor.CORRELATION_ID),
+        JdbcMessageGroupExpiryIndex.DEFAULT_TABLE_PREFIX,
+        JdbcMessageGroupExpiryIndex.DEFAULT_REGION
+    );
+
+    @Test
+    public void should_returnTheCorrelationKeysOfTheExpiredGroups() {
+        //given
+        given(jdbcTemplate.query(any(PreparedStatementCreator.class), any(RowMapper.class)))
+            .willReturn(List.of("group-key", "empty-group-key"));
+        given(messageStore.getMessageGroup("group-key"))
+            .willReturn(
+                new SimpleMessageGroup(
+                    List.of(MessageBuilder.withPayload("waiting").setCorrelationId("app:message:key").build()),
+                    "group-key"
+                )
+            );
+        given(messageStore.getMessageGroup("empty-group-key")).willReturn(new SimpleMessageGroup("empty-group-key"));
+
+        //when
+        List<Object> expiredGroups = expiryIndex.findExpiredGroups(System.currentTimeMillis(), 10);
+
+        //then
+        assertThat(expiredGroups).containsExactly("app:message:key", "empty-group-key");
+    }
+}
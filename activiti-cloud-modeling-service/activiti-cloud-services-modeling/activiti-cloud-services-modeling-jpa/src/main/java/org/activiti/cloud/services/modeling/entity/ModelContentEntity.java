@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Transient;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Model content entity, holding one distinct model content shared by all the model versions with the same content.
+ * The content is identified by its SHA-256 hash and stored compressed, inline as a byte array rather than as a large
+ * object, so that deleting a content leaves nothing behind.
+ */
+@Entity(name = "ModelContent")
+public class ModelContentEntity {
+
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column
+    private byte[] content;
+
+    @Transient
+    private byte[] uncompressedContent;
+
+    public ModelContentEntity() {}
+
+    public ModelContentEntity(byte[] content) {
+        this.hash = hash(content);
+        this.content = compress(content);
+        this.uncompressedContent = content;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+
+    public byte[] getContent() {
+        if (uncompressedContent == null && content != null) {
+            uncompressedContent = decompress(content);
+        }
+        return uncompressedContent;
+    }
+
+    public byte[] getCompressedContent() {
+        return content;
+    }
+
+    static String hash(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    static byte[] compress(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater();
+        try (DeflaterOutputStream deflaterStream = new DeflaterOutputStream(compressed, deflater)) {
+            deflaterStream.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+        return compressed.toByteArray();
+    }
+
+    static byte[] decompress(byte[] content) {
+        try (InflaterInputStream inflaterStream = new InflaterInputStream(new ByteArrayInputStream(content))) {
+            return inflaterStream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -24,13 +24,16 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
 import jakarta.persistence.Transient;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.UnaryOperator;
 import org.activiti.cloud.services.modeling.jpa.audit.AuditableEntity;
+import org.activiti.cloud.services.modeling.jpa.version.ContentAddressedVersionEntity;
 import org.activiti.cloud.services.modeling.jpa.version.VersionEntity;
 import org.activiti.cloud.services.modeling.jpa.version.VersionIdentifier;
 
@@ -40,7 +43,9 @@ import org.activiti.cloud.services.modeling.jpa.version.VersionIdentifier;
 @Entity(name = "ModelVersion")
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonInclude(NON_NULL)
-public class ModelVersionEntity extends AuditableEntity<String> implements VersionEntity<ModelEntity> {
+public class ModelVersionEntity
+    extends AuditableEntity<String>
+    implements VersionEntity<ModelEntity>, ContentAddressedVersionEntity<ModelContentEntity> {
 
     @EmbeddedId
     @JsonIgnore
@@ -53,10 +58,19 @@ public class ModelVersionEntity extends AuditableEntity<String> implements Versi
 
     private String contentType;
 
+    /**
+     * Content not moved yet to the shared content storage: content of versions created before content-addressed
+     * storage or content changed since the version was last saved.
+     */
     @Lob
     @Column
     private byte[] content;
 
+    @JsonIgnore
+    @ManyToOne
+    @JoinColumn(name = "content_hash")
+    private ModelContentEntity storedContent;
+
     @Column(columnDefinition = "TEXT")
     @Convert(converter = ExtensionsJsonConverter.class)
     private Map<String, Object> extensions;
@@ -64,7 +78,8 @@ public class ModelVersionEntity extends AuditableEntity<String> implements Versi
     public ModelVersionEntity() {}
 
     public ModelVersionEntity(ModelVersionEntity version) {
-        setContent(version.getContent());
+        this.content = version.content;
+        this.storedContent = version.storedContent;
         setContentType(version.getContentType());
         setExtensions(version.getExtensions());
     }
@@ -96,11 +111,29 @@ public class ModelVersionEntity extends AuditableEntity<String> implements Versi
     }
 
     public byte[] getContent() {
+        if (content == null && storedContent != null) {
+            return storedContent.getContent();
+        }
         return content;
     }
 
     public void setContent(byte[] content) {
         this.content = content;
+        this.storedContent = null;
+    }
+
+    @Override
+    @JsonIgnore
+    public ModelContentEntity getStoredContent() {
+        return storedContent;
+    }
+
+    @Override
+    public void storeContent(UnaryOperator<ModelContentEntity> contentStore) {
+        if (content != null) {
+            storedContent = contentStore.apply(new ModelContentEntity(content));
+            content = null;
+        }
     }
 
     public Map<String, Object> getExtensions() {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.jpa;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.activiti.cloud.services.modeling.entity.ModelVersionEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the content of the model versions saved before content-addressed storage to the {@link ModelContentStore},
+ * once the application has started. The versions are moved in batches, each in its own transaction.
+ */
+public class ModelContentBackfill implements ApplicationRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModelContentBackfill.class);
+
+    static final int BATCH_SIZE = 100;
+
+    private final EntityManager entityManager;
+
+    private final ModelContentStore contentStore;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ModelContentBackfill(
+        EntityManager entityManager,
+        ModelContentStore contentStore,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.entityManager = entityManager;
+        this.contentStore = contentStore;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long movedVersions = 0;
+        int batchSize;
+        do {
+            batchSize = transactionTemplate.execute(status -> moveBatch());
+            movedVersions += batchSize;
+        } while (batchSize == BATCH_SIZE);
+
+        if (movedVersions > 0) {
+            LOGGER.info("Moved the content of {} model versions to the shared model contents", movedVersions);
+        }
+    }
+
+    private int moveBatch() {
+        List<ModelVersionEntity> versions = entityManager
+            .createQuery("SELECT v FROM ModelVersion v WHERE v.content IS NOT NULL", ModelVersionEntity.class)
+            .setMaxResults(BATCH_SIZE)
+            .getResultList();
+
+        versions.forEach(version -> version.storeContent(contentStore::store));
+        entityManager.flush();
+        entityManager.clear();
+
+        return versions.size();
+    }
+}
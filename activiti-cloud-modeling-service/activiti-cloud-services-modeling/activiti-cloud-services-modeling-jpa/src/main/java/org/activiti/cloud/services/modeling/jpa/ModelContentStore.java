@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.jpa;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.activiti.cloud.services.modeling.entity.ModelContentEntity;
+import org.activiti.cloud.services.modeling.jpa.version.VersionContentStore;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+
+/**
+ * {@link VersionContentStore} of the model versions, storing each distinct {@link ModelContentEntity} once.
+ * <p>
+ * A content is inserted in the transaction of the version referencing it, with an insert that does nothing when the
+ * same content is already stored or inserted concurrently, e.g. when models are created at the same time from the same
+ * template. The stored content is then locked until the end of the transaction, so that a concurrent release can not
+ * delete it before the version referencing it is saved; if a release deleted it in between, it is inserted again.
+ * Versions reference the stored content by its hash, without loading it.
+ */
+public class ModelContentStore implements VersionContentStore<ModelContentEntity> {
+
+    static final int MAX_ATTEMPTS = 3;
+
+    private static final String POSTGRESQL_INSERT_IF_ABSENT =
+        "insert into model_content (hash, content) values (:hash, :content) on conflict (hash) do nothing";
+
+    private static final String POSTGRESQL_LOCK = "select hash from model_content where hash = :hash for key share";
+
+    private static final String H2_INSERT_IF_ABSENT = "merge into model_content key (hash) values (:hash, :content)";
+
+    private static final String H2_LOCK = "select hash from model_content where hash = :hash for update";
+
+    private static final String LOCK_RELEASED =
+        "select hash from model_content where hash in (:hashes) order by hash for update";
+
+    private final EntityManager entityManager;
+
+    private final String insertIfAbsentStatement;
+
+    private final String lockStatement;
+
+    public ModelContentStore(EntityManager entityManager, Dialect dialect) {
+        this.entityManager = entityManager;
+        boolean postgreSql = dialect instanceof PostgreSQLDialect;
+        this.insertIfAbsentStatement = postgreSql ? POSTGRESQL_INSERT_IF_ABSENT : H2_INSERT_IF_ABSENT;
+        this.lockStatement = postgreSql ? POSTGRESQL_LOCK : H2_LOCK;
+    }
+
+    @Override
+    public ModelContentEntity store(ModelContentEntity content) {
+        for (int attempt = 1; !lock(content.getHash()); attempt++) {
+            if (attempt > MAX_ATTEMPTS) {
+                throw new IllegalStateException("Unable to store model content " + content.getHash());
+            }
+            insertIfAbsent(content);
+        }
+
+        return entityManager.getReference(ModelContentEntity.class, content.getHash());
+    }
+
+    @Override
+    public void release(Collection<ModelContentEntity> contents) {
+        Set<String> hashes = contents.stream().map(ModelContentEntity::getHash).collect(Collectors.toSet());
+
+        // waits for the transactions storing versions with these contents, so that their versions are seen below
+        entityManager.createNativeQuery(LOCK_RELEASED).setParameter("hashes", hashes).getResultList();
+
+        entityManager
+            .createQuery(
+                "DELETE FROM ModelContent c WHERE c.hash IN :hashes " +
+                "AND NOT EXISTS (SELECT v FROM ModelVersion v WHERE v.storedContent = c)"
+            )
+            .setParameter("hashes", hashes)
+            .executeUpdate();
+    }
+
+    private void insertIfAbsent(ModelContentEntity content) {
+        entityManager
+            .createNativeQuery(insertIfAbsentStatement)
+            .setParameter("hash", content.getHash())
+            .setParameter("content", content.getCompressedContent())
+            .executeUpdate();
+    }
+
+    private boolean lock(String hash) {
+        return !entityManager.createNativeQuery(lockStatement).setParameter("hash", hash).getResultList().isEmpty();
+    }
+}
@@ -15,16 +15,21 @@
  */
 package org.activiti.cloud.services.modeling.jpa.config;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.modeling.repository.ModelRepository;
+import org.activiti.cloud.services.modeling.jpa.ModelContentBackfill;
+import org.activiti.cloud.services.modeling.jpa.ModelContentStore;
 import org.activiti.cloud.services.modeling.jpa.ModelJpaRepository;
 import org.activiti.cloud.services.modeling.jpa.ModelRepositoryImpl;
 import org.activiti.cloud.services.modeling.jpa.audit.AuditorAwareImpl;
 import org.activiti.cloud.services.modeling.jpa.version.ExtendedJpaRepositoryFactoryBean;
 import org.activiti.cloud.services.modeling.jpa.version.VersionGenerator;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
@@ -33,6 +38,7 @@ import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration
 @EnableJpaRepositories(
@@ -59,6 +65,26 @@ public class ModelingJpaAutoConfiguration {
         return new VersionGenerator();
     }
 
+    @Bean
+    public ModelContentStore modelContentStore(
+        EntityManager entityManager,
+        EntityManagerFactory entityManagerFactory
+    ) {
+        return new ModelContentStore(
+            entityManager,
+            entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect()
+        );
+    }
+
+    @Bean
+    public ModelContentBackfill modelContentBackfill(
+        EntityManager entityManager,
+        ModelContentStore modelContentStore,
+        PlatformTransactionManager transactionManager
+    ) {
+        return new ModelContentBackfill(entityManager, modelContentStore, transactionManager);
+    }
+
     @Bean
     public ModelRepository modelRepository(ModelJpaRepository modelJpaRepository) {
         return new ModelRepositoryImpl(modelJpaRepository);
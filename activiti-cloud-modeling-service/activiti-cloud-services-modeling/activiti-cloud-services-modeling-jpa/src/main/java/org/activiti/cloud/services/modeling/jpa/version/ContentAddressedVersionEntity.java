@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.jpa.version;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * Interface for version entity storing its content once per distinct content, in a separate content entity,
+ * instead of inline in every version.
+ * @param <C> the content entity type
+ */
+public interface ContentAddressedVersionEntity<C> {
+    /**
+     * Move the inline content of this version, if any, to a content entity.
+     * @param contentStore returns the stored content entity for a given one, reusing an already stored content
+     *                     entity with the same identity
+     */
+    void storeContent(UnaryOperator<C> contentStore);
+
+    /**
+     * Get the content entity referenced by this version.
+     * @return the stored content entity, or null if the content of this version is not stored yet
+     */
+    C getStoredContent();
+}
@@ -17,6 +17,8 @@ package org.activiti.cloud.services.modeling.jpa.version;
 
 import jakarta.persistence.EntityManager;
 import java.io.Serializable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
 import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
@@ -34,6 +36,8 @@ import org.springframework.data.repository.core.support.RepositoryFactorySupport
 public class ExtendedJpaRepositoryFactoryBean<R extends JpaRepository<T, K>, T, K extends Serializable, V extends VersionEntity>
     extends JpaRepositoryFactoryBean<R, T, K> {
 
+    private VersionContentStore<?> versionContentStore;
+
     /**
      * Creates a new {@link JpaRepositoryFactoryBean} for the given repository interface.
      * @param repositoryInterface must not be {@literal null}.
@@ -42,6 +46,15 @@ public class ExtendedJpaRepositoryFactoryBean<R extends JpaRepository<T, K>, T,
         super(repositoryInterface);
     }
 
+    /**
+     * Configure the store of the version contents, if any, for the versioned repositories.
+     * @param versionContentStore the version content store provider
+     */
+    @Autowired
+    public void setVersionContentStore(ObjectProvider<VersionContentStore<?>> versionContentStore) {
+        this.versionContentStore = versionContentStore.getIfAvailable();
+    }
+
     /**
      * Create a {@link ExtendedJpaRepositoryFactory} instance with the given {@link EntityManager}
      * @param entityManager the entity manager
@@ -49,7 +62,7 @@ public class ExtendedJpaRepositoryFactoryBean<R extends JpaRepository<T, K>, T,
      */
     @Override
     protected RepositoryFactorySupport createRepositoryFactory(EntityManager entityManager) {
-        return new ExtendedJpaRepositoryFactory(entityManager);
+        return new ExtendedJpaRepositoryFactory(entityManager, versionContentStore);
     }
 
     /**
@@ -61,8 +74,11 @@ public class ExtendedJpaRepositoryFactoryBean<R extends JpaRepository<T, K>, T,
     private static class ExtendedJpaRepositoryFactory<T extends VersionedEntity, ID extends Serializable, V extends VersionEntity>
         extends JpaRepositoryFactory {
 
-        public ExtendedJpaRepositoryFactory(EntityManager em) {
+        private final VersionContentStore<?> versionContentStore;
+
+        public ExtendedJpaRepositoryFactory(EntityManager em, VersionContentStore<?> versionContentStore) {
             super(em);
+            this.versionContentStore = versionContentStore;
         }
 
         /**
@@ -105,7 +121,12 @@ public class ExtendedJpaRepositoryFactoryBean<R extends JpaRepository<T, K>, T,
 
             Class<T> versionedEntityType = (Class<T>) metadata.getDomainType();
             Class<V> versionEntityType = (Class<V>) metadata.getVersionEntityType();
-            return new VersionedJpaRepositoryImpl<T, ID, V>(versionedEntityType, versionEntityType, entityManager);
+            return new VersionedJpaRepositoryImpl<T, ID, V>(
+                versionedEntityType,
+                versionEntityType,
+                entityManager,
+                versionContentStore
+            );
         }
     }
 }
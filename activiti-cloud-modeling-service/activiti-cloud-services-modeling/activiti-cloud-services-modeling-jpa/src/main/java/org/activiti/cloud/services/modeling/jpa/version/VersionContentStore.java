@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.jpa.version;
+
+import java.util.Collection;
+
+/**
+ * Storage of the content entities of {@link ContentAddressedVersionEntity} versions, each distinct content being
+ * stored once and shared by all the versions with that content.
+ * @param <C> the content entity type
+ */
+public interface VersionContentStore<C> {
+    /**
+     * Store the content entity, unless a content with the same identity is already stored.
+     * @param content the content entity to store
+     * @return the stored content entity, to be referenced by the version
+     */
+    C store(C content);
+
+    /**
+     * Remove the given stored contents which are not referenced by any version anymore.
+     * @param contents the stored contents of removed versions
+     */
+    void release(Collection<C> contents);
+}
@@ -17,6 +17,10 @@ package org.activiti.cloud.services.modeling.jpa.version;
 
 import jakarta.persistence.EntityManager;
 import java.io.Serializable;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -29,6 +33,10 @@ public class VersionedJpaRepositoryImpl<T extends VersionedEntity, K extends Ser
 
     private final VersionGenerationHelper<T, V> versionGenerationHelper;
 
+    private final EntityManager entityManager;
+
+    private final VersionContentStore<Object> versionContentStore;
+
     /**
      * Creates a new {@link SimpleJpaRepository} to manage objects of the given domain type.
      *
@@ -40,13 +48,35 @@ public class VersionedJpaRepositoryImpl<T extends VersionedEntity, K extends Ser
         final Class<T> versionedClass,
         final Class<V> versionClass,
         final EntityManager entityManager
+    ) {
+        this(versionedClass, versionClass, entityManager, null);
+    }
+
+    /**
+     * Creates a new {@link SimpleJpaRepository} to manage objects of the given domain type, storing the content of
+     * the versions in the given content store.
+     *
+     * @param versionedClass      the class of the version entity.
+     * @param versionClass        the class of the version entity.
+     * @param entityManager       must not be {@literal null}.
+     * @param versionContentStore the store of the version contents, if any.
+     */
+    @SuppressWarnings("unchecked")
+    public VersionedJpaRepositoryImpl(
+        final Class<T> versionedClass,
+        final Class<V> versionClass,
+        final EntityManager entityManager,
+        final VersionContentStore<?> versionContentStore
     ) {
         super(versionedClass, entityManager);
         this.versionGenerationHelper = new VersionGenerationHelper<T, V>(versionedClass, versionClass);
+        this.entityManager = entityManager;
+        this.versionContentStore = (VersionContentStore<Object>) versionContentStore;
     }
 
     /**
-     * Add a new version before any save.
+     * Add a new version before any save, storing the content of the new version and of the version it was
+     * created from in the shared content storage when the version entity supports it.
      *
      * @param versionedEntity the entity to save
      * @param <S>             the versionedEntity type
@@ -56,8 +86,62 @@ public class VersionedJpaRepositoryImpl<T extends VersionedEntity, K extends Ser
     @Override
     @Transactional
     public <S extends T> S save(S versionedEntity) {
+        VersionEntity previousVersion = versionedEntity.getLatestVersion();
         this.versionGenerationHelper.generateNextVersion(versionedEntity);
+        storeContent(previousVersion);
+        storeContent(versionedEntity.getLatestVersion());
 
         return super.save(versionedEntity);
     }
+
+    /**
+     * Delete the entity with its versions, and release the stored contents of the versions which are not referenced
+     * by any other version.
+     *
+     * @param versionedEntity the entity to delete
+     */
+    @Override
+    @Transactional
+    @SuppressWarnings("unchecked")
+    public void delete(T versionedEntity) {
+        T managedEntity = entityManager.contains(versionedEntity)
+            ? versionedEntity
+            : entityManager.find(getDomainClass(), versionedEntity.getId());
+
+        if (managedEntity == null) {
+            return;
+        }
+
+        List<Object> storedContents = getStoredContents(managedEntity);
+        super.delete(managedEntity);
+
+        if (versionContentStore != null && !storedContents.isEmpty()) {
+            entityManager.flush();
+            versionContentStore.release(storedContents);
+        }
+    }
+
+    /**
+     * Move the inline content of a version to the shared content storage. The content store only stores the
+     * contents not stored yet, so identical contents are stored once.
+     *
+     * @param version the version to store the content of
+     */
+    @SuppressWarnings("unchecked")
+    protected void storeContent(VersionEntity version) {
+        if (versionContentStore != null && version instanceof ContentAddressedVersionEntity) {
+            ((ContentAddressedVersionEntity<Object>) version).storeContent(versionContentStore::store);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> getStoredContents(T versionedEntity) {
+        return Stream
+            .concat(versionedEntity.getVersions().stream(), Stream.of(versionedEntity.getLatestVersion()))
+            .filter(ContentAddressedVersionEntity.class::isInstance)
+            .map(version -> ((ContentAddressedVersionEntity<Object>) version).getStoredContent())
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+public class ModelVersionEntityTest {
+
+    private static final byte[] CONTENT = "<bpmn2:definitions/>".repeat(100).getBytes(StandardCharsets.UTF_8);
+
+    private final Map<String, ModelContentEntity> storedContents = new HashMap<>();
+
+    private final UnaryOperator<ModelContentEntity> contentStore = content ->
+        storedContents.computeIfAbsent(content.getHash(), hash -> content);
+
+    @Test
+    public void should_moveContentToStoredContent_when_storeContent() {
+        ModelVersionEntity version = new ModelVersionEntity();
+        version.setContent(CONTENT);
+
+        version.storeContent(contentStore);
+
+        assertThat(version.getContent()).isEqualTo(CONTENT);
+        assertThat(storedContents).hasSize(1);
+        ModelContentEntity storedContent = storedContents.values().iterator().next();
+        assertThat(storedContent.getHash()).hasSize(64);
+        assertThat(ModelContentEntity.decompress(ModelContentEntity.compress(CONTENT))).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_storeIdenticalContentOnce_when_storeContentOfSeveralVersions() {
+        ModelVersionEntity version = new ModelVersionEntity();
+        version.setContent(CONTENT);
+        version.storeContent(contentStore);
+        ModelVersionEntity nextVersion = new ModelVersionEntity(version);
+        nextVersion.setContent(CONTENT.clone());
+
+        nextVersion.storeContent(contentStore);
+
+        assertThat(storedContents).hasSize(1);
+        assertThat(nextVersion.getContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_shareStoredContent_when_copyVersion() {
+        ModelVersionEntity version = new ModelVersionEntity();
+        version.setContent(CONTENT);
+        version.storeContent(contentStore);
+
+        ModelVersionEntity nextVersion = new ModelVersionEntity(version);
+        nextVersion.storeContent(content -> {
+            throw new IllegalStateException("Stored content should not be stored again");
+        });
+
+        assertThat(nextVersion.getContent()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    public void should_returnNewContent_when_setContentAfterStoreContent() {
+        byte[] newContent = "<bpmn2:definitions id=\"new\"/>".getBytes(StandardCharsets.UTF_8);
+        ModelVersionEntity version = new ModelVersionEntity();
+        version.setContent(CONTENT);
+        version.storeContent(contentStore);
+
+        version.setContent(newContent);
+        version.storeContent(contentStore);
+
+        assertThat(version.getContent()).isEqualTo(newContent);
+        assertThat(storedContents).hasSize(2);
+    }
+
+    @Test
+    public void should_keepLegacyInlineContentReadable_when_notStored() {
+        ModelVersionEntity version = new ModelVersionEntity();
+        version.setContent(CONTENT);
+
+        assertThat(version.getContent()).isSameAs(CONTENT);
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.modeling.jpa;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import org.activiti.cloud.services.modeling.entity.ModelContentEntity;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ModelContentStoreTest {
+
+    private static final ModelContentEntity CONTENT = new ModelContentEntity(
+        "<bpmn2:definitions/>".getBytes(StandardCharsets.UTF_8)
+    );
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PostgreSQLDialect dialect;
+
+    @Mock
+    private Query lockQuery;
+
+    @Mock
+    private Query insertQuery;
+
+    @Mock
+    private Query deleteQuery;
+
+    @Mock
+    private ModelContentEntity storedContent;
+
+    private ModelContentStore contentStore;
+
+    @BeforeEach
+    public void setUp() {
+        contentStore = new ModelContentStore(entityManager, dialect);
+        when(entityManager.createNativeQuery(startsWith("select"))).thenReturn(lockQuery);
+    }
+
+    @Test
+    public void should_referenceStoredContent_when_contentIsAlreadyStored() {
+        //given
+        givenLockQuery();
+        when(entityManager.getReference(ModelContentEntity.class, CONTENT.getHash())).thenReturn(storedContent);
+        when(lockQuery.getResultList()).thenReturn(List.of(CONTENT.getHash()));
+
+        //when
+        ModelContentEntity result = contentStore.store(CONTENT);
+
+        //then
+        assertThat(result).isSameAs(storedContent);
+        verify(entityManager, never()).createNativeQuery(startsWith("insert"));
+    }
+
+    @Test
+    public void should_insertContentIfAbsent_when_contentIsNotStored() {
+        //given
+        givenLockQuery();
+        when(entityManager.getReference(ModelContentEntity.class, CONTENT.getHash())).thenReturn(storedContent);
+        when(lockQuery.getResultList()).thenReturn(List.of(), List.of(CONTENT.getHash()));
+        givenInsertQuery();
+
+        //when
+        ModelContentEntity result = contentStore.store(CONTENT);
+
+        //then
+        assertThat(result).isSameAs(storedContent);
+        verify(entityManager).createNativeQuery(startsWith("insert into model_content"));
+        verify(insertQuery).setParameter("content", CONTENT.getCompressedContent());
+        verify(insertQuery).executeUpdate();
+    }
+
+    @Test
+    public void should_insertContentAgain_when_contentIsReleasedConcurrently() {
+        //given
+        givenLockQuery();
+        when(entityManager.getReference(ModelContentEntity.class, CONTENT.getHash())).thenReturn(storedContent);
+        when(lockQuery.getResultList()).thenReturn(List.of(), List.of(), List.of(CONTENT.getHash()));
+        givenInsertQuery();
+
+        //when
+        ModelContentEntity result = contentStore.store(CONTENT);
+
+        //then
+        assertThat(result).isSameAs(storedContent);
+        verify(insertQuery, times(2)).executeUpdate();
+    }
+
+    @Test
+    public void should_fail_when_contentCanNotBeStored() {
+        //given
+        givenLockQuery();
+        when(lockQuery.getResultList()).thenReturn(List.of());
+        givenInsertQuery();
+
+        //when
+        //then
+        assertThatThrownBy(() -> contentStore.store(CONTENT))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(CONTENT.getHash());
+        verify(insertQuery, times(ModelContentStore.MAX_ATTEMPTS)).executeUpdate();
+    }
+
+    @Test
+    public void should_lockReleasedContentBeforeDeletingIt() {
+        //given
+        Set<String> hashes = Set.of(CONTENT.getHash());
+        when(lockQuery.setParameter("hashes", hashes)).thenReturn(lockQuery);
+        when(entityManager.createQuery(startsWith("DELETE FROM ModelContent"))).thenReturn(deleteQuery);
+        when(deleteQuery.setParameter("hashes", hashes)).thenReturn(deleteQuery);
+
+        //when
+        contentStore.release(List.of(CONTENT));
+
+        //then
+        InOrder order = inOrder(lockQuery, deleteQuery);
+        order.verify(lockQuery).getResultList();
+        order.verify(deleteQuery).executeUpdate();
+    }
+
+    private void givenLockQuery() {
+        when(lockQuery.setParameter("hash", CONTENT.getHash())).thenReturn(lockQuery);
+    }
+
+    private void givenInsertQuery() {
+        when(entityManager.createNativeQuery(startsWith("insert"))).thenReturn(insertQuery);
+        when(insertQuery.setParameter(anyString(), any())).thenReturn(insertQuery);
+    }
+}
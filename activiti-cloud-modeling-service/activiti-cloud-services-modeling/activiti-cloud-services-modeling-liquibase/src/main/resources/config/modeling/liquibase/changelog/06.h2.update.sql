@@ -0,0 +1,27 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+create table model_content
+(
+    hash    varchar(64) not null,
+    content blob,
+    primary key (hash)
+);
+
+alter table model_version
+    add column content_hash varchar(64);
+alter table model_version
+    add constraint fk_model_version_content_hash foreign key (content_hash) references model_content;
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+-- contents are stored inline: a deleted content leaves no large object behind
+create table if not exists model_content
+(
+    hash    varchar(64) not null,
+    content bytea,
+    primary key (hash)
+);
+
+alter table model_version
+  add column content_hash varchar(64);
+alter table model_version
+  add constraint fk_model_version_content_hash foreign key (content_hash) references model_content;
+
+-- the content of a model version is a large object, which is unlinked when the content is replaced, moved to
+-- model_content or deleted along with its version
+create or replace function model_version_unlink_content() returns trigger as $$
+begin
+    if old.content is not null
+        and (tg_op = 'DELETE' or old.content is distinct from new.content)
+        and exists (select 1 from pg_largeobject_metadata where oid = old.content) then
+        perform lo_unlink(old.content);
+    end if;
+    if tg_op = 'DELETE' then
+        return old;
+    end if;
+    return new;
+end;
+$$ language plpgsql;
+
+create trigger model_version_unlink_content
+    after update of content or delete on model_version
+    for each row execute procedure model_version_unlink_content();
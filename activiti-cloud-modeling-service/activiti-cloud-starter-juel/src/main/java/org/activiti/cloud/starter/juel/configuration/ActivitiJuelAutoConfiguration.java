@@ -16,6 +16,7 @@
 package org.activiti.cloud.starter.juel.configuration;
 
 import org.activiti.cloud.starter.juel.service.JuelExpressionResolverService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -25,7 +26,10 @@ import org.springframework.context.annotation.Import;
 public class ActivitiJuelAutoConfiguration {
 
     @Bean
-    public JuelExpressionResolverService juelExpressionResolverService() {
-        return new JuelExpressionResolverService();
+    public JuelExpressionResolverService juelExpressionResolverService(
+        @Value("${activiti.cloud.juel.batch.max-size:" + JuelExpressionResolverService.DEFAULT_MAX_BATCH_SIZE + "}")
+        int maxBatchSize
+    ) {
+        return new JuelExpressionResolverService(maxBatchSize);
     }
 }
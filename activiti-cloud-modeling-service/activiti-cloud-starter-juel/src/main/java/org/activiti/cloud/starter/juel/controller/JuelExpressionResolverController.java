@@ -36,4 +36,9 @@ public class JuelExpressionResolverController {
     public Map<String, Object> resolveExpression(@RequestBody Map<String, Object> inputVariables) {
         return juelExpressionResolverService.resolveExpression(inputVariables);
     }
+
+    @PostMapping(value = "/v1/juel/batch", consumes = APPLICATION_JSON_VALUE, produces = APPLICATION_JSON_VALUE)
+    public Map<String, Object> resolveExpressions(@RequestBody Map<String, Object> inputVariables) {
+        return juelExpressionResolverService.resolveExpressions(inputVariables);
+    }
 }
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.starter.juel.service;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import org.activiti.cloud.starter.juel.exception.JuelRuntimeException;
 import org.activiti.core.el.JuelExpressionResolver;
@@ -28,6 +30,34 @@ public class JuelExpressionResolverService {
     private static final String RESULT = "result";
     private static final String EXPRESSION = "expression";
     private static final String VARIABLES = "variables";
+    private static final String RESULTS = "results";
+    private static final String EXPRESSIONS = "expressions";
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    /**
+     * Shared by all the calls so that the expression trees parsed by its expression factory are cached, keyed by
+     * expression text, instead of being parsed again on every call.
+     */
+    private final JuelExpressionResolver juelExpressionResolver;
+
+    /**
+     * Maximum number of expressions or variable maps resolved by a batch call.
+     */
+    private final int maxBatchSize;
+
+    public JuelExpressionResolverService() {
+        this(DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public JuelExpressionResolverService(int maxBatchSize) {
+        this(new JuelExpressionResolver(), maxBatchSize);
+    }
+
+    public JuelExpressionResolverService(JuelExpressionResolver juelExpressionResolver, int maxBatchSize) {
+        this.juelExpressionResolver = juelExpressionResolver;
+        this.maxBatchSize = maxBatchSize;
+    }
 
     /**
      * Resolves the given expression with the provided variables.
@@ -41,10 +71,64 @@ public class JuelExpressionResolverService {
             final Map<String, Object> conditionVariables = (Map<String, Object>) inputVariables.get(VARIABLES);
             return Map.of(
                 RESULT,
-                new JuelExpressionResolver().resolveExpression(expression, conditionVariables, Object.class)
+                juelExpressionResolver.resolveExpression(expression, conditionVariables, Object.class)
             );
         } catch (Exception e) {
             throw new JuelRuntimeException(e.getMessage(), e);
         }
     }
+
+    /**
+     * Resolves either one expression against a list of variable maps, or a list of expressions against one
+     * variable map. The results are returned in the order of the evaluated variable maps or expressions. A batch
+     * larger than the configured maximum is rejected.
+     * @param inputVariables the input variables: expression and a list of variables, or expressions and variables.
+     * @return the resolved expressions.
+     */
+    public Map<String, Object> resolveExpressions(final Map<String, Object> inputVariables) {
+        LOGGER.debug("Calling Juel Expression Resolver in batch with parameters {}", inputVariables);
+        final List<Object> results = new ArrayList<>();
+        if (inputVariables.get(EXPRESSIONS) instanceof List<?> expressions) {
+            checkBatchSize(expressions);
+            final Map<String, Object> variables = toVariables(inputVariables.get(VARIABLES));
+            for (int i = 0; i < expressions.size(); i++) {
+                results.add(resolveBatchItem(i, (String) expressions.get(i), variables));
+            }
+        } else if (inputVariables.get(VARIABLES) instanceof List<?> variablesList) {
+            checkBatchSize(variablesList);
+            final String expression = (String) inputVariables.get(EXPRESSION);
+            for (int i = 0; i < variablesList.size(); i++) {
+                results.add(resolveBatchItem(i, expression, toVariables(variablesList.get(i))));
+            }
+        } else {
+            throw new JuelRuntimeException(
+                "A batch requires either a list of expressions or a list of variables to resolve"
+            );
+        }
+        return Map.of(RESULTS, results);
+    }
+
+    private void checkBatchSize(List<?> items) {
+        if (items.size() > maxBatchSize) {
+            throw new JuelRuntimeException(
+                "A batch can not hold more than " + maxBatchSize + " items, got " + items.size()
+            );
+        }
+    }
+
+    private Object resolveBatchItem(int index, String expression, Map<String, Object> variables) {
+        try {
+            return juelExpressionResolver.resolveExpression(expression, variables, Object.class);
+        } catch (Exception e) {
+            throw new JuelRuntimeException("Error resolving batch item " + index + ": " + e.getMessage(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toVariables(Object variables) {
+        if (variables != null && !(variables instanceof Map)) {
+            throw new JuelRuntimeException("Variables of a batch must be an object");
+        }
+        return (Map<String, Object>) variables;
+    }
 }
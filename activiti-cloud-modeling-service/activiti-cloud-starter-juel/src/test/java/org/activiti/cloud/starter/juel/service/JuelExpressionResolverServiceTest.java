@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.activiti.cloud.starter.juel.exception.JuelRuntimeException;
 import org.junit.jupiter.api.Test;
@@ -29,7 +30,9 @@ import org.springframework.boot.test.context.SpringBootTest;
 public class JuelExpressionResolverServiceTest {
 
     private static final String RESULT = "result";
+    private static final String RESULTS = "results";
     private static final String EXPRESSION = "expression";
+    private static final String EXPRESSIONS = "expressions";
     private static final String VARIABLES = "variables";
     private static final String RESULT_TEST = "10 + 20";
 
@@ -54,4 +57,48 @@ public class JuelExpressionResolverServiceTest {
         Throwable thrown = catchThrowable(() -> juelExpressionResolverService.resolveExpression(input));
         assertThat(thrown).isInstanceOf(JuelRuntimeException.class);
     }
+
+    @Test
+    public void should_resolveExpressionForEachVariables_when_resolveExpressionsWithVariablesList() {
+        final String expression = "${var1 + var2}";
+        final List<Map<String, Object>> variables = List.of(
+            Map.of("var1", 10, "var2", 20),
+            Map.of("var1", 1, "var2", 2)
+        );
+        final Map<String, Object> input = Map.of(EXPRESSION, expression, VARIABLES, variables);
+        final Map<String, Object> result = juelExpressionResolverService.resolveExpressions(input);
+        assertThat(result.get(RESULTS)).isEqualTo(List.of(30L, 3L));
+    }
+
+    @Test
+    public void should_resolveEachExpression_when_resolveExpressionsWithExpressionsList() {
+        final List<String> expressions = List.of("${var1} + ${var2}", "${var1 > var2}");
+        final Map<String, Object> variables = Map.of("var1", 10, "var2", 20);
+        final Map<String, Object> input = Map.of(EXPRESSIONS, expressions, VARIABLES, variables);
+        final Map<String, Object> result = juelExpressionResolverService.resolveExpressions(input);
+        assertThat(result.get(RESULTS)).isEqualTo(List.of(RESULT_TEST, false));
+    }
+
+    @Test
+    public void should_throwsJuelRuntimeException_when_resolveExpressionsWithInvalidItem() {
+        final String expression = "${var1} + ${var2}";
+        final List<Map<String, Object>> variables = List.of(Map.of("var1", 10, "var2", 20), new HashMap<>());
+        final Map<String, Object> input = Map.of(EXPRESSION, expression, VARIABLES, variables);
+        Throwable thrown = catchThrowable(() -> juelExpressionResolverService.resolveExpressions(input));
+        assertThat(thrown)
+            .isInstanceOf(JuelRuntimeException.class)
+            .hasMessageStartingWith("Error resolving batch item 1");
+    }
+
+    @Test
+    public void should_throwsJuelRuntimeException_when_resolveExpressionsWithTooManyItems() {
+        final JuelExpressionResolverService service = new JuelExpressionResolverService(1);
+        final List<String> expressions = List.of("${var1}", "${var2}");
+        final Map<String, Object> variables = Map.of("var1", 10, "var2", 20);
+        final Map<String, Object> input = Map.of(EXPRESSIONS, expressions, VARIABLES, variables);
+        Throwable thrown = catchThrowable(() -> service.resolveExpressions(input));
+        assertThat(thrown)
+            .isInstanceOf(JuelRuntimeException.class)
+            .hasMessageStartingWith("A batch can not hold more than 1 items");
+    }
 }
@@ -16,6 +16,8 @@
 package org.activiti.cloud.services.notifications.graphql.events;
 
 import java.lang.annotation.Annotation;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
@@ -29,18 +31,22 @@ public class SpELTemplateRoutingKeyResolver implements RoutingKeyResolver {
 
     private ParserContext parserContext = new TemplateParserContext();
 
+    private final Map<Class<?>, Expression> expressions = new ConcurrentHashMap<>();
+
     @Override
     public String resolveRoutingKey(Object object) {
-        Annotation annotation = AnnotationUtils.findAnnotation(object.getClass(), SpELTemplateRoutingKey.class);
+        Expression expression = expressions.computeIfAbsent(object.getClass(), this::parseRoutingKeyExpression);
 
-        if (annotation == null) throw new RuntimeException(
-            "Cannot resolve routing key for class: " + object.getClass()
-        );
+        return expression.getValue(object).toString();
+    }
 
-        String value = AnnotationUtils.getValue(annotation).toString();
+    private Expression parseRoutingKeyExpression(Class<?> type) {
+        Annotation annotation = AnnotationUtils.findAnnotation(type, SpELTemplateRoutingKey.class);
 
-        Expression expression = parser.parseExpression(value, parserContext);
+        if (annotation == null) throw new RuntimeException("Cannot resolve routing key for class: " + type);
 
-        return expression.getValue(object).toString();
+        String value = AnnotationUtils.getValue(annotation).toString();
+
+        return parser.parseExpression(value, parserContext);
     }
 }
@@ -23,11 +23,13 @@ import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolv
 import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaBuilder;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.GraphQLSubscriptionSchemaProperties;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.AntPathDestinationResolver;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsDestinationsPredicateFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsFluxPublisherFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPredicateFactory;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherDataFetcher;
 import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsPublisherFactory;
+import org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher.EngineEventsRoutingPublisherFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -66,7 +68,28 @@ public class GraphQLSubscriptionsAutoConfiguration {
 
         @Bean
         @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+            name = "spring.activiti.cloud.services.notifications.graphql.subscriptions.indexed-routing",
+            matchIfMissing = true
+        )
         public EngineEventsPublisherFactory engineEventPublisherFactory(
+            RoutingKeyResolver routingKeyResolver,
+            Flux<Message<List<EngineEvent>>> engineEventsFlux
+        ) {
+            return new EngineEventsRoutingPublisherFactory(
+                engineEventsFlux,
+                routingKeyResolver,
+                new AntPathDestinationResolver()
+            );
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(
+            name = "spring.activiti.cloud.services.notifications.graphql.subscriptions.indexed-routing",
+            havingValue = "false"
+        )
+        public EngineEventsPublisherFactory engineEventFluxPublisherFactory(
             EngineEventsPredicateFactory engineEventsPredicateFactory,
             Flux<Message<List<EngineEvent>>> engineEventsFlux
         ) {
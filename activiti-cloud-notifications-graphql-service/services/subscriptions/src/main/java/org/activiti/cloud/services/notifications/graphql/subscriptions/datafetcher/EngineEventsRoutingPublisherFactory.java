@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Routes the engine events to the subscriptions through a single subscription to the engine events flux. The routing
+ * key of each event is resolved once and looked up in a {@link RoutingKeyIndex} of the subscription destinations, so
+ * the cost of an event does not grow with the number of subscriptions that do not match it.
+ */
+public class EngineEventsRoutingPublisherFactory implements EngineEventsPublisherFactory, AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(EngineEventsRoutingPublisherFactory.class);
+
+    private final RoutingKeyResolver routingKeyResolver;
+
+    private final DataFetcherDestinationResolver destinationResolver;
+
+    private final RoutingKeyIndex<Sinks.Many<List<EngineEvent>>> routingKeyIndex = new RoutingKeyIndex<>();
+
+    private final Disposable dispatcher;
+
+    public EngineEventsRoutingPublisherFactory(
+        Flux<Message<List<EngineEvent>>> engineEventsFlux,
+        RoutingKeyResolver routingKeyResolver,
+        DataFetcherDestinationResolver destinationResolver
+    ) {
+        this.routingKeyResolver = routingKeyResolver;
+        this.destinationResolver = destinationResolver;
+        this.dispatcher =
+            engineEventsFlux.subscribe(this::dispatch, error -> logger.error("Engine events routing stopped", error));
+    }
+
+    @Override
+    public Flux<List<EngineEvent>> getPublisher(DataFetchingEnvironment environment) {
+        List<String> destinations = destinationResolver.resolveDestinations(environment);
+
+        logger.info("Resolved destinations {} for environment: {}", destinations, environment);
+
+        Sinks.Many<List<EngineEvent>> sink = Sinks.many().unicast().onBackpressureBuffer();
+
+        return sink
+            .asFlux()
+            .doOnSubscribe(subscription -> destinations.forEach(destination -> routingKeyIndex.add(destination, sink)))
+            .doFinally(signal -> destinations.forEach(destination -> routingKeyIndex.remove(destination, sink)));
+    }
+
+    @Override
+    public void close() {
+        dispatcher.dispose();
+    }
+
+    void dispatch(Message<List<EngineEvent>> message) {
+        if (routingKeyIndex.isEmpty() || message.getPayload() == null) {
+            return;
+        }
+
+        Map<Sinks.Many<List<EngineEvent>>, List<EngineEvent>> routedEvents = new LinkedHashMap<>();
+        for (EngineEvent engineEvent : message.getPayload()) {
+            try {
+                String routingKey = routingKeyResolver.resolveRoutingKey(engineEvent);
+
+                logger.debug("Resolved routing key {} for {}", routingKey, engineEvent);
+
+                routingKeyIndex
+                    .match(routingKey)
+                    .forEach(sink -> routedEvents.computeIfAbsent(sink, key -> new ArrayList<>()).add(engineEvent));
+            } catch (RuntimeException e) {
+                logger.warn("Unable to route engine event {}", engineEvent, e);
+            }
+        }
+
+        routedEvents.forEach((sink, events) -> sink.tryEmitNext(events));
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+/**
+ * Index of subscribers by destination pattern, organized as a trie over the dot separated segments of the routing
+ * keys. A routing key is matched in a single walk of the trie, whatever the number of subscribers.
+ * <p>
+ * Pattern segments can be literals, {@code *} matching exactly one segment, or {@code **} matching any number of
+ * segments, like the destinations built by {@link AntPathDestinationResolver}. Patterns using wildcards inside a
+ * segment are kept aside and matched with {@link AntPathMatcher}.
+ */
+public class RoutingKeyIndex<T> {
+
+    private static final String SEPARATOR = ".";
+    private static final String WILDCARD = "*";
+    private static final String ANY = "**";
+
+    private final Node<T> root = new Node<>();
+
+    private final Map<String, Set<T>> fallbackPatterns = new ConcurrentHashMap<>();
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher(SEPARATOR);
+
+    private final Object lock = new Object();
+
+    public void add(String pattern, T subscriber) {
+        synchronized (lock) {
+            if (isIndexable(pattern)) {
+                Node<T> node = root;
+                for (String segment : tokenize(pattern)) {
+                    node = node.children.computeIfAbsent(segment, key -> new Node<>());
+                }
+                node.subscribers.add(subscriber);
+            } else {
+                fallbackPatterns.computeIfAbsent(pattern, key -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            }
+        }
+    }
+
+    public void remove(String pattern, T subscriber) {
+        synchronized (lock) {
+            if (isIndexable(pattern)) {
+                remove(root, tokenize(pattern), 0, subscriber);
+            } else {
+                Set<T> subscribers = fallbackPatterns.get(pattern);
+                if (subscribers != null) {
+                    subscribers.remove(subscriber);
+                    if (subscribers.isEmpty()) {
+                        fallbackPatterns.remove(pattern);
+                    }
+                }
+            }
+        }
+    }
+
+    public Set<T> match(String routingKey) {
+        Set<T> result = new HashSet<>();
+        collect(root, tokenize(routingKey), 0, result);
+
+        fallbackPatterns.forEach((pattern, subscribers) -> {
+            if (pathMatcher.match(pattern, routingKey)) {
+                result.addAll(subscribers);
+            }
+        });
+
+        return result;
+    }
+
+    public boolean isEmpty() {
+        return root.isEmpty() && fallbackPatterns.isEmpty();
+    }
+
+    private void collect(Node<T> node, String[] segments, int index, Set<T> result) {
+        Node<T> any = node.children.get(ANY);
+        if (any != null) {
+            // '**' consumes from none to all of the remaining segments
+            for (int next = index; next <= segments.length; next++) {
+                collect(any, segments, next, result);
+            }
+        }
+
+        if (index == segments.length) {
+            result.addAll(node.subscribers);
+            return;
+        }
+
+        Node<T> literal = node.children.get(segments[index]);
+        if (literal != null) {
+            collect(literal, segments, index + 1, result);
+        }
+        Node<T> wildcard = node.children.get(WILDCARD);
+        if (wildcard != null && wildcard != literal) {
+            collect(wildcard, segments, index + 1, result);
+        }
+    }
+
+    private void remove(Node<T> node, String[] segments, int index, T subscriber) {
+        if (index == segments.length) {
+            node.subscribers.remove(subscriber);
+            return;
+        }
+
+        Node<T> child = node.children.get(segments[index]);
+        if (child != null) {
+            remove(child, segments, index + 1, subscriber);
+            if (child.isEmpty()) {
+                node.children.remove(segments[index]);
+            }
+        }
+    }
+
+    private boolean isIndexable(String pattern) {
+        for (String segment : tokenize(pattern)) {
+            boolean wildcardSegment = WILDCARD.equals(segment) || ANY.equals(segment);
+            if (!wildcardSegment && (segment.contains(WILDCARD) || segment.contains("?") || segment.contains("{"))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String[] tokenize(String value) {
+        return StringUtils.tokenizeToStringArray(value, SEPARATOR, false, true);
+    }
+
+    private static class Node<T> {
+
+        private final Map<String, Node<T>> children = new ConcurrentHashMap<>();
+
+        private final Set<T> subscribers = ConcurrentHashMap.newKeySet();
+
+        private boolean isEmpty() {
+            return children.isEmpty() && subscribers.isEmpty();
+        }
+    }
+}
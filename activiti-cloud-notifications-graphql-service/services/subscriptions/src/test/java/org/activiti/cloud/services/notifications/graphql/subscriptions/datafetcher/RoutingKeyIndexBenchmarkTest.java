@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.notifications.graphql.events.RoutingKeyResolver;
+import org.activiti.cloud.services.notifications.graphql.events.SpELTemplateRoutingKeyResolver;
+import org.activiti.cloud.services.notifications.graphql.events.model.EngineEvent;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Compares the cost of delivering an event with one predicate per subscription against the routing key index, for a
+ * growing number of subscriptions. It is excluded from the default build, run it with
+ * {@code -Dgroups=benchmark -DunitTests.excludedGroups=}.
+ */
+@Tag("benchmark")
+public class RoutingKeyIndexBenchmarkTest {
+
+    private static final int EVENTS = 1_000;
+
+    private final RoutingKeyResolver routingKeyResolver = new SpELTemplateRoutingKeyResolver();
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+    @Test
+    public void should_reportFanOutCostBySubscriberCount() {
+        List<EngineEvent> events = events();
+
+        for (int subscribers : new int[] { 10, 100, 1_000, 5_000 }) {
+            List<String> patterns = new ArrayList<>();
+            RoutingKeyIndex<Integer> index = new RoutingKeyIndex<>();
+            for (int i = 0; i < subscribers; i++) {
+                String pattern = "engineEvents.*.*.*.*." + i + ".*";
+                patterns.add(pattern);
+                index.add(pattern, i);
+            }
+
+            // warm up both paths before measuring, they have to deliver the same events
+            assertThat(route(index, events)).isEqualTo(scan(patterns, events));
+
+            long scanNanos = time(() -> scan(patterns, events));
+            long routeNanos = time(() -> route(index, events));
+
+            System.out.printf(
+                "subscribers=%5d  per-subscription predicates: %8d ns/event  routing index: %6d ns/event%n",
+                subscribers,
+                scanNanos / events.size(),
+                routeNanos / events.size()
+            );
+        }
+    }
+
+    private long scan(List<String> patterns, List<EngineEvent> events) {
+        long deliveries = 0;
+        for (EngineEvent event : events) {
+            for (String pattern : patterns) {
+                if (pathMatcher.match(pattern, routingKeyResolver.resolveRoutingKey(event))) {
+                    deliveries++;
+                }
+            }
+        }
+        return deliveries;
+    }
+
+    private long route(RoutingKeyIndex<Integer> index, List<EngineEvent> events) {
+        long deliveries = 0;
+        for (EngineEvent event : events) {
+            deliveries += index.match(routingKeyResolver.resolveRoutingKey(event)).size();
+        }
+        return deliveries;
+    }
+
+    private long time(Runnable runnable) {
+        long start = System.nanoTime();
+        runnable.run();
+        return System.nanoTime() - start;
+    }
+
+    private List<EngineEvent> events() {
+        List<EngineEvent> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(
+                new EngineEvent(
+                    Map.of(
+                        "serviceName",
+                        "rb",
+                        "appName",
+                        "app",
+                        "eventType",
+                        "PROCESS_STARTED",
+                        "processDefinitionKey",
+                        "process",
+                        "processInstanceId",
+                        String.valueOf(i)
+                    )
+                )
+            );
+        }
+        return events;
+    }
+}
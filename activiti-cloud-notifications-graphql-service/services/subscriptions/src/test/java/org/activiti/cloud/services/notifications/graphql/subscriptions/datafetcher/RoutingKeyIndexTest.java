@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.subscriptions.datafetcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.AntPathMatcher;
+
+public class RoutingKeyIndexTest {
+
+    private static final List<String> PATTERNS = List.of(
+        "engineEvents.**",
+        "engineEvents.rb.*.PROCESS_STARTED.*.1.*",
+        "engineEvents.*.*.*.*.2.*",
+        "engineEvents.rb.app.**",
+        "engineEvents.**.businessKey",
+        "engineEvents.rb.app.TASK_*.**",
+        "other.**"
+    );
+
+    private static final List<String> ROUTING_KEYS = List.of(
+        "engineEvents.rb.app.PROCESS_STARTED.process.1.businessKey",
+        "engineEvents.rb.app.TASK_CREATED.process.2._",
+        "engineEvents.other.app.PROCESS_COMPLETED.process.3._",
+        "engineEvents",
+        "other.rb.app.PROCESS_STARTED.process.1._"
+    );
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher(".");
+
+    @Test
+    public void should_matchTheSameSubscribersAsAntPathMatcher() {
+        //given
+        RoutingKeyIndex<String> index = new RoutingKeyIndex<>();
+        PATTERNS.forEach(pattern -> index.add(pattern, pattern));
+
+        for (String routingKey : ROUTING_KEYS) {
+            //when
+            List<String> expected = PATTERNS
+                .stream()
+                .filter(pattern -> pathMatcher.match(pattern, routingKey))
+                .toList();
+
+            //then
+            assertThat(index.match(routingKey)).as(routingKey).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    @Test
+    public void should_matchSubscriberOnceForSeveralMatchingPatterns() {
+        //given
+        RoutingKeyIndex<String> index = new RoutingKeyIndex<>();
+        index.add("engineEvents.**", "subscriber");
+        index.add("engineEvents.rb.**", "subscriber");
+
+        //when
+        //then
+        assertThat(index.match("engineEvents.rb.app")).containsExactly("subscriber");
+    }
+
+    @Test
+    public void should_removeSubscribersAndEmptyBranches() {
+        //given
+        RoutingKeyIndex<String> index = new RoutingKeyIndex<>();
+        index.add("engineEvents.rb.*.PROCESS_STARTED", "first");
+        index.add("engineEvents.rb.*.PROCESS_STARTED", "second");
+        index.add("engineEvents.rb.TASK_*", "third");
+
+        //when
+        index.remove("engineEvents.rb.*.PROCESS_STARTED", "first");
+
+        //then
+        assertThat(index.match("engineEvents.rb.app.PROCESS_STARTED")).containsExactly("second");
+
+        //when
+        index.remove("engineEvents.rb.*.PROCESS_STARTED", "second");
+        index.remove("engineEvents.rb.TASK_*", "third");
+
+        //then
+        assertThat(index.isEmpty()).isTrue();
+    }
+}
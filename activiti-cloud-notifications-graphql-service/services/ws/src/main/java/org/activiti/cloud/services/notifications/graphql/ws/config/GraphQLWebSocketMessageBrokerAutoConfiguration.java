@@ -19,7 +19,9 @@ import graphql.GraphQL;
 import graphql.schema.GraphQLSchema;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerMessageHandler;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLBrokerSubProtocolHandler;
+import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSessionOutboundMetrics;
 import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSubscriptionExecutor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
@@ -96,19 +98,24 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
             MessageChannel clientOutboundChannel,
             SubscribableChannel brokerChannel,
             TaskScheduler messageBrokerTaskScheduler,
-            GraphQLSubscriptionExecutor graphQLSubscriptionExecutor
+            GraphQLSubscriptionExecutor graphQLSubscriptionExecutor,
+            GraphQLBrokerSubProtocolHandler graphQLBrokerSubProtocolHandler
         ) {
             GraphQLBrokerMessageHandler messageHandler = new GraphQLBrokerMessageHandler(
                 clientInboundChannel,
                 clientOutboundChannel,
                 brokerChannel,
-                graphQLSubscriptionExecutor
+                graphQLSubscriptionExecutor,
+                graphQLBrokerSubProtocolHandler.getObjectMapper()
             );
 
             messageHandler
                 .setTaskScheduler(messageBrokerTaskScheduler)
                 .setBufferCount(configurationProperties.getBufferCount())
-                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs());
+                .setBufferTimeSpanMs(configurationProperties.getBufferTimeSpanMs())
+                .setSharedSubscriptions(configurationProperties.isSharedSubscriptions())
+                .setSessionQueueSize(configurationProperties.getSessionQueueSize())
+                .setSessionOverflowPolicy(configurationProperties.getSessionOverflowPolicy());
 
             return messageHandler;
         }
@@ -154,4 +161,17 @@ public class GraphQLWebSocketMessageBrokerAutoConfiguration {
             return container;
         }
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class GraphQLSessionOutboundMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public GraphQLSessionOutboundMetrics graphQLSessionOutboundMetrics(
+            @Qualifier("graphQLBrokerMessageHandler") MessageHandler graphQLBrokerMessageHandler
+        ) {
+            return new GraphQLSessionOutboundMetrics((GraphQLBrokerMessageHandler) graphQLBrokerMessageHandler);
+        }
+    }
 }
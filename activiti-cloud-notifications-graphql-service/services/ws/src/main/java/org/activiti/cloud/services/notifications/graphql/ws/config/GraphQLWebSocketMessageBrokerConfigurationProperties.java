@@ -17,6 +17,7 @@ package org.activiti.cloud.services.notifications.graphql.ws.config;
 
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
+import org.activiti.cloud.services.notifications.graphql.ws.transport.GraphQLSessionOverflowPolicy;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
@@ -68,6 +69,15 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
     @NotNull
     private Integer bufferTimeSpanMs;
 
+    /* Share one execution and serialization of identical subscriptions between clients. Default is false */
+    private boolean sharedSubscriptions;
+
+    /* Maximum number of outbound messages queued per client session, 0 for unbounded. Default is 0 */
+    private int sessionQueueSize;
+
+    /* What to do with new messages when a client session queue is full. Default is DROP_OLDEST */
+    private GraphQLSessionOverflowPolicy sessionOverflowPolicy = GraphQLSessionOverflowPolicy.DROP_OLDEST;
+
     public Boolean isEnabled() {
         return enabled;
     }
@@ -140,6 +150,30 @@ public class GraphQLWebSocketMessageBrokerConfigurationProperties {
         this.bufferTimeSpanMs = bufferTimeSpanMs;
     }
 
+    public boolean isSharedSubscriptions() {
+        return sharedSubscriptions;
+    }
+
+    public void setSharedSubscriptions(boolean sharedSubscriptions) {
+        this.sharedSubscriptions = sharedSubscriptions;
+    }
+
+    public int getSessionQueueSize() {
+        return sessionQueueSize;
+    }
+
+    public void setSessionQueueSize(int sessionQueueSize) {
+        this.sessionQueueSize = sessionQueueSize;
+    }
+
+    public GraphQLSessionOverflowPolicy getSessionOverflowPolicy() {
+        return sessionOverflowPolicy;
+    }
+
+    public void setSessionOverflowPolicy(GraphQLSessionOverflowPolicy sessionOverflowPolicy) {
+        this.sessionOverflowPolicy = sessionOverflowPolicy;
+    }
+
     public String getSystemLogin() {
         return systemLogin;
     }
@@ -138,6 +138,17 @@ public class GraphQLBrokerChannelSubscriber implements Subscriber<ExecutionResul
         outboundChannel.send(responseMessage);
     }
 
+    /**
+     * Sends a data frame of a {@link GraphQLSharedSubscription} already serialized for all its subscribers.
+     */
+    protected void sendFrameToClient(GraphQLDataFrame frame) {
+        GraphQLMessage operationData = new GraphQLDataFrameMessage(operationMessageId, frame);
+
+        Message<?> responseMessage = MessageBuilder.createMessage(operationData, getMessageHeaders());
+
+        outboundChannel.send(responseMessage);
+    }
+
     private MessageHeaders getMessageHeaders() {
         MessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.getMutableAccessor(message);
         headerAccessor.setLeaveMutable(true); // must be mutable to preserve publish order!
@@ -16,15 +16,18 @@
 package org.activiti.cloud.services.notifications.graphql.ws.transport;
 
 import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.ExecutionResult;
 import java.security.Principal;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
 import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
 import org.activiti.cloud.services.notifications.graphql.ws.util.QueryParameters;
@@ -68,15 +71,44 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
     private int bufferCount = 50;
 
+    private boolean sharedSubscriptions = false;
+
+    private final GraphQLSharedSubscriptionRegistry sharedSubscriptionRegistry;
+
+    private int sessionQueueSize = 0;
+
+    private GraphQLSessionOverflowPolicy sessionOverflowPolicy = GraphQLSessionOverflowPolicy.DROP_OLDEST;
+
+    private final Map<String, GraphQLSessionOutboundChannel> sessionOutboundChannels = new ConcurrentHashMap<>();
+
+    private final LongAdder closedSessionsDroppedMessages = new LongAdder();
+
+    private final LongAdder closedSessionsConflatedMessages = new LongAdder();
+
     public GraphQLBrokerMessageHandler(
         SubscribableChannel inboundChannel,
         MessageChannel outboundChannel,
         SubscribableChannel brokerChannel,
         GraphQLSubscriptionExecutor graphQLSubscriptionExecutor
+    ) {
+        this(inboundChannel, outboundChannel, brokerChannel, graphQLSubscriptionExecutor, new ObjectMapper());
+    }
+
+    /**
+     * @param objectMapper the mapper the data frames of shared subscriptions are serialized with, which should be
+     *                     the one of the {@link GraphQLBrokerSubProtocolHandler} writing the other messages.
+     */
+    public GraphQLBrokerMessageHandler(
+        SubscribableChannel inboundChannel,
+        MessageChannel outboundChannel,
+        SubscribableChannel brokerChannel,
+        GraphQLSubscriptionExecutor graphQLSubscriptionExecutor,
+        ObjectMapper objectMapper
     ) {
         super(inboundChannel, outboundChannel, brokerChannel);
         this.graphQLSubscriptionExecutor = graphQLSubscriptionExecutor;
         this.graphQLsubscriptionRegistry = new GraphQLBrokerSubscriptionRegistry();
+        this.sharedSubscriptionRegistry = new GraphQLSharedSubscriptionRegistry(objectMapper);
 
         setPreservePublishOrder(true);
     }
@@ -105,6 +137,83 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
         return this;
     }
 
+    public GraphQLSharedSubscriptionRegistry getSharedSubscriptionRegistry() {
+        return sharedSubscriptionRegistry;
+    }
+
+    public boolean isSharedSubscriptions() {
+        return sharedSubscriptions;
+    }
+
+    /**
+     * Whether clients starting the same subscription operation with the same variables share a single execution of
+     * the operation, whose data frames are serialized once for all of them.
+     */
+    public GraphQLBrokerMessageHandler setSharedSubscriptions(boolean sharedSubscriptions) {
+        this.sharedSubscriptions = sharedSubscriptions;
+
+        return this;
+    }
+
+    public int getSessionQueueSize() {
+        return sessionQueueSize;
+    }
+
+    /**
+     * Maximum number of messages queued for a client session before the session overflow policy applies.
+     * Zero, the default, leaves the session queues unbounded.
+     */
+    public GraphQLBrokerMessageHandler setSessionQueueSize(int sessionQueueSize) {
+        this.sessionQueueSize = sessionQueueSize;
+
+        return this;
+    }
+
+    public GraphQLSessionOverflowPolicy getSessionOverflowPolicy() {
+        return sessionOverflowPolicy;
+    }
+
+    public GraphQLBrokerMessageHandler setSessionOverflowPolicy(GraphQLSessionOverflowPolicy sessionOverflowPolicy) {
+        this.sessionOverflowPolicy = sessionOverflowPolicy;
+
+        return this;
+    }
+
+    public Collection<GraphQLSessionOutboundChannel> getSessionOutboundChannels() {
+        return sessionOutboundChannels.values();
+    }
+
+    public long getQueuedSessionMessages() {
+        return sessionOutboundChannels.values().stream().mapToLong(GraphQLSessionOutboundChannel::getQueueSize).sum();
+    }
+
+    public long getMaxSessionQueueDepth() {
+        return sessionOutboundChannels
+            .values()
+            .stream()
+            .mapToLong(GraphQLSessionOutboundChannel::getQueueSize)
+            .max()
+            .orElse(0);
+    }
+
+    public long getDroppedSessionMessages() {
+        return (
+            closedSessionsDroppedMessages.sum() +
+            sessionOutboundChannels.values().stream().mapToLong(GraphQLSessionOutboundChannel::getDroppedMessages).sum()
+        );
+    }
+
+    public long getConflatedSessionMessages() {
+        return (
+            closedSessionsConflatedMessages.sum() +
+            sessionOutboundChannels
+                .values()
+                .stream()
+                .mapToLong(GraphQLSessionOutboundChannel::getConflatedMessages)
+                .sum()
+        );
+    }
+
     @EventListener
     public void on(BrokerAvailabilityEvent event) {
         this.brokerAvailable.set(event.isBrokerAvailable());
@@ -127,6 +236,9 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
 
     @Override
     protected void startInternal() {
+        if (sessionQueueSize > 0) {
+            GraphQLSessionOutboundChannel.configureInterceptor(getClientOutboundChannel());
+        }
         if (getTaskScheduler() != null) {
             long interval = initHeartbeatTaskDelay();
             if (interval > 0) {
@@ -247,6 +359,18 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
             sendErrorMessageToClient(e.getMessage(), GraphQLMessageType.ERROR, message);
             return;
         }
+
+        Optional<GraphQLSubscriptionKey> subscriptionKey = resolveSubscriptionKey(parameters);
+
+        if (subscriptionKey.isPresent() && sharedSubscriptionRegistry.contains(subscriptionKey.get())) {
+            GraphQLBrokerChannelSubscriber subscriber = createSubscriber(message, sessionId);
+
+            if (sharedSubscriptionRegistry.join(subscriptionKey.get(), subscriber)) {
+                graphQLsubscriptionRegistry.subscribe(sessionId, operationPayload.getId(), subscriber);
+                return;
+            }
+        }
+
         ExecutionResult executionResult = graphQLSubscriptionExecutor.execute(
             parameters.getQuery(),
             parameters.getVariables()
@@ -259,21 +383,18 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
                 Optional
                     .of(executionResult.<Publisher<ExecutionResult>>getData())
                     .ifPresent(data -> {
-                        MessageChannel outboundChannel = getClientOutboundChannelForSession(sessionId);
+                        GraphQLBrokerChannelSubscriber subscriber = createSubscriber(message, sessionId);
 
-                        GraphQLBrokerChannelSubscriber subscriber = new GraphQLBrokerChannelSubscriber(
-                            message,
-                            operationPayload.getId(),
-                            outboundChannel,
-                            bufferTimeSpanMs,
-                            bufferCount
-                        );
                         graphQLsubscriptionRegistry.subscribe(
                             sessionId,
                             operationPayload.getId(),
                             subscriber,
                             () -> {
-                                data.subscribe(subscriber);
+                                if (subscriptionKey.isPresent()) {
+                                    sharedSubscriptionRegistry.share(subscriptionKey.get(), data, subscriber);
+                                } else {
+                                    data.subscribe(subscriber);
+                                }
                             }
                         );
                     });
@@ -296,6 +417,37 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
         }
     }
 
+    private GraphQLBrokerChannelSubscriber createSubscriber(Message<GraphQLMessage> message, String sessionId) {
+        MessageChannel outboundChannel = getClientOutboundChannelForSession(sessionId);
+
+        return new GraphQLBrokerChannelSubscriber(
+            message,
+            message.getPayload().getId(),
+            outboundChannel,
+            bufferTimeSpanMs,
+            bufferCount
+        );
+    }
+
+    private Optional<GraphQLSubscriptionKey> resolveSubscriptionKey(QueryParameters parameters) {
+        if (!sharedSubscriptions) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(
+                GraphQLSubscriptionKey.of(
+                    parameters.getQuery(),
+                    parameters.getOperationName(),
+                    parameters.getVariables()
+                )
+            );
+        } catch (Exception e) {
+            // Let the executor report the invalid document to the client
+            return Optional.empty();
+        }
+    }
+
     private void handleQueryOrMutation(String id, ExecutionResult result, Message<GraphQLMessage> message) {
         Map<String, Object> payload = Collections.singletonMap("data", result.getData());
         MessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.getMutableAccessor(message);
@@ -345,6 +497,33 @@ public class GraphQLBrokerMessageHandler extends AbstractBrokerMessageHandler {
                 subscriber.cancel();
             }
         );
+
+        if (sessionId != null) {
+            Optional
+                .ofNullable(sessionOutboundChannels.remove(sessionId))
+                .ifPresent(channel -> {
+                    closedSessionsDroppedMessages.add(channel.getDroppedMessages());
+                    closedSessionsConflatedMessages.add(channel.getConflatedMessages());
+                });
+        }
+    }
+
+    @Override
+    protected MessageChannel getClientOutboundChannelForSession(String sessionId) {
+        if (sessionQueueSize <= 0) {
+            return super.getClientOutboundChannelForSession(sessionId);
+        }
+
+        return sessionOutboundChannels.computeIfAbsent(
+            sessionId,
+            key ->
+                new GraphQLSessionOutboundChannel(
+                    key,
+                    getClientOutboundChannel(),
+                    sessionQueueSize,
+                    sessionOverflowPolicy
+                )
+        );
     }
 
     private void sendErrorMessageToClient(String errorText, GraphQLMessageType type, Message<?> inputMessage) {
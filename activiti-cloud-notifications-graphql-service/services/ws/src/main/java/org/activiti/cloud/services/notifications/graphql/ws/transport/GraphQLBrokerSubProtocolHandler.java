@@ -89,6 +89,13 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
         setLoggingPeriod(loggingPeriod);
     }
 
+    /**
+     * The mapper the messages are written with, to be shared by whatever serializes parts of them upfront.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
     @Override
     public List<String> getSupportedProtocols() {
         return Collections.singletonList(GRAPHQL_WS);
@@ -207,26 +214,35 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
             return;
         }
 
-        boolean closeWebSocketSession = false;
+        CloseStatus closeStatus = null;
         try {
             GraphQLMessage operation = (GraphQLMessage) message.getPayload();
 
             if (GraphQLMessageType.CONNECTION_ACK.equals(operation.getType())) this.stats.incrementConnectedCount();
 
-            byte[] bytes = objectMapper.writer().writeValueAsBytes(message.getPayload());
+            // Data frames of shared subscriptions are already serialized, only their operation id is written here
+            byte[] bytes = operation instanceof GraphQLDataFrameMessage dataFrameMessage
+                ? dataFrameMessage.getFrame().toBytes(objectMapper, operation.getId())
+                : objectMapper.writer().writeValueAsBytes(message.getPayload());
 
             session.sendMessage(new TextMessage(bytes));
+
+            if (message.getHeaders().containsKey(GraphQLSessionOutboundChannel.DISCONNECT_HEADER)) {
+                // The client cannot keep up with its messages
+                this.stats.incrementSlowConsumerCount();
+                closeStatus = CloseStatus.SESSION_NOT_RELIABLE;
+            }
         } catch (SessionLimitExceededException ex) {
             // Bad session, just get out
             throw ex;
         } catch (Throwable ex) {
             // Could be part of normal workflow (e.g. browser tab closed)
             logger.debug("Failed to send WebSocket message to client in session " + session.getId() + ".", ex);
-            closeWebSocketSession = true;
+            closeStatus = CloseStatus.PROTOCOL_ERROR;
         } finally {
-            if (closeWebSocketSession) {
+            if (closeStatus != null) {
                 try {
-                    session.close(CloseStatus.PROTOCOL_ERROR);
+                    session.close(closeStatus);
                 } catch (IOException ex) {
                     // Ignore
                 }
@@ -328,6 +344,8 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
 
         private final AtomicInteger error = new AtomicInteger();
 
+        private final AtomicInteger slowConsumer = new AtomicInteger();
+
         @Gauge
         public Integer connectCount() {
             return this.connect.get();
@@ -358,6 +376,11 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
             return this.error.get();
         }
 
+        @Gauge
+        public Integer slowConsumerCount() {
+            return this.slowConsumer.get();
+        }
+
         public void incrementConnectCount() {
             this.connect.incrementAndGet();
         }
@@ -382,6 +405,10 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
             this.error.incrementAndGet();
         }
 
+        public void incrementSlowConsumerCount() {
+            this.slowConsumer.incrementAndGet();
+        }
+
         @Override
         public String toString() {
             return (
@@ -402,6 +429,9 @@ public class GraphQLBrokerSubProtocolHandler implements SubProtocolHandler, Appl
                 ")" +
                 "-DISCONNECT(" +
                 this.disconnect.get() +
+                ")" +
+                "-SLOW_CONSUMER(" +
+                this.slowConsumer.get() +
                 ")"
             );
         }
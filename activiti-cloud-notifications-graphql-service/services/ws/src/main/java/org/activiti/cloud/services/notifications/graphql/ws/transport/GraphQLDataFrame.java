@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+
+/**
+ * A GraphQL {@code data} frame serialized once for all the sessions of a shared subscription. Only the operation id
+ * differs between sessions, so the frame keeps everything that follows the id as bytes and splices the id of each
+ * session in front of it when the frame is written.
+ */
+public final class GraphQLDataFrame {
+
+    private static final byte[] ID_PREFIX = "{\"id\":".getBytes(StandardCharsets.UTF_8);
+
+    private final Object data;
+
+    private final byte[] suffix;
+
+    private GraphQLDataFrame(Object data, byte[] suffix) {
+        this.data = data;
+        this.suffix = suffix;
+    }
+
+    public static GraphQLDataFrame of(ObjectMapper objectMapper, Object data) throws JsonProcessingException {
+        ByteArrayOutputStream suffix = new ByteArrayOutputStream();
+
+        suffix.writeBytes(",\"type\":".getBytes(StandardCharsets.UTF_8));
+        suffix.writeBytes(objectMapper.writeValueAsBytes(GraphQLMessageType.DATA));
+        suffix.writeBytes(",\"payload\":".getBytes(StandardCharsets.UTF_8));
+        suffix.writeBytes(objectMapper.writeValueAsBytes(Collections.singletonMap("data", data)));
+        suffix.write('}');
+
+        return new GraphQLDataFrame(data, suffix.toByteArray());
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public byte[] toBytes(ObjectMapper objectMapper, String operationId) throws JsonProcessingException {
+        byte[] id = objectMapper.writeValueAsBytes(operationId);
+        byte[] frame = new byte[ID_PREFIX.length + id.length + suffix.length];
+
+        System.arraycopy(ID_PREFIX, 0, frame, 0, ID_PREFIX.length);
+        System.arraycopy(id, 0, frame, ID_PREFIX.length, id.length);
+        System.arraycopy(suffix, 0, frame, ID_PREFIX.length + id.length, suffix.length);
+
+        return frame;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.Collections;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+
+/**
+ * A {@code data} message of a shared subscription, written to the client from its pre-serialized
+ * {@link GraphQLDataFrame}.
+ */
+public class GraphQLDataFrameMessage extends GraphQLMessage {
+
+    private final GraphQLDataFrame frame;
+
+    public GraphQLDataFrameMessage(String id, GraphQLDataFrame frame) {
+        super(id, GraphQLMessageType.DATA, Collections.singletonMap("data", frame.getData()));
+        this.frame = frame;
+    }
+
+    @JsonIgnore
+    public GraphQLDataFrame getFrame() {
+        return frame;
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+
+/**
+ * Outbound channel of a single WebSocket session that sends its messages one at a time, in order, through a bounded
+ * queue. The next message is only sent once the previous one has been written to the session, so a slow client
+ * makes the queue of its own session grow up to the configured size instead of the buffers of the outbound channel.
+ * When the queue is full the {@link GraphQLSessionOverflowPolicy} decides which message is dropped. When a message
+ * can not be handed over to the outbound channel, e.g. its executor rejects it or it has no subscriber, the next
+ * message is sent right away, so that the queue of the session never waits for a completion that will not come.
+ */
+public class GraphQLSessionOutboundChannel implements MessageChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(GraphQLSessionOutboundChannel.class);
+
+    /**
+     * Header of the task sending the next message of the session, run once the message has been handled.
+     */
+    static final String NEXT_MESSAGE_TASK_HEADER = "graphQLSessionOutboundChannel.next";
+
+    /**
+     * Header of a message after which the WebSocket session must be closed.
+     */
+    public static final String DISCONNECT_HEADER = "graphQLSessionOutboundChannel.disconnect";
+
+    private static final String ENTITY_ID = "entityId";
+
+    private final String sessionId;
+
+    private final MessageChannel channel;
+
+    private final int maxQueueSize;
+
+    private final GraphQLSessionOverflowPolicy overflowPolicy;
+
+    private final Deque<Message<?>> queue = new ArrayDeque<>();
+
+    private final boolean sendCompletionCallback;
+
+    private boolean sendInProgress;
+
+    private boolean disconnected;
+
+    private final LongAdder sentMessages = new LongAdder();
+
+    private final LongAdder droppedMessages = new LongAdder();
+
+    private final LongAdder conflatedMessages = new LongAdder();
+
+    public GraphQLSessionOutboundChannel(
+        String sessionId,
+        MessageChannel channel,
+        int maxQueueSize,
+        GraphQLSessionOverflowPolicy overflowPolicy
+    ) {
+        this.sessionId = sessionId;
+        this.channel = channel;
+        this.maxQueueSize = Math.max(1, maxQueueSize);
+        this.overflowPolicy = overflowPolicy;
+        this.sendCompletionCallback = channel instanceof ExecutorSubscribableChannel;
+    }
+
+    /**
+     * Installs the interceptor that runs the completion callback of the session messages on the outbound channel.
+     */
+    public static void configureInterceptor(MessageChannel channel) {
+        if (channel instanceof ExecutorSubscribableChannel executorChannel) {
+            boolean configured = executorChannel
+                .getInterceptors()
+                .stream()
+                .anyMatch(SendNextMessageInterceptor.class::isInstance);
+
+            if (!configured) {
+                executorChannel.addInterceptor(0, new SendNextMessageInterceptor());
+            }
+        }
+    }
+
+    @Override
+    public boolean send(Message<?> message, long timeout) {
+        synchronized (queue) {
+            if (disconnected) {
+                return false;
+            }
+
+            if (queue.size() < maxQueueSize) {
+                queue.add(message);
+            } else if (!handleOverflow(message)) {
+                return false;
+            }
+
+            if (sendInProgress) {
+                return true;
+            }
+
+            sendInProgress = true;
+        }
+
+        sendNextMessage();
+
+        return true;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public int getQueueSize() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    public long getSentMessages() {
+        return sentMessages.sum();
+    }
+
+    public long getDroppedMessages() {
+        return droppedMessages.sum();
+    }
+
+    public long getConflatedMessages() {
+        return conflatedMessages.sum();
+    }
+
+    public boolean isDisconnected() {
+        synchronized (queue) {
+            return disconnected;
+        }
+    }
+
+    private boolean handleOverflow(Message<?> message) {
+        switch (overflowPolicy) {
+            case DISCONNECT:
+                disconnect();
+                return false;
+            case CONFLATE:
+                if (conflate(message)) {
+                    return true;
+                }
+                dropOldest(message);
+                return true;
+            case DROP_OLDEST:
+            default:
+                dropOldest(message);
+                return true;
+        }
+    }
+
+    private boolean conflate(Message<?> message) {
+        Set<Object> entityIds = resolveEntityIds(message);
+
+        if (entityIds.isEmpty()) {
+            return false;
+        }
+
+        String operationId = resolveOperationId(message);
+        for (Iterator<Message<?>> iterator = queue.iterator(); iterator.hasNext();) {
+            Message<?> queued = iterator.next();
+
+            if (Objects.equals(operationId, resolveOperationId(queued)) && entityIds.equals(resolveEntityIds(queued))) {
+                iterator.remove();
+                queue.add(message);
+                conflatedMessages.increment();
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void dropOldest(Message<?> message) {
+        for (Iterator<Message<?>> iterator = queue.iterator(); iterator.hasNext();) {
+            if (isDataMessage(iterator.next())) {
+                iterator.remove();
+                droppedMessages.increment();
+                break;
+            }
+        }
+
+        logger.debug("Outbound queue of session {} is full, dropped the oldest data message", sessionId);
+
+        // control messages are never dropped, so the queue may exceed its size when it only holds those
+        queue.add(message);
+    }
+
+    private void disconnect() {
+        disconnected = true;
+        droppedMessages.add(queue.size());
+        queue.clear();
+
+        logger.warn("Outbound queue of session {} is full, disconnecting the slow client", sessionId);
+
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId(sessionId);
+        headerAccessor.setHeader(DISCONNECT_HEADER, Boolean.TRUE);
+        headerAccessor.setLeaveMutable(true);
+
+        Map<String, Object> payload = Collections.singletonMap("errors", List.of("Slow consumer"));
+        GraphQLMessage connectionError = new GraphQLMessage(null, GraphQLMessageType.CONNECTION_ERROR, payload);
+
+        queue.add(MessageBuilder.createMessage(connectionError, headerAccessor.getMessageHeaders()));
+    }
+
+    private void sendNextMessage() {
+        boolean handedOver = false;
+
+        try {
+            while (true) {
+                Message<?> message;
+
+                synchronized (queue) {
+                    message = queue.poll();
+
+                    if (message == null) {
+                        sendInProgress = false;
+                        handedOver = true;
+                        return;
+                    }
+                }
+
+                NextMessageTask nextMessageTask = awaitsCompletion() ? new NextMessageTask() : null;
+                try {
+                    if (nextMessageTask != null) {
+                        message = withNextMessageTask(message, nextMessageTask);
+                    }
+
+                    if (channel.send(message)) {
+                        sentMessages.increment();
+
+                        if (nextMessageTask != null) {
+                            // the next message is sent once this one has been handled
+                            handedOver = true;
+                            return;
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.error("Failed to send message to session {}", sessionId, e);
+                }
+
+                if (nextMessageTask != null && !nextMessageTask.claim()) {
+                    // a handler of the message did run and already sends the next message
+                    handedOver = true;
+                    return;
+                }
+            }
+        } finally {
+            if (!handedOver) {
+                synchronized (queue) {
+                    sendInProgress = false;
+                }
+            }
+        }
+    }
+
+    // without subscriber the message is never handled, so no completion callback would send the next message
+    private boolean awaitsCompletion() {
+        return sendCompletionCallback && !((ExecutorSubscribableChannel) channel).getSubscribers().isEmpty();
+    }
+
+    private Message<?> withNextMessageTask(Message<?> message, Runnable nextMessageTask) {
+        SimpMessageHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(
+            message,
+            SimpMessageHeaderAccessor.class
+        );
+        if (accessor != null && accessor.isMutable()) {
+            accessor.setHeader(NEXT_MESSAGE_TASK_HEADER, nextMessageTask);
+            return message;
+        }
+
+        return MessageBuilder.fromMessage(message).setHeader(NEXT_MESSAGE_TASK_HEADER, nextMessageTask).build();
+    }
+
+    private static boolean isDataMessage(Message<?> message) {
+        return (
+            message.getPayload() instanceof GraphQLMessage graphQLMessage &&
+            GraphQLMessageType.DATA.equals(graphQLMessage.getType())
+        );
+    }
+
+    private static String resolveOperationId(Message<?> message) {
+        return message.getPayload() instanceof GraphQLMessage graphQLMessage ? graphQLMessage.getId() : null;
+    }
+
+    /**
+     * Resolves the ids of the entities of the engine events of a data message, or an empty set when any of its events
+     * has no selected entity id.
+     */
+    static Set<Object> resolveEntityIds(Message<?> message) {
+        if (!isDataMessage(message)) {
+            return Collections.emptySet();
+        }
+
+        Object data = ((GraphQLMessage) message.getPayload()).getPayload().get("data");
+        if (!(data instanceof Map<?, ?> fields)) {
+            return Collections.emptySet();
+        }
+
+        Set<Object> entityIds = new LinkedHashSet<>();
+        for (Object value : fields.values()) {
+            if (!(value instanceof Collection<?> events)) {
+                return Collections.emptySet();
+            }
+            for (Object event : events) {
+                Object entityId = event instanceof Map<?, ?> eventFields ? eventFields.get(ENTITY_ID) : null;
+                if (entityId == null) {
+                    return Collections.emptySet();
+                }
+                entityIds.add(entityId);
+            }
+        }
+
+        return entityIds;
+    }
+
+    /**
+     * Sends the next message of the session at most once, whether it is run by the completion callback of a handler of
+     * the message or by the sending thread when the message could not be handed over.
+     */
+    private class NextMessageTask implements Runnable {
+
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        @Override
+        public void run() {
+            if (claim()) {
+                sendNextMessage();
+            }
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+
+    private static class SendNextMessageInterceptor implements ExecutorChannelInterceptor {
+
+        @Override
+        public void afterMessageHandled(
+            Message<?> message,
+            MessageChannel channel,
+            MessageHandler handler,
+            Exception ex
+        ) {
+            Object nextMessageTask = message.getHeaders().get(NEXT_MESSAGE_TASK_HEADER);
+            if (nextMessageTask instanceof Runnable runnable) {
+                runnable.run();
+            }
+        }
+    }
+}
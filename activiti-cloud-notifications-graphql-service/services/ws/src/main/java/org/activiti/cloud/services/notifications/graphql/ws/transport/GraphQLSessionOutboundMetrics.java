@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class GraphQLSessionOutboundMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.graphql.ws.session";
+
+    private final GraphQLBrokerMessageHandler messageHandler;
+
+    public GraphQLSessionOutboundMetrics(GraphQLBrokerMessageHandler messageHandler) {
+        this.messageHandler = messageHandler;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".queue", messageHandler, GraphQLBrokerMessageHandler::getQueuedSessionMessages)
+            .description("Number of messages queued for all the client sessions")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + ".queue.max", messageHandler, GraphQLBrokerMessageHandler::getMaxSessionQueueDepth)
+            .description("Number of messages queued for the most lagging client session")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + ".count", messageHandler, handler -> handler.getSessionOutboundChannels().size())
+            .description("Number of client sessions with an outbound queue")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".dropped", messageHandler, GraphQLBrokerMessageHandler::getDroppedSessionMessages)
+            .description("Number of messages dropped because a client session queue was full")
+            .register(registry);
+        FunctionCounter
+            .builder(
+                METRIC_PREFIX + ".conflated",
+                messageHandler,
+                GraphQLBrokerMessageHandler::getConflatedSessionMessages
+            )
+            .description("Number of queued messages replaced by a newer state of the same entities")
+            .register(registry);
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+/**
+ * What a {@link GraphQLSessionOutboundChannel} does with a new message when the queue of its session is full.
+ */
+public enum GraphQLSessionOverflowPolicy {
+    /**
+     * Drop the oldest queued data message.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Replace the queued data message of the same subscription and entities with the new one, so that only the
+     * latest state of each task or process instance is kept, and drop the oldest data message otherwise.
+     */
+    CONFLATE,
+
+    /**
+     * Disconnect the session.
+     */
+    DISCONNECT,
+}
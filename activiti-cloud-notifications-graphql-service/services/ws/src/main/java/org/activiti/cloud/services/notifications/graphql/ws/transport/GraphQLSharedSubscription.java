@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single subscription to the publisher of a GraphQL subscription operation, shared by all the
+ * {@link GraphQLBrokerChannelSubscriber}s that started the same operation. Every execution result is serialized once
+ * into a {@link GraphQLDataFrame} and sent to each subscriber, which only adds its own operation id.
+ */
+public class GraphQLSharedSubscription implements Subscriber<ExecutionResult> {
+
+    private static Logger log = LoggerFactory.getLogger(GraphQLSharedSubscription.class);
+
+    private final GraphQLSubscriptionKey key;
+
+    private final GraphQLSharedSubscriptionRegistry registry;
+
+    private final ObjectMapper objectMapper;
+
+    private final Set<GraphQLBrokerChannelSubscriber> subscribers = new CopyOnWriteArraySet<>();
+
+    private final AtomicReference<Subscription> subscriptionRef = new AtomicReference<>();
+
+    GraphQLSharedSubscription(
+        GraphQLSubscriptionKey key,
+        GraphQLSharedSubscriptionRegistry registry,
+        ObjectMapper objectMapper
+    ) {
+        this.key = key;
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+    }
+
+    public GraphQLSubscriptionKey getKey() {
+        return key;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    void add(GraphQLBrokerChannelSubscriber subscriber) {
+        subscribers.add(subscriber);
+
+        subscriber.onSubscribe(new SharedSubscriberSubscription(subscriber));
+    }
+
+    /**
+     * Removes the subscriber and tells whether it was the last one.
+     */
+    boolean remove(GraphQLBrokerChannelSubscriber subscriber) {
+        subscribers.remove(subscriber);
+
+        return subscribers.isEmpty();
+    }
+
+    void cancel() {
+        Subscription subscription = subscriptionRef.getAndSet(null);
+
+        log.info("Cancel shared subscription {}", key);
+
+        if (subscription != null) {
+            try {
+                subscription.cancel();
+            } catch (Exception ignore) {}
+        }
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        log.info("New shared subscription {}", key);
+        subscriptionRef.set(s);
+
+        requestNext(1);
+    }
+
+    @Override
+    public void onNext(ExecutionResult executionResult) {
+        try {
+            GraphQLDataFrame frame = GraphQLDataFrame.of(objectMapper, executionResult.getData());
+
+            subscribers.forEach(subscriber -> subscriber.sendFrameToClient(frame));
+        } catch (JsonProcessingException e) {
+            log.error("Unable to serialize executionResult {} of shared subscription {}", executionResult, key, e);
+        }
+
+        requestNext(1);
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        registry.remove(this);
+
+        new ArrayList<>(subscribers).forEach(subscriber -> subscriber.onError(t));
+    }
+
+    @Override
+    public void onComplete() {
+        registry.remove(this);
+
+        new ArrayList<>(subscribers).forEach(GraphQLBrokerChannelSubscriber::onComplete);
+    }
+
+    private void requestNext(int n) {
+        Subscription subscription = subscriptionRef.get();
+        if (subscription != null) {
+            subscription.request(n);
+        }
+    }
+
+    /**
+     * Subscription handed to each subscriber: the demand is driven by the shared subscription, and cancelling only
+     * removes the subscriber, cancelling the shared subscription when no subscriber is left.
+     */
+    private class SharedSubscriberSubscription implements Subscription {
+
+        private final GraphQLBrokerChannelSubscriber subscriber;
+
+        SharedSubscriberSubscription(GraphQLBrokerChannelSubscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            // demand is requested by the shared subscription
+        }
+
+        @Override
+        public void cancel() {
+            registry.leave(GraphQLSharedSubscription.this, subscriber);
+        }
+    }
+}
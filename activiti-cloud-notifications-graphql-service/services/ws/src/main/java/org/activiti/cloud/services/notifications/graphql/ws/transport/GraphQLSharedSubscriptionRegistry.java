@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.reactivestreams.Publisher;
+
+/**
+ * Holds the active {@link GraphQLSharedSubscription}s by {@link GraphQLSubscriptionKey}, so that a subscription
+ * operation already started by another client is joined instead of being executed again.
+ */
+public class GraphQLSharedSubscriptionRegistry {
+
+    private final Map<GraphQLSubscriptionKey, GraphQLSharedSubscription> sharedSubscriptions =
+        new ConcurrentHashMap<>();
+
+    private final ObjectMapper objectMapper;
+
+    public GraphQLSharedSubscriptionRegistry(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public boolean contains(GraphQLSubscriptionKey key) {
+        return sharedSubscriptions.containsKey(key);
+    }
+
+    /**
+     * Adds the subscriber to the active shared subscription of the key.
+     *
+     * @return false if there is no active shared subscription for the key
+     */
+    public synchronized boolean join(GraphQLSubscriptionKey key, GraphQLBrokerChannelSubscriber subscriber) {
+        GraphQLSharedSubscription sharedSubscription = sharedSubscriptions.get(key);
+
+        if (sharedSubscription == null) {
+            return false;
+        }
+
+        sharedSubscription.add(subscriber);
+
+        return true;
+    }
+
+    /**
+     * Starts a shared subscription to the publisher of the key with the subscriber as its first member, or joins the
+     * shared subscription started concurrently by another client for the same key.
+     */
+    public void share(
+        GraphQLSubscriptionKey key,
+        Publisher<ExecutionResult> publisher,
+        GraphQLBrokerChannelSubscriber subscriber
+    ) {
+        GraphQLSharedSubscription sharedSubscription;
+
+        synchronized (this) {
+            if (join(key, subscriber)) {
+                return;
+            }
+
+            sharedSubscription = new GraphQLSharedSubscription(key, this, objectMapper);
+            sharedSubscriptions.put(key, sharedSubscription);
+            sharedSubscription.add(subscriber);
+        }
+
+        publisher.subscribe(sharedSubscription);
+    }
+
+    synchronized void leave(GraphQLSharedSubscription sharedSubscription, GraphQLBrokerChannelSubscriber subscriber) {
+        if (sharedSubscription.remove(subscriber) && remove(sharedSubscription)) {
+            sharedSubscription.cancel();
+        }
+    }
+
+    synchronized boolean remove(GraphQLSharedSubscription sharedSubscription) {
+        return sharedSubscriptions.remove(sharedSubscription.getKey(), sharedSubscription);
+    }
+
+    public int getSharedSubscriptionCount() {
+        return sharedSubscriptions.size();
+    }
+
+    public int getSubscriberCount() {
+        return sharedSubscriptions.values().stream().mapToInt(GraphQLSharedSubscription::getSubscriberCount).sum();
+    }
+}
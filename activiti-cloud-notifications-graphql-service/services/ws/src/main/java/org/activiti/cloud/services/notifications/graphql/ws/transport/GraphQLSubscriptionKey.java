@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import graphql.language.AstPrinter;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical identity of a GraphQL subscription operation. Two subscriptions have the same key when their documents
+ * are equal once formatting and comments are removed, and their operation names and variables are equal regardless
+ * of the order of the variables, so that they produce the same results for the same events.
+ */
+public final class GraphQLSubscriptionKey {
+
+    private final String document;
+
+    private final String operationName;
+
+    private final Object variables;
+
+    private GraphQLSubscriptionKey(String document, String operationName, Object variables) {
+        this.document = document;
+        this.operationName = operationName;
+        this.variables = variables;
+    }
+
+    /**
+     * Creates the key of a subscription operation.
+     *
+     * @param query the subscription document
+     * @param operationName the optional operation name
+     * @param variables the optional operation variables
+     * @return the canonical key
+     * @throws graphql.parser.InvalidSyntaxException if the document cannot be parsed
+     */
+    public static GraphQLSubscriptionKey of(String query, String operationName, Map<String, Object> variables) {
+        Document document = Parser.parse(query);
+
+        return new GraphQLSubscriptionKey(AstPrinter.printAstCompact(document), operationName, canonical(variables));
+    }
+
+    private static Object canonical(Object value) {
+        if (value == null) {
+            return null;
+        } else if (value instanceof Map<?, ?> map) {
+            Map<String, Object> sorted = new TreeMap<>();
+            map.forEach((key, entry) -> sorted.put(String.valueOf(key), canonical(entry)));
+            return sorted;
+        } else if (value instanceof Collection<?> collection) {
+            return collection.stream().map(GraphQLSubscriptionKey::canonical).collect(Collectors.toList());
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof GraphQLSubscriptionKey)) {
+            return false;
+        }
+        GraphQLSubscriptionKey otherKey = (GraphQLSubscriptionKey) other;
+        return (
+            Objects.equals(document, otherKey.document) &&
+            Objects.equals(operationName, otherKey.operationName) &&
+            Objects.equals(variables, otherKey.variables)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(document, operationName, variables);
+    }
+
+    @Override
+    public String toString() {
+        return "GraphQLSubscriptionKey [document=" + document + ", operationName=" + operationName + "]";
+    }
+}
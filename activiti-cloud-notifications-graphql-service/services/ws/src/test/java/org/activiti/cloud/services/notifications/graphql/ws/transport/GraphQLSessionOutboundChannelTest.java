@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+public class GraphQLSessionOutboundChannelTest {
+
+    private final Queue<Runnable> pendingTasks = new LinkedList<>();
+
+    private final List<Message<?>> handledMessages = new ArrayList<>();
+
+    private ExecutorSubscribableChannel clientOutboundChannel;
+
+    @BeforeEach
+    public void setUp() {
+        // messages are handled only when the test runs the pending tasks, like a slow client would
+        clientOutboundChannel = new ExecutorSubscribableChannel(pendingTasks::add);
+        clientOutboundChannel.subscribe(handledMessages::add);
+
+        GraphQLSessionOutboundChannel.configureInterceptor(clientOutboundChannel);
+    }
+
+    @Test
+    public void should_sendMessagesOneAtATimeInOrder() {
+        // given
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.DROP_OLDEST);
+
+        // when
+        channel.send(dataMessage("1", "entity1"));
+        channel.send(dataMessage("2", "entity2"));
+
+        // then
+        assertThat(pendingTasks).hasSize(1);
+        assertThat(channel.getQueueSize()).isEqualTo(1);
+
+        // when
+        runPendingTasks();
+
+        // then
+        assertThat(handledOperationIds()).containsExactly("1", "2");
+        assertThat(channel.getQueueSize()).isZero();
+        assertThat(channel.getSentMessages()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_dropOldestDataMessageWhenQueueIsFull() {
+        // given
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.DROP_OLDEST);
+
+        // when
+        channel.send(dataMessage("1", "entity1"));
+        channel.send(dataMessage("2", "entity2"));
+        channel.send(dataMessage("3", "entity3"));
+        channel.send(dataMessage("4", "entity4"));
+        runPendingTasks();
+
+        // then
+        assertThat(handledOperationIds()).containsExactly("1", "3", "4");
+        assertThat(channel.getDroppedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_conflateMessagesOfTheSameEntitiesWhenQueueIsFull() {
+        // given
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.CONFLATE);
+
+        // when
+        channel.send(dataMessage("1", "task1"));
+        channel.send(dataMessage("1", "task2"));
+        channel.send(dataMessage("1", "task3"));
+        channel.send(dataMessage("1", "task2"));
+        runPendingTasks();
+
+        // then
+        assertThat(handledEntityIds()).containsExactly("task1", "task3", "task2");
+        assertThat(channel.getConflatedMessages()).isEqualTo(1);
+        assertThat(channel.getDroppedMessages()).isZero();
+    }
+
+    @Test
+    public void should_disconnectSlowSessionWhenQueueIsFull() {
+        // given
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.DISCONNECT);
+
+        // when
+        channel.send(dataMessage("1", "entity1"));
+        channel.send(dataMessage("2", "entity2"));
+        channel.send(dataMessage("3", "entity3"));
+        boolean sent = channel.send(dataMessage("4", "entity4"));
+        runPendingTasks();
+
+        // then
+        assertThat(sent).isFalse();
+        assertThat(channel.isDisconnected()).isTrue();
+        assertThat(channel.getDroppedMessages()).isEqualTo(2);
+        assertThat(handledMessages).hasSize(2);
+
+        Message<?> disconnectMessage = handledMessages.get(1);
+        assertThat(disconnectMessage.getHeaders()).containsKey(GraphQLSessionOutboundChannel.DISCONNECT_HEADER);
+        assertThat(((GraphQLMessage) disconnectMessage.getPayload()).getType())
+            .isEqualTo(GraphQLMessageType.CONNECTION_ERROR);
+        assertThat(channel.send(dataMessage("5", "entity5"))).isFalse();
+    }
+
+    @Test
+    public void should_sendTheNextMessages_when_theExecutorRejectsAMessage() {
+        // given
+        List<Boolean> rejections = new ArrayList<>(List.of(true));
+        clientOutboundChannel =
+            new ExecutorSubscribableChannel(task -> {
+                if (!rejections.isEmpty() && rejections.remove(0)) {
+                    throw new RejectedExecutionException("rejected");
+                }
+                pendingTasks.add(task);
+            });
+        clientOutboundChannel.subscribe(handledMessages::add);
+        GraphQLSessionOutboundChannel.configureInterceptor(clientOutboundChannel);
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.DROP_OLDEST);
+
+        // when
+        channel.send(dataMessage("1", "entity1"));
+        channel.send(dataMessage("2", "entity2"));
+        runPendingTasks();
+        channel.send(dataMessage("3", "entity3"));
+        runPendingTasks();
+
+        // then
+        assertThat(handledOperationIds()).containsExactly("2", "3");
+        assertThat(channel.getQueueSize()).isZero();
+    }
+
+    @Test
+    public void should_notWaitForAHandler_when_theChannelHasNoSubscriber() {
+        // given
+        clientOutboundChannel = new ExecutorSubscribableChannel(pendingTasks::add);
+        GraphQLSessionOutboundChannel.configureInterceptor(clientOutboundChannel);
+        GraphQLSessionOutboundChannel channel = sessionChannel(GraphQLSessionOverflowPolicy.DROP_OLDEST);
+        channel.send(dataMessage("1", "entity1"));
+
+        // when
+        clientOutboundChannel.subscribe(handledMessages::add);
+        channel.send(dataMessage("2", "entity2"));
+        runPendingTasks();
+
+        // then
+        assertThat(handledOperationIds()).containsExactly("2");
+        assertThat(channel.getQueueSize()).isZero();
+    }
+
+    private GraphQLSessionOutboundChannel sessionChannel(GraphQLSessionOverflowPolicy overflowPolicy) {
+        return new GraphQLSessionOutboundChannel("sessionId", clientOutboundChannel, 2, overflowPolicy);
+    }
+
+    private void runPendingTasks() {
+        Runnable task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private List<String> handledOperationIds() {
+        return handledMessages
+            .stream()
+            .map(message -> ((GraphQLMessage) message.getPayload()).getId())
+            .collect(Collectors.toList());
+    }
+
+    private List<Object> handledEntityIds() {
+        return handledMessages
+            .stream()
+            .flatMap(message -> GraphQLSessionOutboundChannel.resolveEntityIds(message).stream())
+            .collect(Collectors.toList());
+    }
+
+    private Message<GraphQLMessage> dataMessage(String operationId, String entityId) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setSessionId("sessionId");
+        headerAccessor.setLeaveMutable(true);
+
+        Map<String, Object> data = Map.of("engineEvents", List.of(Map.of("entityId", entityId)));
+        GraphQLMessage payload = new GraphQLMessage(operationId, GraphQLMessageType.DATA, Map.of("data", data));
+
+        return MessageBuilder.createMessage(payload, headerAccessor.getMessageHeaders());
+    }
+}
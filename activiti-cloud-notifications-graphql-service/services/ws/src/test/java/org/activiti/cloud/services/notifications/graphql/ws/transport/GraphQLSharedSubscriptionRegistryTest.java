@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessage;
+import org.activiti.cloud.services.notifications.graphql.ws.api.GraphQLMessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+@ExtendWith(MockitoExtension.class)
+public class GraphQLSharedSubscriptionRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final GraphQLSubscriptionKey key = GraphQLSubscriptionKey.of(
+        "subscription { engineEvents { PROCESS_STARTED { id } } }",
+        null,
+        Collections.emptyMap()
+    );
+
+    private GraphQLSharedSubscriptionRegistry registry;
+
+    private Sinks.Many<ExecutionResult> sink;
+
+    private Flux<ExecutionResult> publisher;
+
+    private AtomicInteger upstreamSubscriptions;
+
+    private AtomicInteger upstreamCancellations;
+
+    @Mock
+    private MessageChannel messageChannel;
+
+    @Captor
+    private ArgumentCaptor<Message<GraphQLMessage>> messageCaptor;
+
+    @BeforeEach
+    public void setUp() {
+        registry = new GraphQLSharedSubscriptionRegistry(objectMapper);
+        sink = Sinks.many().multicast().directBestEffort();
+        upstreamSubscriptions = new AtomicInteger();
+        upstreamCancellations = new AtomicInteger();
+        publisher =
+            sink
+                .asFlux()
+                .doOnSubscribe(subscription -> upstreamSubscriptions.incrementAndGet())
+                .doOnCancel(upstreamCancellations::incrementAndGet);
+    }
+
+    @Test
+    public void should_shareOneUpstreamSubscriptionBetweenIdenticalSubscriptions() throws Exception {
+        // given
+        GraphQLBrokerChannelSubscriber first = subscriber("1");
+        GraphQLBrokerChannelSubscriber second = subscriber("2");
+
+        // when
+        registry.share(key, publisher, first);
+        boolean joined = registry.join(
+            GraphQLSubscriptionKey.of(
+                "subscription {\n  engineEvents {\n    PROCESS_STARTED {\n      id\n    }\n  }\n}",
+                null,
+                Collections.emptyMap()
+            ),
+            second
+        );
+        sink.tryEmitNext(new ExecutionResultImpl(Map.of("engineEvents", List.of()), Collections.emptyList()));
+
+        // then
+        assertThat(joined).isTrue();
+        assertThat(upstreamSubscriptions).hasValue(1);
+        assertThat(registry.getSharedSubscriptionCount()).isEqualTo(1);
+        assertThat(registry.getSubscriberCount()).isEqualTo(2);
+
+        verify(messageChannel, times(2)).send(messageCaptor.capture());
+
+        List<Message<GraphQLMessage>> messages = messageCaptor.getAllValues();
+        assertThat(messages)
+            .extracting(Message::getPayload)
+            .extracting(GraphQLMessage::getId, GraphQLMessage::getType)
+            .containsExactly(tuple("1", GraphQLMessageType.DATA), tuple("2", GraphQLMessageType.DATA));
+
+        GraphQLDataFrameMessage firstMessage = (GraphQLDataFrameMessage) messages.get(0).getPayload();
+        GraphQLDataFrameMessage secondMessage = (GraphQLDataFrameMessage) messages.get(1).getPayload();
+        assertThat(firstMessage.getFrame()).isSameAs(secondMessage.getFrame());
+
+        byte[] frame = secondMessage.getFrame().toBytes(objectMapper, secondMessage.getId());
+        assertThat(objectMapper.readTree(frame))
+            .isEqualTo(objectMapper.readTree(objectMapper.writeValueAsBytes(secondMessage)));
+        assertThat(new String(frame, StandardCharsets.UTF_8)).startsWith("{\"id\":\"2\"");
+    }
+
+    @Test
+    public void should_cancelUpstreamWhenTheLastSubscriberLeaves() {
+        // given
+        GraphQLBrokerChannelSubscriber first = subscriber("1");
+        GraphQLBrokerChannelSubscriber second = subscriber("2");
+        registry.share(key, publisher, first);
+        registry.join(key, second);
+
+        // when
+        first.cancel();
+
+        // then
+        assertThat(upstreamCancellations).hasValue(0);
+        assertThat(registry.contains(key)).isTrue();
+
+        // when
+        second.cancel();
+
+        // then
+        assertThat(upstreamCancellations).hasValue(1);
+        assertThat(registry.contains(key)).isFalse();
+    }
+
+    @Test
+    public void should_notJoinDifferentVariables() {
+        // given
+        registry.share(key, publisher, subscriber("1"));
+
+        GraphQLSubscriptionKey otherKey = GraphQLSubscriptionKey.of(
+            "subscription { engineEvents { PROCESS_STARTED { id } } }",
+            null,
+            Map.of("processDefinitionKey", "other")
+        );
+
+        // when
+        boolean joined = registry.join(otherKey, subscriber("2"));
+
+        // then
+        assertThat(joined).isFalse();
+        assertThat(registry.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_completeSubscribersWhenUpstreamCompletes() {
+        // given
+        registry.share(key, publisher, subscriber("1"));
+
+        // when
+        sink.tryEmitComplete();
+
+        // then
+        verify(messageChannel).send(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload().getType()).isEqualTo(GraphQLMessageType.COMPLETE);
+        assertThat(registry.contains(key)).isFalse();
+    }
+
+    private GraphQLBrokerChannelSubscriber subscriber(String operationId) {
+        SimpMessageHeaderAccessor headerAccessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        headerAccessor.setDestination("/ws/graphql");
+        headerAccessor.setLeaveMutable(true);
+
+        Message<GraphQLMessage> startMessage = MessageBuilder.createMessage(
+            new GraphQLMessage(operationId, GraphQLMessageType.START),
+            headerAccessor.getMessageHeaders()
+        );
+
+        return new GraphQLBrokerChannelSubscriber(startMessage, operationId, messageChannel, 1000, 1);
+    }
+}
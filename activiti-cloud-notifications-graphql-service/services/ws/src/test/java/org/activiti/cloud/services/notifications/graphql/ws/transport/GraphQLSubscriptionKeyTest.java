@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.ws.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class GraphQLSubscriptionKeyTest {
+
+    @Test
+    public void should_ignoreFormattingCommentsAndVariablesOrder() {
+        // given
+        GraphQLSubscriptionKey key = GraphQLSubscriptionKey.of(
+            "subscription($key: String) { engineEvents(processDefinitionKey: [$key]) { PROCESS_STARTED { id } } }",
+            null,
+            Map.of("key", "a", "tags", List.of(Map.of("b", 1, "a", 2)))
+        );
+
+        // when
+        GraphQLSubscriptionKey other = GraphQLSubscriptionKey.of(
+            "# comment\nsubscription ($key: String) {\n  engineEvents(processDefinitionKey: [$key]) {\n" +
+            "    PROCESS_STARTED {\n      id\n    }\n  }\n}",
+            null,
+            Map.of("tags", List.of(Map.of("a", 2, "b", 1)), "key", "a")
+        );
+
+        // then
+        assertThat(other).isEqualTo(key);
+        assertThat(other.hashCode()).isEqualTo(key.hashCode());
+    }
+
+    @Test
+    public void should_distinguishVariablesAndOperationNames() {
+        // given
+        String query =
+            "subscription($key: String) { engineEvents(processDefinitionKey: [$key]) { TASK_CREATED { id } } }";
+
+        // when
+        GraphQLSubscriptionKey key = GraphQLSubscriptionKey.of(query, null, Map.of("key", "a"));
+
+        // then
+        assertThat(key).isNotEqualTo(GraphQLSubscriptionKey.of(query, null, Map.of("key", "b")));
+        assertThat(key).isNotEqualTo(GraphQLSubscriptionKey.of(query, "Tasks", Map.of("key", "a")));
+    }
+}
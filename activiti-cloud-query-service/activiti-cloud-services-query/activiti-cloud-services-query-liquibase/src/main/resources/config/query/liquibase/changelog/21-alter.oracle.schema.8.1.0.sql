@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+begin
+    for variable_table in (select 'process_variable' table_name, 'proc_var' index_prefix from dual
+                           union all
+                           select 'task_variable', 'task_var' from dual) loop
+        execute immediate 'alter table ' || variable_table.table_name || ' add (' ||
+            'string_value varchar(255), ' ||
+            'long_value NUMBER(19,0), ' ||
+            'double_value BINARY_DOUBLE, ' ||
+            'date_value timestamp, ' ||
+            'boolean_value NUMBER(1,0))';
+
+        execute immediate 'update ' || variable_table.table_name || ' set ' ||
+            'string_value = case when regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":"'') ' ||
+                'then json_value(value, ''$.value'' returning varchar2(255) null on error) end, ' ||
+            'long_value = case when regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":-?[0-9]{1,18}\}$'') ' ||
+                'then json_value(value, ''$.value'' returning number(19,0) null on error) end, ' ||
+            'double_value = case when regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":-?[0-9.eE+-]+\}$'') ' ||
+                'and not regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":-?[0-9]{1,18}\}$'') ' ||
+                'then json_value(value, ''$.value'' returning binary_double null on error) end, ' ||
+            'date_value = case when type in (''date'', ''datetime'') ' ||
+                'and regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}"\}$'') ' ||
+                'then to_timestamp(json_value(value, ''$.value''), ''YYYY-MM-DD'') ' ||
+                'when type in (''date'', ''datetime'') ' ||
+                'and regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":"[0-9]{4}-[0-9]{2}-[0-9]{2}T[0-9]{2}:[0-9]{2}:[0-9]{2}'') ' ||
+                'then sys_extract_utc(to_timestamp_tz(substr(json_value(value, ''$.value''), 1, 19) || '' +00:00'', ' ||
+                    '''YYYY-MM-DD"T"HH24:MI:SS TZH:TZM'')) end, ' ||
+            'boolean_value = case when regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":true\}$'') then 1 ' ||
+                'when regexp_like(dbms_lob.substr(value, 4000, 1), ''^\{"value":false\}$'') then 0 end ' ||
+            'where value is not null';
+
+        execute immediate 'create index ' || variable_table.index_prefix || '_name_str_idx on ' ||
+            variable_table.table_name || ' (name, string_value)';
+        execute immediate 'create index ' || variable_table.index_prefix || '_name_long_idx on ' ||
+            variable_table.table_name || ' (name, long_value)';
+        execute immediate 'create index ' || variable_table.index_prefix || '_name_dbl_idx on ' ||
+            variable_table.table_name || ' (name, double_value)';
+        execute immediate 'create index ' || variable_table.index_prefix || '_name_date_idx on ' ||
+            variable_table.table_name || ' (name, date_value)';
+        execute immediate 'create index ' || variable_table.index_prefix || '_name_bool_idx on ' ||
+            variable_table.table_name || ' (name, boolean_value)';
+    end loop;
+end;
+/
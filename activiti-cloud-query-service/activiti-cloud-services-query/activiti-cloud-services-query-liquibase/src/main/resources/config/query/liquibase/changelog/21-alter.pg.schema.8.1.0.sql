@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+alter table process_variable
+  add column if not exists string_value varchar(255),
+  add column if not exists long_value bigint,
+  add column if not exists double_value double precision,
+  add column if not exists date_value timestamp,
+  add column if not exists boolean_value boolean;
+
+alter table task_variable
+  add column if not exists string_value varchar(255),
+  add column if not exists long_value bigint,
+  add column if not exists double_value double precision,
+  add column if not exists date_value timestamp,
+  add column if not exists boolean_value boolean;
+
+-- dates without an offset are UTC, as in TypedVariableValue
+set local time zone 'UTC';
+
+-- values matching the date pattern can still be invalid dates, like 2023-02-30, which must not abort the migration
+create or replace function query_try_utc_timestamp(value text) returns timestamp as $$
+begin
+  return value::timestamptz at time zone 'UTC';
+exception when others then
+  return null;
+end;
+$$ language plpgsql;
+
+update process_variable set
+  string_value = case when json_typeof(value::json->'value') = 'string' and length(value::json->>'value') <= 255
+    then value::json->>'value' end,
+  long_value = case when json_typeof(value::json->'value') = 'number' and value::json->>'value' ~ '^-?[0-9]{1,18}$'
+    then (value::json->>'value')::bigint end,
+  double_value = case when json_typeof(value::json->'value') = 'number' and value::json->>'value' !~ '^-?[0-9]{1,18}$'
+    then (value::json->>'value')::double precision end,
+  date_value = case when type in ('date', 'datetime') and value::json->>'value' ~
+    '^[0-9]{4}-[0-9]{2}-[0-9]{2}(T[0-9]{2}:[0-9]{2}(:[0-9]{2}(\.[0-9]+)?)?(Z|[+-][0-9]{2}:?[0-9]{2})?)?$'
+    then query_try_utc_timestamp(value::json->>'value') end,
+  boolean_value = case when json_typeof(value::json->'value') = 'boolean'
+    then (value::json->>'value')::boolean end
+where value is not null;
+
+update task_variable set
+  string_value = case when json_typeof(value::json->'value') = 'string' and length(value::json->>'value') <= 255
+    then value::json->>'value' end,
+  long_value = case when json_typeof(value::json->'value') = 'number' and value::json->>'value' ~ '^-?[0-9]{1,18}$'
+    then (value::json->>'value')::bigint end,
+  double_value = case when json_typeof(value::json->'value') = 'number' and value::json->>'value' !~ '^-?[0-9]{1,18}$'
+    then (value::json->>'value')::double precision end,
+  date_value = case when type in ('date', 'datetime') and value::json->>'value' ~
+    '^[0-9]{4}-[0-9]{2}-[0-9]{2}(T[0-9]{2}:[0-9]{2}(:[0-9]{2}(\.[0-9]+)?)?(Z|[+-][0-9]{2}:?[0-9]{2})?)?$'
+    then query_try_utc_timestamp(value::json->>'value') end,
+  boolean_value = case when json_typeof(value::json->'value') = 'boolean'
+    then (value::json->>'value')::boolean end
+where value is not null;
+
+drop function query_try_utc_timestamp(text);
+
+create index if not exists proc_var_name_str_idx on process_variable (name, string_value);
+create index if not exists proc_var_name_long_idx on process_variable (name, long_value);
+create index if not exists proc_var_name_dbl_idx on process_variable (name, double_value);
+create index if not exists proc_var_name_date_idx on process_variable (name, date_value);
+create index if not exists proc_var_name_bool_idx on process_variable (name, boolean_value);
+
+create index if not exists task_var_name_str_idx on task_variable (name, string_value);
+create index if not exists task_var_name_long_idx on task_variable (name, long_value);
+create index if not exists task_var_name_dbl_idx on task_variable (name, double_value);
+create index if not exists task_var_name_date_idx on task_variable (name, date_value);
+create index if not exists task_var_name_bool_idx on task_variable (name, boolean_value);
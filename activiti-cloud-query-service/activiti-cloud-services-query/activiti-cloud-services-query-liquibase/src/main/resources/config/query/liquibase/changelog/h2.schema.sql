@@ -119,6 +119,11 @@ create table process_variable
     process_instance_id varchar(255),
     type                varchar(255),
     value               text,
+    string_value        varchar(255),
+    long_value          bigint,
+    double_value        double precision,
+    date_value          timestamp,
+    boolean_value       boolean,
     variable_definition_id varchar(64),
     process_definition_key varchar(255),
     primary key (id)
@@ -192,6 +197,11 @@ create table task_variable
     process_instance_id varchar(255),
     type                varchar(255),
     value               text,
+    string_value        varchar(255),
+    long_value          bigint,
+    double_value        double precision,
+    date_value          timestamp,
+    boolean_value       boolean,
     task_id             varchar(255),
     primary key (id)
 );
@@ -284,6 +294,11 @@ create index pi_processDefinitionKey_idx on process_instance (process_definition
 create index proc_var_processInstanceId_idx on process_variable (process_instance_id);
 create index proc_var_name_idx on process_variable (name);
 create index proc_var_executionId_idx on process_variable (execution_id);
+create index proc_var_name_str_idx on process_variable (name, string_value);
+create index proc_var_name_long_idx on process_variable (name, long_value);
+create index proc_var_name_dbl_idx on process_variable (name, double_value);
+create index proc_var_name_date_idx on process_variable (name, date_value);
+create index proc_var_name_bool_idx on process_variable (name, boolean_value);
 create index task_status_idx on task (status);
 create index task_processInstance_idx on task (process_instance_id);
 create index tcg_groupId_idx on task_candidate_group (group_id);
@@ -294,6 +309,11 @@ create index task_var_processInstanceId_idx on task_variable (process_instance_i
 create index task_var_taskId_idx on task_variable (task_id);
 create index task_var_name_idx on task_variable (name);
 create index task_var_executionId_idx on task_variable (execution_id);
+create index task_var_name_str_idx on task_variable (name, string_value);
+create index task_var_name_long_idx on task_variable (name, long_value);
+create index task_var_name_dbl_idx on task_variable (name, double_value);
+create index task_var_name_date_idx on task_variable (name, date_value);
+create index task_var_name_bool_idx on task_variable (name, boolean_value);
 create index pi_processDefinitionName_idx on process_instance (process_definition_name);
 create index task_processDefinitionName_idx on task (process_definition_name);
 create index pcsg_groupId_idx on process_candidate_starter_group (group_id);
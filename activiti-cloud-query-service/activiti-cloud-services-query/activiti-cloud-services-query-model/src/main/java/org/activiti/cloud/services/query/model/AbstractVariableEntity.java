@@ -41,6 +41,22 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
     @Column(columnDefinition = "text")
     private VariableValue<?> value;
 
+    @JsonIgnore
+    @Column(length = TypedVariableValue.STRING_VALUE_MAX_LENGTH)
+    private String stringValue;
+
+    @JsonIgnore
+    private Long longValue;
+
+    @JsonIgnore
+    private Double doubleValue;
+
+    @JsonIgnore
+    private Date dateValue;
+
+    @JsonIgnore
+    private Boolean booleanValue;
+
     private Boolean markedAsDeleted = false;
 
     private String processInstanceId;
@@ -89,6 +105,7 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
 
     public void setType(String type) {
         this.type = type;
+        updateTypedValue();
     }
 
     @Override
@@ -126,6 +143,7 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
 
     public <T> void setValue(T value) {
         this.value = new VariableValue<>(value);
+        updateTypedValue();
     }
 
     @Override
@@ -133,6 +151,40 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
         return (T) value.getValue();
     }
 
+    @JsonIgnore
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    @JsonIgnore
+    public Long getLongValue() {
+        return longValue;
+    }
+
+    @JsonIgnore
+    public Double getDoubleValue() {
+        return doubleValue;
+    }
+
+    @JsonIgnore
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    @JsonIgnore
+    public Boolean getBooleanValue() {
+        return booleanValue;
+    }
+
+    private void updateTypedValue() {
+        TypedVariableValue typedValue = TypedVariableValue.of(type, value != null ? value.getValue() : null);
+        this.stringValue = typedValue.getStringValue();
+        this.longValue = typedValue.getLongValue();
+        this.doubleValue = typedValue.getDoubleValue();
+        this.dateValue = typedValue.getDateValue();
+        this.booleanValue = typedValue.getBooleanValue();
+    }
+
     public Boolean getMarkedAsDeleted() {
         return markedAsDeleted;
     }
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Typed representation of a variable value, stored next to the JSON value so that variables can be searched
+ * with indexed equality and range conditions.
+ */
+public class TypedVariableValue {
+
+    public static final int STRING_VALUE_MAX_LENGTH = 255;
+
+    private static final Set<String> DATE_TYPES = Set.of("date", "datetime");
+
+    private static final List<DateTimeFormatter> DATE_TIME_FORMATTERS = List.of(
+        DateTimeFormatter.ISO_OFFSET_DATE_TIME,
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ"),
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ")
+    );
+
+    private String stringValue;
+    private Long longValue;
+    private Double doubleValue;
+    private Date dateValue;
+    private Boolean booleanValue;
+
+    private TypedVariableValue() {}
+
+    public static TypedVariableValue of(String type, Object value) {
+        TypedVariableValue typedValue = new TypedVariableValue();
+
+        if (value instanceof Boolean booleanValue) {
+            typedValue.booleanValue = booleanValue;
+        } else if (isIntegral(value)) {
+            toLong((Number) value).ifPresentOrElse(
+                longValue -> typedValue.longValue = longValue,
+                () -> typedValue.doubleValue = ((Number) value).doubleValue()
+            );
+        } else if (value instanceof Number numberValue) {
+            typedValue.doubleValue = numberValue.doubleValue();
+        } else if (value instanceof Date date) {
+            typedValue.dateValue = date;
+        } else if (value instanceof String stringValue) {
+            if (stringValue.length() <= STRING_VALUE_MAX_LENGTH) {
+                typedValue.stringValue = stringValue;
+            }
+            if (type != null && DATE_TYPES.contains(type.toLowerCase())) {
+                typedValue.dateValue = parseDate(stringValue).orElse(null);
+            }
+        }
+
+        return typedValue;
+    }
+
+    /**
+     * Whether the given search value can be compared against the typed columns. Values that are not supported,
+     * like JSON objects or strings longer than {@link #STRING_VALUE_MAX_LENGTH}, must be compared with the JSON value.
+     */
+    public static boolean isSearchable(Object value) {
+        return (
+            value instanceof Boolean ||
+            value instanceof Number ||
+            value instanceof Date ||
+            (value instanceof String stringValue && stringValue.length() <= STRING_VALUE_MAX_LENGTH)
+        );
+    }
+
+    public static boolean isIntegral(Object value) {
+        return (
+            value instanceof Integer ||
+            value instanceof Long ||
+            value instanceof Short ||
+            value instanceof Byte ||
+            value instanceof BigInteger
+        );
+    }
+
+    private static Optional<Long> toLong(Number value) {
+        if (value instanceof BigInteger bigInteger) {
+            return bigInteger.bitLength() < Long.SIZE ? Optional.of(bigInteger.longValue()) : Optional.empty();
+        }
+        return Optional.of(value.longValue());
+    }
+
+    static Optional<Date> parseDate(String value) {
+        try {
+            if (value.length() == 10) {
+                return Optional.of(Date.from(LocalDate.parse(value).atStartOfDay().toInstant(ZoneOffset.UTC)));
+            }
+            if (value.endsWith("Z")) {
+                return Optional.of(Date.from(Instant.parse(value)));
+            }
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+
+        for (DateTimeFormatter formatter : DATE_TIME_FORMATTERS) {
+            try {
+                return Optional.of(Date.from(OffsetDateTime.parse(value, formatter).toInstant()));
+            } catch (DateTimeParseException e) {
+                // try next format
+            }
+        }
+
+        try {
+            return Optional.of(Date.from(LocalDateTime.parse(value).toInstant(ZoneOffset.UTC)));
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    public String getStringValue() {
+        return stringValue;
+    }
+
+    public Long getLongValue() {
+        return longValue;
+    }
+
+    public Double getDoubleValue() {
+        return doubleValue;
+    }
+
+    public Date getDateValue() {
+        return dateValue;
+    }
+
+    public Boolean getBooleanValue() {
+        return booleanValue;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.Date;
+import org.junit.jupiter.api.Test;
+
+public class TypedVariableValueTest {
+
+    @Test
+    public void should_setLongValue_when_valueIsIntegral() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of("integer", 10);
+
+        //then
+        assertThat(typedValue.getLongValue()).isEqualTo(10L);
+        assertThat(typedValue.getDoubleValue()).isNull();
+        assertThat(typedValue.getStringValue()).isNull();
+    }
+
+    @Test
+    public void should_setDoubleValue_when_integralValueDoesNotFitInALong() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of(
+            "biginteger",
+            BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)
+        );
+
+        //then
+        assertThat(typedValue.getLongValue()).isNull();
+        assertThat(typedValue.getDoubleValue()).isNotNull();
+    }
+
+    @Test
+    public void should_setDoubleValue_when_valueIsDecimal() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of("bigdecimal", BigDecimal.valueOf(1050, 2));
+
+        //then
+        assertThat(typedValue.getDoubleValue()).isEqualTo(10.5);
+        assertThat(typedValue.getLongValue()).isNull();
+    }
+
+    @Test
+    public void should_setBooleanValue_when_valueIsBoolean() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of("boolean", true);
+
+        //then
+        assertThat(typedValue.getBooleanValue()).isTrue();
+    }
+
+    @Test
+    public void should_setStringValue_when_valueIsShortString() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of("string", "approved");
+
+        //then
+        assertThat(typedValue.getStringValue()).isEqualTo("approved");
+        assertThat(typedValue.getDateValue()).isNull();
+    }
+
+    @Test
+    public void should_notSetStringValue_when_valueIsTooLong() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of(
+            "string",
+            "a".repeat(TypedVariableValue.STRING_VALUE_MAX_LENGTH + 1)
+        );
+
+        //then
+        assertThat(typedValue.getStringValue()).isNull();
+    }
+
+    @Test
+    public void should_parseDateValue_when_typeIsDate() {
+        //when
+        TypedVariableValue dateValue = TypedVariableValue.of("date", "2020-10-01");
+        TypedVariableValue dateTimeValue = TypedVariableValue.of("datetime", "2020-10-01T10:15:30.000+0000");
+
+        //then
+        assertThat(dateValue.getDateValue()).isEqualTo(Date.from(Instant.parse("2020-10-01T00:00:00Z")));
+        assertThat(dateTimeValue.getDateValue()).isEqualTo(Date.from(Instant.parse("2020-10-01T10:15:30Z")));
+    }
+
+    @Test
+    public void should_notSetDateValue_when_dateCannotBeParsed() {
+        //when
+        TypedVariableValue typedValue = TypedVariableValue.of("date", "not a date");
+
+        //then
+        assertThat(typedValue.getDateValue()).isNull();
+        assertThat(typedValue.getStringValue()).isEqualTo("not a date");
+    }
+
+    @Test
+    public void should_updateTypedValues_when_variableValueChanges() {
+        //given
+        ProcessVariableEntity variableEntity = new ProcessVariableEntity();
+        variableEntity.setType("integer");
+        variableEntity.setValue(10);
+
+        //when
+        variableEntity.setValue(20);
+
+        //then
+        assertThat(variableEntity.getLongValue()).isEqualTo(20L);
+    }
+}
@@ -18,8 +18,11 @@ package org.activiti.cloud.services.query.app.repository;
 import com.querydsl.core.types.Predicate;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 public interface CustomizedTaskRepository {
     Page<TaskEntity> findByVariableNameAndValue(
@@ -29,6 +32,35 @@ public interface CustomizedTaskRepository {
         Pageable pageable
     );
 
+    /**
+     * Finds the tasks having at least one task variable matching the given condition, expressed against
+     * {@link org.activiti.cloud.services.query.model.QTaskVariableEntity#taskVariableEntity}.
+     */
+    Page<TaskEntity> findByVariableCondition(Predicate variableCondition, Predicate predicate, Pageable pageable);
+
+    /**
+     * Same as {@link #findByVariableCondition(Predicate, Predicate, Pageable)}. When {@code countTotal} is
+     * {@code false} the count query is skipped and the total of the page only tells whether a next page exists.
+     */
+    Page<TaskEntity> findByVariableCondition(
+        Predicate variableCondition,
+        Predicate predicate,
+        Pageable pageable,
+        boolean countTotal
+    );
+
+    /**
+     * Keyset variant of {@link #findByVariableCondition(Predicate, Predicate, Pageable)}: returns up to {@code limit}
+     * tasks after the given position, ordered by the given sort and then by id.
+     */
+    Window<TaskEntity> findByVariableCondition(
+        Predicate variableCondition,
+        Predicate predicate,
+        KeysetScrollPosition position,
+        Sort sort,
+        int limit
+    );
+
     Iterable<TaskEntity> findInProcessInstanceScope(Predicate predicate);
 
     Page<TaskEntity> findInProcessInstanceScope(Predicate predicate, Pageable pageable);
@@ -16,15 +16,20 @@
 package org.activiti.cloud.services.query.app.repository;
 
 import com.querydsl.core.types.Predicate;
-import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.PathBuilder;
 import com.querydsl.jpa.JPQLQuery;
+import java.util.List;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
+import org.springframework.data.domain.KeysetScrollPosition;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
 import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.util.Assert;
@@ -47,25 +52,94 @@ public class CustomizedTaskRepositoryImpl extends QuerydslRepositorySupport impl
         Assert.notNull(predicate, "Predicate must not be null!");
         Assert.notNull(pageable, "Pageable must not be null!");
 
-        QTaskEntity taskEntity = QTaskEntity.taskEntity;
         QTaskVariableEntity variableEntity = QTaskVariableEntity.taskVariableEntity;
 
-        Predicate condition = variableEntity.name
-            .eq(name)
-            .and(Expressions.booleanTemplate("{0} like {1}", variableEntity.value, value));
+        Predicate condition = VariableValuePredicates
+            .nameEquals(variableEntity._super, name)
+            .and(VariableValuePredicates.valueEquals(variableEntity._super, value));
 
-        JPQLQuery<TaskEntity> from = from(taskEntity)
-            .innerJoin(taskEntity.variables, variableEntity)
-            .on(condition)
-            .where(predicate);
+        return findByVariableCondition(condition, predicate, pageable);
+    }
 
-        final JPQLQuery<?> countQuery = from.select(taskEntity.count());
+    @Override
+    public Page<TaskEntity> findByVariableCondition(
+        Predicate variableCondition,
+        Predicate predicate,
+        Pageable pageable
+    ) {
+        return findByVariableCondition(variableCondition, predicate, pageable, true);
+    }
 
-        JPQLQuery<TaskEntity> tasks = from.select(taskEntity);
+    @Override
+    public Page<TaskEntity> findByVariableCondition(
+        Predicate variableCondition,
+        Predicate predicate,
+        Pageable pageable,
+        boolean countTotal
+    ) {
+        Assert.notNull(pageable, "Pageable must not be null!");
+
+        QTaskEntity taskEntity = QTaskEntity.taskEntity;
+
+        if (!countTotal && pageable.isPaged()) {
+            // fetch one more row than requested to know whether there is a next page without counting
+            JPQLQuery<TaskEntity> tasks = getQuerydsl()
+                .applySorting(pageable.getSort(), buildVariableJoin(variableCondition, predicate).select(taskEntity))
+                .offset(pageable.getOffset())
+                .limit(pageable.getPageSize() + 1L);
+            List<TaskEntity> content = tasks.fetch();
+            boolean hasNext = content.size() > pageable.getPageSize();
+            return new PageImpl<>(
+                hasNext ? content.subList(0, pageable.getPageSize()) : content,
+                pageable,
+                pageable.getOffset() + content.size()
+            );
+        }
+
+        final JPQLQuery<?> countQuery = buildVariableJoin(variableCondition, predicate).select(taskEntity.count());
+
+        JPQLQuery<TaskEntity> tasks = getQuerydsl()
+            .applyPagination(pageable, buildVariableJoin(variableCondition, predicate).select(taskEntity));
 
         return PageableExecutionUtils.getPage(tasks.fetch(), pageable, countQuery::fetchCount);
     }
 
+    @Override
+    public Window<TaskEntity> findByVariableCondition(
+        Predicate variableCondition,
+        Predicate predicate,
+        KeysetScrollPosition position,
+        Sort sort,
+        int limit
+    ) {
+        Assert.notNull(position, "Position must not be null!");
+        Assert.notNull(sort, "Sort must not be null!");
+
+        Sort keysetSort = KeysetQuerySupport.keysetSort(sort);
+        PathBuilder<TaskEntity> taskPath = new PathBuilder<>(TaskEntity.class, QTaskEntity.taskEntity.getMetadata());
+
+        JPQLQuery<TaskEntity> tasks = getQuerydsl()
+            .applySorting(
+                keysetSort,
+                buildVariableJoin(variableCondition, predicate)
+                    .where(KeysetQuerySupport.after(taskPath, keysetSort, position))
+                    .select(QTaskEntity.taskEntity)
+            )
+            .limit(limit + 1L);
+
+        return KeysetQuerySupport.toWindow(tasks.fetch(), keysetSort, limit);
+    }
+
+    private JPQLQuery<TaskEntity> buildVariableJoin(Predicate variableCondition, Predicate predicate) {
+        Assert.notNull(variableCondition, "Variable condition must not be null!");
+        Assert.notNull(predicate, "Predicate must not be null!");
+
+        QTaskEntity taskEntity = QTaskEntity.taskEntity;
+        QTaskVariableEntity variableEntity = QTaskVariableEntity.taskVariableEntity;
+
+        return from(taskEntity).innerJoin(taskEntity.variables, variableEntity).on(variableCondition).where(predicate);
+    }
+
     @Override
     public Iterable<TaskEntity> findInProcessInstanceScope(Predicate predicate) {
         QTaskEntity taskEntity = QTaskEntity.taskEntity;
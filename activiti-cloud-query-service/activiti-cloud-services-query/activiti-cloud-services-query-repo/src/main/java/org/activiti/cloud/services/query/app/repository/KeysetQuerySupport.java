@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.ComparableExpression;
+import com.querydsl.core.types.dsl.PathBuilder;
+import java.beans.PropertyDescriptor;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * Keyset (seek) pagination support for the hand written QueryDSL queries of the query repositories. Instead of
+ * skipping rows with an offset, the next page is selected with a condition on the sort keys of the last returned row,
+ * so that deep pages cost the same as the first one.
+ */
+public final class KeysetQuerySupport {
+
+    public static final String ID_PROPERTY = "id";
+
+    private KeysetQuerySupport() {}
+
+    /**
+     * Appends the entity identifier to the sort, so that the order is total and the keyset is unique, and sorts null
+     * keys after all values, so that the database order matches the conditions built by
+     * {@link #after(PathBuilder, Sort, KeysetScrollPosition)} whatever the default null ordering of the database.
+     */
+    public static Sort keysetSort(Sort sort) {
+        Sort sortWithIdentifier = sort.getOrderFor(ID_PROPERTY) != null ? sort : sort.and(Sort.by(ID_PROPERTY));
+
+        return Sort.by(
+            sortWithIdentifier
+                .stream()
+                .map(order -> order.isAscending() ? order.nullsLast() : order.nullsFirst())
+                .collect(Collectors.toList())
+        );
+    }
+
+    /**
+     * Builds the condition selecting the rows after the given position, for a sort built by {@link #keysetSort(Sort)}.
+     * Null keys are greater than any value: ascending orders end with them, descending orders start with them.
+     */
+    public static Predicate after(PathBuilder<?> entity, Sort sort, KeysetScrollPosition position) {
+        if (position.isInitial()) {
+            return null;
+        }
+        if (position.scrollsBackward()) {
+            throw new IllegalStateException("Backward keyset scrolling is not supported");
+        }
+
+        Map<String, ?> keys = position.getKeys();
+        Predicate seek = null;
+        Predicate previousKeysEqual = null;
+
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            if (!keys.containsKey(property)) {
+                throw new IllegalStateException("Keyset position does not contain sort property '" + property + "'");
+            }
+
+            ComparableExpression<Comparable> path = entity.getComparable(property, Comparable.class);
+            Comparable value = toPropertyType(entity.getType(), property, keys.get(property));
+
+            Predicate keyAfter = keyAfter(path, value, order.isAscending());
+            if (keyAfter != null) {
+                seek = ExpressionUtils.anyOf(seek, ExpressionUtils.allOf(previousKeysEqual, keyAfter));
+            }
+            Predicate keyEqual = value != null ? path.eq(value) : path.isNull();
+            previousKeysEqual = ExpressionUtils.allOf(previousKeysEqual, keyEqual);
+        }
+
+        return seek;
+    }
+
+    private static Predicate keyAfter(ComparableExpression<Comparable> path, Comparable value, boolean ascending) {
+        if (ascending) {
+            // nulls come last, after every value
+            return value != null ? ExpressionUtils.anyOf(path.gt(value), path.isNull()) : null;
+        }
+        // nulls come first, before every value
+        return value != null ? path.lt(value) : path.isNotNull();
+    }
+
+    /**
+     * Builds a {@link Window} out of a result fetched with one more row than the requested limit.
+     */
+    public static <T> Window<T> toWindow(List<T> results, Sort sort, int limit) {
+        boolean hasNext = results.size() > limit;
+        List<T> content = hasNext ? results.subList(0, limit) : results;
+
+        return Window.from(content, index -> ScrollPosition.forward(keysOf(content.get(index), sort)), hasNext);
+    }
+
+    public static Map<String, Object> keysOf(Object entity, Sort sort) {
+        BeanWrapper beanWrapper = PropertyAccessorFactory.forBeanPropertyAccess(entity);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), beanWrapper.getPropertyValue(order.getProperty()));
+        }
+        return keys;
+    }
+
+    private static Comparable toPropertyType(Class<?> entityType, String property, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        PropertyDescriptor propertyDescriptor = BeanUtils.getPropertyDescriptor(entityType, property);
+        if (propertyDescriptor == null) {
+            throw new IllegalStateException("Unknown sort property '" + property + "'");
+        }
+
+        Class<?> propertyType = propertyDescriptor.getPropertyType();
+        if (Date.class.isAssignableFrom(propertyType) && value instanceof Number number) {
+            return new Date(number.longValue());
+        }
+        return (Comparable) DefaultConversionService.getSharedInstance().convert(value, propertyType);
+    }
+}
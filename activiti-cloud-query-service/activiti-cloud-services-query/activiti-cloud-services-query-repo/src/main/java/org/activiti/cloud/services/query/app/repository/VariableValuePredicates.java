@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberPath;
+import java.math.BigDecimal;
+import java.util.Date;
+import org.activiti.cloud.services.query.model.QAbstractVariableEntity;
+import org.activiti.cloud.services.query.model.TypedVariableValue;
+import org.activiti.cloud.services.query.model.VariableValue;
+
+/**
+ * Builds variable value conditions against the typed value columns of {@link QAbstractVariableEntity}, falling back
+ * to the JSON value column for values that have no typed representation.
+ */
+public final class VariableValuePredicates {
+
+    private static final String LIKE_SPECIAL_CHARACTERS = "%_\\";
+
+    private VariableValuePredicates() {}
+
+    public static BooleanExpression nameEquals(QAbstractVariableEntity variable, String name) {
+        return variable.name.eq(name);
+    }
+
+    public static BooleanExpression valueEquals(QAbstractVariableEntity variable, VariableValue<?> value) {
+        Object rawValue = value.getValue();
+
+        // BigDecimal equality is scale sensitive, so it keeps being compared using the JSON representation
+        if (!TypedVariableValue.isSearchable(rawValue) || rawValue instanceof BigDecimal) {
+            return jsonValueEquals(variable, value);
+        }
+
+        TypedVariableValue typedValue = TypedVariableValue.of(null, rawValue);
+        if (typedValue.getBooleanValue() != null) {
+            return variable.booleanValue.eq(typedValue.getBooleanValue());
+        }
+        if (typedValue.getLongValue() != null) {
+            return variable.longValue.eq(typedValue.getLongValue());
+        }
+        if (typedValue.getDoubleValue() != null) {
+            return variable.doubleValue.eq(typedValue.getDoubleValue());
+        }
+        if (typedValue.getDateValue() != null) {
+            return variable.dateValue.eq(typedValue.getDateValue());
+        }
+
+        // values holding like wildcards or escapes keep the like semantics of the JSON comparison
+        String stringValue = typedValue.getStringValue();
+        if (LIKE_SPECIAL_CHARACTERS.chars().anyMatch(character -> stringValue.indexOf(character) >= 0)) {
+            return jsonValueEquals(variable, value);
+        }
+        return variable.stringValue.eq(stringValue);
+    }
+
+    public static BooleanExpression valueGreaterThan(
+        QAbstractVariableEntity variable,
+        VariableValue<?> value,
+        boolean inclusive
+    ) {
+        return compare(variable, value, inclusive ? Ops.GOE : Ops.GT);
+    }
+
+    public static BooleanExpression valueLessThan(
+        QAbstractVariableEntity variable,
+        VariableValue<?> value,
+        boolean inclusive
+    ) {
+        return compare(variable, value, inclusive ? Ops.LOE : Ops.LT);
+    }
+
+    private static BooleanExpression jsonValueEquals(QAbstractVariableEntity variable, VariableValue<?> value) {
+        return Expressions.booleanTemplate("{0} like {1}", variable.value, value);
+    }
+
+    private static BooleanExpression compare(QAbstractVariableEntity variable, VariableValue<?> value, Ops operator) {
+        Object rawValue = value.getValue();
+
+        // numeric variables are stored either as long or as double values, both need to be part of the range
+        if (TypedVariableValue.isIntegral(rawValue)) {
+            Long longValue = TypedVariableValue.of(null, rawValue).getLongValue();
+            if (longValue != null) {
+                return compare(variable.longValue, longValue, operator)
+                    .or(compare(variable.doubleValue, longValue.doubleValue(), operator));
+            }
+        }
+        if (rawValue instanceof Number number) {
+            return compare(variable.doubleValue, number.doubleValue(), operator)
+                .or(compareLong(variable.longValue, number.doubleValue(), operator));
+        }
+        if (rawValue instanceof Date date) {
+            return compare(variable.dateValue, date, operator);
+        }
+        if (TypedVariableValue.isSearchable(rawValue) && rawValue instanceof String stringValue) {
+            return compare(variable.stringValue, stringValue, operator);
+        }
+
+        throw new IllegalStateException(
+            "Range conditions are not supported for variable value '" + rawValue + "'. " +
+            "Supported types are numbers, dates and strings up to " +
+            TypedVariableValue.STRING_VALUE_MAX_LENGTH +
+            " characters."
+        );
+    }
+
+    /**
+     * Compares the long value column with a fractional bound, rounded to the closest long that keeps the same result,
+     * so that the constant is bound with the type of the column.
+     */
+    private static BooleanExpression compareLong(NumberPath<Long> path, double value, Ops operator) {
+        if (value == Math.rint(value)) {
+            return compare(path, (long) value, operator);
+        }
+        return operator == Ops.GT || operator == Ops.GOE
+            ? compare(path, (long) Math.floor(value), Ops.GT)
+            : compare(path, (long) Math.ceil(value), Ops.LT);
+    }
+
+    private static <T> BooleanExpression compare(Expression<T> path, T value, Ops operator) {
+        return Expressions.booleanOperation(operator, path, Expressions.constant(value));
+    }
+}
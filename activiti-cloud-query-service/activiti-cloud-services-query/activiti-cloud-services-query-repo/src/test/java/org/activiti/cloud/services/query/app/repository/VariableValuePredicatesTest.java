@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.types.Constant;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.dsl.BooleanExpression;
+import org.activiti.cloud.services.query.model.QAbstractVariableEntity;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+import org.activiti.cloud.services.query.model.VariableValue;
+import org.junit.jupiter.api.Test;
+
+public class VariableValuePredicatesTest {
+
+    private final QAbstractVariableEntity variable = QTaskVariableEntity.taskVariableEntity._super;
+
+    @Test
+    public void should_bindLongConstant_when_fractionalBoundIsComparedWithLongValues() {
+        //when
+        BooleanExpression greaterThan = VariableValuePredicates.valueGreaterThan(
+            variable,
+            new VariableValue<>(2.5),
+            true
+        );
+        BooleanExpression lessThan = VariableValuePredicates.valueLessThan(variable, new VariableValue<>(2.5), false);
+
+        //then
+        assertThat(constantOfLongComparison(greaterThan)).isEqualTo(2L);
+        assertThat(greaterThan.toString()).contains("taskVariableEntity.longValue > 2");
+        assertThat(constantOfLongComparison(lessThan)).isEqualTo(3L);
+        assertThat(lessThan.toString()).contains("taskVariableEntity.longValue < 3");
+    }
+
+    @Test
+    public void should_keepOperator_when_wholeDoubleBoundIsComparedWithLongValues() {
+        //when
+        BooleanExpression greaterThan = VariableValuePredicates.valueGreaterThan(
+            variable,
+            new VariableValue<>(2.0),
+            true
+        );
+
+        //then
+        assertThat(constantOfLongComparison(greaterThan)).isEqualTo(2L);
+        assertThat(greaterThan.toString()).contains("taskVariableEntity.longValue >= 2");
+    }
+
+    @Test
+    public void should_useStringValue_when_stringHasNoLikeWildcards() {
+        //when
+        BooleanExpression condition = VariableValuePredicates.valueEquals(variable, new VariableValue<>("value"));
+
+        //then
+        assertThat(condition.toString()).isEqualTo("taskVariableEntity.stringValue = value");
+    }
+
+    @Test
+    public void should_keepJsonLikeComparison_when_stringHasLikeWildcards() {
+        //when
+        BooleanExpression condition = VariableValuePredicates.valueEquals(variable, new VariableValue<>("val_e%"));
+
+        //then
+        assertThat(condition.toString()).startsWith("taskVariableEntity.value like ");
+    }
+
+    private Object constantOfLongComparison(BooleanExpression condition) {
+        Operation<?> longComparison = (Operation<?>) ((Operation<?>) condition).getArg(1);
+        return ((Constant<?>) longComparison.getArg(1)).getConstant();
+    }
+}
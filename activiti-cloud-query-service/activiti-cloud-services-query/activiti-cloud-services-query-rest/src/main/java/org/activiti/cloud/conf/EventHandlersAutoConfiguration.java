@@ -23,16 +23,25 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.common.messaging.functional.FunctionBinding;
 import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.QueryConsumerChannels;
+import org.activiti.cloud.services.query.app.QueryConsumerLaneDispatcher;
+import org.activiti.cloud.services.query.app.QueryConsumerLaneMetrics;
+import org.activiti.cloud.services.query.app.QueryConsumerProperties;
 import org.activiti.cloud.services.query.app.repository.ApplicationRepository;
 import org.activiti.cloud.services.query.events.handlers.*;
-import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContextOptimizer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.messaging.Message;
 
 @AutoConfiguration
 @Import(QueryConsumerChannelsConfiguration.class)
+@EnableConfigurationProperties(QueryConsumerProperties.class)
 public class EventHandlersAutoConfiguration {
 
     @Bean
@@ -46,8 +55,30 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public QueryEventHandlerContextOptimizer queryEntityGraphFetchingOptimizer(EntityManager entityManager) {
-        return new QueryEventHandlerContextOptimizer(entityManager);
+    public QueryConsumerLaneDispatcher queryConsumerLaneDispatcher(
+        QueryConsumerChannelHandler queryConsumerChannelHandler,
+        QueryConsumerProperties queryConsumerProperties
+    ) {
+        return new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, queryConsumerProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryEventHandlerContextOptimizer queryEntityGraphFetchingOptimizer(
+        EntityManager entityManager,
+        ObjectProvider<QueryEventBatchPrefetcher> queryEventBatchPrefetcher
+    ) {
+        return new QueryEventHandlerContextOptimizer(entityManager, queryEventBatchPrefetcher.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.query.consumer.batch-prefetch", havingValue = "true")
+    public QueryEventBatchPrefetcher queryEventBatchPrefetcher(
+        EntityManager entityManager,
+        QueryConsumerProperties queryConsumerProperties
+    ) {
+        return new QueryEventBatchPrefetcher(entityManager, queryConsumerProperties.getBatchPrefetchChunkSize());
     }
 
     @Bean
@@ -169,8 +200,11 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public TaskCreatedEventHandler taskCreatedEventHandler(EntityManager entityManager) {
-        return new TaskCreatedEventHandler(entityManager);
+    public TaskCreatedEventHandler taskCreatedEventHandler(
+        EntityManager entityManager,
+        EntityManagerFinder entityManagerFinder
+    ) {
+        return new TaskCreatedEventHandler(entityManager, entityManagerFinder);
     }
 
     @Bean
@@ -312,9 +346,31 @@ public class EventHandlersAutoConfiguration {
 
     @FunctionBinding(input = QueryConsumerChannels.QUERY_CONSUMER)
     @Bean
-    public Consumer<List<CloudRuntimeEvent<?, ?>>> queryConsumerFunction(
-        QueryConsumerChannelHandler queryConsumerChannelHandler
+    public Consumer<Message<List<CloudRuntimeEvent<?, ?>>>> queryConsumerFunction(
+        QueryConsumerLaneDispatcher queryConsumerLaneDispatcher
     ) {
-        return queryConsumerChannelHandler::receive;
+        return queryConsumerLaneDispatcher::dispatch;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class QueryConsumerLaneMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public QueryConsumerLaneMetrics queryConsumerLaneMetrics(
+            QueryConsumerLaneDispatcher queryConsumerLaneDispatcher
+        ) {
+            return new QueryConsumerLaneMetrics(queryConsumerLaneDispatcher);
+        }
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "activiti.cloud.query.consumer.batch-prefetch", havingValue = "true")
+        public QueryEventBatchPrefetcherMetrics queryEventBatchPrefetcherMetrics(
+            QueryEventBatchPrefetcher queryEventBatchPrefetcher
+        ) {
+            return new QueryEventBatchPrefetcherMetrics(queryEventBatchPrefetcher);
+        }
     }
 }
@@ -15,7 +15,10 @@
  */
 package org.activiti.cloud.conf;
 
+import org.activiti.cloud.services.query.ProcessDiagramCache;
+import org.activiti.cloud.services.query.ProcessDiagramCacheMetrics;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
+import org.activiti.cloud.services.query.app.ProcessDiagramCacheProperties;
 import org.activiti.cloud.services.query.rest.ApplicationAdminController;
 import org.activiti.cloud.services.query.rest.ApplicationController;
 import org.activiti.cloud.services.query.rest.CommonExceptionHandlerQuery;
@@ -43,8 +46,12 @@ import org.activiti.cloud.services.query.rest.TaskVariableController;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 
 @AutoConfiguration
@@ -76,6 +83,7 @@ import org.springframework.context.annotation.Import;
         ApplicationAdminController.class,
     }
 )
+@EnableConfigurationProperties(ProcessDiagramCacheProperties.class)
 public class QueryRestControllersAutoConfiguration {
 
     @Bean
@@ -91,4 +99,30 @@ public class QueryRestControllersAutoConfiguration {
     ) {
         return new ProcessDiagramGeneratorWrapper(processDiagramGenerator);
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.query.diagram-cache.enabled", havingValue = "true")
+    public ProcessDiagramCache processDiagramCache(
+        ProcessDiagramGeneratorWrapper processDiagramGeneratorWrapper,
+        ProcessDiagramCacheProperties processDiagramCacheProperties
+    ) {
+        return new ProcessDiagramCache(
+            processDiagramGeneratorWrapper,
+            processDiagramCacheProperties.getMaxModels(),
+            processDiagramCacheProperties.getMaxDiagrams()
+        );
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class ProcessDiagramCacheMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "activiti.cloud.query.diagram-cache.enabled", havingValue = "true")
+        public ProcessDiagramCacheMetrics processDiagramCacheMetrics(ProcessDiagramCache processDiagramCache) {
+            return new ProcessDiagramCacheMetrics(processDiagramCache);
+        }
+    }
 }
@@ -0,0 +1,227 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.activiti.bpmn.BpmnAutoLayout;
+import org.activiti.bpmn.model.BpmnModel;
+
+/**
+ * Caches the parsed and laid-out {@link BpmnModel} of process definitions together with the diagrams rendered
+ * for them. A process definition id always refers to the same deployed model, so cached entries never need to be
+ * invalidated and are only evicted, least recently used first, when a cache is full.
+ * <p>
+ * Rendered diagrams are keyed by process definition id and highlight state, so all the instances of a definition
+ * that stand at the same point of the flow share one rendered diagram. The diagram without highlights is the base
+ * diagram of the definition.
+ */
+public class ProcessDiagramCache {
+
+    private final ProcessDiagramGeneratorWrapper processDiagramGenerator;
+
+    private final Map<String, BpmnModel> models;
+
+    private final Map<DiagramKey, String> diagrams;
+
+    private final LongAdder modelHits = new LongAdder();
+
+    private final LongAdder modelMisses = new LongAdder();
+
+    private final LongAdder diagramHits = new LongAdder();
+
+    private final LongAdder diagramMisses = new LongAdder();
+
+    public ProcessDiagramCache(
+        ProcessDiagramGeneratorWrapper processDiagramGenerator,
+        int maxModels,
+        int maxDiagrams
+    ) {
+        this.processDiagramGenerator = processDiagramGenerator;
+        this.models = lruMap(maxModels);
+        this.diagrams = lruMap(maxDiagrams);
+    }
+
+    /**
+     * Get the model of a process definition, loading it and laying it out when it has no diagram interchange
+     * information the first time it is requested.
+     * @param processDefinitionId the process definition id
+     * @param loader loads the model of the process definition when it is not cached
+     * @return the laid-out model
+     */
+    public BpmnModel getBpmnModel(String processDefinitionId, Function<String, BpmnModel> loader) {
+        BpmnModel bpmnModel = models.get(processDefinitionId);
+        if (bpmnModel != null) {
+            modelHits.increment();
+            return bpmnModel;
+        }
+        modelMisses.increment();
+        bpmnModel = loader.apply(processDefinitionId);
+        if (!bpmnModel.hasDiagramInterchangeInfo()) new BpmnAutoLayout(bpmnModel).execute();
+        models.put(processDefinitionId, bpmnModel);
+        return bpmnModel;
+    }
+
+    /**
+     * Get the diagram of a process definition with the given elements highlighted, rendering it only when no
+     * diagram with the same highlight state is cached.
+     * @param processDefinitionId the process definition id
+     * @param loader loads the model of the process definition when it is not cached
+     * @param highLightedActivities the completed activity ids
+     * @param highLightedFlows the completed flow ids
+     * @param currentActivities the started activity ids
+     * @param erroredActivities the errored activity ids
+     * @return the rendered diagram
+     */
+    public String getDiagram(
+        String processDefinitionId,
+        Function<String, BpmnModel> loader,
+        List<String> highLightedActivities,
+        List<String> highLightedFlows,
+        List<String> currentActivities,
+        List<String> erroredActivities
+    ) {
+        DiagramKey key = new DiagramKey(
+            processDefinitionId,
+            sorted(highLightedActivities),
+            sorted(highLightedFlows),
+            sorted(currentActivities),
+            sorted(erroredActivities)
+        );
+        String diagram = diagrams.get(key);
+        if (diagram != null) {
+            diagramHits.increment();
+            return diagram;
+        }
+        diagramMisses.increment();
+        BpmnModel bpmnModel = getBpmnModel(processDefinitionId, loader);
+        diagram =
+            new String(
+                processDiagramGenerator.generateDiagram(
+                    bpmnModel,
+                    key.highLightedActivities,
+                    key.highLightedFlows,
+                    key.currentActivities,
+                    key.erroredActivities
+                ),
+                StandardCharsets.UTF_8
+            );
+        diagrams.put(key, diagram);
+        return diagram;
+    }
+
+    public int getModelCount() {
+        return models.size();
+    }
+
+    public int getDiagramCount() {
+        return diagrams.size();
+    }
+
+    public long getModelHits() {
+        return modelHits.sum();
+    }
+
+    public long getModelMisses() {
+        return modelMisses.sum();
+    }
+
+    public long getDiagramHits() {
+        return diagramHits.sum();
+    }
+
+    public long getDiagramMisses() {
+        return diagramMisses.sum();
+    }
+
+    private static List<String> sorted(List<String> ids) {
+        return ids.stream().distinct().sorted().collect(Collectors.toList());
+    }
+
+    private static <K, V> Map<K, V> lruMap(int maxSize) {
+        return Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                    return size() > maxSize;
+                }
+            }
+        );
+    }
+
+    private static final class DiagramKey {
+
+        private final String processDefinitionId;
+
+        private final List<String> highLightedActivities;
+
+        private final List<String> highLightedFlows;
+
+        private final List<String> currentActivities;
+
+        private final List<String> erroredActivities;
+
+        private DiagramKey(
+            String processDefinitionId,
+            List<String> highLightedActivities,
+            List<String> highLightedFlows,
+            List<String> currentActivities,
+            List<String> erroredActivities
+        ) {
+            this.processDefinitionId = processDefinitionId;
+            this.highLightedActivities = highLightedActivities;
+            this.highLightedFlows = highLightedFlows;
+            this.currentActivities = currentActivities;
+            this.erroredActivities = erroredActivities;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DiagramKey that = (DiagramKey) o;
+            return (
+                Objects.equals(processDefinitionId, that.processDefinitionId) &&
+                Objects.equals(highLightedActivities, that.highLightedActivities) &&
+                Objects.equals(highLightedFlows, that.highLightedFlows) &&
+                Objects.equals(currentActivities, that.currentActivities) &&
+                Objects.equals(erroredActivities, that.erroredActivities)
+            );
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(
+                processDefinitionId,
+                highLightedActivities,
+                highLightedFlows,
+                currentActivities,
+                erroredActivities
+            );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class ProcessDiagramCacheMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.query.diagram.cache";
+
+    private final ProcessDiagramCache processDiagramCache;
+
+    public ProcessDiagramCacheMetrics(ProcessDiagramCache processDiagramCache) {
+        this.processDiagramCache = processDiagramCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".models", processDiagramCache, ProcessDiagramCache::getModelCount)
+            .description("Number of laid-out process models held in the diagram cache")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + ".diagrams", processDiagramCache, ProcessDiagramCache::getDiagramCount)
+            .description("Number of rendered diagrams held in the diagram cache")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".model.hits", processDiagramCache, ProcessDiagramCache::getModelHits)
+            .description("Number of process model lookups served from the diagram cache")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".model.misses", processDiagramCache, ProcessDiagramCache::getModelMisses)
+            .description("Number of process models parsed and laid out by the diagram cache")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".diagram.hits", processDiagramCache, ProcessDiagramCache::getDiagramHits)
+            .description("Number of diagram requests served from the diagram cache")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".diagram.misses", processDiagramCache, ProcessDiagramCache::getDiagramMisses)
+            .description("Number of diagrams rendered by the diagram cache")
+            .register(registry);
+    }
+}
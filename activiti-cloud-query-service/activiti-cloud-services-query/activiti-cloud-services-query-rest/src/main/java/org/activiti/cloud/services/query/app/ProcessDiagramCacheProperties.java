@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.query.diagram-cache")
+public class ProcessDiagramCacheProperties {
+
+    /**
+     * Whether parsed and laid-out process models and the diagrams rendered from them are cached. When enabled,
+     * the highlight state of a process instance is resolved with a single activity query and a diagram is only
+     * rendered once for every distinct highlight state of a process definition.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of process models kept in the cache.
+     */
+    private int maxModels = 100;
+
+    /**
+     * Maximum number of rendered diagrams kept in the cache.
+     */
+    private int maxDiagrams = 1000;
+
+    public ProcessDiagramCacheProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxModels() {
+        return maxModels;
+    }
+
+    public void setMaxModels(int maxModels) {
+        this.maxModels = maxModels;
+    }
+
+    public int getMaxDiagrams() {
+        return maxDiagrams;
+    }
+
+    public void setMaxDiagrams(int maxDiagrams) {
+        this.maxDiagrams = maxDiagrams;
+    }
+}
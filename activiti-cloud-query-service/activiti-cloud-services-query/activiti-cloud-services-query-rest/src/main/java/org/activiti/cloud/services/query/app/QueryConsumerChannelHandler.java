@@ -36,7 +36,7 @@ public class QueryConsumerChannelHandler {
         this.eventHandlerContext = eventHandlerContext;
     }
 
-    public synchronized void receive(List<CloudRuntimeEvent<?, ?>> events) {
+    public void receive(List<CloudRuntimeEvent<?, ?>> events) {
         eventHandlerContext.handle(optimizer.optimize(events).toArray(new CloudRuntimeEvent[] {}));
     }
 }
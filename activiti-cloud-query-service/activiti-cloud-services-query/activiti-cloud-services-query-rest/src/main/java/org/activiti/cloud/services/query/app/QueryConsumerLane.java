@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A single processing lane of the query consumer. Messages routed to the same lane are handled one at a time by the
+ * lane's own thread, in the order they were submitted, each one in its own transaction.
+ * <p>
+ * The lane queues a bounded number of messages. Once it is full, {@link #submit(Runnable)} blocks the consumer thread
+ * until the lane catches up, so a slow lane holds back the consumer instead of buffering unacknowledged messages
+ * without limit.
+ * <p>
+ * A failed message is retried in place, up to the configured number of attempts, so the messages queued behind it
+ * wait for it. When it still fails, the lane stops: the messages already submitted to it fail as well without being
+ * handled, since they may depend on the failed one, and are rejected with it. Messages submitted afterwards are
+ * handled again.
+ */
+public class QueryConsumerLane {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryConsumerLane.class);
+
+    private final int index;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong submittedMessages = new AtomicLong();
+    private final AtomicLong processedMessages = new AtomicLong();
+    private final AtomicLong failedMessages = new AtomicLong();
+    private final AtomicLong skippedMessages = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong lastProcessingMillis = new AtomicLong();
+    private volatile long stoppedUpTo;
+
+    public QueryConsumerLane(int index) {
+        this(index, QueryConsumerProperties.DEFAULT_LANE_QUEUE_CAPACITY, 1, Duration.ZERO);
+    }
+
+    public QueryConsumerLane(int index, int queueCapacity, int maxAttempts, Duration retryBackoff) {
+        this.index = index;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoff = retryBackoff;
+        this.executor = MessagingExecutors.singleThreadExecutor("query-consumer-lane-" + index + "-", queueCapacity);
+    }
+
+    /**
+     * Submits a message to the lane, waiting for room in the lane's queue when it is full.
+     */
+    public CompletableFuture<Void> submit(Runnable task) {
+        long sequence = submittedMessages.incrementAndGet();
+        return CompletableFuture.runAsync(() -> run(sequence, task), executor);
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private void run(long sequence, Runnable task) {
+        if (sequence <= stoppedUpTo) {
+            skippedMessages.incrementAndGet();
+            throw new QueryConsumerLaneStoppedException(index);
+        }
+        for (int attempt = 1;; attempt++) {
+            try {
+                task.run();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    failedMessages.incrementAndGet();
+                    stoppedUpTo = submittedMessages.get();
+                    throw e;
+                }
+                LOGGER.warn(
+                    "Attempt {} to handle a message in query consumer lane {} failed, retrying",
+                    attempt,
+                    index,
+                    e
+                );
+                backOff();
+            }
+        }
+    }
+
+    private void backOff() {
+        try {
+            Thread.sleep(retryBackoff.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    void recordProcessed(long lagMillis, long processingMillis) {
+        processedMessages.incrementAndGet();
+        lastLagMillis.set(lagMillis);
+        lastProcessingMillis.set(processingMillis);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Number of messages currently waiting for this lane to become available.
+     */
+    public int getQueueLength() {
+        return executor.getQueue().size();
+    }
+
+    public long getProcessedMessages() {
+        return processedMessages.get();
+    }
+
+    public long getFailedMessages() {
+        return failedMessages.get();
+    }
+
+    /**
+     * Number of messages that were not handled because an earlier message of the lane failed.
+     */
+    public long getSkippedMessages() {
+        return skippedMessages.get();
+    }
+
+    /**
+     * Delay between the most recent event timestamp of the last processed message and the commit of its projection.
+     */
+    public long getLastLagMillis() {
+        return lastLagMillis.get();
+    }
+
+    public long getLastProcessingMillis() {
+        return lastProcessingMillis.get();
+    }
+}
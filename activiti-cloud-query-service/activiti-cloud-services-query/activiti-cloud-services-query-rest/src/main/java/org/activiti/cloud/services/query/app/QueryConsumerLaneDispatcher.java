@@ -0,0 +1,216 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.common.messaging.acknowledgment.ManualAcknowledgment;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Routes incoming event messages onto a fixed number of {@link QueryConsumerLane}s hashed by root process instance id.
+ * Messages are submitted to their lane in the order the consumer thread receives them, and each lane projects its
+ * messages one at a time, so events of the same process instance tree are projected in the order they are received.
+ * <p>
+ * When the binder runs in manual acknowledgment mode, the consumer thread returns as soon as the message is submitted
+ * and the message is acknowledged once its projection is committed, so messages of unrelated process instances are
+ * projected concurrently by the lanes. Otherwise the consumer thread waits for the projection before returning, so
+ * the binder only acknowledges committed messages, and the lanes only run concurrently with several consumer threads.
+ * Messages received by different consumer threads are not ordered relative to each other, so per root process
+ * instance ordering requires a single consumer thread per queue or partition.
+ * <p>
+ * A lane that is full blocks the consumer thread until it catches up, and a message that still fails after its
+ * attempts is rejected together with the messages already waiting behind it in the same lane, so no message of a
+ * process instance tree is projected after one that failed before it. See {@link QueryConsumerLane}.
+ */
+public class QueryConsumerLaneDispatcher {
+
+    public static final String ROOT_PROCESS_INSTANCE_ID = "rootProcessInstanceId";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryConsumerLaneDispatcher.class);
+
+    private static final int MAX_KNOWN_ROOT_PROCESS_INSTANCES = 10_000;
+
+    private final QueryConsumerChannelHandler queryConsumerChannelHandler;
+    private final List<QueryConsumerLane> lanes;
+    private final Map<String, String> rootProcessInstanceIds = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > MAX_KNOWN_ROOT_PROCESS_INSTANCES;
+            }
+        }
+    );
+
+    public QueryConsumerLaneDispatcher(QueryConsumerChannelHandler queryConsumerChannelHandler, int lanes) {
+        this(queryConsumerChannelHandler, lanes(lanes));
+    }
+
+    public QueryConsumerLaneDispatcher(
+        QueryConsumerChannelHandler queryConsumerChannelHandler,
+        QueryConsumerProperties properties
+    ) {
+        this.queryConsumerChannelHandler = queryConsumerChannelHandler;
+        this.lanes =
+            IntStream
+                .range(0, Math.max(1, properties.getLanes()))
+                .mapToObj(index ->
+                    new QueryConsumerLane(
+                        index,
+                        properties.getLaneQueueCapacity(),
+                        properties.getLaneMaxAttempts(),
+                        properties.getLaneRetryBackoff()
+                    )
+                )
+                .collect(Collectors.toList());
+    }
+
+    private static QueryConsumerProperties lanes(int lanes) {
+        QueryConsumerProperties properties = new QueryConsumerProperties();
+        properties.setLanes(lanes);
+        return properties;
+    }
+
+    public void dispatch(Message<List<CloudRuntimeEvent<?, ?>>> message) {
+        List<CloudRuntimeEvent<?, ?>> events = Optional
+            .ofNullable(message.getPayload())
+            .orElse(Collections.emptyList());
+
+        CompletableFuture<Void> projection = submit(message.getHeaders(), events);
+
+        ManualAcknowledgment
+            .from(message)
+            .ifPresentOrElse(
+                acknowledgment ->
+                    projection.whenComplete((result, failure) -> {
+                        if (failure == null) {
+                            acknowledgment.acknowledge();
+                        } else {
+                            LOGGER.error("Unable to project message {}", message.getHeaders().getId(), failure);
+                            acknowledgment.reject();
+                        }
+                    }),
+                () -> await(projection)
+            );
+    }
+
+    public void dispatch(MessageHeaders headers, List<CloudRuntimeEvent<?, ?>> events) {
+        await(submit(headers, events));
+    }
+
+    public List<QueryConsumerLane> getLanes() {
+        return lanes;
+    }
+
+    public void shutdown() {
+        lanes.forEach(QueryConsumerLane::shutdown);
+    }
+
+    private CompletableFuture<Void> submit(MessageHeaders headers, List<CloudRuntimeEvent<?, ?>> events) {
+        QueryConsumerLane lane = resolveLane(resolvePartitionKey(headers, events));
+
+        return lane.submit(() -> {
+            long start = System.currentTimeMillis();
+            queryConsumerChannelHandler.receive(events);
+            long end = System.currentTimeMillis();
+
+            lane.recordProcessed(
+                events
+                    .stream()
+                    .map(CloudRuntimeEvent::getTimestamp)
+                    .filter(Objects::nonNull)
+                    .max(Long::compare)
+                    .map(timestamp -> end - timestamp)
+                    .orElse(0L),
+                end - start
+            );
+        });
+    }
+
+    private void await(CompletableFuture<Void> projection) {
+        try {
+            projection.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    protected QueryConsumerLane resolveLane(String partitionKey) {
+        if (lanes.size() == 1 || partitionKey == null) {
+            return lanes.get(0);
+        }
+
+        return lanes.get(Math.floorMod(partitionKey.hashCode(), lanes.size()));
+    }
+
+    protected String resolvePartitionKey(MessageHeaders headers, List<CloudRuntimeEvent<?, ?>> events) {
+        String rootProcessInstanceId = Optional
+            .ofNullable(headers)
+            .map(it -> it.get(ROOT_PROCESS_INSTANCE_ID, String.class))
+            .orElseGet(() -> resolveRootProcessInstanceId(events));
+
+        if (rootProcessInstanceId == null) {
+            LOGGER.debug("Unable to resolve root process instance id, routing message to the first lane");
+            return null;
+        }
+
+        events
+            .stream()
+            .map(CloudRuntimeEvent::getProcessInstanceId)
+            .filter(Objects::nonNull)
+            .forEach(processInstanceId -> rootProcessInstanceIds.put(processInstanceId, rootProcessInstanceId));
+
+        return rootProcessInstanceId;
+    }
+
+    /**
+     * Events only carry their direct parent, so the root of a sub process instance is the root already recorded for
+     * its parent by an earlier message, which always precedes the messages of its sub process instances.
+     */
+    private String resolveRootProcessInstanceId(List<CloudRuntimeEvent<?, ?>> events) {
+        return events
+            .stream()
+            .filter(event -> event.getProcessInstanceId() != null)
+            .findFirst()
+            .map(event -> {
+                String knownRootProcessInstanceId = rootProcessInstanceIds.get(event.getProcessInstanceId());
+                if (knownRootProcessInstanceId != null) {
+                    return knownRootProcessInstanceId;
+                }
+                String parentProcessInstanceId = event.getParentProcessInstanceId();
+                if (parentProcessInstanceId == null) {
+                    return event.getProcessInstanceId();
+                }
+                return rootProcessInstanceIds.getOrDefault(parentProcessInstanceId, parentProcessInstanceId);
+            })
+            .orElse(null);
+    }
+}
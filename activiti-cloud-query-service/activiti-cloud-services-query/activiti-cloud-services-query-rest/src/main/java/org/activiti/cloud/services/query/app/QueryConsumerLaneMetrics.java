@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class QueryConsumerLaneMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.query.consumer.lane";
+
+    private final QueryConsumerLaneDispatcher dispatcher;
+
+    public QueryConsumerLaneMetrics(QueryConsumerLaneDispatcher dispatcher) {
+        this.dispatcher = dispatcher;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        dispatcher
+            .getLanes()
+            .forEach(lane -> {
+                Tags tags = Tags.of("lane", String.valueOf(lane.getIndex()));
+
+                Gauge
+                    .builder(METRIC_PREFIX + ".lag", lane, QueryConsumerLane::getLastLagMillis)
+                    .description("Delay between the last projected event and its commit")
+                    .baseUnit("milliseconds")
+                    .tags(tags)
+                    .register(registry);
+                Gauge
+                    .builder(METRIC_PREFIX + ".processing.time", lane, QueryConsumerLane::getLastProcessingMillis)
+                    .description("Time taken to project the last message")
+                    .baseUnit("milliseconds")
+                    .tags(tags)
+                    .register(registry);
+                Gauge
+                    .builder(METRIC_PREFIX + ".queue", lane, QueryConsumerLane::getQueueLength)
+                    .description("Number of messages waiting for the lane")
+                    .tags(tags)
+                    .register(registry);
+                FunctionCounter
+                    .builder(METRIC_PREFIX + ".processed", lane, QueryConsumerLane::getProcessedMessages)
+                    .description("Number of messages projected by the lane")
+                    .tags(tags)
+                    .register(registry);
+                FunctionCounter
+                    .builder(METRIC_PREFIX + ".failed", lane, QueryConsumerLane::getFailedMessages)
+                    .description("Number of messages that failed in the lane")
+                    .tags(tags)
+                    .register(registry);
+                FunctionCounter
+                    .builder(METRIC_PREFIX + ".skipped", lane, QueryConsumerLane::getSkippedMessages)
+                    .description("Number of messages rejected without projection after an earlier failure")
+                    .tags(tags)
+                    .register(registry);
+            });
+    }
+}
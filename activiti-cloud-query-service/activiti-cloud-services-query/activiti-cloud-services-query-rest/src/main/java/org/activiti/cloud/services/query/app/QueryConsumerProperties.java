@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.query.consumer")
+public class QueryConsumerProperties {
+
+    static final int DEFAULT_LANE_QUEUE_CAPACITY = 100;
+
+    /**
+     * Number of independent lanes used to process incoming event messages. Messages are routed to a lane
+     * by their root process instance id, so messages of the same process instance tree are always handled
+     * one at a time, while messages of unrelated process instances can be handled concurrently.
+     * The default of 1 processes all messages one at a time. Lanes run concurrently when the binder uses
+     * manual acknowledgment, or with several consumer threads, which do not keep messages in order.
+     */
+    private int lanes = 1;
+
+    /**
+     * Maximum number of messages waiting in each lane. When a lane is full, the consumer thread waits for it to catch
+     * up, so the messages the broker has delivered but the lanes have not yet handled stay bounded.
+     */
+    private int laneQueueCapacity = DEFAULT_LANE_QUEUE_CAPACITY;
+
+    /**
+     * Number of times a lane tries to handle a message before rejecting it. The lane retries in place, so the later
+     * messages of the lane keep waiting. A message that still fails stops the lane: the messages already waiting in it
+     * are rejected as well, so they are never projected ahead of the failed one.
+     */
+    private int laneMaxAttempts = 1;
+
+    /**
+     * Delay between two attempts of a lane to handle a failed message.
+     */
+    private Duration laneRetryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Whether the process instances and tasks referenced by all the events of a message are loaded with a few
+     * batched queries before the event handlers run. When disabled, only the first process instance of the
+     * message is prefetched.
+     */
+    private boolean batchPrefetch = false;
+
+    /**
+     * Maximum number of ids bound to a single prefetch query when batch prefetch is enabled.
+     */
+    private int batchPrefetchChunkSize = 500;
+
+    public QueryConsumerProperties() {
+        // default constructor
+    }
+
+    public int getLanes() {
+        return lanes;
+    }
+
+    public void setLanes(int lanes) {
+        this.lanes = lanes;
+    }
+
+    public int getLaneQueueCapacity() {
+        return laneQueueCapacity;
+    }
+
+    public void setLaneQueueCapacity(int laneQueueCapacity) {
+        this.laneQueueCapacity = laneQueueCapacity;
+    }
+
+    public int getLaneMaxAttempts() {
+        return laneMaxAttempts;
+    }
+
+    public void setLaneMaxAttempts(int laneMaxAttempts) {
+        this.laneMaxAttempts = laneMaxAttempts;
+    }
+
+    public Duration getLaneRetryBackoff() {
+        return laneRetryBackoff;
+    }
+
+    public void setLaneRetryBackoff(Duration laneRetryBackoff) {
+        this.laneRetryBackoff = laneRetryBackoff;
+    }
+
+    public boolean isBatchPrefetch() {
+        return batchPrefetch;
+    }
+
+    public void setBatchPrefetch(boolean batchPrefetch) {
+        this.batchPrefetch = batchPrefetch;
+    }
+
+    public int getBatchPrefetchChunkSize() {
+        return batchPrefetchChunkSize;
+    }
+
+    public void setBatchPrefetchChunkSize(int batchPrefetchChunkSize) {
+        this.batchPrefetchChunkSize = batchPrefetchChunkSize;
+    }
+}
@@ -17,15 +17,24 @@ package org.activiti.cloud.services.query.events.handlers;
 
 import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.hibernate.jpa.QueryHints;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 public class EntityManagerFinder {
 
@@ -37,6 +46,7 @@ public class EntityManagerFinder {
     private static final String PROCESS_VARIABLES = "processVariables";
     private static final String TASK_CANDIDATE_USERS = "taskCandidateUsers";
     private static final String TASK_CANDIDATE_GROUPS = "taskCandidateGroups";
+    private static final String CREATED_TASK_IDS = EntityManagerFinder.class.getName() + ".createdTaskIds";
     private final EntityManager entityManager;
 
     public EntityManagerFinder(EntityManager entityManager) {
@@ -61,7 +71,64 @@ public class EntityManagerFinder {
         CriteriaQuery<TaskEntity> criteriaQuery = criteriaBuilder.createQuery(TaskEntity.class);
         Root<TaskEntity> root = criteriaQuery.from(TaskEntity.class);
         criteriaQuery.select(root).where(criteriaBuilder.equal(root.get("processInstanceId"), processInstanceId));
-        return entityManager.createQuery(criteriaQuery).setHint(QueryHints.HINT_LOADGRAPH, entityGraph).getResultList();
+
+        // Do not auto flush the pending projection changes of the current message before running the query,
+        // so that they are written in a single JDBC batch on commit. Tasks created earlier in the same transaction
+        // are looked up by id instead, which returns them from the persistence context.
+        List<TaskEntity> tasks = entityManager
+            .createQuery(criteriaQuery)
+            .setHint(QueryHints.HINT_LOADGRAPH, entityGraph)
+            .setFlushMode(FlushModeType.COMMIT)
+            .getResultList();
+
+        return Stream
+            .concat(tasks.stream(), findCreatedTasks(processInstanceId))
+            .distinct()
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Records a task persisted by the current transaction, so that {@link #findTasksWithProcessVariables(String)} can
+     * find it before it is flushed.
+     */
+    public void registerCreatedTask(TaskEntity taskEntity) {
+        if (taskEntity.getProcessInstanceId() != null && TransactionSynchronizationManager.isSynchronizationActive()) {
+            createdTaskIds()
+                .computeIfAbsent(taskEntity.getProcessInstanceId(), processInstanceId -> new LinkedHashSet<>())
+                .add(taskEntity.getId());
+        }
+    }
+
+    private Stream<TaskEntity> findCreatedTasks(String processInstanceId) {
+        return Optional
+            .ofNullable(getCreatedTaskIds())
+            .map(createdTaskIds -> createdTaskIds.get(processInstanceId))
+            .stream()
+            .flatMap(Set::stream)
+            .map(taskId -> entityManager.find(TaskEntity.class, taskId))
+            .filter(Objects::nonNull);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Set<String>> getCreatedTaskIds() {
+        return (Map<String, Set<String>>) TransactionSynchronizationManager.getResource(CREATED_TASK_IDS);
+    }
+
+    private Map<String, Set<String>> createdTaskIds() {
+        Map<String, Set<String>> createdTaskIds = getCreatedTaskIds();
+        if (createdTaskIds == null) {
+            createdTaskIds = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(CREATED_TASK_IDS, createdTaskIds);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(CREATED_TASK_IDS);
+                    }
+                }
+            );
+        }
+        return createdTaskIds;
     }
 
     public Optional<TaskEntity> findTaskWithCandidateUsers(String taskId) {
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.events.CloudVariableEvent;
+import org.activiti.cloud.api.process.model.events.CloudBPMNActivityEvent;
+import org.activiti.cloud.api.process.model.events.CloudProcessCreatedEvent;
+import org.activiti.cloud.api.task.model.events.CloudTaskCandidateGroupEvent;
+import org.activiti.cloud.api.task.model.events.CloudTaskCandidateUserEvent;
+import org.activiti.cloud.api.task.model.events.CloudTaskCreatedEvent;
+import org.activiti.cloud.api.task.model.events.CloudTaskRuntimeEvent;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.hibernate.jpa.QueryHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Loads the process instances and tasks referenced by a whole batch of events into the persistence context
+ * before the event handlers run, so that the handlers find them with their collections already initialized
+ * instead of lazy loading them one entity at a time.
+ * <p>
+ * Entities are loaded with chunked {@code IN} queries, one query per collection attribute required by the
+ * events of the batch, so that several collections are never fetched in a single cartesian join.
+ * Process instances and tasks created within the batch are skipped, since they cannot be found in the database yet.
+ */
+public class QueryEventBatchPrefetcher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(QueryEventBatchPrefetcher.class);
+
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+
+    private static final String ID = "id";
+    private static final String VARIABLES = "variables";
+    private static final String TASKS = "tasks";
+    private static final String ACTIVITIES = "activities";
+    private static final String SERVICE_TASKS = "serviceTasks";
+    private static final String TASK_CANDIDATE_USERS = "taskCandidateUsers";
+    private static final String TASK_CANDIDATE_GROUPS = "taskCandidateGroups";
+
+    private final EntityManager entityManager;
+    private final int chunkSize;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder queries = new LongAdder();
+
+    public QueryEventBatchPrefetcher(EntityManager entityManager) {
+        this(entityManager, DEFAULT_CHUNK_SIZE);
+    }
+
+    public QueryEventBatchPrefetcher(EntityManager entityManager, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be greater than 0");
+        }
+        this.entityManager = entityManager;
+        this.chunkSize = chunkSize;
+    }
+
+    public void prefetch(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<String> processInstanceIds = resolveProcessInstanceIds(events);
+        Set<String> taskIds = resolveTaskIds(events);
+
+        if (!processInstanceIds.isEmpty()) {
+            List<String> attributes = new ArrayList<>();
+            if (containsAny(events, CloudVariableEvent.class)) {
+                attributes.add(VARIABLES);
+            }
+            if (containsAny(events, CloudTaskRuntimeEvent.class)) {
+                attributes.add(TASKS);
+            }
+            if (containsAny(events, CloudBPMNActivityEvent.class)) {
+                attributes.add(ACTIVITIES);
+                attributes.add(SERVICE_TASKS);
+            }
+            prefetch(ProcessInstanceEntity.class, ProcessInstanceEntity::getId, processInstanceIds, attributes);
+        }
+
+        if (!taskIds.isEmpty()) {
+            List<String> attributes = new ArrayList<>();
+            if (containsAny(events, CloudVariableEvent.class)) {
+                attributes.add(VARIABLES);
+            }
+            if (containsAny(events, CloudTaskCandidateUserEvent.class)) {
+                attributes.add(TASK_CANDIDATE_USERS);
+            }
+            if (containsAny(events, CloudTaskCandidateGroupEvent.class)) {
+                attributes.add(TASK_CANDIDATE_GROUPS);
+            }
+            prefetch(TaskEntity.class, TaskEntity::getId, taskIds, attributes);
+        }
+    }
+
+    protected Set<String> resolveProcessInstanceIds(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<String> createdProcessInstanceIds = new HashSet<>();
+        events
+            .stream()
+            .filter(CloudProcessCreatedEvent.class::isInstance)
+            .map(CloudRuntimeEvent::getEntityId)
+            .filter(Objects::nonNull)
+            .forEach(createdProcessInstanceIds::add);
+
+        Set<String> processInstanceIds = new LinkedHashSet<>();
+        events
+            .stream()
+            .flatMap(event -> Stream.of(event.getProcessInstanceId(), event.getParentProcessInstanceId()))
+            .filter(Objects::nonNull)
+            .filter(processInstanceId -> !createdProcessInstanceIds.contains(processInstanceId))
+            .forEach(processInstanceIds::add);
+
+        return processInstanceIds;
+    }
+
+    protected Set<String> resolveTaskIds(List<CloudRuntimeEvent<?, ?>> events) {
+        Set<String> createdTaskIds = new HashSet<>();
+        events
+            .stream()
+            .filter(CloudTaskCreatedEvent.class::isInstance)
+            .map(CloudRuntimeEvent::getEntityId)
+            .filter(Objects::nonNull)
+            .forEach(createdTaskIds::add);
+
+        Set<String> taskIds = new LinkedHashSet<>();
+        events
+            .stream()
+            .map(this::resolveTaskId)
+            .filter(Objects::nonNull)
+            .filter(taskId -> !createdTaskIds.contains(taskId))
+            .forEach(taskIds::add);
+
+        return taskIds;
+    }
+
+    private String resolveTaskId(CloudRuntimeEvent<?, ?> event) {
+        if (event instanceof CloudTaskRuntimeEvent) {
+            return event.getEntityId();
+        } else if (event instanceof CloudTaskCandidateUserEvent candidateUserEvent) {
+            return candidateUserEvent.getEntity() != null ? candidateUserEvent.getEntity().getTaskId() : null;
+        } else if (event instanceof CloudTaskCandidateGroupEvent candidateGroupEvent) {
+            return candidateGroupEvent.getEntity() != null ? candidateGroupEvent.getEntity().getTaskId() : null;
+        } else if (event instanceof CloudVariableEvent variableEvent) {
+            return variableEvent.getEntity() != null && variableEvent.getEntity().isTaskVariable()
+                ? variableEvent.getEntity().getTaskId()
+                : null;
+        }
+        return null;
+    }
+
+    private <T> void prefetch(
+        Class<T> entityClass,
+        Function<T, String> idFunction,
+        Set<String> ids,
+        List<String> attributes
+    ) {
+        List<String> pendingIds = new ArrayList<>(ids);
+        Set<String> foundIds = new HashSet<>();
+
+        for (int from = 0; from < pendingIds.size(); from += chunkSize) {
+            List<String> chunk = pendingIds.subList(from, Math.min(from + chunkSize, pendingIds.size()));
+
+            if (attributes.isEmpty()) {
+                findAll(entityClass, chunk, null).forEach(entity -> foundIds.add(idFunction.apply(entity)));
+            } else {
+                for (String attribute : attributes) {
+                    findAll(entityClass, chunk, attribute).forEach(entity -> foundIds.add(idFunction.apply(entity)));
+                }
+            }
+        }
+
+        hits.add(foundIds.size());
+        misses.add(ids.size() - foundIds.size());
+
+        LOGGER.debug(
+            "Prefetched {} of {} {} entities with attributes {}",
+            foundIds.size(),
+            ids.size(),
+            entityClass.getSimpleName(),
+            attributes
+        );
+    }
+
+    private <T> List<T> findAll(Class<T> entityClass, Collection<String> ids, String attribute) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> criteriaQuery = criteriaBuilder.createQuery(entityClass);
+        Root<T> root = criteriaQuery.from(entityClass);
+        criteriaQuery.select(root).where(root.get(ID).in(ids));
+
+        // Do not auto flush the pending projection changes of the current message before running the query,
+        // so that they are written in a single JDBC batch on commit.
+        TypedQuery<T> query = entityManager.createQuery(criteriaQuery).setFlushMode(FlushModeType.COMMIT);
+
+        if (attribute != null) {
+            EntityGraph<T> entityGraph = entityManager.createEntityGraph(entityClass);
+            entityGraph.addAttributeNodes(attribute);
+            query.setHint(QueryHints.HINT_LOADGRAPH, entityGraph);
+        }
+
+        queries.increment();
+
+        return query.getResultList();
+    }
+
+    private boolean containsAny(List<CloudRuntimeEvent<?, ?>> events, Class<?> eventClass) {
+        return events.stream().anyMatch(eventClass::isInstance);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getQueries() {
+        return queries.sum();
+    }
+}
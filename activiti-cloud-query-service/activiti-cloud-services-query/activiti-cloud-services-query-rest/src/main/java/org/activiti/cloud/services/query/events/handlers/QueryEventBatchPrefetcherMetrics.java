@@ -0,0 +1,47 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class QueryEventBatchPrefetcherMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.query.consumer.prefetch";
+
+    private final QueryEventBatchPrefetcher prefetcher;
+
+    public QueryEventBatchPrefetcherMetrics(QueryEventBatchPrefetcher prefetcher) {
+        this.prefetcher = prefetcher;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".hits", prefetcher, QueryEventBatchPrefetcher::getHits)
+            .description("Number of referenced entities found by the batch prefetch")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".misses", prefetcher, QueryEventBatchPrefetcher::getMisses)
+            .description("Number of referenced entities not found by the batch prefetch")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".queries", prefetcher, QueryEventBatchPrefetcher::getQueries)
+            .description("Number of queries run by the batch prefetch")
+            .register(registry);
+    }
+}
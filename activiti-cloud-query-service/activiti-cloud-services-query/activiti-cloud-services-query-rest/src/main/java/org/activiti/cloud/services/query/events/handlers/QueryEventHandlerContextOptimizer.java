@@ -116,12 +116,28 @@ public class QueryEventHandlerContextOptimizer {
         Optional.ofNullable(order.get(event.getClass())).orElseGet(() -> order.get(CloudRuntimeEvent.class))
     );
     private final EntityManager entityManager;
+    private final QueryEventBatchPrefetcher batchPrefetcher;
 
     public QueryEventHandlerContextOptimizer(EntityManager entityManager) {
+        this(entityManager, null);
+    }
+
+    public QueryEventHandlerContextOptimizer(EntityManager entityManager, QueryEventBatchPrefetcher batchPrefetcher) {
         this.entityManager = entityManager;
+        this.batchPrefetcher = batchPrefetcher;
     }
 
     public List<CloudRuntimeEvent<?, ?>> optimize(List<CloudRuntimeEvent<?, ?>> events) {
+        if (batchPrefetcher != null) {
+            batchPrefetcher.prefetch(events);
+        } else {
+            fetchRootProcessInstance(events);
+        }
+
+        return events.stream().sorted(byEventClass.thenComparing(byTimestamp)).collect(Collectors.toList());
+    }
+
+    private void fetchRootProcessInstance(List<CloudRuntimeEvent<?, ?>> events) {
         resolveProcessInstanceId(events)
             .ifPresent(processInstanceId -> {
                 LOGGER.debug("Building entity fetch graph for root process instance: {}", processInstanceId);
@@ -158,8 +174,6 @@ public class QueryEventHandlerContextOptimizer {
                         }
                     });
             });
-
-        return events.stream().sorted(byEventClass.thenComparing(byTimestamp)).collect(Collectors.toList());
     }
 
     protected Optional<String> resolveProcessInstanceId(List<CloudRuntimeEvent<?, ?>> events) {
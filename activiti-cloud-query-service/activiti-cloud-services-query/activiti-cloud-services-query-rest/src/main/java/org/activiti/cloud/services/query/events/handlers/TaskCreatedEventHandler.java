@@ -26,9 +26,15 @@ import org.activiti.cloud.services.query.model.TaskEntity;
 public class TaskCreatedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
+    private final EntityManagerFinder entityManagerFinder;
 
     public TaskCreatedEventHandler(EntityManager entityManager) {
+        this(entityManager, new EntityManagerFinder(entityManager));
+    }
+
+    public TaskCreatedEventHandler(EntityManager entityManager, EntityManagerFinder entityManagerFinder) {
         this.entityManager = entityManager;
+        this.entityManagerFinder = entityManagerFinder;
     }
 
     @Override
@@ -52,6 +58,7 @@ public class TaskCreatedEventHandler implements QueryEventHandler {
     private void persistIntoDatabase(CloudRuntimeEvent<?, ?> event, TaskEntity queryTaskEntity) {
         try {
             entityManager.persist(queryTaskEntity);
+            entityManagerFinder.registerCreatedTask(queryTaskEntity);
         } catch (Exception cause) {
             throw new QueryException("Error handling TaskCreatedEvent[" + event + "]", cause);
         }
@@ -56,7 +56,9 @@ public class ProcessInstanceAdminService {
     }
 
     public Page<ProcessInstanceEntity> findAll(Predicate predicate, Pageable pageable) {
-        return processInstanceRepository.findAll(
+        return QueryPageFinder.findAll(
+            processInstanceRepository,
+            ProcessInstanceEntity.class,
             Optional.ofNullable(predicate).orElseGet(BooleanBuilder::new),
             pageable
         );
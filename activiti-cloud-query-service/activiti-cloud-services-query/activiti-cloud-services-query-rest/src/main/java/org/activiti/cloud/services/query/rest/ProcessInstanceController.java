@@ -74,11 +74,12 @@ public class ProcessInstanceController {
         @Parameter(description = PREDICATE_DESC, example = PREDICATE_EXAMPLE) @QuerydslPredicate(
             root = ProcessInstanceEntity.class
         ) Predicate predicate,
+        VariableSearch variableSearch,
         Pageable pageable
     ) {
         return pagedCollectionModelAssembler.toModel(
             pageable,
-            processInstanceService.findAll(predicate, pageable),
+            processInstanceService.findAll(predicate, variableSearch, pageable),
             processInstanceRepresentationModelAssembler
         );
     }
@@ -95,11 +96,12 @@ public class ProcessInstanceController {
             required = false,
             defaultValue = ""
         ) List<String> variableKeys,
+        VariableSearch variableSearch,
         Pageable pageable
     ) {
         return pagedCollectionModelAssembler.toModel(
             pageable,
-            processInstanceService.findAllWithVariables(predicate, variableKeys, pageable),
+            processInstanceService.findAllWithVariables(predicate, variableSearch, variableKeys, pageable),
             processInstanceRepresentationModelAssembler
         );
     }
@@ -18,11 +18,13 @@ package org.activiti.cloud.services.query.rest;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import org.activiti.bpmn.BpmnAutoLayout;
 import org.activiti.bpmn.model.BpmnModel;
 import org.activiti.cloud.api.process.model.CloudBPMNActivity;
 import org.activiti.cloud.api.process.model.CloudBPMNActivity.BPMNActivityStatus;
+import org.activiti.cloud.services.query.ProcessDiagramCache;
 import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
@@ -51,6 +53,8 @@ public abstract class ProcessInstanceDiagramControllerBase {
 
     protected final ProcessDiagramGeneratorWrapper processDiagramGenerator;
 
+    protected ProcessDiagramCache processDiagramCache;
+
     @Autowired
     public ProcessInstanceDiagramControllerBase(
         ProcessModelRepository processModelRepository,
@@ -68,8 +72,16 @@ public abstract class ProcessInstanceDiagramControllerBase {
         this.bpmnSequenceFlowRepository = bpmnSequenceFlowRepository;
     }
 
+    @Autowired(required = false)
+    public void setProcessDiagramCache(ProcessDiagramCache processDiagramCache) {
+        this.processDiagramCache = processDiagramCache;
+    }
+
     public String generateDiagram(String processInstanceId) {
         String processDefinitionId = resolveProcessDefinitionId(processInstanceId);
+        if (processDiagramCache != null) {
+            return generateCachedDiagram(processDefinitionId, processInstanceId);
+        }
         BpmnModel bpmnModel = getBpmnModel(processDefinitionId);
 
         if (!bpmnModel.hasDiagramInterchangeInfo()) new BpmnAutoLayout(bpmnModel).execute();
@@ -91,6 +103,33 @@ public abstract class ProcessInstanceDiagramControllerBase {
         );
     }
 
+    protected String generateCachedDiagram(String processDefinitionId, String processInstanceId) {
+        Map<BPMNActivityStatus, List<String>> activitiesByStatus = bpmnActivityRepository
+            .findByProcessInstanceId(processInstanceId)
+            .stream()
+            .filter(activity -> activity.getStatus() != null)
+            .collect(
+                Collectors.groupingBy(
+                    BPMNActivityEntity::getStatus,
+                    Collectors.mapping(BPMNActivityEntity::getElementId, Collectors.toList())
+                )
+            );
+        List<String> completedFlows = bpmnSequenceFlowRepository
+            .findByProcessInstanceId(processInstanceId)
+            .stream()
+            .map(BPMNSequenceFlowEntity::getElementId)
+            .collect(Collectors.toList());
+
+        return processDiagramCache.getDiagram(
+            processDefinitionId,
+            this::getBpmnModel,
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.COMPLETED, List.of()),
+            completedFlows,
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.STARTED, List.of()),
+            activitiesByStatus.getOrDefault(BPMNActivityStatus.ERROR, List.of())
+        );
+    }
+
     protected List<String> resolveCompletedFlows(BpmnModel bpmnModel, String processInstanceId) {
         List<String> completedFlows = bpmnSequenceFlowRepository
             .findByProcessInstanceId(processInstanceId)
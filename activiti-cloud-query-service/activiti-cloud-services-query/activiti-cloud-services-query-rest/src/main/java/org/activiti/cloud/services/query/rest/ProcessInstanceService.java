@@ -19,6 +19,7 @@ package org.activiti.cloud.services.query.rest;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
@@ -30,6 +31,7 @@ import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepositor
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.QProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.security.ProcessInstanceRestrictionService;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
@@ -84,19 +86,38 @@ public class ProcessInstanceService {
             SecurityPolicyAccess.READ
         );
 
-        return processInstanceRepository.findAll(transformedPredicate, pageable);
+        return QueryPageFinder.findAll(
+            processInstanceRepository,
+            ProcessInstanceEntity.class,
+            transformedPredicate,
+            pageable
+        );
+    }
+
+    public Page<ProcessInstanceEntity> findAll(Predicate predicate, VariableSearch variableSearch, Pageable pageable) {
+        return findAll(withVariableSearch(predicate, variableSearch), pageable);
+    }
+
+    @Transactional
+    public Page<ProcessInstanceEntity> findAllWithVariables(
+        Predicate predicate,
+        List<String> variableKeys,
+        Pageable pageable
+    ) {
+        return findAllWithVariables(predicate, null, variableKeys, pageable);
     }
 
     @Transactional
     public Page<ProcessInstanceEntity> findAllWithVariables(
         Predicate predicate,
+        VariableSearch variableSearch,
         List<String> variableKeys,
         Pageable pageable
     ) {
         Session session = entityManager.unwrap(Session.class);
         Filter filter = session.enableFilter("variablesFilter");
         filter.setParameterList("variableKeys", variableKeys);
-        Page<ProcessInstanceEntity> processInstanceEntities = findAll(predicate, pageable);
+        Page<ProcessInstanceEntity> processInstanceEntities = findAll(predicate, variableSearch, pageable);
         // Due to performance issues (e.g. https://github.com/Activiti/Activiti/issues/3139)
         // we have to explicitly initialize the lazy loaded field to be able to work with disabled Open Session in View
         processInstanceEntities.forEach(processInstanceEntity ->
@@ -163,6 +184,25 @@ public class ProcessInstanceService {
         return processInstanceRepository.findAll(extendedPredicate, pageable);
     }
 
+    private Predicate withVariableSearch(Predicate predicate, VariableSearch variableSearch) {
+        if (variableSearch == null || !variableSearch.isSet()) {
+            return predicate;
+        }
+
+        QProcessVariableEntity variable = QProcessVariableEntity.processVariableEntity;
+        BooleanExpression variableMatches = JPAExpressions
+            .selectOne()
+            .from(variable)
+            .where(
+                variable.processInstanceId
+                    .eq(QProcessInstanceEntity.processInstanceEntity.id)
+                    .and(variableSearch.toPredicate(variable._super))
+            )
+            .exists();
+
+        return variableMatches.and(predicate);
+    }
+
     private boolean canRead(ProcessInstanceEntity processInstanceEntity) {
         return (
             securityPoliciesApplicationService.canRead(
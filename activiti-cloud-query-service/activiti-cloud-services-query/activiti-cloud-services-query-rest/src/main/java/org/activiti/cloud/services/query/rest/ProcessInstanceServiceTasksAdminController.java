@@ -73,7 +73,12 @@ public class ProcessInstanceServiceTasksAdminController {
     ) {
         Predicate filter = serviceTaskEntity.processInstanceId.eq(processInstanceId).and(predicate);
 
-        Page<ServiceTaskEntity> page = taskRepository.findAll(filter, pageable);
+        Page<ServiceTaskEntity> page = QueryPageFinder.findAll(
+            taskRepository,
+            ServiceTaskEntity.class,
+            filter,
+            pageable
+        );
         return pagedCollectionModelAssembler.toModel(pageable, page, taskRepresentationModelAssembler);
     }
 }
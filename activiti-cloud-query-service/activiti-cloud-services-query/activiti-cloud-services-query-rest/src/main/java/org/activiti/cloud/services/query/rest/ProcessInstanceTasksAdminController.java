@@ -65,7 +65,9 @@ public class ProcessInstanceTasksAdminController {
         @PathVariable String processInstanceId,
         Pageable pageable
     ) {
-        Page<TaskEntity> page = taskRepository.findAll(
+        Page<TaskEntity> page = QueryPageFinder.findAll(
+            taskRepository,
+            TaskEntity.class,
             QTaskEntity.taskEntity.processInstanceId.eq(processInstanceId),
             pageable
         );
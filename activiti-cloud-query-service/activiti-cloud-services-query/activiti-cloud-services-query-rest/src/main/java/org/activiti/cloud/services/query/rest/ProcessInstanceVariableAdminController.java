@@ -88,7 +88,7 @@ public class ProcessInstanceVariableAdminController {
 
         return pagedVariablesCollectionModelAssembler.toModel(
             pageable,
-            variableRepository.findAll(extendedPredicate, pageable),
+            QueryPageFinder.findAll(variableRepository, ProcessVariableEntity.class, extendedPredicate, pageable),
             variableRepresentationModelAssembler
         );
     }
@@ -87,7 +87,12 @@ public class ProcessInstanceVariableController {
 
         Predicate extendedPredicate = expression;
 
-        Page<ProcessVariableEntity> variables = variableRepository.findAll(extendedPredicate, pageable);
+        Page<ProcessVariableEntity> variables = QueryPageFinder.findAll(
+            variableRepository,
+            ProcessVariableEntity.class,
+            extendedPredicate,
+            pageable
+        );
 
         return pagedCollectionModelAssembler.toModel(pageable, variables, variableRepresentationModelAssembler);
     }
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.ExpressionUtils;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.PathBuilder;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
+import org.activiti.cloud.services.query.app.repository.KeysetQuerySupport;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.querydsl.SimpleEntityPathResolver;
+
+/**
+ * Runs the paged queries of the list endpoints, either with the offset based pagination or, when a continuation
+ * cursor was requested, with keyset pagination on the sort keys plus the entity id. The keyset conditions are built by
+ * {@link KeysetQuerySupport}, so that rows with null sort keys are paged the same way as in the task repository.
+ */
+public final class QueryPageFinder {
+
+    private QueryPageFinder() {}
+
+    public static <T> Page<T> findAll(
+        QuerydslPredicateExecutor<T> executor,
+        Class<T> entityType,
+        Predicate predicate,
+        Pageable pageable
+    ) {
+        if (pageable instanceof KeysetPageRequest keysetPageRequest) {
+            Sort sort = KeysetQuerySupport.keysetSort(keysetPageRequest.getSort());
+            PathBuilder<T> entity = new PathBuilder<>(
+                entityType,
+                SimpleEntityPathResolver.INSTANCE.createPath(entityType).getMetadata()
+            );
+            Predicate seek = ExpressionUtils.allOf(
+                predicate,
+                KeysetQuerySupport.after(entity, sort, keysetPageRequest.getPosition())
+            );
+            int limit = keysetPageRequest.getPageSize();
+            List<T> results = executor.findBy(
+                Optional.ofNullable(seek).orElseGet(BooleanBuilder::new),
+                query -> query.sortBy(sort).limit(limit + 1).all()
+            );
+            return new KeysetPage<>(KeysetQuerySupport.toWindow(results, sort, limit), keysetPageRequest);
+        }
+        return executor.findAll(predicate, pageable);
+    }
+}
@@ -74,7 +74,7 @@ public class ServiceTaskAdminController {
     ) {
         return pagedCollectionModelAssembler.toModel(
             pageable,
-            serviceTaskRepository.findAll(predicate, pageable),
+            QueryPageFinder.findAll(serviceTaskRepository, ServiceTaskEntity.class, predicate, pageable),
             representationModelAssembler
         );
     }
@@ -21,9 +21,13 @@ import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 import java.util.List;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
@@ -34,6 +38,7 @@ import org.hibernate.Hibernate;
 import org.hibernate.Session;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 
@@ -145,8 +150,22 @@ public class TaskControllerHelper {
     ) {
         Predicate extendedPredicate = predicateAggregator.applyFilters(predicate, filters);
 
+        if (pageable instanceof KeysetPageRequest keysetPageRequest) {
+            return findKeysetPage(extendedPredicate, variableSearch, keysetPageRequest);
+        }
+
+        boolean countTotal = !(pageable instanceof AlfrescoPageRequest pageRequest) || pageRequest.isCountTotal();
+
         Page<TaskEntity> page;
-        if (variableSearch.isSet()) {
+        if (variableSearch.isSet() && (variableSearch.isRangeSet() || !countTotal)) {
+            page =
+                taskRepository.findByVariableCondition(
+                    variableSearch.toPredicate(QTaskVariableEntity.taskVariableEntity._super),
+                    extendedPredicate,
+                    pageable,
+                    countTotal
+                );
+        } else if (variableSearch.isSet()) {
             page =
                 taskRepository.findByVariableNameAndValue(
                     variableSearch.getName(),
@@ -159,4 +178,22 @@ public class TaskControllerHelper {
         }
         return page;
     }
+
+    private Page<TaskEntity> findKeysetPage(
+        Predicate predicate,
+        VariableSearch variableSearch,
+        KeysetPageRequest pageRequest
+    ) {
+        if (!variableSearch.isSet()) {
+            return QueryPageFinder.findAll(taskRepository, TaskEntity.class, predicate, pageRequest);
+        }
+        Window<TaskEntity> window = taskRepository.findByVariableCondition(
+            variableSearch.toPredicate(QTaskVariableEntity.taskVariableEntity._super),
+            predicate,
+            pageRequest.getPosition(),
+            pageRequest.getSort(),
+            pageRequest.getPageSize()
+        );
+        return new KeysetPage<>(window, pageRequest);
+    }
 }
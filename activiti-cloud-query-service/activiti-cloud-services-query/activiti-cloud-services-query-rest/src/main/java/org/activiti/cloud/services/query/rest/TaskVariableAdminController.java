@@ -88,7 +88,7 @@ public class TaskVariableAdminController {
 
         return pagedVariablesCollectionModelAssembler.toModel(
             pageable,
-            variableRepository.findAll(extendedPredicated, pageable),
+            QueryPageFinder.findAll(variableRepository, TaskVariableEntity.class, extendedPredicated, pageable),
             variableRepresentationModelAssembler
         );
     }
@@ -86,7 +86,12 @@ public class TaskVariableController {
 
         Predicate extendedPredicated = expression;
 
-        Page<TaskVariableEntity> variables = variableRepository.findAll(extendedPredicated, pageable);
+        Page<TaskVariableEntity> variables = QueryPageFinder.findAll(
+            variableRepository,
+            TaskVariableEntity.class,
+            extendedPredicated,
+            pageable
+        );
 
         return pagedCollectionModelAssembler.toModel(pageable, variables, variableRepresentationModelAssembler);
     }
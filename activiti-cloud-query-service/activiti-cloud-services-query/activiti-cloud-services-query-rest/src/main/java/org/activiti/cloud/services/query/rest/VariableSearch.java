@@ -16,6 +16,10 @@
 
 package org.activiti.cloud.services.query.rest;
 
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import org.activiti.cloud.services.query.app.repository.VariableValuePredicates;
+import org.activiti.cloud.services.query.model.QAbstractVariableEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
 
 public class VariableSearch {
@@ -26,6 +30,14 @@ public class VariableSearch {
 
     private String type;
 
+    private VariableValue<?> greaterThan;
+
+    private VariableValue<?> greaterThanOrEqual;
+
+    private VariableValue<?> lessThan;
+
+    private VariableValue<?> lessThanOrEqual;
+
     public VariableSearch(String name, VariableValue<?> value, String type) {
         this.name = name;
         this.value = value;
@@ -44,7 +56,75 @@ public class VariableSearch {
         return type;
     }
 
+    public VariableValue<?> getGreaterThan() {
+        return greaterThan;
+    }
+
+    public void setGreaterThan(VariableValue<?> greaterThan) {
+        this.greaterThan = greaterThan;
+    }
+
+    public VariableValue<?> getGreaterThanOrEqual() {
+        return greaterThanOrEqual;
+    }
+
+    public void setGreaterThanOrEqual(VariableValue<?> greaterThanOrEqual) {
+        this.greaterThanOrEqual = greaterThanOrEqual;
+    }
+
+    public VariableValue<?> getLessThan() {
+        return lessThan;
+    }
+
+    public void setLessThan(VariableValue<?> lessThan) {
+        this.lessThan = lessThan;
+    }
+
+    public VariableValue<?> getLessThanOrEqual() {
+        return lessThanOrEqual;
+    }
+
+    public void setLessThanOrEqual(VariableValue<?> lessThanOrEqual) {
+        this.lessThanOrEqual = lessThanOrEqual;
+    }
+
     public boolean isSet() {
-        return name != null && value != null && value.getValue() != null;
+        return name != null && (isValueSet(value) || isRangeSet());
+    }
+
+    public boolean isRangeSet() {
+        return (
+            isValueSet(greaterThan) ||
+            isValueSet(greaterThanOrEqual) ||
+            isValueSet(lessThan) ||
+            isValueSet(lessThanOrEqual)
+        );
+    }
+
+    /**
+     * Builds the condition matching the variables targeted by this search, using the typed value columns.
+     */
+    public Predicate toPredicate(QAbstractVariableEntity variable) {
+        BooleanBuilder condition = new BooleanBuilder(VariableValuePredicates.nameEquals(variable, name));
+        if (isValueSet(value)) {
+            condition.and(VariableValuePredicates.valueEquals(variable, value));
+        }
+        if (isValueSet(greaterThan)) {
+            condition.and(VariableValuePredicates.valueGreaterThan(variable, greaterThan, false));
+        }
+        if (isValueSet(greaterThanOrEqual)) {
+            condition.and(VariableValuePredicates.valueGreaterThan(variable, greaterThanOrEqual, true));
+        }
+        if (isValueSet(lessThan)) {
+            condition.and(VariableValuePredicates.valueLessThan(variable, lessThan, false));
+        }
+        if (isValueSet(lessThanOrEqual)) {
+            condition.and(VariableValuePredicates.valueLessThan(variable, lessThanOrEqual, true));
+        }
+        return condition;
+    }
+
+    private static boolean isValueSet(VariableValue<?> variableValue) {
+        return variableValue != null && variableValue.getValue() != null;
     }
 }
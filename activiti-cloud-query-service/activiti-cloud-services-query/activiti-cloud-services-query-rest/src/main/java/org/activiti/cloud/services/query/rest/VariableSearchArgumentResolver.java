@@ -30,6 +30,10 @@ public class VariableSearchArgumentResolver implements HandlerMethodArgumentReso
     private static final String VARIABLE_NAME_KEY = "variables.name";
     private static final String VARIABLE_VALUE_KEY = "variables.value";
     private static final String VARIABLE_TYPE_KEY = "variables.type";
+    private static final String VARIABLE_GREATER_THAN_KEY = "variables.value.gt";
+    private static final String VARIABLE_GREATER_THAN_OR_EQUAL_KEY = "variables.value.gte";
+    private static final String VARIABLE_LESS_THAN_KEY = "variables.value.lt";
+    private static final String VARIABLE_LESS_THAN_OR_EQUAL_KEY = "variables.value.lte";
 
     private ConversionService conversionService;
 
@@ -52,12 +56,26 @@ public class VariableSearchArgumentResolver implements HandlerMethodArgumentReso
         String variableType = webRequest.getParameter(VARIABLE_TYPE_KEY);
         Class<?> type = ProcessVariablesMapTypeRegistry.forType(variableType, String.class);
 
-        Object variableValueParameter = webRequest.getParameter(VARIABLE_VALUE_KEY);
-        if (!String.class.equals(type)) {
-            variableValueParameter = conversionService.convert(variableValueParameter, type);
-        }
-
         String variableName = webRequest.getParameter(VARIABLE_NAME_KEY);
-        return new VariableSearch(variableName, new VariableValue<>(variableValueParameter), variableType);
+        VariableSearch variableSearch = new VariableSearch(
+            variableName,
+            convertValue(webRequest.getParameter(VARIABLE_VALUE_KEY), type),
+            variableType
+        );
+        variableSearch.setGreaterThan(convertValue(webRequest.getParameter(VARIABLE_GREATER_THAN_KEY), type));
+        variableSearch.setGreaterThanOrEqual(
+            convertValue(webRequest.getParameter(VARIABLE_GREATER_THAN_OR_EQUAL_KEY), type)
+        );
+        variableSearch.setLessThan(convertValue(webRequest.getParameter(VARIABLE_LESS_THAN_KEY), type));
+        variableSearch.setLessThanOrEqual(convertValue(webRequest.getParameter(VARIABLE_LESS_THAN_OR_EQUAL_KEY), type));
+        return variableSearch;
+    }
+
+    private VariableValue<?> convertValue(String parameter, Class<?> type) {
+        Object variableValueParameter = parameter;
+        if (parameter != null && !String.class.equals(type)) {
+            variableValueParameter = conversionService.convert(parameter, type);
+        }
+        return new VariableValue<>(variableValueParameter);
     }
 }
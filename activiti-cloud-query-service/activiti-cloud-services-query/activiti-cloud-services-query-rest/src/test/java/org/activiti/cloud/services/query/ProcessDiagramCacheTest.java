@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import org.activiti.bpmn.model.BpmnModel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessDiagramCacheTest {
+
+    @Mock
+    private ProcessDiagramGeneratorWrapper processDiagramGenerator;
+
+    @Mock
+    private BpmnModel bpmnModel;
+
+    @Mock
+    private Function<String, BpmnModel> loader;
+
+    @Test
+    void should_loadModelOnce_when_requestedRepeatedly() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(processDiagramGenerator, 10, 10);
+        when(loader.apply("def:1")).thenReturn(bpmnModel);
+        when(bpmnModel.hasDiagramInterchangeInfo()).thenReturn(true);
+
+        //when
+        BpmnModel first = cache.getBpmnModel("def:1", loader);
+        BpmnModel second = cache.getBpmnModel("def:1", loader);
+
+        //then
+        assertThat(first).isSameAs(bpmnModel);
+        assertThat(second).isSameAs(bpmnModel);
+        verify(loader, times(1)).apply("def:1");
+        assertThat(cache.getModelHits()).isEqualTo(1);
+        assertThat(cache.getModelMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_renderDiagramOnce_when_highlightStateIsTheSameInAnyOrder() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(processDiagramGenerator, 10, 10);
+        when(loader.apply("def:1")).thenReturn(bpmnModel);
+        when(bpmnModel.hasDiagramInterchangeInfo()).thenReturn(true);
+        when(processDiagramGenerator.generateDiagram(eq(bpmnModel), anyList(), anyList(), anyList(), anyList()))
+            .thenReturn("<svg/>".getBytes(StandardCharsets.UTF_8));
+
+        //when
+        String first = cache.getDiagram("def:1", loader, List.of("a", "b"), List.of("f1"), List.of("c"), List.of());
+        String second = cache.getDiagram("def:1", loader, List.of("b", "a"), List.of("f1"), List.of("c"), List.of());
+
+        //then
+        assertThat(first).isEqualTo("<svg/>");
+        assertThat(second).isEqualTo("<svg/>");
+        verify(processDiagramGenerator, times(1))
+            .generateDiagram(bpmnModel, List.of("a", "b"), List.of("f1"), List.of("c"), List.of());
+        assertThat(cache.getDiagramHits()).isEqualTo(1);
+        assertThat(cache.getDiagramMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reuseModel_when_highlightStateChanges() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(processDiagramGenerator, 10, 10);
+        when(loader.apply("def:1")).thenReturn(bpmnModel);
+        when(bpmnModel.hasDiagramInterchangeInfo()).thenReturn(true);
+        when(processDiagramGenerator.generateDiagram(any(), anyList(), anyList(), anyList(), anyList()))
+            .thenReturn("<svg/>".getBytes(StandardCharsets.UTF_8));
+
+        //when
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("a"), List.of());
+        cache.getDiagram("def:1", loader, List.of("a"), List.of("f1"), List.of("b"), List.of());
+
+        //then
+        verify(loader, times(1)).apply("def:1");
+        assertThat(cache.getDiagramMisses()).isEqualTo(2);
+        assertThat(cache.getDiagramCount()).isEqualTo(2);
+        assertThat(cache.getModelHits()).isEqualTo(1);
+    }
+
+    @Test
+    void should_evictLeastRecentlyUsedDiagram_when_cacheIsFull() {
+        //given
+        ProcessDiagramCache cache = new ProcessDiagramCache(processDiagramGenerator, 10, 2);
+        when(loader.apply("def:1")).thenReturn(bpmnModel);
+        when(bpmnModel.hasDiagramInterchangeInfo()).thenReturn(true);
+        when(processDiagramGenerator.generateDiagram(any(), anyList(), anyList(), anyList(), anyList()))
+            .thenReturn("<svg/>".getBytes(StandardCharsets.UTF_8));
+
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("a"), List.of());
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("b"), List.of());
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("a"), List.of());
+
+        //when
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("c"), List.of());
+        cache.getDiagram("def:1", loader, List.of(), List.of(), List.of("a"), List.of());
+
+        //then
+        assertThat(cache.getDiagramCount()).isEqualTo(2);
+        assertThat(cache.getDiagramHits()).isEqualTo(2);
+        assertThat(cache.getDiagramMisses()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.rabbitmq.client.Channel;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+public class QueryConsumerLaneDispatcherTest {
+
+    @Mock
+    private QueryConsumerChannelHandler queryConsumerChannelHandler;
+
+    @Test
+    public void should_handleEventsThroughTheRootProcessInstanceLane() {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 4);
+        CloudProcessStartedEventImpl processStartedEvent = new CloudProcessStartedEventImpl();
+        processStartedEvent.setProcessInstanceId("child");
+        List<CloudRuntimeEvent<?, ?>> events = List.of(processStartedEvent);
+
+        //when
+        dispatcher.dispatch(
+            MessageBuilder
+                .withPayload(events)
+                .setHeader(QueryConsumerLaneDispatcher.ROOT_PROCESS_INSTANCE_ID, "root")
+                .build()
+        );
+
+        //then
+        verify(queryConsumerChannelHandler).receive(events);
+        assertThat(dispatcher.getLanes())
+            .filteredOn(lane -> lane.getProcessedMessages() == 1)
+            .extracting(QueryConsumerLane::getIndex)
+            .containsExactly(Math.floorMod("root".hashCode(), 4));
+    }
+
+    @Test
+    public void should_routeMessagesOfTheSameProcessInstanceToTheSameLane() {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 8);
+
+        CloudProcessCreatedEventImpl processCreatedEvent = new CloudProcessCreatedEventImpl();
+        processCreatedEvent.setProcessInstanceId("processInstanceId");
+        CloudProcessStartedEventImpl processStartedEvent = new CloudProcessStartedEventImpl();
+        processStartedEvent.setProcessInstanceId("processInstanceId");
+
+        //when
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(processCreatedEvent));
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(processStartedEvent));
+
+        //then
+        assertThat(dispatcher.getLanes())
+            .filteredOn(lane -> lane.getProcessedMessages() > 0)
+            .extracting(QueryConsumerLane::getProcessedMessages)
+            .containsExactly(2L);
+    }
+
+    @Test
+    public void should_useSingleLaneByDefault() {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 0);
+
+        //when
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(new CloudProcessCreatedEventImpl()));
+
+        //then
+        assertThat(dispatcher.getLanes()).hasSize(1);
+        assertThat(dispatcher.getLanes().get(0).getProcessedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_recordFailedMessages() {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 1);
+        doThrow(new IllegalStateException("failed")).when(queryConsumerChannelHandler).receive(any());
+
+        //when
+        assertThatThrownBy(() ->
+                dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(new CloudProcessCreatedEventImpl()))
+            )
+            .isInstanceOf(IllegalStateException.class);
+
+        //then
+        assertThat(dispatcher.getLanes().get(0).getFailedMessages()).isEqualTo(1);
+        assertThat(dispatcher.getLanes().get(0).getProcessedMessages()).isZero();
+    }
+
+    @Test
+    public void should_routeSubProcessEventsToTheLaneOfTheirRoot() {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 8);
+
+        CloudProcessStartedEventImpl rootStartedEvent = new CloudProcessStartedEventImpl();
+        rootStartedEvent.setProcessInstanceId("root");
+        CloudProcessStartedEventImpl childStartedEvent = new CloudProcessStartedEventImpl();
+        childStartedEvent.setProcessInstanceId("child");
+        childStartedEvent.setParentProcessInstanceId("root");
+        CloudProcessStartedEventImpl grandChildStartedEvent = new CloudProcessStartedEventImpl();
+        grandChildStartedEvent.setProcessInstanceId("grandChild");
+        grandChildStartedEvent.setParentProcessInstanceId("child");
+
+        //when
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(rootStartedEvent));
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(childStartedEvent));
+        dispatcher.dispatch(new MessageHeaders(Map.of()), List.of(grandChildStartedEvent));
+
+        //then
+        assertThat(dispatcher.getLanes())
+            .filteredOn(lane -> lane.getProcessedMessages() > 0)
+            .extracting(QueryConsumerLane::getIndex, QueryConsumerLane::getProcessedMessages)
+            .containsExactly(tuple(Math.floorMod("root".hashCode(), 8), 3L));
+    }
+
+    @Test
+    public void should_acknowledgeManuallyOnceTheMessageIsProjected() throws Exception {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 2);
+        Channel channel = mock(Channel.class);
+        List<CloudRuntimeEvent<?, ?>> events = List.of(new CloudProcessCreatedEventImpl());
+
+        //when
+        dispatcher.dispatch(
+            MessageBuilder
+                .withPayload(events)
+                .setHeader(AmqpHeaders.CHANNEL, channel)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, 1L)
+                .build()
+        );
+
+        //then
+        verify(channel, timeout(1000)).basicAck(1L, false);
+        verify(queryConsumerChannelHandler).receive(events);
+    }
+
+    @Test
+    public void should_rejectManuallyWhenTheProjectionFails() throws Exception {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 2);
+        doThrow(new IllegalStateException("failed")).when(queryConsumerChannelHandler).receive(any());
+        Channel channel = mock(Channel.class);
+
+        //when
+        dispatcher.dispatch(
+            MessageBuilder
+                .<List<CloudRuntimeEvent<?, ?>>>withPayload(List.of(new CloudProcessCreatedEventImpl()))
+                .setHeader(AmqpHeaders.CHANNEL, channel)
+                .setHeader(AmqpHeaders.DELIVERY_TAG, 2L)
+                .build()
+        );
+
+        //then
+        verify(channel, timeout(1000)).basicNack(2L, false, false);
+    }
+
+    @Test
+    public void should_retryAFailedMessageInPlace() throws Exception {
+        //given
+        QueryConsumerProperties properties = new QueryConsumerProperties();
+        properties.setLaneMaxAttempts(2);
+        properties.setLaneRetryBackoff(Duration.ZERO);
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(
+            queryConsumerChannelHandler,
+            properties
+        );
+        doThrow(new IllegalStateException("failed")).doNothing().when(queryConsumerChannelHandler).receive(any());
+        Channel channel = mock(Channel.class);
+
+        //when
+        dispatcher.dispatch(message(channel, 1L, "root"));
+
+        //then
+        verify(channel, timeout(1000)).basicAck(1L, false);
+        verify(queryConsumerChannelHandler, times(2)).receive(any());
+        assertThat(dispatcher.getLanes().get(0).getFailedMessages()).isZero();
+    }
+
+    @Test
+    public void should_rejectTheMessagesWaitingBehindAFailedMessageOfTheLane() throws Exception {
+        //given
+        QueryConsumerLaneDispatcher dispatcher = new QueryConsumerLaneDispatcher(queryConsumerChannelHandler, 1);
+        CountDownLatch failure = new CountDownLatch(1);
+        doAnswer(invocation -> {
+                failure.await();
+                throw new IllegalStateException("failed");
+            })
+            .doNothing()
+            .when(queryConsumerChannelHandler)
+            .receive(any());
+        Channel channel = mock(Channel.class);
+
+        //when
+        dispatcher.dispatch(message(channel, 1L, "root"));
+        dispatcher.dispatch(message(channel, 2L, "root"));
+        failure.countDown();
+
+        //then
+        verify(channel, timeout(1000)).basicNack(1L, false, false);
+        verify(channel, timeout(1000)).basicNack(2L, false, false);
+        verify(queryConsumerChannelHandler, times(1)).receive(any());
+        assertThat(dispatcher.getLanes().get(0).getSkippedMessages()).isEqualTo(1);
+
+        //when
+        dispatcher.dispatch(message(channel, 3L, "root"));
+
+        //then
+        verify(channel, timeout(1000)).basicAck(3L, false);
+    }
+
+    private static Message<List<CloudRuntimeEvent<?, ?>>> message(Channel channel, long deliveryTag, String root) {
+        return MessageBuilder
+            .<List<CloudRuntimeEvent<?, ?>>>withPayload(List.of(new CloudProcessCreatedEventImpl()))
+            .setHeader(QueryConsumerLaneDispatcher.ROOT_PROCESS_INSTANCE_ID, root)
+            .setHeader(AmqpHeaders.CHANNEL, channel)
+            .setHeader(AmqpHeaders.DELIVERY_TAG, deliveryTag)
+            .build();
+    }
+}
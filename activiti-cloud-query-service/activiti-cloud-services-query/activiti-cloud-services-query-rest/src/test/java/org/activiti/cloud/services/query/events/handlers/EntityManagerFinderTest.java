@@ -20,10 +20,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import jakarta.persistence.EntityGraph;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.FlushModeType;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
@@ -33,6 +41,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 class EntityManagerFinderTest {
@@ -99,4 +108,52 @@ class EntityManagerFinderTest {
         //then
         assertThat(result).isNotEmpty().hasValue(processInstance);
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findTasksWithProcessVariablesShouldIncludeUnflushedTasksWithoutFlushing() {
+        //given
+        when(entityManager.createEntityGraph(TaskEntity.class)).thenReturn(mock(EntityGraph.class));
+        CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+        CriteriaQuery<TaskEntity> criteriaQuery = mock(CriteriaQuery.class);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.createQuery(TaskEntity.class)).thenReturn(criteriaQuery);
+        when(criteriaQuery.from(TaskEntity.class)).thenReturn(mock(Root.class));
+        when(criteriaQuery.select(any())).thenReturn(criteriaQuery);
+
+        TaskEntity flushedTask = new TaskEntity();
+        flushedTask.setId("flushed");
+        flushedTask.setProcessInstanceId("procId");
+        TypedQuery<TaskEntity> query = mock(TypedQuery.class);
+        when(entityManager.createQuery(criteriaQuery)).thenReturn(query);
+        when(query.setHint(any(), any())).thenReturn(query);
+        when(query.setFlushMode(FlushModeType.COMMIT)).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(flushedTask));
+
+        TaskEntity pendingTask = new TaskEntity();
+        pendingTask.setId("pending");
+        pendingTask.setProcessInstanceId("procId");
+        TaskEntity otherTask = new TaskEntity();
+        otherTask.setId("other");
+        otherTask.setProcessInstanceId("otherProcId");
+        when(entityManager.find(TaskEntity.class, "pending")).thenReturn(pendingTask);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            subject.registerCreatedTask(pendingTask);
+            subject.registerCreatedTask(otherTask);
+
+            //when
+            List<TaskEntity> result = subject.findTasksWithProcessVariables("procId");
+
+            //then
+            assertThat(result).containsExactly(flushedTask, pendingTask);
+            verify(query).setFlushMode(FlushModeType.COMMIT);
+            verify(entityManager, never()).find(TaskEntity.class, "other");
+        } finally {
+            TransactionSynchronizationManager.getSynchronizations().forEach(it -> it.afterCompletion(0));
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
 }
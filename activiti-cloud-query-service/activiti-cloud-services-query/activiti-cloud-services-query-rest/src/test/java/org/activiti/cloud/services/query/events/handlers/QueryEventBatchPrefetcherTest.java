@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.impl.events.CloudVariableUpdatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskAssignedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskCreatedEventImpl;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class QueryEventBatchPrefetcherTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private CriteriaBuilder criteriaBuilder;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private CriteriaQuery<TaskEntity> criteriaQuery;
+
+    @Mock
+    private Root<TaskEntity> root;
+
+    @Mock
+    private Path<Object> idPath;
+
+    @Mock(answer = Answers.RETURNS_SELF)
+    private TypedQuery<TaskEntity> typedQuery;
+
+    @Test
+    void should_resolveProcessInstanceIdsOfParentAndChildInstances() {
+        //given
+        QueryEventBatchPrefetcher prefetcher = new QueryEventBatchPrefetcher(entityManager);
+
+        CloudProcessStartedEventImpl childStartedEvent = new CloudProcessStartedEventImpl();
+        childStartedEvent.setProcessInstanceId("child");
+        childStartedEvent.setParentProcessInstanceId("parent");
+
+        CloudProcessStartedEventImpl otherStartedEvent = new CloudProcessStartedEventImpl();
+        otherStartedEvent.setProcessInstanceId("other");
+
+        List<CloudRuntimeEvent<?, ?>> events = List.of(childStartedEvent, otherStartedEvent);
+
+        //when
+        //then
+        assertThat(prefetcher.resolveProcessInstanceIds(events)).containsExactly("child", "parent", "other");
+    }
+
+    @Test
+    void should_skipProcessInstancesCreatedInTheBatch() {
+        //given
+        QueryEventBatchPrefetcher prefetcher = new QueryEventBatchPrefetcher(entityManager);
+
+        CloudProcessCreatedEventImpl processCreatedEvent = new CloudProcessCreatedEventImpl();
+        processCreatedEvent.setEntityId("child");
+        processCreatedEvent.setProcessInstanceId("child");
+        processCreatedEvent.setParentProcessInstanceId("parent");
+
+        List<CloudRuntimeEvent<?, ?>> events = List.of(processCreatedEvent);
+
+        //when
+        //then
+        assertThat(prefetcher.resolveProcessInstanceIds(events)).containsExactly("parent");
+    }
+
+    @Test
+    void should_resolveTaskIdsOfTaskAndTaskVariableEvents() {
+        //given
+        QueryEventBatchPrefetcher prefetcher = new QueryEventBatchPrefetcher(entityManager);
+
+        CloudTaskCreatedEventImpl taskCreatedEvent = new CloudTaskCreatedEventImpl();
+        taskCreatedEvent.setEntityId("newTask");
+        CloudTaskAssignedEventImpl newTaskAssignedEvent = new CloudTaskAssignedEventImpl();
+        newTaskAssignedEvent.setEntityId("newTask");
+        CloudTaskAssignedEventImpl taskAssignedEvent = new CloudTaskAssignedEventImpl();
+        taskAssignedEvent.setEntityId("task");
+        CloudVariableUpdatedEventImpl<String> variableUpdatedEvent = new CloudVariableUpdatedEventImpl<>(
+            new VariableInstanceImpl<>("var", "string", "v1", "procInstId", "variableTask"),
+            "v0"
+        );
+
+        List<CloudRuntimeEvent<?, ?>> events = List.of(
+            taskCreatedEvent,
+            newTaskAssignedEvent,
+            taskAssignedEvent,
+            variableUpdatedEvent
+        );
+
+        //when
+        //then
+        assertThat(prefetcher.resolveTaskIds(events)).containsExactly("task", "variableTask");
+    }
+
+    @Test
+    void should_prefetchTasksInChunksAndCountHitsAndMisses() {
+        //given
+        QueryEventBatchPrefetcher prefetcher = new QueryEventBatchPrefetcher(entityManager, 2);
+
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.createQuery(TaskEntity.class)).thenReturn(criteriaQuery);
+        when(criteriaQuery.from(TaskEntity.class)).thenReturn(root);
+        when(root.get("id")).thenReturn(idPath);
+        when(entityManager.createQuery(criteriaQuery)).thenReturn(typedQuery);
+        when(typedQuery.getResultList()).thenReturn(List.of(taskEntity("task1"), taskEntity("task2")), List.of());
+
+        List<CloudRuntimeEvent<?, ?>> events = List.of(
+            taskAssignedEvent("task1"),
+            taskAssignedEvent("task2"),
+            taskAssignedEvent("task3")
+        );
+
+        //when
+        prefetcher.prefetch(events);
+
+        //then
+        verify(typedQuery, times(2)).getResultList();
+        verify(typedQuery, never()).setHint(anyString(), any());
+        assertThat(prefetcher.getQueries()).isEqualTo(2);
+        assertThat(prefetcher.getHits()).isEqualTo(2);
+        assertThat(prefetcher.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void should_notQueryWhenNoEntityIsReferenced() {
+        //given
+        QueryEventBatchPrefetcher prefetcher = new QueryEventBatchPrefetcher(entityManager);
+
+        //when
+        prefetcher.prefetch(List.of(new CloudTaskAssignedEventImpl()));
+
+        //then
+        verify(entityManager, never()).getCriteriaBuilder();
+        assertThat(prefetcher.getQueries()).isZero();
+    }
+
+    private CloudTaskAssignedEventImpl taskAssignedEvent(String taskId) {
+        CloudTaskAssignedEventImpl event = new CloudTaskAssignedEventImpl();
+        event.setEntityId(taskId);
+        return event;
+    }
+
+    private TaskEntity taskEntity(String taskId) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(taskId);
+        return taskEntity;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.types.Predicate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.activiti.api.runtime.shared.identity.UserGroupManager;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.model.QTaskVariableEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@TestPropertySource("classpath:application-test.properties")
+@EnableAutoConfiguration
+public class KeysetTaskRepositoryIT {
+
+    private static final Predicate VARIABLE_CONDITION = QTaskVariableEntity.taskVariableEntity.name.eq("var");
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskVariableRepository taskVariableRepository;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private UserGroupManager userGroupManager;
+
+    @BeforeEach
+    public void setUp() {
+        createTask("1", new Date(3000));
+        createTask("2", null);
+        createTask("3", new Date(1000));
+        createTask("4", null);
+        createTask("5", new Date(2000));
+        createTask("6", null);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskVariableRepository.deleteAll();
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    public void should_pageThroughNullSortKeys_when_sortedAscending() {
+        //when
+        List<String> taskIds = scrollAll(Sort.by(Sort.Direction.ASC, "dueDate"));
+
+        //then
+        assertThat(taskIds).containsExactly("3", "5", "1", "2", "4", "6");
+    }
+
+    @Test
+    public void should_pageThroughNullSortKeys_when_sortedDescending() {
+        //when
+        List<String> taskIds = scrollAll(Sort.by(Sort.Direction.DESC, "dueDate"));
+
+        //then
+        assertThat(taskIds).containsExactly("2", "4", "6", "1", "5", "3");
+    }
+
+    private List<String> scrollAll(Sort sort) {
+        List<String> taskIds = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<TaskEntity> window;
+        do {
+            window =
+                taskRepository.findByVariableCondition(VARIABLE_CONDITION, new BooleanBuilder(), position, sort, 2);
+            window.forEach(task -> taskIds.add(task.getId()));
+            if (!window.isEmpty()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return taskIds;
+    }
+
+    private void createTask(String id, Date dueDate) {
+        TaskEntity taskEntity = new TaskEntity();
+        taskEntity.setId(id);
+        taskEntity.setDueDate(dueDate);
+        taskRepository.save(taskEntity);
+
+        TaskVariableEntity variableEntity = new TaskVariableEntity();
+        variableEntity.setName("var");
+        variableEntity.setValue(id);
+        variableEntity.setTaskId(id);
+        variableEntity.setTask(taskEntity);
+        taskVariableRepository.save(variableEntity);
+    }
+}
@@ -17,13 +17,20 @@
 package org.activiti.cloud.services.query.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 import com.querydsl.core.types.Predicate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.KeysetCursor;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
 import org.activiti.cloud.api.task.model.QueryCloudTask;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
@@ -33,11 +40,17 @@ import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggrega
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
 
@@ -62,6 +75,9 @@ public class TaskControllerHelperTest {
     @Mock
     private PagedModel<EntityModel<QueryCloudTask>> cloudTaskPagedModel;
 
+    @Captor
+    private ArgumentCaptor<Page<TaskEntity>> pageCaptor;
+
     @Test
     public void findAll_should_useFindByVariableNameAndValue_when_variableSearchIsSet() {
         //given
@@ -98,6 +114,93 @@ public class TaskControllerHelperTest {
         assertThat(resultPagedModel).isEqualTo(cloudTaskPagedModel);
     }
 
+    @Test
+    public void findAll_should_skipTotalCount_when_variableSearchIsSetAndCountTotalIsDisabled() {
+        //given
+        Predicate initialPredicate = mock(Predicate.class);
+        List<QueryDslPredicateFilter> filters = Collections.emptyList();
+        Predicate extendedPredicate = mock(Predicate.class);
+        given(predicateAggregator.applyFilters(initialPredicate, filters)).willReturn(extendedPredicate);
+
+        VariableSearch variableSearch = new VariableSearch("var", new VariableValue<>("any"), "string");
+        AlfrescoPageRequest pageable = new AlfrescoPageRequest(0, 10, PageRequest.of(0, 10), false);
+        PageImpl<TaskEntity> pageResult = new PageImpl<>(Collections.singletonList(new TaskEntity()));
+        given(
+            taskRepository.findByVariableCondition(
+                any(Predicate.class),
+                eq(extendedPredicate),
+                eq(pageable),
+                eq(false)
+            )
+        )
+            .willReturn(pageResult);
+
+        given(pagedCollectionModelAssembler.toModel(pageable, pageResult, taskRepresentationModelAssembler))
+            .willReturn(cloudTaskPagedModel);
+
+        //when
+        PagedModel<EntityModel<QueryCloudTask>> resultPagedModel = taskControllerHelper.findAll(
+            initialPredicate,
+            variableSearch,
+            pageable,
+            filters
+        );
+
+        //then
+        assertThat(resultPagedModel).isEqualTo(cloudTaskPagedModel);
+    }
+
+    @Test
+    public void findAll_should_returnKeysetPageWithNextCursor_when_variableSearchIsSetAndCursorIsRequested() {
+        //given
+        Predicate initialPredicate = mock(Predicate.class);
+        List<QueryDslPredicateFilter> filters = Collections.emptyList();
+        Predicate extendedPredicate = mock(Predicate.class);
+        given(predicateAggregator.applyFilters(initialPredicate, filters)).willReturn(extendedPredicate);
+
+        VariableSearch variableSearch = new VariableSearch("var", new VariableValue<>("any"), "string");
+        KeysetPageRequest pageable = new KeysetPageRequest(1, Sort.by("name"));
+        Window<TaskEntity> window = Window.from(
+            List.of(new TaskEntity()),
+            index -> ScrollPosition.forward(Map.of("name", "task", "id", "taskId")),
+            true
+        );
+        given(
+            taskRepository.findByVariableCondition(
+                any(Predicate.class),
+                eq(extendedPredicate),
+                eq(pageable.getPosition()),
+                eq(Sort.by("name")),
+                eq(1)
+            )
+        )
+            .willReturn(window);
+
+        given(
+            pagedCollectionModelAssembler.toModel(
+                eq(pageable),
+                pageCaptor.capture(),
+                eq(taskRepresentationModelAssembler)
+            )
+        )
+            .willReturn(cloudTaskPagedModel);
+
+        //when
+        PagedModel<EntityModel<QueryCloudTask>> resultPagedModel = taskControllerHelper.findAll(
+            initialPredicate,
+            variableSearch,
+            pageable,
+            filters
+        );
+
+        //then
+        assertThat(resultPagedModel).isEqualTo(cloudTaskPagedModel);
+        assertThat(pageCaptor.getValue()).isInstanceOf(KeysetPage.class).hasSize(1);
+        assertThat(KeysetCursor.decode(((KeysetPage<TaskEntity>) pageCaptor.getValue()).getNextCursor()).getKeys())
+            .containsEntry("name", "task")
+            .containsEntry("id", "taskId");
+    }
+
     @Test
     public void findAll_should_useDefaultFindAll_when_variableSearchIsNotSet() {
         //given
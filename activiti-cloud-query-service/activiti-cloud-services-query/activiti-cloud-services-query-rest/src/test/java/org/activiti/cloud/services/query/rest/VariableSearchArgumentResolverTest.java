@@ -37,6 +37,8 @@ public class VariableSearchArgumentResolverTest {
     private static final String VARIABLES_NAME_KEY = "variables.name";
     private static final String VARIABLES_VALUE_KEY = "variables.value";
     private static final String VARIABLES_TYPE_KEY = "variables.type";
+    private static final String VARIABLES_VALUE_GREATER_THAN_OR_EQUAL_KEY = "variables.value.gte";
+    private static final String VARIABLES_VALUE_LESS_THAN_KEY = "variables.value.lt";
 
     @InjectMocks
     private VariableSearchArgumentResolver argumentResolver;
@@ -115,6 +117,29 @@ public class VariableSearchArgumentResolverTest {
         verifyNoInteractions(conversionService);
     }
 
+    @Test
+    public void resolveArgument_should_convertRangeValues_when_rangeParametersAreSet() {
+        //given
+        NativeWebRequest webRequest = buildWebRequest("myVar", null, "integer");
+        given(webRequest.getParameter(VARIABLES_VALUE_GREATER_THAN_OR_EQUAL_KEY)).willReturn("10");
+        given(webRequest.getParameter(VARIABLES_VALUE_LESS_THAN_KEY)).willReturn("20");
+        given(conversionService.convert("10", Integer.class)).willReturn(10);
+        given(conversionService.convert("20", Integer.class)).willReturn(20);
+
+        //when
+        Object resolvedArgument = argumentResolver.resolveArgument(mock(MethodParameter.class), null, webRequest, null);
+
+        //then
+        assertThat(resolvedArgument).isInstanceOf(VariableSearch.class);
+        VariableSearch variableSearch = (VariableSearch) resolvedArgument;
+        assertThat(variableSearch.getValue().getValue()).isNull();
+        assertThat(variableSearch.getGreaterThanOrEqual().getValue()).isEqualTo(10);
+        assertThat(variableSearch.getLessThan().getValue()).isEqualTo(20);
+        assertThat(variableSearch.getGreaterThan().getValue()).isNull();
+        assertThat(variableSearch.isSet()).isTrue();
+        assertThat(variableSearch.isRangeSet()).isTrue();
+    }
+
     private NativeWebRequest buildWebRequest(String variableName, String variableValue, String variableType) {
         NativeWebRequest webRequest = buildWebRequest(variableName, variableValue);
         given(webRequest.getParameter(VARIABLES_TYPE_KEY)).willReturn(variableType);
@@ -70,4 +70,18 @@ public class VariableSearchTest {
         //then
         assertThat(isSet).isFalse();
     }
+
+    @Test
+    public void isSet_shouldReturnTrue_when_onlyARangeIsSet() {
+        //given
+        VariableSearch variableSearch = new VariableSearch("var", null, "integer");
+        variableSearch.setGreaterThan(new VariableValue<>(10));
+
+        //when
+        boolean isSet = variableSearch.isSet();
+
+        //then
+        assertThat(isSet).isTrue();
+        assertThat(variableSearch.isRangeSet()).isTrue();
+    }
 }
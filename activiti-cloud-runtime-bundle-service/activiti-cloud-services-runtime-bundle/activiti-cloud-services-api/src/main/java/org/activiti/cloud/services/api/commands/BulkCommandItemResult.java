@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.api.commands;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkCommandItemResult {
+
+    public enum Status {
+        SUCCEEDED,
+        FAILED,
+    }
+
+    private int index;
+    private String payloadId;
+    private Status status;
+    private Object result;
+    private String error;
+
+    public BulkCommandItemResult() {}
+
+    private BulkCommandItemResult(int index, String payloadId, Status status, Object result, String error) {
+        this.index = index;
+        this.payloadId = payloadId;
+        this.status = status;
+        this.result = result;
+        this.error = error;
+    }
+
+    public static BulkCommandItemResult succeeded(int index, String payloadId, Object result) {
+        return new BulkCommandItemResult(index, payloadId, Status.SUCCEEDED, result, null);
+    }
+
+    public static BulkCommandItemResult failed(int index, String payloadId, String error) {
+        return new BulkCommandItemResult(index, payloadId, Status.FAILED, null, error);
+    }
+
+    /**
+     * The position of the payload in the bulk command.
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    public String getPayloadId() {
+        return payloadId;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Object getResult() {
+        return result;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.api.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.activiti.api.model.shared.Payload;
+
+/**
+ * Command executing a list of payloads, like start process or signal payloads, in chunked transactions. The result of
+ * every payload is reported in a {@link BulkCommandResult}.
+ */
+public class BulkCommandPayload implements Payload {
+
+    private String id;
+    private List<Payload> payloads = new ArrayList<>();
+
+    public BulkCommandPayload() {
+        this.id = UUID.randomUUID().toString();
+    }
+
+    public BulkCommandPayload(List<Payload> payloads) {
+        this();
+        this.payloads = payloads;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<Payload> getPayloads() {
+        return payloads;
+    }
+
+    public void setPayloads(List<Payload> payloads) {
+        this.payloads = payloads;
+    }
+}
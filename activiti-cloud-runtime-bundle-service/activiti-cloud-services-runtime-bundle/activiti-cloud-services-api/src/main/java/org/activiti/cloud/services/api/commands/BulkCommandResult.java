@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.api.commands;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCommandResult {
+
+    private String payloadId;
+    private List<BulkCommandItemResult> results = new ArrayList<>();
+
+    public BulkCommandResult() {}
+
+    public BulkCommandResult(String payloadId, List<BulkCommandItemResult> results) {
+        this.payloadId = payloadId;
+        this.results = results;
+    }
+
+    public String getPayloadId() {
+        return payloadId;
+    }
+
+    /**
+     * The results of the payloads, in the order of the bulk command payloads.
+     */
+    public List<BulkCommandItemResult> getResults() {
+        return results;
+    }
+
+    public long getSucceeded() {
+        return countOf(BulkCommandItemResult.Status.SUCCEEDED);
+    }
+
+    public long getFailed() {
+        return countOf(BulkCommandItemResult.Status.FAILED);
+    }
+
+    private long countOf(BulkCommandItemResult.Status status) {
+        return results.stream().filter(result -> result.getStatus() == status).count();
+    }
+}
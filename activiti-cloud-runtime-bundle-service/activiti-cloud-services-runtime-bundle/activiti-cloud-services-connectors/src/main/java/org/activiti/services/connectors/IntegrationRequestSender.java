@@ -16,6 +16,7 @@
 package org.activiti.services.connectors;
 
 import org.activiti.cloud.api.process.model.IntegrationRequest;
+import org.activiti.cloud.services.events.outbox.OutboxRepository;
 import org.activiti.services.connectors.message.IntegrationContextMessageBuilderFactory;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.messaging.Message;
@@ -29,13 +30,27 @@ public class IntegrationRequestSender {
 
     private final StreamBridge streamBridge;
     private final IntegrationContextMessageBuilderFactory messageBuilderFactory;
+    private final OutboxRepository outboxRepository;
 
     public IntegrationRequestSender(
         StreamBridge streamBridge,
         IntegrationContextMessageBuilderFactory messageBuilderFactory
+    ) {
+        this(streamBridge, messageBuilderFactory, null);
+    }
+
+    /**
+     * @param outboxRepository when not null, integration requests are written to the outbox in the current transaction
+     *                         instead of being sent after its commit
+     */
+    public IntegrationRequestSender(
+        StreamBridge streamBridge,
+        IntegrationContextMessageBuilderFactory messageBuilderFactory,
+        OutboxRepository outboxRepository
     ) {
         this.streamBridge = streamBridge;
         this.messageBuilderFactory = messageBuilderFactory;
+        this.outboxRepository = outboxRepository;
     }
 
     public void sendIntegrationRequest(IntegrationRequest event) {
@@ -43,6 +58,14 @@ public class IntegrationRequestSender {
             throw new IllegalTransactionStateException("Transaction synchronization must be active.");
         }
 
+        if (outboxRepository != null) {
+            outboxRepository.save(
+                event.getIntegrationContext().getConnectorType(),
+                buildIntegrationRequestMessage(event)
+            );
+            return;
+        }
+
         TransactionSynchronizationManager.registerSynchronization(
             new TransactionSynchronization() {
                 @Override
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.cloud.api.process.model.IntegrationResult;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntity;
+import org.activiti.engine.integration.IntegrationContextService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Processes a batch of integration results, as delivered by the integration results binding in consumer batch mode.
+ * <p>
+ * The results of a batch are grouped by process instance. The results of a process instance are processed in a
+ * single engine command, which first reads the executions of the process instance and the integration contexts of the
+ * results with one query each, and the events of the group are published as one message. Groups of unrelated process
+ * instances are processed concurrently. When a group fails, for instance on an optimistic locking conflict, each of
+ * its results is processed again on its own by the {@link ServiceTaskIntegrationResultEventHandler}, with its
+ * retries. If a result still fails, its exception is rethrown and the broker redelivers the whole batch.
+ */
+public class IntegrationResultBatchHandler implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IntegrationResultBatchHandler.class);
+
+    /**
+     * The MyBatis mappings of the queries of the handler, to register in the process engine configuration.
+     */
+    public static final String MAPPINGS = "org/activiti/services/connectors/mapping/IntegrationResultBatch.xml";
+
+    static final String SELECT_INTEGRATION_CONTEXTS_BY_IDS = "selectIntegrationContextsByIds";
+
+    private final ServiceTaskIntegrationResultEventHandler singleResultHandler;
+
+    private final IntegrationContextService integrationContextService;
+
+    private final ManagementService managementService;
+
+    private final ExecutorService executorService;
+
+    public IntegrationResultBatchHandler(
+        ServiceTaskIntegrationResultEventHandler singleResultHandler,
+        IntegrationContextService integrationContextService,
+        ManagementService managementService,
+        IntegrationResultBatchProperties properties
+    ) {
+        this.singleResultHandler = singleResultHandler;
+        this.integrationContextService = integrationContextService;
+        this.managementService = managementService;
+        this.executorService =
+            MessagingExecutors.fixedThreadPool(Math.max(1, properties.getParallelism()), "integration-result-batch-");
+    }
+
+    public void receive(List<IntegrationResult> integrationResults) {
+        List<IntegrationResult> failedResults = new ArrayList<>();
+        Map<String, List<IntegrationResult>> resultsByProcessInstance = new LinkedHashMap<>();
+        for (IntegrationResult integrationResult : integrationResults) {
+            String processInstanceId = integrationResult.getIntegrationContext().getProcessInstanceId();
+            if (processInstanceId == null) {
+                // results that can not be grouped are processed on their own
+                failedResults.add(integrationResult);
+            } else {
+                resultsByProcessInstance
+                    .computeIfAbsent(processInstanceId, key -> new ArrayList<>())
+                    .add(integrationResult);
+            }
+        }
+
+        List<CompletableFuture<List<IntegrationResult>>> groups = resultsByProcessInstance
+            .entrySet()
+            .stream()
+            .map(group ->
+                CompletableFuture.supplyAsync(() -> process(group.getKey(), group.getValue()), executorService)
+            )
+            .collect(Collectors.toList());
+        groups.forEach(group -> failedResults.addAll(group.join()));
+
+        failedResults.forEach(singleResultHandler::receive);
+    }
+
+    /**
+     * Processes the results of a process instance in one command.
+     *
+     * @return the results to process again on their own, all of them when the command failed
+     */
+    private List<IntegrationResult> process(String processInstanceId, List<IntegrationResult> results) {
+        try {
+            managementService.executeCommand(commandContext -> {
+                loadEntities(commandContext, processInstanceId, results);
+                for (IntegrationResult result : results) {
+                    process(commandContext, result);
+                }
+                return null;
+            });
+            return List.of();
+        } catch (RuntimeException e) {
+            LOGGER.warn(
+                "Unable to process {} integration results of process instance {} together, processing them one by one",
+                results.size(),
+                processInstanceId,
+                e
+            );
+            return results;
+        }
+    }
+
+    /**
+     * Loads the executions of the process instance and the integration contexts of the results in the entity cache of
+     * the command, so that the lookups of the results do not query the database one by one.
+     */
+    private void loadEntities(
+        CommandContext commandContext,
+        String processInstanceId,
+        List<IntegrationResult> results
+    ) {
+        commandContext.getExecutionEntityManager().findChildExecutionsByProcessInstanceId(processInstanceId);
+        List<String> integrationContextIds = results
+            .stream()
+            .map(result -> result.getIntegrationContext().getId())
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+        if (!integrationContextIds.isEmpty()) {
+            commandContext.getDbSqlSession().selectList(SELECT_INTEGRATION_CONTEXTS_BY_IDS, integrationContextIds);
+        }
+    }
+
+    private void process(CommandContext commandContext, IntegrationResult result) {
+        IntegrationContext integrationContext = result.getIntegrationContext();
+        IntegrationContextEntity integrationContextEntity = integrationContextService.findById(
+            integrationContext.getId()
+        );
+        if (integrationContextEntity != null) {
+            // the previous results of the group may have moved, ended or deleted the execution: it is read from the
+            // entity cache of the command, which holds the changes made so far
+            ExecutionEntity execution = commandContext
+                .getExecutionEntityManager()
+                .findById(integrationContext.getExecutionId());
+            if (execution != null && (execution.isDeleted() || execution.isEnded())) {
+                execution = null;
+            }
+            singleResultHandler.resultCommand(result, integrationContextEntity, execution).execute(commandContext);
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+}
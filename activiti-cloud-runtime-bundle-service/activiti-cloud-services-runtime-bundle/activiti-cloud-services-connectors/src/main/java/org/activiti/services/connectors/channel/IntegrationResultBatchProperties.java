@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.integration.result.batch")
+public class IntegrationResultBatchProperties {
+
+    /**
+     * Whether the integration results binding consumes its messages in batches, using the consumer batch mode of the
+     * binder.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of integration results processed in one batch.
+     */
+    private int maxResults = 100;
+
+    /**
+     * Maximum time in milliseconds the binder waits for more results before delivering an incomplete batch.
+     */
+    private long receiveTimeout = 50;
+
+    /**
+     * Number of process instances of a batch whose results are processed at the same time.
+     */
+    private int parallelism = 4;
+
+    public IntegrationResultBatchProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    public long getReceiveTimeout() {
+        return receiveTimeout;
+    }
+
+    public void setReceiveTimeout(long receiveTimeout) {
+        this.receiveTimeout = receiveTimeout;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
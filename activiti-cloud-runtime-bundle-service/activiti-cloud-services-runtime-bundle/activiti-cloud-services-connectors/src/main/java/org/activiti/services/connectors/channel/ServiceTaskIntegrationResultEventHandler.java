@@ -80,52 +80,69 @@ public class ServiceTaskIntegrationResultEventHandler {
         );
 
         if (integrationContextEntity != null) {
-            List<Command<?>> commands = new ArrayList<>();
+            List<Execution> executions = runtimeService
+                .createExecutionQuery()
+                .executionId(integrationContext.getExecutionId())
+                .list();
+            Execution execution = executions.isEmpty() ? null : executions.get(0);
 
-            commands.add(new DeleteIntegrationContextCmd(integrationContextEntity));
+            managementService.executeCommand(resultCommand(integrationResult, integrationContextEntity, execution));
+        }
+    }
+
+    /**
+     * Builds the command deleting the integration context of the result and triggering the execution waiting for it.
+     *
+     * @param execution the execution of the integration context, or null when it does not exist anymore
+     */
+    public Command<Void> resultCommand(
+        IntegrationResult integrationResult,
+        IntegrationContextEntity integrationContextEntity,
+        Execution execution
+    ) {
+        IntegrationContext integrationContext = integrationResult.getIntegrationContext();
+        List<Command<?>> commands = new ArrayList<>();
 
-            String executionId = integrationContext.getExecutionId();
-            List<Execution> executions = runtimeService.createExecutionQuery().executionId(executionId).list();
-            if (executions.size() > 0) {
-                Execution execution = executions.get(0);
+        commands.add(new DeleteIntegrationContextCmd(integrationContextEntity));
 
-                if (execution.getActivityId().equals(integrationContext.getClientId())) {
-                    commands.add(
-                        new TriggerCmd(
-                            integrationContext.getExecutionId(),
-                            integrationContext.getOutBoundVariables(),
-                            variablesPropagator
-                        )
-                    );
-                } else {
-                    LOGGER.warn(
-                        "Could not find matching activityId '{}' for integration result '{}' with executionId '{}'",
-                        integrationContext.getClientId(),
-                        integrationResult,
-                        execution.getId()
-                    );
-                }
+        String executionId = integrationContext.getExecutionId();
+        if (execution != null) {
+            if (execution.getActivityId().equals(integrationContext.getClientId())) {
+                commands.add(
+                    new TriggerCmd(
+                        integrationContext.getExecutionId(),
+                        integrationContext.getOutBoundVariables(),
+                        variablesPropagator
+                    )
+                );
             } else {
-                String message =
-                    "No task is in this RB is waiting for integration result with execution id `" +
-                    executionId +
-                    ", flow node id `" +
-                    integrationContext.getClientId() +
-                    "`. The integration result for the integration context `" +
-                    integrationContext.getId() +
-                    "` will be ignored.";
-                LOGGER.warn(message);
+                LOGGER.warn(
+                    "Could not find matching activityId '{}' for integration result '{}' with executionId '{}'",
+                    integrationContext.getClientId(),
+                    integrationResult,
+                    execution.getId()
+                );
             }
+        } else {
+            String message =
+                "No task is in this RB is waiting for integration result with execution id `" +
+                executionId +
+                ", flow node id `" +
+                integrationContext.getClientId() +
+                "`. The integration result for the integration context `" +
+                integrationContext.getId() +
+                "` will be ignored.";
+            LOGGER.warn(message);
+        }
 
-            commands.add(
-                new AggregateIntegrationResultReceivedEventCmd(
-                    integrationContext,
-                    runtimeBundleProperties,
-                    processEngineEventsAggregator
-                )
-            );
+        commands.add(
+            new AggregateIntegrationResultReceivedEventCmd(
+                integrationContext,
+                runtimeBundleProperties,
+                processEngineEventsAggregator
+            )
+        );
 
-            managementService.executeCommand(CompositeCommand.of(commands.toArray(Command[]::new)));
-        }
+        return CompositeCommand.of(commands.toArray(Command[]::new));
     }
 }
@@ -16,6 +16,9 @@
 
 package org.activiti.services.connectors.conf;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import org.activiti.cloud.api.process.model.IntegrationError;
 import org.activiti.cloud.api.process.model.IntegrationResult;
@@ -23,6 +26,7 @@ import org.activiti.cloud.common.messaging.functional.FunctionBinding;
 import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
 import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
 import org.activiti.cloud.services.events.listeners.ProcessEngineEventsAggregator;
+import org.activiti.cloud.services.events.outbox.OutboxRepository;
 import org.activiti.engine.ManagementService;
 import org.activiti.engine.RuntimeService;
 import org.activiti.engine.impl.bpmn.behavior.VariablesPropagator;
@@ -36,17 +40,24 @@ import org.activiti.services.connectors.IntegrationRequestSender;
 import org.activiti.services.connectors.behavior.MQServiceTaskBehavior;
 import org.activiti.services.connectors.channel.IntegrationRequestBuilder;
 import org.activiti.services.connectors.channel.IntegrationRequestReplayer;
+import org.activiti.services.connectors.channel.IntegrationResultBatchHandler;
+import org.activiti.services.connectors.channel.IntegrationResultBatchProperties;
 import org.activiti.services.connectors.channel.ProcessEngineIntegrationChannels;
 import org.activiti.services.connectors.channel.ServiceTaskIntegrationErrorEventHandler;
 import org.activiti.services.connectors.channel.ServiceTaskIntegrationResultEventHandler;
 import org.activiti.services.connectors.message.IntegrationContextMessageBuilderFactory;
+import org.activiti.spring.boot.ProcessEngineConfigurationConfigurer;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.config.BindingServiceProperties;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.messaging.Message;
 import org.springframework.retry.annotation.EnableRetry;
@@ -55,6 +66,7 @@ import org.springframework.retry.annotation.EnableRetry;
 @AutoConfigureBefore(value = ConnectorsAutoConfiguration.class)
 @PropertySource("classpath:config/integration-result-stream.properties")
 @EnableRetry
+@EnableConfigurationProperties(IntegrationResultBatchProperties.class)
 public class CloudConnectorsAutoConfiguration {
 
     private static final String LOCAL_SERVICE_TASK_BEHAVIOUR_BEAN_NAME = "localServiceTaskBehaviour";
@@ -81,12 +93,61 @@ public class CloudConnectorsAutoConfiguration {
 
     @FunctionBinding(input = ProcessEngineIntegrationChannels.INTEGRATION_RESULTS_CONSUMER)
     @Bean
+    @ConditionalOnProperty(
+        name = "activiti.cloud.integration.result.batch.enabled",
+        havingValue = "false",
+        matchIfMissing = true
+    )
     public Consumer<Message<IntegrationResult>> serviceTaskIntegrationResultEventConsumer(
         ServiceTaskIntegrationResultEventHandler handler
     ) {
         return message -> handler.receive(message.getPayload());
     }
 
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnProperty(name = "activiti.cloud.integration.result.batch.enabled", havingValue = "true")
+    static class IntegrationResultBatchConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public IntegrationResultBatchHandler integrationResultBatchHandler(
+            ServiceTaskIntegrationResultEventHandler handler,
+            IntegrationContextService integrationContextService,
+            ManagementService managementService,
+            IntegrationResultBatchProperties integrationResultBatchProperties
+        ) {
+            return new IntegrationResultBatchHandler(
+                handler,
+                integrationContextService,
+                managementService,
+                integrationResultBatchProperties
+            );
+        }
+
+        @Bean
+        public ProcessEngineConfigurationConfigurer integrationResultBatchMappingsConfigurer() {
+            return processEngineConfiguration -> {
+                Set<String> mappers = new HashSet<>();
+                if (processEngineConfiguration.getCustomMybatisXMLMappers() != null) {
+                    mappers.addAll(processEngineConfiguration.getCustomMybatisXMLMappers());
+                }
+                mappers.add(IntegrationResultBatchHandler.MAPPINGS);
+                processEngineConfiguration.setCustomMybatisXMLMappers(mappers);
+            };
+        }
+
+        /**
+         * In consumer batch mode the binder delivers the results of several broker messages at once.
+         */
+        @FunctionBinding(input = ProcessEngineIntegrationChannels.INTEGRATION_RESULTS_CONSUMER)
+        @Bean
+        public Consumer<Message<List<IntegrationResult>>> serviceTaskIntegrationResultBatchConsumer(
+            IntegrationResultBatchHandler batchHandler
+        ) {
+            return message -> batchHandler.receive(message.getPayload());
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public ServiceTaskIntegrationErrorEventHandler serviceTaskIntegrationErrorEventHandler(
@@ -117,9 +178,10 @@ public class CloudConnectorsAutoConfiguration {
     @ConditionalOnMissingBean
     public IntegrationRequestSender integrationRequestSender(
         StreamBridge streamBridge,
-        IntegrationContextMessageBuilderFactory messageBuilderFactory
+        IntegrationContextMessageBuilderFactory messageBuilderFactory,
+        ObjectProvider<OutboxRepository> outboxRepository
     ) {
-        return new IntegrationRequestSender(streamBridge, messageBuilderFactory);
+        return new IntegrationRequestSender(streamBridge, messageBuilderFactory, outboxRepository.getIfAvailable());
     }
 
     @Bean
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.services.connectors.channel;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
+import org.activiti.cloud.api.process.model.IntegrationResult;
+import org.activiti.cloud.api.process.model.impl.IntegrationRequestImpl;
+import org.activiti.cloud.api.process.model.impl.IntegrationResultImpl;
+import org.activiti.engine.ActivitiOptimisticLockingException;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.persistence.entity.ExecutionEntity;
+import org.activiti.engine.impl.persistence.entity.integration.IntegrationContextEntityImpl;
+import org.activiti.engine.integration.IntegrationContextService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class IntegrationResultBatchHandlerTest {
+
+    @Mock
+    private ServiceTaskIntegrationResultEventHandler singleResultHandler;
+
+    @Mock
+    private IntegrationContextService integrationContextService;
+
+    @Mock
+    private ManagementService managementService;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private CommandContext commandContext;
+
+    @Mock
+    private Command<Void> resultCommand;
+
+    private IntegrationResultBatchHandler batchHandler;
+
+    @BeforeEach
+    public void setUp() {
+        batchHandler =
+            new IntegrationResultBatchHandler(
+                singleResultHandler,
+                integrationContextService,
+                managementService,
+                new IntegrationResultBatchProperties()
+            );
+
+        given(managementService.executeCommand(any(Command.class)))
+            .willAnswer(invocation -> invocation.<Command<?>>getArgument(0).execute(commandContext));
+        given(integrationContextService.findById(any())).willReturn(new IntegrationContextEntityImpl());
+        given(singleResultHandler.resultCommand(any(), any(), any())).willReturn(resultCommand);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        batchHandler.close();
+    }
+
+    @Test
+    public void should_processTheResultsOfAProcessInstanceInOneCommand() {
+        //when
+        batchHandler.receive(
+            List.of(
+                integrationResult("procInst1", "execution-1"),
+                integrationResult("procInst1", "execution-2"),
+                integrationResult("procInst2", "execution-3")
+            )
+        );
+
+        //then
+        verify(managementService, times(2)).executeCommand(any(Command.class));
+        verify(resultCommand, times(3)).execute(commandContext);
+        verify(singleResultHandler, never()).receive(any());
+    }
+
+    @Test
+    public void should_loadTheEntitiesOfAProcessInstanceWithOneQueryEach() {
+        //when
+        batchHandler.receive(
+            List.of(integrationResult("procInst1", "execution-1"), integrationResult("procInst1", "execution-2"))
+        );
+
+        //then
+        verify(commandContext.getExecutionEntityManager()).findChildExecutionsByProcessInstanceId("procInst1");
+        verify(commandContext.getDbSqlSession())
+            .selectList(
+                IntegrationResultBatchHandler.SELECT_INTEGRATION_CONTEXTS_BY_IDS,
+                List.of("execution-1-context", "execution-2-context")
+            );
+    }
+
+    @Test
+    public void should_readTheExecutionOfEachResultAgain_when_aPreviousResultOfTheGroupEndedIt() {
+        //given
+        ExecutionEntity execution = mock(ExecutionEntity.class);
+        given(commandContext.getExecutionEntityManager().findById("execution-1")).willReturn(execution);
+        IntegrationResult first = integrationResult("procInst1", "execution-1");
+        IntegrationResult second = integrationResult("procInst1", "execution-1");
+        given(singleResultHandler.resultCommand(eq(first), any(), eq(execution)))
+            .willAnswer(invocation -> {
+                given(execution.isEnded()).willReturn(true);
+                return resultCommand;
+            });
+
+        //when
+        batchHandler.receive(List.of(first, second));
+
+        //then
+        verify(singleResultHandler).resultCommand(eq(first), any(), eq(execution));
+        verify(singleResultHandler).resultCommand(eq(second), any(), isNull());
+    }
+
+    @Test
+    public void should_processTheResultsOfAFailingProcessInstanceOnTheirOwn() {
+        //given
+        IntegrationResult failingResult = integrationResult("procInst1", "execution-1");
+        given(integrationContextService.findById("execution-1-context"))
+            .willThrow(new ActivitiOptimisticLockingException("conflict"));
+
+        //when
+        batchHandler.receive(
+            List.of(
+                failingResult,
+                integrationResult("procInst2", "execution-2"),
+                integrationResult("procInst3", "execution-3")
+            )
+        );
+
+        //then
+        verify(singleResultHandler).receive(failingResult);
+        verify(resultCommand, times(2)).execute(commandContext);
+    }
+
+    @Test
+    public void should_processAResultWithoutProcessInstanceOnItsOwn() {
+        //given
+        IntegrationResult result = integrationResult(null, "execution-1");
+
+        //when
+        batchHandler.receive(List.of(result));
+
+        //then
+        verify(singleResultHandler).receive(result);
+        verify(managementService, never()).executeCommand(any(Command.class));
+    }
+
+    @Test
+    public void should_rethrow_when_aResultStillFailsOnItsOwn() {
+        //given
+        IntegrationResult failingResult = integrationResult(null, "execution-1");
+        willThrow(new ActivitiOptimisticLockingException("conflict")).given(singleResultHandler).receive(failingResult);
+
+        //then
+        assertThatThrownBy(() -> batchHandler.receive(List.of(failingResult)))
+            .isInstanceOf(ActivitiOptimisticLockingException.class);
+    }
+
+    private IntegrationResult integrationResult(String processInstanceId, String executionId) {
+        IntegrationContextImpl integrationContext = new IntegrationContextImpl();
+        integrationContext.setId(executionId + "-context");
+        integrationContext.setProcessInstanceId(processInstanceId);
+        integrationContext.setExecutionId(executionId);
+        return new IntegrationResultImpl(new IntegrationRequestImpl(), integrationContext);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.core.commands;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.activiti.api.model.shared.Payload;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.activiti.cloud.services.api.commands.BulkCommandItemResult;
+import org.activiti.cloud.services.api.commands.BulkCommandPayload;
+import org.activiti.cloud.services.api.commands.BulkCommandResult;
+import org.activiti.engine.ManagementService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Executes the payloads of a {@link BulkCommandPayload} in chunks of {@link BulkCommandProperties#getChunkSize()}
+ * payloads. The payloads of a chunk run inside a single engine command, so that they share one transaction and the
+ * events they produce are published as one message. Chunks are executed in parallel on
+ * {@link BulkCommandProperties#getParallelism()} threads, with the authentication of the caller.
+ * <p>
+ * A failing payload rolls back its whole chunk. The payloads of that chunk are then executed again one by one, each
+ * in its own transaction, so that the result of every payload can be reported.
+ */
+public class BulkCommandProcessor implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkCommandProcessor.class);
+
+    private final ManagementService managementService;
+    private final BulkCommandProperties properties;
+    private final ExecutorService executorService;
+
+    public BulkCommandProcessor(ManagementService managementService, BulkCommandProperties properties) {
+        this.managementService = managementService;
+        this.properties = properties;
+        this.executorService =
+            MessagingExecutors.fixedThreadPool(Math.max(1, properties.getParallelism()), "bulk-command-");
+    }
+
+    public BulkCommandResult process(BulkCommandPayload bulkCommand, Function<Payload, Object> itemExecutor) {
+        List<Payload> payloads = bulkCommand.getPayloads() != null ? bulkCommand.getPayloads() : List.of();
+        if (payloads.size() > properties.getMaxPayloads()) {
+            throw new IllegalArgumentException(
+                "Bulk command contains " +
+                payloads.size() +
+                " payloads, the maximum is " +
+                properties.getMaxPayloads()
+            );
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        List<CompletableFuture<List<BulkCommandItemResult>>> chunks = new ArrayList<>();
+        int chunkSize = Math.max(1, properties.getChunkSize());
+        for (int start = 0; start < payloads.size(); start += chunkSize) {
+            int chunkStart = start;
+            List<Payload> chunk = payloads.subList(start, Math.min(start + chunkSize, payloads.size()));
+            chunks.add(
+                CompletableFuture.supplyAsync(
+                    () -> withAuthentication(authentication, () -> executeChunk(chunkStart, chunk, itemExecutor)),
+                    executorService
+                )
+            );
+        }
+
+        List<BulkCommandItemResult> results = chunks
+            .stream()
+            .map(CompletableFuture::join)
+            .flatMap(List::stream)
+            .sorted(Comparator.comparingInt(BulkCommandItemResult::getIndex))
+            .toList();
+
+        return new BulkCommandResult(bulkCommand.getId(), results);
+    }
+
+    private List<BulkCommandItemResult> executeChunk(
+        int chunkStart,
+        List<Payload> chunk,
+        Function<Payload, Object> itemExecutor
+    ) {
+        try {
+            return managementService.executeCommand(commandContext -> {
+                List<BulkCommandItemResult> results = new ArrayList<>();
+                for (int i = 0; i < chunk.size(); i++) {
+                    Payload payload = chunk.get(i);
+                    results.add(
+                        BulkCommandItemResult.succeeded(chunkStart + i, payload.getId(), execute(payload, itemExecutor))
+                    );
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.debug("Bulk command chunk starting at {} failed, executing its payloads one by one", chunkStart, e);
+            return executeOneByOne(chunkStart, chunk, itemExecutor);
+        }
+    }
+
+    private List<BulkCommandItemResult> executeOneByOne(
+        int chunkStart,
+        List<Payload> chunk,
+        Function<Payload, Object> itemExecutor
+    ) {
+        List<BulkCommandItemResult> results = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Payload payload = chunk.get(i);
+            String payloadId = payload != null ? payload.getId() : null;
+            try {
+                Object result = managementService.executeCommand(commandContext -> execute(payload, itemExecutor));
+                results.add(BulkCommandItemResult.succeeded(chunkStart + i, payloadId, result));
+            } catch (RuntimeException e) {
+                results.add(BulkCommandItemResult.failed(chunkStart + i, payloadId, e.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private Object execute(Payload payload, Function<Payload, Object> itemExecutor) {
+        if (payload == null) {
+            throw new IllegalArgumentException("Bulk command payload must not be null");
+        }
+        if (payload instanceof BulkCommandPayload) {
+            throw new IllegalArgumentException("Bulk commands can not be nested");
+        }
+        return itemExecutor.apply(payload);
+    }
+
+    private <R> R withAuthentication(Authentication authentication, Supplier<R> supplier) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(authentication);
+        SecurityContextHolder.setContext(securityContext);
+        try {
+            return supplier.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+}
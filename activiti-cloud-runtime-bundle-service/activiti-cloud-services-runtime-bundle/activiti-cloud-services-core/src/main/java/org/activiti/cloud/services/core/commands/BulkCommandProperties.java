@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.core.commands;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.runtime-bundle.bulk-commands")
+public class BulkCommandProperties {
+
+    /**
+     * Number of payloads of a bulk command executed in the same transaction. The events of a chunk are published
+     * as one message.
+     */
+    private int chunkSize = 100;
+
+    /**
+     * Number of chunks of a bulk command executed at the same time.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Maximum number of payloads accepted in a bulk command.
+     */
+    private int maxPayloads = 10000;
+
+    public BulkCommandProperties() {
+        // default constructor
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getMaxPayloads() {
+        return maxPayloads;
+    }
+
+    public void setMaxPayloads(int maxPayloads) {
+        this.maxPayloads = maxPayloads;
+    }
+}
@@ -22,6 +22,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.activiti.api.model.shared.EmptyResult;
 import org.activiti.api.model.shared.Payload;
+import org.activiti.cloud.services.api.commands.BulkCommandPayload;
+import org.activiti.cloud.services.api.commands.BulkCommandResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -30,10 +32,16 @@ public class CommandEndpoint<T extends Payload> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(CommandEndpoint.class);
     private Map<String, CommandExecutor<T>> commandExecutors;
+    private final BulkCommandProcessor bulkCommandProcessor;
 
     public CommandEndpoint(Set<CommandExecutor<T>> cmdExecutors) {
+        this(cmdExecutors, null);
+    }
+
+    public CommandEndpoint(Set<CommandExecutor<T>> cmdExecutors, BulkCommandProcessor bulkCommandProcessor) {
         this.commandExecutors =
             cmdExecutors.stream().collect(Collectors.toMap(CommandExecutor::getHandledType, Function.identity()));
+        this.bulkCommandProcessor = bulkCommandProcessor;
     }
 
     public <R> R execute(T payload) {
@@ -45,7 +53,28 @@ public class CommandEndpoint<T extends Payload> {
         }
     }
 
+    /**
+     * Executes the payloads of a bulk command with the authentication of the current thread.
+     */
+    public BulkCommandResult executeBulk(BulkCommandPayload bulkCommand) {
+        if (bulkCommandProcessor == null) {
+            throw new IllegalStateException("Bulk commands are not supported by this command endpoint");
+        }
+        return bulkCommandProcessor.process(bulkCommand, this::processItem);
+    }
+
+    private Object processItem(Payload payload) {
+        CommandExecutor<T> cmdExecutor = commandExecutors.get(payload.getClass().getName());
+        if (cmdExecutor == null) {
+            throw new IllegalArgumentException("No command found for type: " + payload.getClass().getName());
+        }
+        return cmdExecutor.execute((T) payload);
+    }
+
     private Object processCommand(T payload) {
+        if (payload instanceof BulkCommandPayload bulkCommand) {
+            return executeBulk(bulkCommand);
+        }
         CommandExecutor<T> cmdExecutor = commandExecutors.get(payload.getClass().getName());
         if (cmdExecutor != null) {
             return cmdExecutor.execute(payload);
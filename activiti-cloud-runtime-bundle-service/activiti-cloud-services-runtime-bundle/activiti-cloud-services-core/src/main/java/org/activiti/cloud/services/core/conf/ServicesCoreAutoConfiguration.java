@@ -16,7 +16,10 @@
 package org.activiti.cloud.services.core.conf;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.jsontype.NamedType;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.List;
@@ -27,6 +30,7 @@ import org.activiti.api.process.runtime.ProcessAdminRuntime;
 import org.activiti.api.process.runtime.ProcessRuntime;
 import org.activiti.api.task.runtime.TaskAdminRuntime;
 import org.activiti.cloud.common.messaging.functional.FunctionBinding;
+import org.activiti.cloud.services.api.commands.BulkCommandPayload;
 import org.activiti.cloud.services.core.ProcessDefinitionAdminService;
 import org.activiti.cloud.services.core.ProcessDefinitionService;
 import org.activiti.cloud.services.core.ProcessDiagramGeneratorWrapper;
@@ -35,6 +39,8 @@ import org.activiti.cloud.services.core.ProcessVariableJsonNodeConverter;
 import org.activiti.cloud.services.core.ProcessVariableValueConverter;
 import org.activiti.cloud.services.core.ProcessVariableValueSpringConverter;
 import org.activiti.cloud.services.core.ProcessVariablesPayloadConverter;
+import org.activiti.cloud.services.core.commands.BulkCommandProcessor;
+import org.activiti.cloud.services.core.commands.BulkCommandProperties;
 import org.activiti.cloud.services.core.commands.ClaimTaskCmdExecutor;
 import org.activiti.cloud.services.core.commands.CommandEndpoint;
 import org.activiti.cloud.services.core.commands.CommandExecutor;
@@ -59,12 +65,15 @@ import org.activiti.cloud.services.core.pageable.sort.ProcessInstanceSortApplier
 import org.activiti.cloud.services.core.pageable.sort.TaskSortApplier;
 import org.activiti.cloud.services.events.ProcessEngineChannels;
 import org.activiti.common.util.DateFormatterProvider;
+import org.activiti.engine.ManagementService;
 import org.activiti.image.ProcessDiagramGenerator;
 import org.activiti.image.impl.DefaultProcessDiagramGenerator;
 import org.activiti.spring.process.CachingProcessExtensionService;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.convert.ApplicationConversionService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
@@ -74,6 +83,7 @@ import org.springframework.messaging.Message;
 
 @AutoConfiguration
 @PropertySource("classpath:config/command-endpoint-channels.properties")
+@EnableConfigurationProperties(BulkCommandProperties.class)
 public class ServicesCoreAutoConfiguration {
 
     @Bean
@@ -169,10 +179,29 @@ public class ServicesCoreAutoConfiguration {
         return new DeleteProcessInstanceCmdExecutor(processAdminRuntime);
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public BulkCommandProcessor bulkCommandProcessor(
+        ManagementService managementService,
+        BulkCommandProperties bulkCommandProperties
+    ) {
+        return new BulkCommandProcessor(managementService, bulkCommandProperties);
+    }
+
+    @Bean
+    public Module bulkCommandPayloadModule() {
+        SimpleModule module = new SimpleModule("bulkCommandPayloadModule");
+        module.registerSubtypes(new NamedType(BulkCommandPayload.class, BulkCommandPayload.class.getSimpleName()));
+        return module;
+    }
+
     @Bean("commandEndpoint")
     @ConditionalOnMissingBean
-    public <T extends Payload> CommandEndpoint<T> commandEndpoint(Set<CommandExecutor<T>> cmdExecutors) {
-        return new CommandEndpoint<T>(cmdExecutors);
+    public <T extends Payload> CommandEndpoint<T> commandEndpoint(
+        Set<CommandExecutor<T>> cmdExecutors,
+        ObjectProvider<BulkCommandProcessor> bulkCommandProcessor
+    ) {
+        return new CommandEndpoint<T>(cmdExecutors, bulkCommandProcessor.getIfAvailable());
     }
 
     @FunctionBinding(input = ProcessEngineChannels.COMMAND_CONSUMER, output = ProcessEngineChannels.COMMAND_RESULTS)
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.core.commands;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.activiti.api.model.shared.Payload;
+import org.activiti.api.process.model.builders.ProcessPayloadBuilder;
+import org.activiti.cloud.services.api.commands.BulkCommandItemResult;
+import org.activiti.cloud.services.api.commands.BulkCommandPayload;
+import org.activiti.cloud.services.api.commands.BulkCommandResult;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.impl.interceptor.Command;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkCommandProcessorTest {
+
+    @Mock
+    private ManagementService managementService;
+
+    private BulkCommandProperties properties;
+
+    private BulkCommandProcessor bulkCommandProcessor;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new BulkCommandProperties();
+        properties.setChunkSize(2);
+        properties.setParallelism(2);
+        properties.setMaxPayloads(10);
+        bulkCommandProcessor = new BulkCommandProcessor(managementService, properties);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bulkCommandProcessor.close();
+    }
+
+    @Test
+    public void should_executeEachChunkInOneEngineCommand() {
+        //given
+        givenCommandsAreExecuted();
+        List<Payload> signals = signals(5);
+        BulkCommandPayload bulkCommand = new BulkCommandPayload(signals);
+
+        //when
+        BulkCommandResult result = bulkCommandProcessor.process(bulkCommand, Payload::getId);
+
+        //then
+        verify(managementService, times(3)).executeCommand(any(Command.class));
+        assertThat(result.getPayloadId()).isEqualTo(bulkCommand.getId());
+        assertThat(result.getSucceeded()).isEqualTo(5);
+        assertThat(result.getFailed()).isZero();
+        assertThat(result.getResults())
+            .extracting(BulkCommandItemResult::getResult)
+            .containsExactlyElementsOf(signals.stream().map(Payload::getId).toList());
+        assertThat(result.getResults()).extracting(BulkCommandItemResult::getIndex).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    public void should_executePayloadsOfAFailingChunkOneByOne() {
+        //given
+        givenCommandsAreExecuted();
+        List<Payload> signals = signals(2);
+        List<Payload> executed = new ArrayList<>();
+        Function<Payload, Object> itemExecutor = payload -> {
+            executed.add(payload);
+            if (payload == signals.get(1)) {
+                throw new IllegalStateException("signal failed");
+            }
+            return payload.getId();
+        };
+
+        //when
+        BulkCommandResult result = bulkCommandProcessor.process(new BulkCommandPayload(signals), itemExecutor);
+
+        //then
+        assertThat(result.getResults())
+            .extracting(BulkCommandItemResult::getStatus, BulkCommandItemResult::getError)
+            .containsExactly(
+                tuple(BulkCommandItemResult.Status.SUCCEEDED, null),
+                tuple(BulkCommandItemResult.Status.FAILED, "signal failed")
+            );
+        assertThat(executed).containsExactly(signals.get(0), signals.get(1), signals.get(0), signals.get(1));
+    }
+
+    @Test
+    public void should_rejectNestedBulkCommands() {
+        //given
+        givenCommandsAreExecuted();
+        properties.setChunkSize(1);
+        BulkCommandPayload bulkCommand = new BulkCommandPayload(List.of(new BulkCommandPayload()));
+
+        //when
+        BulkCommandResult result = bulkCommandProcessor.process(bulkCommand, Payload::getId);
+
+        //then
+        assertThat(result.getResults())
+            .extracting(BulkCommandItemResult::getStatus)
+            .containsExactly(BulkCommandItemResult.Status.FAILED);
+    }
+
+    @Test
+    public void should_rejectBulkCommandsExceedingTheMaximumNumberOfPayloads() {
+        //given
+        BulkCommandPayload bulkCommand = new BulkCommandPayload(signals(11));
+
+        //then
+        assertThatThrownBy(() -> bulkCommandProcessor.process(bulkCommand, Payload::getId))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void givenCommandsAreExecuted() {
+        given(managementService.executeCommand(any(Command.class)))
+            .willAnswer(invocation -> invocation.<Command<?>>getArgument(0).execute(null));
+    }
+
+    private List<Payload> signals(int count) {
+        return IntStream
+            .range(0, count)
+            .mapToObj(index -> (Payload) ProcessPayloadBuilder.signal().withName("signal-" + index).build())
+            .toList();
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import javax.sql.DataSource;
+import org.activiti.cloud.services.events.outbox.BindingOutboxMessageSender;
+import org.activiti.cloud.services.events.outbox.OutboxMessageSender;
+import org.activiti.cloud.services.events.outbox.OutboxMetrics;
+import org.activiti.cloud.services.events.outbox.OutboxProperties;
+import org.activiti.cloud.services.events.outbox.OutboxRelay;
+import org.activiti.cloud.services.events.outbox.OutboxRepository;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.stream.binding.BindingService;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@AutoConfiguration
+@ConditionalOnProperty(name = "activiti.cloud.runtime-bundle.outbox.enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRepository outboxRepository(
+        DataSource dataSource,
+        ObjectMapper objectMapper,
+        OutboxProperties outboxProperties
+    ) {
+        OutboxRepository outboxRepository = new OutboxRepository(new JdbcTemplate(dataSource), objectMapper);
+        if (outboxProperties.isInitializeSchema()) {
+            outboxRepository.initializeSchema(dataSource);
+        }
+        return outboxRepository;
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxMessageSender outboxMessageSender(
+        BeanFactory beanFactory,
+        BindingService bindingService,
+        StreamBridge streamBridge,
+        ObjectMapper objectMapper
+    ) {
+        return new BindingOutboxMessageSender(beanFactory, bindingService, streamBridge, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxRelay outboxRelay(
+        OutboxRepository outboxRepository,
+        OutboxMessageSender outboxMessageSender,
+        OutboxProperties outboxProperties
+    ) {
+        return new OutboxRelay(outboxRepository, outboxMessageSender, outboxProperties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class OutboxMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public OutboxMetrics outboxMetrics(OutboxRelay outboxRelay, OutboxRepository outboxRepository) {
+            return new OutboxMetrics(outboxRelay, outboxRepository);
+        }
+    }
+}
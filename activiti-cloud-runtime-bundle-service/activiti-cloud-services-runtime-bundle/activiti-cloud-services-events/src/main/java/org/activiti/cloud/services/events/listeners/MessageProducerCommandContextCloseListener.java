@@ -21,6 +21,7 @@ import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
 import org.activiti.cloud.services.events.ProcessEngineChannels;
 import org.activiti.cloud.services.events.converter.RuntimeBundleInfoAppender;
 import org.activiti.cloud.services.events.message.MessageBuilderChainFactory;
+import org.activiti.cloud.services.events.outbox.OutboxRepository;
 import org.activiti.engine.impl.context.ExecutionContext;
 import org.activiti.engine.impl.interceptor.CommandContext;
 import org.activiti.engine.impl.interceptor.CommandContextCloseListener;
@@ -37,11 +38,25 @@ public class MessageProducerCommandContextCloseListener implements CommandContex
     private final ProcessEngineChannels producer;
     private final MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory;
     private final RuntimeBundleInfoAppender runtimeBundleInfoAppender;
+    private final OutboxRepository outboxRepository;
 
     public MessageProducerCommandContextCloseListener(
         ProcessEngineChannels producer,
         MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory,
         RuntimeBundleInfoAppender runtimeBundleInfoAppender
+    ) {
+        this(producer, messageBuilderChainFactory, runtimeBundleInfoAppender, null);
+    }
+
+    /**
+     * @param outboxRepository when not null, messages are written to the outbox in the engine transaction instead of
+     *                         being sent to the audit producer
+     */
+    public MessageProducerCommandContextCloseListener(
+        ProcessEngineChannels producer,
+        MessageBuilderChainFactory<ExecutionContext> messageBuilderChainFactory,
+        RuntimeBundleInfoAppender runtimeBundleInfoAppender,
+        OutboxRepository outboxRepository
     ) {
         Assert.notNull(producer, "producer must not be null");
         Assert.notNull(messageBuilderChainFactory, "messageBuilderChainFactory must not be null");
@@ -50,6 +65,7 @@ public class MessageProducerCommandContextCloseListener implements CommandContex
         this.producer = producer;
         this.messageBuilderChainFactory = messageBuilderChainFactory;
         this.runtimeBundleInfoAppender = runtimeBundleInfoAppender;
+        this.outboxRepository = outboxRepository;
     }
 
     @Override
@@ -72,8 +88,13 @@ public class MessageProducerCommandContextCloseListener implements CommandContex
                 .create(rootExecutionContext)
                 .withPayload(payload)
                 .build();
-            // Send message to audit producer channel
-            producer.auditProducer().send(message);
+            if (outboxRepository != null) {
+                // Store message in the outbox, it is published to the audit producer channel by the outbox relay
+                outboxRepository.save(ProcessEngineChannels.AUDIT_PRODUCER, message);
+            } else {
+                // Send message to audit producer channel
+                producer.auditProducer().send(message);
+            }
         }
     }
 
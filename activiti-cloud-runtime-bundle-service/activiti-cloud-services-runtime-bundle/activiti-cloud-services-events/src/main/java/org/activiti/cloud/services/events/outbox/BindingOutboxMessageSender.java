@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cloud.stream.binding.BindingService;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.core.DestinationResolutionException;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Sends outbox messages to the bound output channel of the producer binding named after their destination, like the
+ * audit producer, or through the {@link StreamBridge} for the other destinations, like the connector destinations of
+ * integration requests. A destination that is neither a binding nor an allowed dynamic destination of the
+ * {@link BindingServiceProperties} is rejected, so a message is never sent to an unrelated channel bean.
+ * <p>
+ * Payloads written as JSON by the outbox are sent as a JSON tree, so that the binding converts them to its own content
+ * type, as it does for the messages sent directly.
+ */
+public class BindingOutboxMessageSender implements OutboxMessageSender {
+
+    private final BeanFactory beanFactory;
+    private final BindingService bindingService;
+    private final StreamBridge streamBridge;
+    private final ObjectMapper objectMapper;
+    private final Map<String, MessageChannel> outputChannels = new ConcurrentHashMap<>();
+
+    public BindingOutboxMessageSender(
+        BeanFactory beanFactory,
+        BindingService bindingService,
+        StreamBridge streamBridge,
+        ObjectMapper objectMapper
+    ) {
+        this.beanFactory = beanFactory;
+        this.bindingService = bindingService;
+        this.streamBridge = streamBridge;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void send(OutboxMessage outboxMessage) {
+        boolean jsonPayload = Boolean.TRUE.equals(outboxMessage.getHeaders().get(OutboxRepository.JSON_PAYLOAD));
+        Message<?> message = MessageBuilder
+            .withPayload(jsonPayload ? readTree(outboxMessage.getPayload()) : outboxMessage.getPayload())
+            .copyHeaders(outboxMessage.getHeaders())
+            .removeHeader(OutboxRepository.JSON_PAYLOAD)
+            .build();
+        String destination = outboxMessage.getDestination();
+
+        boolean sent = outputChannelOf(destination)
+            .map(channel -> channel.send(message))
+            .orElseGet(() -> streamBridge.send(checkDestination(destination), message));
+
+        if (!sent) {
+            throw new MessageDeliveryException(message, "Outbox message was not sent to '" + destination + "'");
+        }
+    }
+
+    private Optional<MessageChannel> outputChannelOf(String destination) {
+        MessageChannel channel = outputChannels.get(destination);
+        if (channel == null && Arrays.asList(bindingService.getProducerBindingNames()).contains(destination)) {
+            channel = beanFactory.getBean(destination, MessageChannel.class);
+            outputChannels.put(destination, channel);
+        }
+        return Optional.ofNullable(channel);
+    }
+
+    private String checkDestination(String destination) {
+        BindingServiceProperties bindingServiceProperties = bindingService.getBindingServiceProperties();
+        String[] dynamicDestinations = bindingServiceProperties.getDynamicDestinations();
+        boolean known =
+            bindingServiceProperties.getBindings().containsKey(destination) ||
+            dynamicDestinations == null ||
+            dynamicDestinations.length == 0 ||
+            Arrays.asList(dynamicDestinations).contains(destination);
+
+        if (!known) {
+            throw new DestinationResolutionException(
+                "Outbox destination '" + destination + "' is neither a binding nor an allowed dynamic destination"
+            );
+        }
+        return destination;
+    }
+
+    private Object readTree(byte[] payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
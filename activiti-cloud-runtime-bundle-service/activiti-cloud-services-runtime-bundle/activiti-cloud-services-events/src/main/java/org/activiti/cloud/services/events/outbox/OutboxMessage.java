@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.util.Map;
+
+/**
+ * A message written to the outbox table, waiting to be published to its destination by the {@link OutboxRelay}.
+ */
+public class OutboxMessage {
+
+    private final long id;
+    private final String destination;
+    private final String orderingKey;
+    private final Map<String, Object> headers;
+    private final byte[] payload;
+
+    public OutboxMessage(
+        long id,
+        String destination,
+        String orderingKey,
+        Map<String, Object> headers,
+        byte[] payload
+    ) {
+        this.id = id;
+        this.destination = destination;
+        this.orderingKey = orderingKey;
+        this.headers = headers;
+        this.payload = payload;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    /**
+     * The root process instance of the message, messages sharing it are published in order.
+     */
+    public String getOrderingKey() {
+        return orderingKey;
+    }
+
+    public Map<String, Object> getHeaders() {
+        return headers;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class OutboxMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.runtime-bundle.outbox";
+
+    private final OutboxRelay outboxRelay;
+    private final OutboxRepository outboxRepository;
+
+    public OutboxMetrics(OutboxRelay outboxRelay, OutboxRepository outboxRepository) {
+        this.outboxRelay = outboxRelay;
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".backlog", outboxRepository, OutboxRepository::count)
+            .description("Number of messages waiting in the outbox")
+            .register(registry);
+        Gauge
+            .builder(METRIC_PREFIX + ".batch.time", outboxRelay, OutboxRelay::getLastBatchDurationMillis)
+            .description("Time taken to publish the last outbox batch")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".published", outboxRelay, OutboxRelay::getPublishedMessages)
+            .description("Number of outbox messages published")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".failed", outboxRelay, OutboxRelay::getFailedMessages)
+            .description("Number of outbox messages that failed to be published")
+            .register(registry);
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties(prefix = "activiti.cloud.runtime-bundle.outbox")
+@Validated
+public class OutboxProperties {
+
+    /**
+     * Whether engine events and integration requests are written to the outbox table in the engine transaction and
+     * published by the outbox relay, instead of being sent to the broker on the request thread.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of outbox messages read and published by the relay in one batch.
+     */
+    @Positive
+    private int batchSize = 100;
+
+    /**
+     * Number of threads publishing a batch. Messages of the same process instance are always published by the same
+     * thread, in the order they were written.
+     */
+    @Positive
+    private int parallelism = 4;
+
+    /**
+     * Delay between two relay runs when the outbox is empty.
+     */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /**
+     * Age an outbox message must reach before it is relayed, by the database clock. Messages are numbered when they
+     * are written, not when their transaction commits, so the relay leaves the recent messages for later to let the
+     * transactions that wrote earlier messages of the same process instance commit first. It should exceed the
+     * duration of the longest engine transaction.
+     */
+    private Duration visibilityDelay = Duration.ofSeconds(2);
+
+    /**
+     * Duration of the lease that makes a single runtime bundle replica relay the outbox at a time.
+     */
+    private Duration leaseDuration = Duration.ofSeconds(30);
+
+    /**
+     * Whether the outbox tables are created at startup when they do not exist.
+     */
+    private boolean initializeSchema = true;
+
+    public OutboxProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public Duration getPollInterval() {
+        return pollInterval;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    public Duration getVisibilityDelay() {
+        return visibilityDelay;
+    }
+
+    public void setVisibilityDelay(Duration visibilityDelay) {
+        this.visibilityDelay = visibilityDelay;
+    }
+
+    public Duration getLeaseDuration() {
+        return leaseDuration;
+    }
+
+    public void setLeaseDuration(Duration leaseDuration) {
+        this.leaseDuration = leaseDuration;
+    }
+
+    public boolean isInitializeSchema() {
+        return initializeSchema;
+    }
+
+    public void setInitializeSchema(boolean initializeSchema) {
+        this.initializeSchema = initializeSchema;
+    }
+}
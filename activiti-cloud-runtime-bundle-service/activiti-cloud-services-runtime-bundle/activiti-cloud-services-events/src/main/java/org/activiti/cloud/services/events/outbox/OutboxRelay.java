@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Publishes the outbox messages in the background. Each run reads a batch of the oldest messages and publishes it
+ * on {@link OutboxProperties#getParallelism()} lanes. Messages are assigned to lanes by root process instance, so
+ * that the messages of a process instance are published one after the other in the order they were written. When a
+ * message can not be published, the following messages of its process instance are kept for the next run.
+ * <p>
+ * Published messages are deleted after the batch, so a message can be published again if the runtime bundle stops in
+ * between: consumers get the messages at least once, as with the transacted producers.
+ * <p>
+ * The lease is renewed while a batch is published, once half of its duration has elapsed. When it can not be renewed,
+ * another replica may have taken over, so the rest of the batch is left for the next run.
+ */
+public class OutboxRelay implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxMessageSender messageSender;
+    private final OutboxProperties properties;
+    private final String owner = UUID.randomUUID().toString();
+    private volatile ExecutorService lanes;
+    private volatile long leaseRenewedAt;
+    private final AtomicLong publishedMessages = new AtomicLong();
+    private final AtomicLong failedMessages = new AtomicLong();
+    private volatile long lastBatchDurationMillis;
+    private volatile ScheduledExecutorService scheduler;
+
+    public OutboxRelay(
+        OutboxRepository outboxRepository,
+        OutboxMessageSender messageSender,
+        OutboxProperties properties
+    ) {
+        this.outboxRepository = outboxRepository;
+        this.messageSender = messageSender;
+        this.properties = properties;
+        this.lanes = newLanes();
+    }
+
+    @Override
+    public void start() {
+        if (lanes.isShutdown()) {
+            lanes = newLanes();
+        }
+        scheduler = MessagingExecutors.singleThreadScheduledExecutor("outbox-relay-");
+        scheduler.scheduleWithFixedDelay(
+            this::drain,
+            0,
+            properties.getPollInterval().toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService current = scheduler;
+        scheduler = null;
+        if (current != null) {
+            current.shutdown();
+            try {
+                current.awaitTermination(properties.getLeaseDuration().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        lanes.shutdown();
+        try {
+            outboxRepository.releaseLease(owner);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to release the outbox relay lease", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    /**
+     * Relays batches until the outbox holds less than a full batch.
+     */
+    void drain() {
+        try {
+            while (isRunning() && relay() >= properties.getBatchSize()) {
+                // keep relaying while full batches are published
+            }
+        } catch (RuntimeException e) {
+            LOGGER.warn("Unable to relay outbox messages", e);
+        }
+    }
+
+    /**
+     * Publishes one batch of outbox messages, when this relay holds the lease.
+     *
+     * @return the number of messages published
+     */
+    public int relay() {
+        long start = System.currentTimeMillis();
+        if (!outboxRepository.acquireLease(owner, properties.getLeaseDuration())) {
+            return 0;
+        }
+        leaseRenewedAt = start;
+
+        List<OutboxMessage> messages = outboxRepository.findNext(
+            properties.getBatchSize(),
+            properties.getVisibilityDelay()
+        );
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<List<Long>>> publications = groupByLane(messages)
+            .stream()
+            .map(laneMessages -> CompletableFuture.supplyAsync(() -> publish(laneMessages), lanes))
+            .toList();
+
+        List<Long> published = publications.stream().map(CompletableFuture::join).flatMap(List::stream).toList();
+        if (!published.isEmpty()) {
+            outboxRepository.delete(published);
+        }
+        lastBatchDurationMillis = System.currentTimeMillis() - start;
+
+        return published.size();
+    }
+
+    private List<List<OutboxMessage>> groupByLane(List<OutboxMessage> messages) {
+        Map<Integer, List<OutboxMessage>> messagesByLane = new LinkedHashMap<>();
+        for (OutboxMessage message : messages) {
+            int hash = message.getOrderingKey() != null
+                ? message.getOrderingKey().hashCode()
+                : Long.hashCode(message.getId());
+            messagesByLane
+                .computeIfAbsent(Math.floorMod(hash, properties.getParallelism()), lane -> new ArrayList<>())
+                .add(message);
+        }
+        return new ArrayList<>(messagesByLane.values());
+    }
+
+    private List<Long> publish(List<OutboxMessage> messages) {
+        Set<String> failedOrderingKeys = new HashSet<>();
+        List<Long> published = new ArrayList<>();
+
+        for (OutboxMessage message : messages) {
+            if (!holdsLease()) {
+                break;
+            }
+            String orderingKey = message.getOrderingKey();
+            if (orderingKey != null && failedOrderingKeys.contains(orderingKey)) {
+                continue;
+            }
+            try {
+                messageSender.send(message);
+                published.add(message.getId());
+                publishedMessages.incrementAndGet();
+            } catch (RuntimeException e) {
+                failedMessages.incrementAndGet();
+                LOGGER.warn(
+                    "Unable to publish outbox message {} to '{}'",
+                    message.getId(),
+                    message.getDestination(),
+                    e
+                );
+                if (orderingKey != null) {
+                    failedOrderingKeys.add(orderingKey);
+                }
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Renews the lease once half of its duration has elapsed since it was last acquired.
+     *
+     * @return whether this relay still holds the lease
+     */
+    private synchronized boolean holdsLease() {
+        long now = System.currentTimeMillis();
+        if (now - leaseRenewedAt < properties.getLeaseDuration().toMillis() / 2) {
+            return true;
+        }
+        if (!outboxRepository.acquireLease(owner, properties.getLeaseDuration())) {
+            LOGGER.warn("The outbox relay lease was lost while publishing a batch, leaving the rest for the next run");
+            return false;
+        }
+        leaseRenewedAt = now;
+        return true;
+    }
+
+    private ExecutorService newLanes() {
+        return MessagingExecutors.fixedThreadPool(properties.getParallelism(), "outbox-relay-lane-");
+    }
+
+    public long getPublishedMessages() {
+        return publishedMessages.get();
+    }
+
+    public long getFailedMessages() {
+        return failedMessages.get();
+    }
+
+    public long getLastBatchDurationMillis() {
+        return lastBatchDurationMillis;
+    }
+}
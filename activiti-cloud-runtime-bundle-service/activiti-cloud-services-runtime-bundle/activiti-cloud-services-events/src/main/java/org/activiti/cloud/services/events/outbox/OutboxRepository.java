@@ -0,0 +1,259 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.activiti.cloud.services.events.message.ExecutionContextMessageHeaders;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Stores outbox messages in the engine database. Messages are written with the {@link JdbcTemplate} of the engine
+ * data source, so that they are part of the transaction of the command producing them.
+ * <p>
+ * Messages are numbered by the database and stamped with its current time when they are written. The visibility
+ * delay and the relay lease are measured against the time of the database too, so the clocks of the runtime bundle
+ * replicas play no part in the order or the timing of the relay.
+ */
+public class OutboxRepository {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRepository.class);
+
+    public static final String PROCESS_INSTANCE_ID = "processInstanceId";
+
+    /**
+     * Header marking the outbox messages whose payload was serialized to JSON by the outbox, rather than written as
+     * given, so that it can be sent with the content type of its binding.
+     */
+    public static final String JSON_PAYLOAD = "outboxJsonPayload";
+
+    static final String LEASE_NAME = "relay";
+
+    private static final String SCHEMA_LOCATION = "org/activiti/cloud/services/events/outbox/db/";
+
+    private static final int MAX_IDS_PER_DELETE = 1000;
+
+    private static final Set<String> TRANSIENT_HEADERS = Set.of(
+        MessageHeaders.ID,
+        MessageHeaders.TIMESTAMP,
+        MessageHeaders.CONTENT_TYPE
+    );
+
+    private static final TypeReference<Map<String, Object>> HEADERS_TYPE = new TypeReference<>() {};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public OutboxRepository(JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes the message to the outbox, in the current transaction. A payload that is not serialized yet is written as
+     * JSON; serialized payloads are kept as they are, along with their content type.
+     */
+    public void save(String destination, Message<?> message) {
+        Map<String, Object> headers = new LinkedHashMap<>(message.getHeaders());
+        headers.keySet().removeAll(TRANSIENT_HEADERS);
+
+        byte[] payload;
+        if (message.getPayload() instanceof byte[] bytes) {
+            payload = bytes;
+            Object contentType = message.getHeaders().get(MessageHeaders.CONTENT_TYPE);
+            if (contentType != null) {
+                headers.put(MessageHeaders.CONTENT_TYPE, contentType.toString());
+            }
+        } else {
+            payload = write(message.getPayload());
+            headers.put(JSON_PAYLOAD, true);
+        }
+
+        jdbcTemplate.update(
+            "insert into ACT_CLOUD_OUTBOX (DESTINATION_, ORDERING_KEY_, HEADERS_, PAYLOAD_) values (?, ?, ?, ?)",
+            destination,
+            orderingKeyOf(message.getHeaders()),
+            write(headers),
+            payload
+        );
+    }
+
+    /**
+     * Returns the oldest messages of the outbox written at least the given delay ago by the database clock, in the
+     * order the database numbered them.
+     * <p>
+     * Ids are assigned when a message is inserted, not when its transaction commits: a message can become visible
+     * before a message of the same process instance with a lower id, whose transaction is still running. Leaving the
+     * recent messages out gives these transactions the delay to commit, so that messages are relayed in commit order.
+     */
+    public List<OutboxMessage> findNext(int limit, Duration visibilityDelay) {
+        Timestamp createdBefore = Timestamp.from(currentTimestamp().toInstant().minus(visibilityDelay));
+        return jdbcTemplate.query(
+            connection -> {
+                PreparedStatement statement = connection.prepareStatement(
+                    "select ID_, DESTINATION_, ORDERING_KEY_, HEADERS_, PAYLOAD_ from ACT_CLOUD_OUTBOX " +
+                    "where CREATED_TIME_ <= ? order by ID_"
+                );
+                statement.setTimestamp(1, createdBefore);
+                statement.setMaxRows(limit);
+                return statement;
+            },
+            (resultSet, rowNum) ->
+                new OutboxMessage(
+                    resultSet.getLong("ID_"),
+                    resultSet.getString("DESTINATION_"),
+                    resultSet.getString("ORDERING_KEY_"),
+                    readHeaders(resultSet.getBytes("HEADERS_")),
+                    resultSet.getBytes("PAYLOAD_")
+                )
+        );
+    }
+
+    public int delete(Collection<Long> ids) {
+        List<Long> remaining = new ArrayList<>(ids);
+        int deleted = 0;
+        while (!remaining.isEmpty()) {
+            List<Long> chunk = remaining.subList(0, Math.min(MAX_IDS_PER_DELETE, remaining.size()));
+            String placeholders = String.join(",", chunk.stream().map(id -> "?").toList());
+            String delete = "delete from ACT_CLOUD_OUTBOX where ID_ in (" + placeholders + ")";
+            deleted += jdbcTemplate.update(delete, chunk.toArray());
+            chunk.clear();
+        }
+        return deleted;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from ACT_CLOUD_OUTBOX", Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Acquires or renews the relay lease for the given owner. Only the owner of a lease that has not expired relays
+     * the outbox, which keeps messages of the same process instance in order across runtime bundle replicas.
+     */
+    public boolean acquireLease(String owner, Duration duration) {
+        Timestamp now = currentTimestamp();
+        return (
+            jdbcTemplate.update(
+                "update ACT_CLOUD_OUTBOX_LEASE set OWNER_ = ?, EXPIRES_ = ? " +
+                "where NAME_ = ? and (OWNER_ = ? or OWNER_ is null or EXPIRES_ < ?)",
+                owner,
+                Timestamp.from(now.toInstant().plus(duration)),
+                LEASE_NAME,
+                owner,
+                now
+            ) ==
+            1
+        );
+    }
+
+    public void releaseLease(String owner) {
+        jdbcTemplate.update(
+            "update ACT_CLOUD_OUTBOX_LEASE set OWNER_ = null, EXPIRES_ = null where NAME_ = ? and OWNER_ = ?",
+            LEASE_NAME,
+            owner
+        );
+    }
+
+    /**
+     * Creates the outbox tables with the script of the engine database type when they do not exist yet.
+     */
+    public void initializeSchema(DataSource dataSource) {
+        try {
+            jdbcTemplate.queryForObject("select count(*) from ACT_CLOUD_OUTBOX_LEASE", Long.class);
+        } catch (DataAccessException e) {
+            String databaseType = databaseTypeOf(dataSource);
+            LOGGER.info("Creating the outbox tables for database type '{}'", databaseType);
+            String script = SCHEMA_LOCATION + "outbox." + databaseType + ".create.sql";
+            new ResourceDatabasePopulator(new ClassPathResource(script)).execute(dataSource);
+        }
+    }
+
+    /**
+     * Reads the current time of the database, from the single row of the lease table so the query is portable.
+     */
+    private Timestamp currentTimestamp() {
+        return jdbcTemplate.queryForObject(
+            "select CURRENT_TIMESTAMP from ACT_CLOUD_OUTBOX_LEASE where NAME_ = ?",
+            Timestamp.class,
+            LEASE_NAME
+        );
+    }
+
+    static String orderingKeyOf(MessageHeaders headers) {
+        Object rootProcessInstanceId = headers.get(ExecutionContextMessageHeaders.ROOT_PROCESS_INSTANCE_ID);
+        Object orderingKey = rootProcessInstanceId != null ? rootProcessInstanceId : headers.get(PROCESS_INSTANCE_ID);
+        return orderingKey != null ? orderingKey.toString() : null;
+    }
+
+    private static String databaseTypeOf(DataSource dataSource) {
+        try {
+            String productName = JdbcUtils.extractDatabaseMetaData(
+                dataSource,
+                DatabaseMetaData::getDatabaseProductName
+            );
+            Properties databaseTypeMappings = ProcessEngineConfigurationImpl.getDefaultDatabaseTypeMappings();
+            String databaseType = databaseTypeMappings.getProperty(productName);
+            if (databaseType == null) {
+                throw new IllegalStateException("No outbox schema for database '" + productName + "'");
+            }
+            return databaseType;
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect the engine database type", e);
+        }
+    }
+
+    private byte[] write(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to write outbox message", e);
+        }
+    }
+
+    private Map<String, Object> readHeaders(byte[] headers) {
+        try {
+            return objectMapper.readValue(headers, HEADERS_TYPE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
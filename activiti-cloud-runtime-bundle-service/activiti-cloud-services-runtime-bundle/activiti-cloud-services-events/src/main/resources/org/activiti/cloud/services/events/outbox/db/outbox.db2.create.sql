@@ -0,0 +1,17 @@
+create table ACT_CLOUD_OUTBOX (
+    ID_ bigint not null generated by default as identity primary key,
+    DESTINATION_ varchar(255) not null,
+    ORDERING_KEY_ varchar(64),
+    HEADERS_ blob not null,
+    PAYLOAD_ blob not null,
+    CREATED_TIME_ timestamp not null default current timestamp
+);
+
+create table ACT_CLOUD_OUTBOX_LEASE (
+    NAME_ varchar(64) not null,
+    OWNER_ varchar(255),
+    EXPIRES_ timestamp,
+    primary key (NAME_)
+);
+
+insert into ACT_CLOUD_OUTBOX_LEASE (NAME_, OWNER_, EXPIRES_) values ('relay', null, null);
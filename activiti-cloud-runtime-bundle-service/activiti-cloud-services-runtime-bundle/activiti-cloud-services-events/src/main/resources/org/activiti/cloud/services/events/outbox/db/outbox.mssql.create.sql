@@ -0,0 +1,17 @@
+create table ACT_CLOUD_OUTBOX (
+    ID_ bigint identity(1,1) primary key,
+    DESTINATION_ nvarchar(255) not null,
+    ORDERING_KEY_ nvarchar(64),
+    HEADERS_ varbinary(max) not null,
+    PAYLOAD_ varbinary(max) not null,
+    CREATED_TIME_ datetime2 default current_timestamp not null
+);
+
+create table ACT_CLOUD_OUTBOX_LEASE (
+    NAME_ nvarchar(64) not null,
+    OWNER_ nvarchar(255),
+    EXPIRES_ datetime2,
+    primary key (NAME_)
+);
+
+insert into ACT_CLOUD_OUTBOX_LEASE (NAME_, OWNER_, EXPIRES_) values ('relay', null, null);
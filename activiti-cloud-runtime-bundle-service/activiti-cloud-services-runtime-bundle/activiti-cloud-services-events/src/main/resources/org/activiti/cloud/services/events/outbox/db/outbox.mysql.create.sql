@@ -0,0 +1,17 @@
+create table ACT_CLOUD_OUTBOX (
+    ID_ bigint not null auto_increment primary key,
+    DESTINATION_ varchar(255) not null,
+    ORDERING_KEY_ varchar(64),
+    HEADERS_ longblob not null,
+    PAYLOAD_ longblob not null,
+    CREATED_TIME_ timestamp(3) not null default current_timestamp(3)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+create table ACT_CLOUD_OUTBOX_LEASE (
+    NAME_ varchar(64) not null,
+    OWNER_ varchar(255),
+    EXPIRES_ timestamp(3) null,
+    primary key (NAME_)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8 COLLATE utf8_bin;
+
+insert into ACT_CLOUD_OUTBOX_LEASE (NAME_, OWNER_, EXPIRES_) values ('relay', null, null);
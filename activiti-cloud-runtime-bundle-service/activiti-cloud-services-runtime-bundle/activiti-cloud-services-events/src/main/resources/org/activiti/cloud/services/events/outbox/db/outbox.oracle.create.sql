@@ -0,0 +1,17 @@
+create table ACT_CLOUD_OUTBOX (
+    ID_ NUMBER(19) generated by default as identity primary key,
+    DESTINATION_ NVARCHAR2(255) not null,
+    ORDERING_KEY_ NVARCHAR2(64),
+    HEADERS_ BLOB not null,
+    PAYLOAD_ BLOB not null,
+    CREATED_TIME_ TIMESTAMP WITH TIME ZONE default CURRENT_TIMESTAMP not null
+);
+
+create table ACT_CLOUD_OUTBOX_LEASE (
+    NAME_ NVARCHAR2(64) not null,
+    OWNER_ NVARCHAR2(255),
+    EXPIRES_ TIMESTAMP WITH TIME ZONE,
+    primary key (NAME_)
+);
+
+insert into ACT_CLOUD_OUTBOX_LEASE (NAME_, OWNER_, EXPIRES_) values ('relay', null, null);
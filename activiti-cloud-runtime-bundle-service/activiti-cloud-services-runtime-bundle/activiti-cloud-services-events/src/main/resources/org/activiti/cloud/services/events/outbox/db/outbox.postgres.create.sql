@@ -0,0 +1,17 @@
+create table ACT_CLOUD_OUTBOX (
+    ID_ bigserial primary key,
+    DESTINATION_ varchar(255) not null,
+    ORDERING_KEY_ varchar(64),
+    HEADERS_ bytea not null,
+    PAYLOAD_ bytea not null,
+    CREATED_TIME_ timestamptz default current_timestamp not null
+);
+
+create table ACT_CLOUD_OUTBOX_LEASE (
+    NAME_ varchar(64) not null,
+    OWNER_ varchar(255),
+    EXPIRES_ timestamptz,
+    primary key (NAME_)
+);
+
+insert into ACT_CLOUD_OUTBOX_LEASE (NAME_, OWNER_, EXPIRES_) values ('relay', null, null);
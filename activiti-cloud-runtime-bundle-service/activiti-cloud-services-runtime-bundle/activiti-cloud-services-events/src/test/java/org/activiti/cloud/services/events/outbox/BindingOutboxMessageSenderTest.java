@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.cloud.stream.binding.BindingService;
+import org.springframework.cloud.stream.config.BindingServiceProperties;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.core.DestinationResolutionException;
+
+@ExtendWith(MockitoExtension.class)
+public class BindingOutboxMessageSenderTest {
+
+    @Mock
+    private BeanFactory beanFactory;
+
+    @Mock
+    private BindingService bindingService;
+
+    @Mock
+    private StreamBridge streamBridge;
+
+    private final BindingServiceProperties bindingServiceProperties = new BindingServiceProperties();
+
+    @Mock
+    private MessageChannel auditProducer;
+
+    @Captor
+    private ArgumentCaptor<Message<?>> messageCaptor;
+
+    private BindingOutboxMessageSender messageSender;
+
+    @BeforeEach
+    public void setUp() {
+        messageSender = new BindingOutboxMessageSender(beanFactory, bindingService, streamBridge, new ObjectMapper());
+    }
+
+    @Test
+    public void should_sendJsonPayloadAsATreeWithoutContentType() {
+        //given
+        given(bindingService.getProducerBindingNames()).willReturn(new String[] { "auditProducer" });
+        given(beanFactory.getBean("auditProducer", MessageChannel.class)).willReturn(auditProducer);
+        given(auditProducer.send(any())).willReturn(true);
+
+        //when
+        messageSender.send(
+            new OutboxMessage(
+                1L,
+                "auditProducer",
+                "processA",
+                Map.of(OutboxRepository.JSON_PAYLOAD, true, "routingKey", "engineEvents"),
+                "[{\"eventType\":\"PROCESS_STARTED\"}]".getBytes(StandardCharsets.UTF_8)
+            )
+        );
+
+        //then
+        verify(auditProducer).send(messageCaptor.capture());
+        Message<?> message = messageCaptor.getValue();
+        assertThat(message.getPayload()).isInstanceOf(JsonNode.class);
+        assertThat(((JsonNode) message.getPayload()).get(0).get("eventType").asText()).isEqualTo("PROCESS_STARTED");
+        assertThat(message.getHeaders())
+            .containsEntry("routingKey", "engineEvents")
+            .doesNotContainKeys(OutboxRepository.JSON_PAYLOAD, MessageHeaders.CONTENT_TYPE);
+    }
+
+    @Test
+    public void should_sendSerializedPayloadAsIs() {
+        //given
+        given(bindingService.getProducerBindingNames()).willReturn(new String[] { "auditProducer" });
+        given(bindingService.getBindingServiceProperties()).willReturn(bindingServiceProperties);
+        given(streamBridge.send(eq("payment"), any())).willReturn(true);
+        byte[] payload = { 1, 2 };
+
+        //when
+        messageSender.send(
+            new OutboxMessage(
+                1L,
+                "payment",
+                "processA",
+                Map.of(MessageHeaders.CONTENT_TYPE, "application/octet-stream"),
+                payload
+            )
+        );
+
+        //then
+        verify(streamBridge).send(eq("payment"), messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getPayload()).isSameAs(payload);
+        assertThat(messageCaptor.getValue().getHeaders())
+            .containsEntry(MessageHeaders.CONTENT_TYPE, "application/octet-stream");
+    }
+
+    @Test
+    public void should_notSendToChannelBeansThatAreNotProducerBindings() {
+        //given
+        given(bindingService.getProducerBindingNames()).willReturn(new String[] { "auditProducer" });
+        given(bindingService.getBindingServiceProperties()).willReturn(bindingServiceProperties);
+        given(streamBridge.send(eq("errorChannel"), any())).willReturn(true);
+
+        //when
+        messageSender.send(new OutboxMessage(1L, "errorChannel", "processA", Map.of(), new byte[] { 1 }));
+
+        //then
+        verify(beanFactory, never()).getBean(eq("errorChannel"), eq(MessageChannel.class));
+        verify(streamBridge).send(eq("errorChannel"), any());
+    }
+
+    @Test
+    public void should_rejectUnknownDestinations_when_dynamicDestinationsAreRestricted() {
+        //given
+        bindingServiceProperties.setDynamicDestinations(new String[] { "payment" });
+        given(bindingService.getProducerBindingNames()).willReturn(new String[] { "auditProducer" });
+        given(bindingService.getBindingServiceProperties()).willReturn(bindingServiceProperties);
+
+        //when
+        Throwable thrown = catchThrowable(() ->
+            messageSender.send(new OutboxMessage(1L, "unknown", "processA", Map.of(), new byte[] { 1 }))
+        );
+
+        //then
+        assertThat(thrown).isInstanceOf(DestinationResolutionException.class).hasMessageContaining("unknown");
+        verifyNoInteractions(streamBridge);
+    }
+}
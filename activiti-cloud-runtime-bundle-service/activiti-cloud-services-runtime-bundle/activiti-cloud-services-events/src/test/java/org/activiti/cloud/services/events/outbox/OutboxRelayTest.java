@@ -0,0 +1,186 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.MessageDeliveryException;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+
+    @Mock
+    private OutboxRepository outboxRepository;
+
+    private final List<Long> sentMessages = Collections.synchronizedList(new ArrayList<>());
+
+    private final OutboxProperties properties = new OutboxProperties();
+
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    public void setUp() {
+        properties.setBatchSize(10);
+        properties.setParallelism(2);
+        outboxRelay =
+            new OutboxRelay(
+                outboxRepository,
+                message -> {
+                    if ("failing".equals(message.getDestination())) {
+                        throw new MessageDeliveryException("broker unavailable");
+                    }
+                    sentMessages.add(message.getId());
+                },
+                properties
+            );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        outboxRelay.stop();
+    }
+
+    @Test
+    public void should_publishMessagesOfAProcessInstanceInOrder() {
+        //given
+        given(outboxRepository.acquireLease(anyString(), any())).willReturn(true);
+        given(outboxRepository.findNext(anyInt(), any()))
+            .willReturn(
+                List.of(
+                    message(1, "auditProducer", "processA"),
+                    message(2, "auditProducer", "processB"),
+                    message(3, "auditProducer", "processA"),
+                    message(4, "payment", "processB"),
+                    message(5, "auditProducer", "processA")
+                )
+            );
+
+        //when
+        int published = outboxRelay.relay();
+
+        //then
+        assertThat(published).isEqualTo(5);
+        assertThat(sentMessages).containsExactlyInAnyOrder(1L, 2L, 3L, 4L, 5L);
+        assertThat(sentMessages.stream().filter(id -> id % 2 == 1)).containsExactly(1L, 3L, 5L);
+        assertThat(outboxRelay.getPublishedMessages()).isEqualTo(5);
+        verify(outboxRepository).delete(any());
+    }
+
+    @Test
+    public void should_keepFollowingMessagesOfAProcessInstance_when_aMessageFails() {
+        //given
+        given(outboxRepository.acquireLease(anyString(), any())).willReturn(true);
+        given(outboxRepository.findNext(anyInt(), any()))
+            .willReturn(
+                List.of(
+                    message(1, "auditProducer", "processA"),
+                    message(2, "failing", "processA"),
+                    message(3, "auditProducer", "processA"),
+                    message(4, "auditProducer", "processB")
+                )
+            );
+        List<Long> deleted = new ArrayList<>();
+        doAnswer(invocation -> {
+                deleted.addAll(invocation.getArgument(0));
+                return deleted.size();
+            })
+            .when(outboxRepository)
+            .delete(any());
+
+        //when
+        int published = outboxRelay.relay();
+
+        //then
+        assertThat(published).isEqualTo(2);
+        assertThat(deleted).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(outboxRelay.getFailedMessages()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_notRelay_when_leaseIsHeldByAnotherReplica() {
+        //given
+        given(outboxRepository.acquireLease(anyString(), any())).willReturn(false);
+
+        //when
+        int published = outboxRelay.relay();
+
+        //then
+        assertThat(published).isZero();
+        verify(outboxRepository, never()).findNext(anyInt(), any());
+    }
+
+    @Test
+    public void should_leaveTheRestOfTheBatch_when_leaseCanNotBeRenewed() {
+        //given
+        outboxRelay.stop();
+        properties.setParallelism(1);
+        properties.setLeaseDuration(Duration.ZERO);
+        outboxRelay = new OutboxRelay(outboxRepository, message -> sentMessages.add(message.getId()), properties);
+        given(outboxRepository.acquireLease(anyString(), any())).willReturn(true, true, false);
+        given(outboxRepository.findNext(anyInt(), any()))
+            .willReturn(
+                List.of(
+                    message(1, "auditProducer", "processA"),
+                    message(2, "auditProducer", "processA"),
+                    message(3, "auditProducer", "processA")
+                )
+            );
+
+        //when
+        int published = outboxRelay.relay();
+
+        //then
+        assertThat(published).isEqualTo(1);
+        assertThat(sentMessages).containsExactly(1L);
+    }
+
+    @Test
+    public void should_relay_when_restartedAfterStop() {
+        //given
+        given(outboxRepository.acquireLease(anyString(), any())).willReturn(true);
+        given(outboxRepository.findNext(anyInt(), any())).willReturn(List.of(message(1, "auditProducer", "processA")));
+        outboxRelay.stop();
+
+        //when
+        outboxRelay.start();
+        int published = outboxRelay.relay();
+
+        //then
+        assertThat(published).isEqualTo(1);
+    }
+
+    private OutboxMessage message(long id, String destination, String orderingKey) {
+        return new OutboxMessage(id, destination, orderingKey, Map.of(), new byte[0]);
+    }
+}
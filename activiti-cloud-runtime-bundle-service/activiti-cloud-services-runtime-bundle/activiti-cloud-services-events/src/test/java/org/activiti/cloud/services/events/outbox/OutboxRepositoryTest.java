@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.events.outbox;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.events.message.ExecutionContextMessageHeaders;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+public class OutboxRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private OutboxRepository outboxRepository;
+
+    @BeforeEach
+    public void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        outboxRepository = new OutboxRepository(jdbcTemplate, new ObjectMapper());
+        outboxRepository.initializeSchema(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.execute("drop all objects");
+    }
+
+    @Test
+    public void should_storeMessagesInTheOrderTheyWereWritten() {
+        //given
+        outboxRepository.save(
+            "auditProducer",
+            MessageBuilder
+                .withPayload(List.of(Map.of("eventType", "PROCESS_STARTED")))
+                .setHeader(ExecutionContextMessageHeaders.ROOT_PROCESS_INSTANCE_ID, "rootProcessInstanceId")
+                .setHeader("routingKey", "engineEvents.rb.app")
+                .build()
+        );
+        outboxRepository.save(
+            "payment",
+            MessageBuilder
+                .withPayload(Map.of("id", "integrationContextId"))
+                .setHeader(OutboxRepository.PROCESS_INSTANCE_ID, "processInstanceId")
+                .build()
+        );
+
+        //when
+        List<OutboxMessage> messages = outboxRepository.findNext(10, Duration.ZERO);
+
+        //then
+        assertThat(messages)
+            .extracting(OutboxMessage::getDestination, OutboxMessage::getOrderingKey)
+            .containsExactly(
+                tuple("auditProducer", "rootProcessInstanceId"),
+                tuple("payment", "processInstanceId")
+            );
+        assertThat(messages.get(0).getHeaders())
+            .containsEntry("routingKey", "engineEvents.rb.app")
+            .containsEntry(OutboxRepository.JSON_PAYLOAD, true)
+            .doesNotContainKeys("id", "timestamp");
+        assertThat(new String(messages.get(0).getPayload())).isEqualTo("[{\"eventType\":\"PROCESS_STARTED\"}]");
+    }
+
+    @Test
+    public void should_keepSerializedPayloadWithItsContentType() {
+        //given
+        outboxRepository.save(
+            "auditProducer",
+            MessageBuilder
+                .withPayload(new byte[] { 1, 2 })
+                .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM)
+                .build()
+        );
+
+        //when
+        OutboxMessage message = outboxRepository.findNext(1, Duration.ZERO).get(0);
+
+        //then
+        assertThat(message.getPayload()).containsExactly(1, 2);
+        assertThat(message.getHeaders())
+            .containsEntry(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_OCTET_STREAM_VALUE)
+            .doesNotContainKey(OutboxRepository.JSON_PAYLOAD);
+    }
+
+    @Test
+    public void should_notReturnMessagesWrittenWithinTheVisibilityDelay() {
+        //given
+        outboxRepository.save("auditProducer", MessageBuilder.withPayload("recent").build());
+
+        //when
+        List<OutboxMessage> messages = outboxRepository.findNext(10, Duration.ofMinutes(1));
+
+        //then
+        assertThat(messages).isEmpty();
+        assertThat(outboxRepository.findNext(10, Duration.ZERO)).hasSize(1);
+    }
+
+    @Test
+    public void should_deletePublishedMessages() {
+        //given
+        outboxRepository.save("auditProducer", MessageBuilder.withPayload("first").build());
+        outboxRepository.save("auditProducer", MessageBuilder.withPayload("second").build());
+        OutboxMessage first = outboxRepository.findNext(1, Duration.ZERO).get(0);
+
+        //when
+        int deleted = outboxRepository.delete(List.of(first.getId()));
+
+        //then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(outboxRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_grantTheLeaseToASingleOwner() {
+        //when
+        boolean firstOwner = outboxRepository.acquireLease("first", Duration.ofMinutes(1));
+        boolean secondOwner = outboxRepository.acquireLease("second", Duration.ofMinutes(1));
+        boolean renewed = outboxRepository.acquireLease("first", Duration.ofMinutes(1));
+
+        //then
+        assertThat(firstOwner).isTrue();
+        assertThat(secondOwner).isFalse();
+        assertThat(renewed).isTrue();
+    }
+
+    @Test
+    public void should_grantTheLease_when_itIsReleased() {
+        //given
+        outboxRepository.acquireLease("first", Duration.ofMinutes(1));
+
+        //when
+        outboxRepository.releaseLease("first");
+
+        //then
+        assertThat(outboxRepository.acquireLease("second", Duration.ofMinutes(1))).isTrue();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessagingException;
+
+/**
+ * Handles the batched job messages published when {@link JobMessageBatchProperties#isEnabled()}: the jobs of a
+ * message are looked up in a single command and executed on a {@link JobMessageBatchExecutor}, the jobs of a process
+ * instance one after the other. Messages holding a single job are handled as before.
+ * <p>
+ * A job failing in the process engine is handled by the engine, which records the failure and retries the job with a
+ * new job message, so the other jobs of the message are not affected. The message fails, and the broker redelivers
+ * it, only when a job failure could not be handled. The jobs of the message already executed do not exist anymore at
+ * that point: they are dropped from the redelivered message and only the jobs left are executed again.
+ */
+public class BatchJobMessageHandler extends JobMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchJobMessageHandler.class);
+
+    static final String JOB_ID_SEPARATOR = ",";
+
+    private final ProcessEngineConfigurationImpl processEngineConfiguration;
+    private final JobMessageBatchExecutor jobMessageBatchExecutor;
+
+    public BatchJobMessageHandler(
+        ProcessEngineConfigurationImpl processEngineConfiguration,
+        JobMessageBatchExecutor jobMessageBatchExecutor
+    ) {
+        super(processEngineConfiguration);
+        this.processEngineConfiguration = processEngineConfiguration;
+        this.jobMessageBatchExecutor = jobMessageBatchExecutor;
+    }
+
+    @Override
+    public void handleMessage(Message<?> message) throws MessagingException {
+        if (!message.getHeaders().containsKey(JobMessageHeaders.JOB_BATCH_SIZE)) {
+            super.handleMessage(message);
+            return;
+        }
+
+        logger.debug("Handling batched job message: {} ", message);
+
+        try {
+            List<String> jobIds = Arrays.asList(new String((byte[]) message.getPayload()).split(JOB_ID_SEPARATOR));
+
+            logger.info("Received batched job message with {} jobs", jobIds.size());
+
+            List<JobEntity> jobs = findJobsByIds(jobIds);
+            if (jobs.size() < jobIds.size()) {
+                logger.info(
+                    "{} jobs of the batch do not exist anymore and have been dropped",
+                    jobIds.size() - jobs.size()
+                );
+            }
+
+            Long sentTime = message.getHeaders().get(JobMessageHeaders.JOB_BATCH_SENT_TIME, Long.class);
+            jobMessageBatchExecutor.execute(
+                sentTime != null ? sentTime : 0,
+                jobs,
+                BatchJobMessageHandler::groupKey,
+                this::executeJob
+            );
+        } catch (CompletionException cause) {
+            logger.error("Exception '{}' when executing batched job message {}", cause.getMessage(), message);
+
+            throw new ActivitiException("Exception when handling message from job queue", cause.getCause());
+        } catch (Exception cause) {
+            logger.error("Exception '{}' when handling batched job message {}", cause.getMessage(), message);
+
+            throw new ActivitiException("Exception when handling message from job queue", cause);
+        }
+    }
+
+    /**
+     * Looks up the jobs of a batch in a single command. Jobs that do not exist anymore, for instance because another
+     * replica already executed them, are left out.
+     */
+    public List<JobEntity> findJobsByIds(List<String> jobIds) {
+        return processEngineConfiguration
+            .getCommandExecutor()
+            .execute(commandContext ->
+                jobIds
+                    .stream()
+                    .map(jobId -> commandContext.getJobEntityManager().findById(jobId))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList())
+            );
+    }
+
+    private static String groupKey(JobEntity job) {
+        return job.getProcessInstanceId() != null ? job.getProcessInstanceId() : job.getId();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.job.executor;
 
+import java.util.ArrayList;
+import java.util.List;
 import org.activiti.engine.runtime.Job;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,15 +38,26 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
     private final StreamBridge streamBridge;
     private final ApplicationEventPublisher eventPublisher;
     private final JobMessageBuilderFactory jobMessageBuilderFactory;
+    private final JobMessageBatchProperties batchProperties;
 
     public DefaultJobMessageProducer(
         StreamBridge streamBridge,
         ApplicationEventPublisher eventPublisher,
         JobMessageBuilderFactory jobMessageBuilderFactory
+    ) {
+        this(streamBridge, eventPublisher, jobMessageBuilderFactory, new JobMessageBatchProperties());
+    }
+
+    public DefaultJobMessageProducer(
+        StreamBridge streamBridge,
+        ApplicationEventPublisher eventPublisher,
+        JobMessageBuilderFactory jobMessageBuilderFactory,
+        JobMessageBatchProperties batchProperties
     ) {
         this.streamBridge = streamBridge;
         this.eventPublisher = eventPublisher;
         this.jobMessageBuilderFactory = jobMessageBuilderFactory;
+        this.batchProperties = batchProperties;
     }
 
     @Override
@@ -56,6 +69,12 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
         Assert.hasLength(job.getId(), "job id must not be empty");
         Assert.hasLength(destination, "destination must not be empty");
 
+        if (batchProperties.isEnabled()) {
+            // Let's send the ids of all the jobs of the transaction in batched messages after the commit.
+            jobMessageBatch(destination).add(job.getId());
+            return;
+        }
+
         Message<String> message = jobMessageBuilderFactory
             .create(job)
             .withPayload(job.getId())
@@ -68,6 +87,36 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
         );
     }
 
+    private JobMessageBatchSynchronization jobMessageBatch(String destination) {
+        String resourceKey = JobMessageBatchSynchronization.class.getName() + "." + destination;
+        Object resource = TransactionSynchronizationManager.getResource(resourceKey);
+        JobMessageBatchSynchronization batch = (JobMessageBatchSynchronization) resource;
+        if (batch == null) {
+            batch = new JobMessageBatchSynchronization(resourceKey, destination);
+            TransactionSynchronizationManager.bindResource(resourceKey, batch);
+            TransactionSynchronizationManager.registerSynchronization(batch);
+        }
+        return batch;
+    }
+
+    private void send(Message<String> message, String destination) {
+        logger.debug("Sending job message '{}' via stream bridge to: {}", message, destination);
+
+        try {
+            boolean sent = streamBridge.send(destination, message);
+
+            if (!sent) {
+                throw new MessageDispatchingException(message);
+            }
+
+            eventPublisher.publishEvent(new JobMessageSentEvent(message, destination));
+        } catch (Exception cause) {
+            logger.error("Sending job message {} failed due to error: {}", message, cause.getMessage());
+
+            eventPublisher.publishEvent(new JobMessageFailedEvent(message, cause, destination));
+        }
+    }
+
     class JobMessageTransactionSynchronization implements TransactionSynchronization {
 
         private final String destination;
@@ -80,21 +129,45 @@ public class DefaultJobMessageProducer implements JobMessageProducer {
 
         @Override
         public void afterCommit() {
-            logger.debug("Sending job message '{}' via stream bridge to: {}", message, destination);
+            send(message, destination);
+        }
+    }
 
-            try {
-                boolean sent = streamBridge.send(destination, message);
+    class JobMessageBatchSynchronization implements TransactionSynchronization {
 
-                if (!sent) {
-                    throw new MessageDispatchingException(message);
-                }
+        private final String resourceKey;
+        private final String destination;
+        private final List<String> jobIds = new ArrayList<>();
 
-                eventPublisher.publishEvent(new JobMessageSentEvent(message, destination));
-            } catch (Exception cause) {
-                logger.error("Sending job message {} failed due to error: {}", message, cause.getMessage());
+        public JobMessageBatchSynchronization(String resourceKey, String destination) {
+            this.resourceKey = resourceKey;
+            this.destination = destination;
+        }
 
-                eventPublisher.publishEvent(new JobMessageFailedEvent(message, cause, destination));
+        void add(String jobId) {
+            jobIds.add(jobId);
+        }
+
+        @Override
+        public void afterCommit() {
+            int batchSize = Math.max(1, batchProperties.getMaxJobsPerMessage());
+            for (int start = 0; start < jobIds.size(); start += batchSize) {
+                List<String> batch = jobIds.subList(start, Math.min(start + batchSize, jobIds.size()));
+                Message<String> message = jobMessageBuilderFactory
+                    .createBatch()
+                    .withPayload(String.join(BatchJobMessageHandler.JOB_ID_SEPARATOR, batch))
+                    .setHeader(ROUTING_KEY, destination)
+                    .setHeader(JobMessageHeaders.JOB_BATCH_SIZE, batch.size())
+                    .setHeader(JobMessageHeaders.JOB_BATCH_SENT_TIME, System.currentTimeMillis())
+                    .build();
+
+                send(message, destination);
             }
         }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(resourceKey);
+        }
     }
 }
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.activiti.cloud.common.messaging.concurrent.MessagingExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the jobs of a batched job message and keeps statistics about the executed batches. The jobs are grouped,
+ * by process instance for instance: the jobs of a group are executed one after the other in the order of the batch,
+ * and at most {@link JobMessageBatchProperties#getParallelism()} groups are executed at the same time.
+ */
+public class JobMessageBatchExecutor implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(JobMessageBatchExecutor.class);
+
+    private final ExecutorService executorService;
+    private final Semaphore permits;
+    private final AtomicLong executedBatches = new AtomicLong();
+    private final AtomicLong executedJobs = new AtomicLong();
+    private final AtomicLong failedJobs = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long lastExecutionMillis;
+
+    public JobMessageBatchExecutor(JobMessageBatchProperties properties) {
+        int parallelism = Math.max(1, properties.getParallelism());
+        this.permits = new Semaphore(parallelism);
+        this.executorService =
+            properties.isVirtualThreads() ? virtualThreadExecutor(parallelism) : fixedThreadPool(parallelism);
+    }
+
+    /**
+     * Executes the given jobs and waits until all of them are done. A failing job does not stop the execution of the
+     * next jobs of its group.
+     *
+     * @param sentTime the time the job message was sent, used to report the lag of the batch
+     * @param groupKey the key of the group of a job, the jobs of a group are never executed at the same time
+     * @throws CompletionException wrapping the first failure, once all the jobs are done
+     */
+    public <T> void execute(long sentTime, List<T> jobs, Function<T, String> groupKey, Consumer<T> jobRunner) {
+        long start = System.currentTimeMillis();
+        if (sentTime > 0) {
+            lastLagMillis = Math.max(0, start - sentTime);
+        }
+
+        Map<String, List<T>> groups = jobs
+            .stream()
+            .collect(Collectors.groupingBy(groupKey, LinkedHashMap::new, Collectors.toList()));
+        CompletableFuture<?>[] executions = groups
+            .values()
+            .stream()
+            .map(group -> CompletableFuture.runAsync(() -> run(group, jobRunner), executorService))
+            .toArray(CompletableFuture[]::new);
+        try {
+            CompletableFuture.allOf(executions).join();
+        } finally {
+            executedBatches.incrementAndGet();
+            lastExecutionMillis = System.currentTimeMillis() - start;
+        }
+    }
+
+    private <T> void run(List<T> group, Consumer<T> jobRunner) {
+        RuntimeException failure = null;
+        permits.acquireUninterruptibly();
+        try {
+            for (T job : group) {
+                try {
+                    jobRunner.accept(job);
+                    executedJobs.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failedJobs.incrementAndGet();
+                    logger.warn("Execution of job {} failed", job, e);
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+        } finally {
+            permits.release();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static ExecutorService virtualThreadExecutor(int parallelism) {
+        return MessagingExecutors
+            .virtualThreadPerTaskExecutor()
+            .orElseGet(() -> {
+                logger.warn("Virtual threads are not supported by this Java runtime, using platform threads instead");
+                return fixedThreadPool(parallelism);
+            });
+    }
+
+    private static ExecutorService fixedThreadPool(int parallelism) {
+        return MessagingExecutors.fixedThreadPool(parallelism, "job-message-batch-");
+    }
+
+    @Override
+    public void close() {
+        executorService.shutdown();
+    }
+
+    public long getExecutedBatches() {
+        return executedBatches.get();
+    }
+
+    public long getExecutedJobs() {
+        return executedJobs.get();
+    }
+
+    public long getFailedJobs() {
+        return failedJobs.get();
+    }
+
+    public long getLastLagMillis() {
+        return lastLagMillis;
+    }
+
+    public long getLastExecutionMillis() {
+        return lastExecutionMillis;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+public class JobMessageBatchMetrics implements MeterBinder {
+
+    public static final String METRIC_PREFIX = "activiti.runtime-bundle.job-executor.batch";
+
+    private final JobMessageBatchExecutor jobMessageBatchExecutor;
+
+    public JobMessageBatchMetrics(JobMessageBatchExecutor jobMessageBatchExecutor) {
+        this.jobMessageBatchExecutor = jobMessageBatchExecutor;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge
+            .builder(METRIC_PREFIX + ".lag", jobMessageBatchExecutor, JobMessageBatchExecutor::getLastLagMillis)
+            .description("Delay between the publication of the last job message and its execution")
+            .baseUnit("milliseconds")
+            .register(registry);
+        Gauge
+            .builder(
+                METRIC_PREFIX + ".execution.time",
+                jobMessageBatchExecutor,
+                JobMessageBatchExecutor::getLastExecutionMillis
+            )
+            .description("Time taken to execute the jobs of the last job message")
+            .baseUnit("milliseconds")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".batches", jobMessageBatchExecutor, JobMessageBatchExecutor::getExecutedBatches)
+            .description("Number of batched job messages executed")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".jobs", jobMessageBatchExecutor, JobMessageBatchExecutor::getExecutedJobs)
+            .description("Number of jobs of batched job messages executed")
+            .register(registry);
+        FunctionCounter
+            .builder(METRIC_PREFIX + ".failed", jobMessageBatchExecutor, JobMessageBatchExecutor::getFailedJobs)
+            .description("Number of jobs of batched job messages that failed")
+            .register(registry);
+    }
+}
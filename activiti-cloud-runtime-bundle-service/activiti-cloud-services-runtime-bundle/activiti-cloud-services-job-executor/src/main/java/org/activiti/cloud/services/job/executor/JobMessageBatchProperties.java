@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "activiti.cloud.runtime-bundle.job-executor.batch")
+public class JobMessageBatchProperties {
+
+    /**
+     * Whether the jobs created in a transaction are published in batched job messages, and job messages are executed
+     * on a bounded executor. All the runtime bundle replicas consuming the job messages must enable it.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of job ids published in one job message.
+     */
+    private int maxJobsPerMessage = 100;
+
+    /**
+     * Maximum number of jobs of a job message executed at the same time.
+     */
+    private int parallelism = 8;
+
+    /**
+     * Whether the jobs are executed on virtual threads, when the Java runtime supports them. The number of jobs
+     * executed at the same time is still limited by the parallelism.
+     */
+    private boolean virtualThreads = false;
+
+    public JobMessageBatchProperties() {
+        // default constructor
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxJobsPerMessage() {
+        return maxJobsPerMessage;
+    }
+
+    public void setMaxJobsPerMessage(int maxJobsPerMessage) {
+        this.maxJobsPerMessage = maxJobsPerMessage;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+}
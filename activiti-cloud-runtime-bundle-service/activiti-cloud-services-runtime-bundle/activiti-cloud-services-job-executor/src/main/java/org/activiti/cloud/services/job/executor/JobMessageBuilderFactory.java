@@ -33,4 +33,8 @@ public class JobMessageBuilderFactory {
             .chain(new RuntimeBundleInfoMessageBuilderAppender(properties))
             .chain(new JobMessageBuilderAppender(job));
     }
+
+    public MessageBuilderAppenderChain createBatch() {
+        return new MessageBuilderAppenderChain().chain(new RuntimeBundleInfoMessageBuilderAppender(properties));
+    }
 }
@@ -32,4 +32,6 @@ public final class JobMessageHeaders {
     public static final String JOB_EXCEPTION_MESSAGE = "jobExceptionMessage";
     public static final String JOB_HANDLER_TYPE = "jobHandlerType";
     public static final String JOB_HANDLER_CONFIGURATION = "jobHandlerConfiguration";
+    public static final String JOB_BATCH_SIZE = "jobBatchSize";
+    public static final String JOB_BATCH_SENT_TIME = "jobBatchSentTime";
 }
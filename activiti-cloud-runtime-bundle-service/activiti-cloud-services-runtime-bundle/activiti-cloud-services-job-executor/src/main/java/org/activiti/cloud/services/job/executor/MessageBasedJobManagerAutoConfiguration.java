@@ -17,21 +17,26 @@ package org.activiti.cloud.services.job.executor;
 
 import org.activiti.cloud.common.messaging.config.ActivitiMessagingDestinationsAutoConfiguration;
 import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.stream.binding.BindingService;
 import org.springframework.cloud.stream.binding.SubscribableChannelBindingTargetFactory;
 import org.springframework.cloud.stream.config.BindingServiceProperties;
 import org.springframework.cloud.stream.function.StreamBridge;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 @AutoConfiguration
 @ConditionalOnProperty(name = "spring.activiti.asyncExecutorActivate", havingValue = "true", matchIfMissing = true)
 @AutoConfigureAfter(ActivitiMessagingDestinationsAutoConfiguration.class)
+@EnableConfigurationProperties(JobMessageBatchProperties.class)
 public class MessageBasedJobManagerAutoConfiguration {
 
     @Bean
@@ -64,15 +69,33 @@ public class MessageBasedJobManagerAutoConfiguration {
     public JobMessageProducer jobMessageProducer(
         StreamBridge streamBridge,
         ApplicationEventPublisher eventPublisher,
-        JobMessageBuilderFactory jobMessageBuilderFactory
+        JobMessageBuilderFactory jobMessageBuilderFactory,
+        JobMessageBatchProperties jobMessageBatchProperties
     ) {
-        return new DefaultJobMessageProducer(streamBridge, eventPublisher, jobMessageBuilderFactory);
+        return new DefaultJobMessageProducer(
+            streamBridge,
+            eventPublisher,
+            jobMessageBuilderFactory,
+            jobMessageBatchProperties
+        );
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public JobMessageHandlerFactory jobMessageHandlerFactory() {
-        return new DefaultJobMessageHandlerFactory();
+    @ConditionalOnProperty(name = "activiti.cloud.runtime-bundle.job-executor.batch.enabled", havingValue = "true")
+    public JobMessageBatchExecutor jobMessageBatchExecutor(JobMessageBatchProperties jobMessageBatchProperties) {
+        return new JobMessageBatchExecutor(jobMessageBatchProperties);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public JobMessageHandlerFactory jobMessageHandlerFactory(
+        ObjectProvider<JobMessageBatchExecutor> jobMessageBatchExecutor
+    ) {
+        JobMessageBatchExecutor batchExecutor = jobMessageBatchExecutor.getIfAvailable();
+        return batchExecutor != null
+            ? new BatchJobMessageHandlerFactory(batchExecutor)
+            : new DefaultJobMessageHandlerFactory();
     }
 
     @Bean
@@ -92,4 +115,16 @@ public class MessageBasedJobManagerAutoConfiguration {
             jobMessageHandlerFactory
         );
     }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.binder.MeterBinder")
+    static class JobMessageBatchMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        @ConditionalOnProperty(name = "activiti.cloud.runtime-bundle.job-executor.batch.enabled", havingValue = "true")
+        public JobMessageBatchMetrics jobMessageBatchMetrics(JobMessageBatchExecutor jobMessageBatchExecutor) {
+            return new JobMessageBatchMetrics(jobMessageBatchExecutor);
+        }
+    }
 }
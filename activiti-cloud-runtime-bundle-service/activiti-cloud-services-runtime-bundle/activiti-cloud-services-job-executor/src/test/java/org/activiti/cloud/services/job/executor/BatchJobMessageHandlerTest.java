@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import org.activiti.engine.ActivitiException;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.engine.impl.interceptor.Command;
+import org.activiti.engine.impl.interceptor.CommandContext;
+import org.activiti.engine.impl.interceptor.CommandExecutor;
+import org.activiti.engine.impl.persistence.entity.JobEntity;
+import org.activiti.engine.impl.persistence.entity.JobEntityImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class BatchJobMessageHandlerTest {
+
+    @Mock
+    private ProcessEngineConfigurationImpl processEngineConfiguration;
+
+    @Mock
+    private CommandExecutor commandExecutor;
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private CommandContext commandContext;
+
+    private JobMessageBatchExecutor jobMessageBatchExecutor;
+
+    private BatchJobMessageHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        jobMessageBatchExecutor = new JobMessageBatchExecutor(new JobMessageBatchProperties());
+        given(processEngineConfiguration.getCommandExecutor()).willReturn(commandExecutor);
+        given(commandExecutor.execute(any(Command.class)))
+            .willAnswer(invocation -> invocation.<Command<?>>getArgument(0).execute(commandContext));
+
+        handler = spy(new BatchJobMessageHandler(processEngineConfiguration, jobMessageBatchExecutor));
+        doNothing().when(handler).executeJob(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobMessageBatchExecutor.close();
+    }
+
+    @Test
+    void should_executeTheJobsOfABatchedMessage() {
+        //given
+        JobEntity first = job("job-1", "procInst-1");
+        JobEntity second = job("job-2", "procInst-2");
+
+        //when
+        handler.handleMessage(batchMessage("job-1,job-2"));
+
+        //then
+        verify(handler).executeJob(first);
+        verify(handler).executeJob(second);
+    }
+
+    @Test
+    void should_dropTheJobsThatDoNotExistAnymore() {
+        //given
+        given(commandContext.getJobEntityManager().findById("job-1")).willReturn(null);
+        JobEntity remaining = job("job-2", "procInst-1");
+
+        //when
+        handler.handleMessage(batchMessage("job-1,job-2"));
+
+        //then
+        verify(handler).executeJob(remaining);
+        verify(handler).executeJob(any());
+    }
+
+    @Test
+    void should_handleAMessageWithoutBatchHeaderAsASingleJob() {
+        //given
+        JobEntity job = job("job-1", "procInst-1");
+        Message<byte[]> message = MessageBuilder.withPayload("job-1".getBytes(StandardCharsets.UTF_8)).build();
+
+        //when
+        handler.handleMessage(message);
+
+        //then
+        verify(handler).executeJob(job);
+        verify(handler, never()).findJobsByIds(any());
+    }
+
+    @Test
+    void should_failTheMessage_when_aJobFailureCouldNotBeHandled() {
+        //given
+        JobEntity failing = job("job-1", "procInst-1");
+        JobEntity next = job("job-2", "procInst-1");
+        doThrow(new IllegalStateException("failed")).when(handler).executeJob(failing);
+
+        //then
+        assertThatThrownBy(() -> handler.handleMessage(batchMessage("job-1,job-2")))
+            .isInstanceOf(ActivitiException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        verify(handler).executeJob(next);
+    }
+
+    private JobEntity job(String id, String processInstanceId) {
+        JobEntityImpl job = new JobEntityImpl();
+        job.setId(id);
+        job.setProcessInstanceId(processInstanceId);
+        given(commandContext.getJobEntityManager().findById(id)).willReturn(job);
+        return job;
+    }
+
+    private Message<byte[]> batchMessage(String jobIds) {
+        return MessageBuilder
+            .withPayload(jobIds.getBytes(StandardCharsets.UTF_8))
+            .setHeader(JobMessageHeaders.JOB_BATCH_SIZE, jobIds.split(",").length)
+            .setHeader(JobMessageHeaders.JOB_BATCH_SENT_TIME, System.currentTimeMillis())
+            .build();
+    }
+}
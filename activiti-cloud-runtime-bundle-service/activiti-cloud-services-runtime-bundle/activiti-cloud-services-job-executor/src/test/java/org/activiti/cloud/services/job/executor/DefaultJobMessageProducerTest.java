@@ -0,0 +1,133 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
+import org.activiti.engine.runtime.Job;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cloud.stream.function.StreamBridge;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.Message;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+class DefaultJobMessageProducerTest {
+
+    private static final String DESTINATION = "asyncExecutorJobs";
+
+    @Mock
+    private StreamBridge streamBridge;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<Message<String>> messageCaptor;
+
+    private DefaultJobMessageProducer producer;
+
+    @BeforeEach
+    void setUp() {
+        JobMessageBatchProperties batchProperties = new JobMessageBatchProperties();
+        batchProperties.setEnabled(true);
+        batchProperties.setMaxJobsPerMessage(2);
+        producer =
+            new DefaultJobMessageProducer(
+                streamBridge,
+                eventPublisher,
+                new JobMessageBuilderFactory(new RuntimeBundleProperties()),
+                batchProperties
+            );
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    @Test
+    void should_sendTheJobsOfATransactionInBatchedMessagesAfterCommit() {
+        //given
+        given(streamBridge.send(eq(DESTINATION), any(Message.class))).willReturn(true);
+        producer.sendMessage(DESTINATION, job("job-1"));
+        producer.sendMessage(DESTINATION, job("job-2"));
+        producer.sendMessage(DESTINATION, job("job-3"));
+        verify(streamBridge, never()).send(anyString(), any(Message.class));
+
+        //when
+        commit();
+
+        //then
+        verify(streamBridge, times(2)).send(eq(DESTINATION), messageCaptor.capture());
+        List<Message<String>> messages = messageCaptor.getAllValues();
+        assertThat(messages.stream().map(Message::getPayload).collect(Collectors.toList()))
+            .containsExactly("job-1,job-2", "job-3");
+        assertThat(messages.get(0).getHeaders()).containsEntry(JobMessageHeaders.JOB_BATCH_SIZE, 2);
+        assertThat(messages.get(1).getHeaders()).containsEntry(JobMessageHeaders.JOB_BATCH_SIZE, 1);
+        assertThat(messages.get(0).getHeaders()).containsKey(JobMessageHeaders.JOB_BATCH_SENT_TIME);
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    @Test
+    void should_notSendTheJobs_when_theTransactionRollsBack() {
+        //given
+        producer.sendMessage(DESTINATION, job("job-1"));
+
+        //when
+        TransactionSynchronizationManager
+            .getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        //then
+        verify(streamBridge, never()).send(anyString(), any(Message.class));
+        assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+    }
+
+    private void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+        synchronizations.forEach(synchronization ->
+            synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED)
+        );
+    }
+
+    private Job job(String id) {
+        Job job = mock(Job.class);
+        given(job.getId()).willReturn(id);
+        return job;
+    }
+}
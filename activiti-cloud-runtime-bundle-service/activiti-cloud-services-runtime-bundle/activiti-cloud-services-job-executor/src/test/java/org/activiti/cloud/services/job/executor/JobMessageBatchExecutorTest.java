@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.job.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JobMessageBatchExecutorTest {
+
+    private JobMessageBatchExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        JobMessageBatchProperties properties = new JobMessageBatchProperties();
+        properties.setParallelism(4);
+        executor = new JobMessageBatchExecutor(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    void should_executeAllTheJobs() {
+        //given
+        List<String> executedJobs = new CopyOnWriteArrayList<>();
+
+        //when
+        executor.execute(0, List.of("a:1", "b:1", "c:1"), JobMessageBatchExecutorTest::group, executedJobs::add);
+
+        //then
+        assertThat(executedJobs).containsExactlyInAnyOrder("a:1", "b:1", "c:1");
+        assertThat(executor.getExecutedJobs()).isEqualTo(3);
+        assertThat(executor.getExecutedBatches()).isEqualTo(1);
+    }
+
+    @Test
+    void should_executeTheJobsOfAGroupOneAfterTheOtherInOrder() {
+        //given
+        Map<String, AtomicInteger> runningJobs = new ConcurrentHashMap<>();
+        AtomicInteger maxRunningJobsOfAGroup = new AtomicInteger();
+        List<String> executedJobs = new CopyOnWriteArrayList<>();
+
+        //when
+        executor.execute(
+            0,
+            List.of("a:1", "b:1", "a:2", "b:2", "a:3"),
+            JobMessageBatchExecutorTest::group,
+            job -> {
+                AtomicInteger running = runningJobs.computeIfAbsent(group(job), key -> new AtomicInteger());
+                maxRunningJobsOfAGroup.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+                executedJobs.add(job);
+            }
+        );
+
+        //then
+        assertThat(maxRunningJobsOfAGroup).hasValue(1);
+        assertThat(executedJobs.stream().filter(job -> job.startsWith("a:"))).containsExactly("a:1", "a:2", "a:3");
+    }
+
+    @Test
+    void should_executeTheNextJobsOfAGroup_when_aJobFails() {
+        //given
+        List<String> executedJobs = new CopyOnWriteArrayList<>();
+
+        //then
+        assertThatThrownBy(() ->
+                executor.execute(
+                    0,
+                    List.of("a:1", "a:2", "a:3"),
+                    JobMessageBatchExecutorTest::group,
+                    job -> {
+                        if (job.equals("a:2")) {
+                            throw new IllegalStateException("failed");
+                        }
+                        executedJobs.add(job);
+                    }
+                )
+            )
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class);
+        assertThat(executedJobs).containsExactly("a:1", "a:3");
+        assertThat(executor.getExecutedJobs()).isEqualTo(2);
+        assertThat(executor.getFailedJobs()).isEqualTo(1);
+    }
+
+    @Test
+    void should_reportTheLagOfTheBatch() {
+        //when
+        long sentTime = System.currentTimeMillis() - 1000;
+        executor.execute(sentTime, List.of("a:1"), JobMessageBatchExecutorTest::group, job -> {});
+
+        //then
+        assertThat(executor.getLastLagMillis()).isGreaterThanOrEqualTo(1000);
+    }
+
+    private static String group(String job) {
+        return job.substring(0, job.indexOf(':'));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.activiti.cloud.services.rest.controllers.CandidateGroupAdminControlle
 import org.activiti.cloud.services.rest.controllers.CandidateGroupControllerImpl;
 import org.activiti.cloud.services.rest.controllers.CandidateUserAdminControllerImpl;
 import org.activiti.cloud.services.rest.controllers.CandidateUserControllerImpl;
+import org.activiti.cloud.services.rest.controllers.CommandAdminControllerImpl;
 import org.activiti.cloud.services.rest.controllers.ConnectorDefinitionControllerImpl;
 import org.activiti.cloud.services.rest.controllers.HomeControllerImpl;
 import org.activiti.cloud.services.rest.controllers.ProcessDefinitionAdminControllerImpl;
@@ -65,6 +66,7 @@ import org.springframework.context.annotation.Import;
         CandidateGroupControllerImpl.class,
         CandidateGroupAdminControllerImpl.class,
         ServiceTaskAdminControllerImpl.class,
+        CommandAdminControllerImpl.class,
     }
 )
 public class ServicesRestControllersAutoConfiguration {}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.rest.controllers;
+
+import org.activiti.api.model.shared.Payload;
+import org.activiti.cloud.services.api.commands.BulkCommandPayload;
+import org.activiti.cloud.services.api.commands.BulkCommandResult;
+import org.activiti.cloud.services.core.commands.CommandEndpoint;
+import org.activiti.cloud.services.rest.api.CommandAdminController;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+public class CommandAdminControllerImpl implements CommandAdminController {
+
+    private final CommandEndpoint<Payload> commandEndpoint;
+
+    public CommandAdminControllerImpl(@Qualifier("commandEndpoint") CommandEndpoint<Payload> commandEndpoint) {
+        this.commandEndpoint = commandEndpoint;
+    }
+
+    @Override
+    public BulkCommandResult executeBulk(BulkCommandPayload bulkCommandPayload) {
+        return commandEndpoint.executeBulk(bulkCommandPayload);
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.messages.events.config;
 
+import static org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME;
+
 import org.activiti.cloud.services.events.configuration.RuntimeBundleProperties;
 import org.activiti.cloud.services.messages.events.channels.MessageEventsSource;
 import org.activiti.cloud.services.messages.events.producer.BpmnMessageReceivedEventMessageProducer;
@@ -24,10 +26,12 @@ import org.activiti.cloud.services.messages.events.producer.MessageSubscriptionC
 import org.activiti.cloud.services.messages.events.producer.StartMessageDeployedEventMessageProducer;
 import org.activiti.cloud.services.messages.events.support.BpmnMessageEventMessageBuilderFactory;
 import org.activiti.cloud.services.messages.events.support.MessageEventsDispatcher;
+import org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor;
 import org.activiti.cloud.services.messages.events.support.MessageSubscriptionEventMessageBuilderFactory;
 import org.activiti.cloud.services.messages.events.support.StartMessageDeployedEventMessageBuilderFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cloud.stream.config.BindingServiceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -49,6 +53,13 @@ public class MessageEventsAutoConfiguration {
         return new MessageEventsDispatcher(messageEventsSource.messageEventsOutput(), bindingServiceProperties);
     }
 
+    @Bean(name = MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME)
+    @ConditionalOnMissingBean(name = MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME)
+    @ConditionalOnProperty(name = "activiti.cloud.messaging.partitioned", havingValue = "true")
+    public MessageEventsPartitionKeyExtractor messageEventsPartitionKeyExtractor() {
+        return new MessageEventsPartitionKeyExtractor();
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public BpmnMessageEventMessageBuilderFactory messageEventPayloadMessageBuilderFactory(
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.events.config;
+
+import static org.activiti.cloud.services.messages.events.support.MessageEventsPartitionKeyExtractor.MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME;
+import static org.springframework.core.env.StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class MessageEventsProducerEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    public static final String ACTIVITI_CLOUD_MESSAGING_PARTITIONED = "activiti.cloud.messaging.partitioned";
+    public static final String ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT = "activiti.cloud.messaging.partition-count";
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageEventsProducerEnvironmentPostProcessor.class);
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        Boolean isPartitioned = environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITIONED, Boolean.class);
+
+        // partition message events by correlation group, so that the messages service can shard the correlations
+        if (Boolean.TRUE.equals(isPartitioned)) {
+            Integer partitionCount = environment.getProperty(ACTIVITI_CLOUD_MESSAGING_PARTITION_COUNT, Integer.class);
+
+            logger.info("Configuring messageEventsOutput producer with {} partitions", partitionCount);
+
+            Map<String, Object> properties = new LinkedHashMap<>();
+
+            properties.put(
+                "spring.cloud.stream.bindings.messageEventsOutput.producer.partitionKeyExtractorName",
+                MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME
+            );
+            properties.put("spring.cloud.stream.bindings.messageEventsOutput.producer.partitionCount", partitionCount);
+
+            environment
+                .getPropertySources()
+                .addAfter(
+                    SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME,
+                    new MapPropertySource(
+                        MessageEventsProducerEnvironmentPostProcessor.class.getSimpleName(),
+                        properties
+                    )
+                );
+        }
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.messages.events.support;
+
+import static org.activiti.cloud.services.messages.events.MessageEventHeaders.MESSAGE_EVENT_CORRELATION_KEY;
+import static org.activiti.cloud.services.messages.events.MessageEventHeaders.MESSAGE_EVENT_NAME;
+
+import org.activiti.cloud.services.events.message.RuntimeBundleInfoMessageHeaders;
+import org.springframework.cloud.stream.binder.PartitionKeyExtractorStrategy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+public class MessageEventsPartitionKeyExtractor implements PartitionKeyExtractorStrategy {
+
+    public static final String MESSAGE_EVENTS_PARTITION_KEY_EXTRACTOR_NAME = "messageEventsPartitionKeyExtractor";
+
+    @Override
+    public Object extractKey(Message<?> message) {
+        // Use the same key as the messages service correlation groups, so that all the events of a correlation group
+        // are routed to the same partition and consumed by the same messages service instance
+        MessageHeaders headers = message.getHeaders();
+        String appName = headers.get(RuntimeBundleInfoMessageHeaders.APP_NAME, String.class);
+        String messageEventName = headers.get(MESSAGE_EVENT_NAME, String.class);
+        String messageCorrelationKey = headers.get(MESSAGE_EVENT_CORRELATION_KEY, String.class);
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(appName).append(":").append(messageEventName);
+
+        if (messageCorrelationKey != null) {
+            builder.append(":").append(messageCorrelationKey);
+        }
+
+        return builder.toString();
+    }
+}
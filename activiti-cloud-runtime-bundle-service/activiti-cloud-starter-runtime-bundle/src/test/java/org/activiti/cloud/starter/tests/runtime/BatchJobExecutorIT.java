@@ -0,0 +1,152 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.tests.runtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import org.activiti.cloud.services.job.executor.BatchJobMessageHandler;
+import org.activiti.cloud.services.job.executor.JobMessageBatchExecutor;
+import org.activiti.cloud.services.job.executor.JobMessageHandlerFactory;
+import org.activiti.cloud.services.test.containers.KeycloakContainerApplicationInitializer;
+import org.activiti.engine.ManagementService;
+import org.activiti.engine.RepositoryService;
+import org.activiti.engine.RuntimeService;
+import org.activiti.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.activiti.spring.SpringProcessEngineConfiguration;
+import org.activiti.spring.boot.ProcessEngineConfigurationConfigurer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ActiveProfiles(BatchJobExecutorIT.BATCH_JOB_EXECUTOR_IT)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource("classpath:application-test.properties")
+@ContextConfiguration(
+    classes = { RuntimeITConfiguration.class, BatchJobExecutorIT.BatchJobExecutorITProcessEngineConfigurer.class },
+    initializers = { KeycloakContainerApplicationInitializer.class }
+)
+@Import(TestChannelBinderConfiguration.class)
+@DirtiesContext
+public class BatchJobExecutorIT {
+
+    public static final String BATCH_JOB_EXECUTOR_IT = "BatchJobExecutorIT";
+
+    private static final String ASYNC_TASK = "asyncTask";
+
+    private static final int MAX_JOBS_PER_MESSAGE = 10;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private RepositoryService repositoryService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MessageHandler jobMessageHandler;
+
+    @Autowired
+    private JobMessageBatchExecutor jobMessageBatchExecutor;
+
+    @TestConfiguration
+    @Profile(BATCH_JOB_EXECUTOR_IT)
+    static class BatchJobExecutorITProcessEngineConfigurer implements ProcessEngineConfigurationConfigurer {
+
+        @Override
+        public void configure(SpringProcessEngineConfiguration processEngineConfiguration) {
+            processEngineConfiguration.setAsyncExecutorDefaultTimerJobAcquireWaitTime(500);
+            processEngineConfiguration.setAsyncExecutorDefaultAsyncJobAcquireWaitTime(500);
+        }
+
+        @Bean
+        public JobMessageHandlerFactory jobMessageHandlerFactory(JobMessageBatchExecutor jobMessageBatchExecutor) {
+            return new JobMessageHandlerFactory() {
+                @Override
+                public MessageHandler create(ProcessEngineConfigurationImpl configuration) {
+                    return spy(new BatchJobMessageHandler(configuration, jobMessageBatchExecutor));
+                }
+            };
+        }
+    }
+
+    @DynamicPropertySource
+    public static void batchProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.activiti.asyncExecutorActivate", () -> true);
+        registry.add("activiti.cloud.runtime-bundle.job-executor.batch.enabled", () -> true);
+        registry.add(
+            "activiti.cloud.runtime-bundle.job-executor.batch.max-jobs-per-message",
+            () -> MAX_JOBS_PER_MESSAGE
+        );
+    }
+
+    @Test
+    public void should_executeTheJobsCreatedInATransactionInBatchedMessages() {
+        //given
+        int jobCount = 30;
+        String processDefinitionId = repositoryService
+            .createProcessDefinitionQuery()
+            .processDefinitionKey(ASYNC_TASK)
+            .latestVersion()
+            .singleResult()
+            .getId();
+        long executedJobs = jobMessageBatchExecutor.getExecutedJobs();
+
+        //when
+        new TransactionTemplate(transactionManager)
+            .executeWithoutResult(status -> {
+                for (int i = 0; i < jobCount; i++) {
+                    runtimeService.createProcessInstanceBuilder().processDefinitionId(processDefinitionId).start();
+                }
+            });
+
+        //then
+        await("the async executions should complete and no more jobs should exist")
+            .untilAsserted(() -> {
+                assertThat(runtimeService.createExecutionQuery().processDefinitionKey(ASYNC_TASK).count()).isEqualTo(0);
+
+                assertThat(managementService.createJobQuery().processDefinitionId(processDefinitionId).count())
+                    .isEqualTo(0);
+            });
+
+        assertThat(jobMessageBatchExecutor.getExecutedJobs() - executedJobs).isEqualTo(jobCount);
+        verify(jobMessageHandler, atMost(jobCount / MAX_JOBS_PER_MESSAGE)).handleMessage(any(Message.class));
+    }
+}
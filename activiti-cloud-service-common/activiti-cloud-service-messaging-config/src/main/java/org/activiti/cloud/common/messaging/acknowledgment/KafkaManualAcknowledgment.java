@@ -0,0 +1,58 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.acknowledgment;
+
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+
+/**
+ * Acknowledges a message through the {@link Acknowledgment} the Kafka binder adds in manual acknowledgment mode.
+ * <p>
+ * Kafka only allows a record to be negatively acknowledged on the consumer thread, and an offset left unacknowledged
+ * would hold back the commit of every later offset of the partition. A rejected record is therefore logged and
+ * acknowledged, as the binder does by default for a record whose consumer threw.
+ */
+class KafkaManualAcknowledgment implements ManualAcknowledgment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KafkaManualAcknowledgment.class);
+
+    private final Acknowledgment acknowledgment;
+
+    KafkaManualAcknowledgment(Acknowledgment acknowledgment) {
+        this.acknowledgment = acknowledgment;
+    }
+
+    static Optional<ManualAcknowledgment> from(Message<?> message) {
+        return Optional
+            .ofNullable(message.getHeaders().get(KafkaHeaders.ACKNOWLEDGMENT, Acknowledgment.class))
+            .map(KafkaManualAcknowledgment::new);
+    }
+
+    @Override
+    public void acknowledge() {
+        acknowledgment.acknowledge();
+    }
+
+    @Override
+    public void reject() {
+        LOGGER.error("Skipping Kafka record that could not be processed");
+        acknowledgment.acknowledge();
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.acknowledgment;
+
+import java.util.Optional;
+import org.springframework.messaging.Message;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Acknowledgment of a message received by a binder running in manual acknowledgment mode. It lets a consumer hand a
+ * message over to another thread and settle it with the broker once it has actually been processed.
+ * <p>
+ * The Rabbit binder provides it with {@code acknowledge-mode: MANUAL}, the Kafka binder with {@code ack-mode: MANUAL}
+ * and {@code async-acks: true} on the listener container.
+ */
+public interface ManualAcknowledgment {
+    /**
+     * Acknowledges the message, so the broker does not deliver it again.
+     */
+    void acknowledge();
+
+    /**
+     * Rejects the message after it failed, the same way the binder rejects a message whose consumer threw: the broker
+     * dead-letters it when a dead letter queue is configured and otherwise drops it.
+     */
+    void reject();
+
+    /**
+     * Returns the manual acknowledgment of the given message, or an empty optional when the binder that received it
+     * acknowledges messages itself once the consumer returns.
+     */
+    static Optional<ManualAcknowledgment> from(Message<?> message) {
+        ClassLoader classLoader = ManualAcknowledgment.class.getClassLoader();
+
+        if (ClassUtils.isPresent("org.springframework.amqp.support.AmqpHeaders", classLoader)) {
+            Optional<ManualAcknowledgment> acknowledgment = RabbitManualAcknowledgment.from(message);
+            if (acknowledgment.isPresent()) {
+                return acknowledgment;
+            }
+        }
+        if (ClassUtils.isPresent("org.springframework.kafka.support.KafkaHeaders", classLoader)) {
+            return KafkaManualAcknowledgment.from(message);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.acknowledgment;
+
+import com.rabbitmq.client.Channel;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+
+/**
+ * Acknowledges a message through the channel and delivery tag the Rabbit binder adds in manual acknowledgment mode.
+ */
+class RabbitManualAcknowledgment implements ManualAcknowledgment {
+
+    private final Channel channel;
+    private final long deliveryTag;
+
+    RabbitManualAcknowledgment(Channel channel, long deliveryTag) {
+        this.channel = channel;
+        this.deliveryTag = deliveryTag;
+    }
+
+    static Optional<ManualAcknowledgment> from(Message<?> message) {
+        Channel channel = message.getHeaders().get(AmqpHeaders.CHANNEL, Channel.class);
+        Long deliveryTag = message.getHeaders().get(AmqpHeaders.DELIVERY_TAG, Long.class);
+
+        if (channel == null || deliveryTag == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new RabbitManualAcknowledgment(channel, deliveryTag));
+    }
+
+    @Override
+    public void acknowledge() {
+        synchronized (channel) {
+            try {
+                channel.basicAck(deliveryTag, false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void reject() {
+        synchronized (channel) {
+            try {
+                channel.basicNack(deliveryTag, false, false);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.concurrent;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Executors shared by the message consumers and relays that hand work over to their own threads. Their threads are
+ * daemon threads named after the given prefix, so they never keep the application alive and show up in thread dumps.
+ */
+public final class MessagingExecutors {
+
+    private MessagingExecutors() {}
+
+    /**
+     * Creates a factory of daemon threads named with the given prefix followed by a sequence number.
+     */
+    public static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static ExecutorService fixedThreadPool(int threads, String prefix) {
+        return Executors.newFixedThreadPool(threads, daemonThreadFactory(prefix));
+    }
+
+    public static ExecutorService cachedThreadPool(String prefix) {
+        return Executors.newCachedThreadPool(daemonThreadFactory(prefix));
+    }
+
+    /**
+     * Creates a single threaded executor whose queue can be inspected, e.g. to report its backlog. The queue holds at
+     * most the given number of tasks. Once it is full, submitting a task blocks the caller until there is room, so a
+     * consumer feeding the executor slows down to its pace instead of piling up messages in memory. Tasks are never
+     * rejected while the executor runs, so they are executed in the order they were submitted.
+     */
+    public static ThreadPoolExecutor singleThreadExecutor(String prefix, int queueCapacity) {
+        return new ThreadPoolExecutor(
+            1,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, queueCapacity)),
+            daemonThreadFactory(prefix),
+            MessagingExecutors::waitForRoom
+        );
+    }
+
+    public static ScheduledExecutorService singleThreadScheduledExecutor(String prefix) {
+        return Executors.newSingleThreadScheduledExecutor(daemonThreadFactory(prefix));
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("Executor has been shut down");
+        }
+        try {
+            executor.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for room in the executor queue", e);
+        }
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task, or returns an empty optional when the Java runtime does
+     * not support virtual threads. The services are built for Java 17, so the factory method is looked up reflectively.
+     */
+    public static Optional<ExecutorService> virtualThreadPerTaskExecutor() {
+        try {
+            return Optional.of(
+                (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null)
+            );
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+    }
+}
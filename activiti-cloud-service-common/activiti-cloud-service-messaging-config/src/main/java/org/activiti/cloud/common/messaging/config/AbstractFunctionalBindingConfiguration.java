@@ -119,6 +119,7 @@ public abstract class AbstractFunctionalBindingConfiguration implements Applicat
                 List<MessageConverter> messageConverters = new ArrayList<>();
                 JsonMapper jsonMapper = beanFactory.getBean(JsonMapper.class);
 
+                beanFactory.getBeanProvider(SmileMessageConverter.class).ifAvailable(messageConverters::add);
                 messageConverters.add(new JsonMessageConverter(jsonMapper));
                 messageConverters.add(new ByteArrayMessageConverter());
                 messageConverters.add(new StringMessageConverter());
@@ -16,13 +16,24 @@
 
 package org.activiti.cloud.common.messaging.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.activiti.cloud.common.messaging.ActivitiCloudMessagingProperties;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 
 @AutoConfiguration
 @EnableConfigurationProperties(ActivitiCloudMessagingProperties.class)
 @PropertySource("classpath:config/activiti-cloud-messaging.properties")
 @PropertySource(value = "file:config/activiti-cloud-messaging.properties", ignoreResourceNotFound = true)
-public class ActivitiCloudMessagingAutoConfiguration {}
+public class ActivitiCloudMessagingAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public SmileMessageConverter smileMessageConverter(ObjectProvider<ObjectMapper> objectMapper) {
+        return new SmileMessageConverter(objectMapper.getIfAvailable(ObjectMapper::new));
+    }
+}
@@ -90,6 +90,9 @@ public class OutputBindingConfiguration extends AbstractFunctionalBindingConfigu
                             BindingProperties bindingProperties = bindingServiceProperties.getBindingProperties(
                                 beanName
                             );
+                            String contentType = Optional
+                                .ofNullable(bindingProperties.getContentType())
+                                .orElse("application/json");
 
                             Optional
                                 .ofNullable(bindingProperties.getProducer())
@@ -103,7 +106,7 @@ public class OutputBindingConfiguration extends AbstractFunctionalBindingConfigu
 
                             InterceptableChannel.class.cast(bean)
                                 .addInterceptor(
-                                    new OutboundContentTypeConvertingInterceptor("application/json", messageConverter)
+                                    new OutboundContentTypeConvertingInterceptor(contentType, messageConverter)
                                 );
                         });
                 }
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.AbstractMessageConverter;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.util.MimeType;
+
+/**
+ * Converts message payloads to and from Smile, the binary encoding of the Jackson data model. Payloads are written
+ * with the same {@link ObjectMapper} configuration as JSON, so any type that can be sent as JSON can be sent as Smile.
+ * Property names and short string values are written once per message and back-referenced afterwards, which removes
+ * the runtime bundle information repeated by every event of an engine events message.
+ * <p>
+ * Only messages with the {@link #SMILE_MIME_TYPE} content type are converted, so that consumers can receive both JSON
+ * and Smile messages from the same destination while producers are switched over.
+ */
+public class SmileMessageConverter extends AbstractMessageConverter {
+
+    public static final String SMILE_MIME_TYPE = "application/x-jackson-smile";
+
+    private final ObjectMapper objectMapper;
+
+    public SmileMessageConverter(ObjectMapper objectMapper) {
+        super(MimeType.valueOf(SMILE_MIME_TYPE));
+        setStrictContentTypeMatch(true);
+        SmileFactory smileFactory = SmileFactory
+            .builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_NAMES)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+        this.objectMapper = objectMapper.copyWith(smileFactory);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+
+    @Override
+    protected Object convertFromInternal(Message<?> message, Class<?> targetClass, Object conversionHint) {
+        if (!(message.getPayload() instanceof byte[] payload)) {
+            return null;
+        }
+        try {
+            JavaType javaType = objectMapper.constructType(resolveType(targetClass, conversionHint));
+            return objectMapper.readValue(payload, javaType);
+        } catch (IOException e) {
+            throw new MessageConversionException(message, "Could not read Smile payload: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    protected Object convertToInternal(Object payload, MessageHeaders headers, Object conversionHint) {
+        if (payload instanceof byte[]) {
+            return payload;
+        }
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new MessageConversionException("Could not write Smile payload: " + e.getMessage(), e);
+        }
+    }
+
+    private Type resolveType(Class<?> targetClass, Object conversionHint) {
+        if (conversionHint instanceof MethodParameter methodParameter) {
+            MethodParameter parameter = methodParameter.nestedIfOptional();
+            if (Message.class.isAssignableFrom(parameter.getParameterType())) {
+                parameter = parameter.nested();
+            }
+            return GenericTypeResolver.resolveType(
+                parameter.getNestedGenericParameterType(),
+                parameter.getContainingClass()
+            );
+        }
+        if (conversionHint instanceof Type type) {
+            Class<?> hintClass = ResolvableType.forType(type).resolve();
+            if (hintClass != null && targetClass.isAssignableFrom(hintClass)) {
+                return type;
+            }
+        }
+        return targetClass;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.acknowledgment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import com.rabbitmq.client.Channel;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+class ManualAcknowledgmentTest {
+
+    @Test
+    void should_beEmpty_when_binderAcknowledgesItself() {
+        //when
+        var acknowledgment = ManualAcknowledgment.from(MessageBuilder.withPayload("payload").build());
+
+        //then
+        assertThat(acknowledgment).isEmpty();
+    }
+
+    @Test
+    void should_acknowledgeAndRejectThroughRabbitChannel() throws Exception {
+        //given
+        Channel channel = mock(Channel.class);
+        var message = MessageBuilder
+            .withPayload("payload")
+            .setHeader(AmqpHeaders.CHANNEL, channel)
+            .setHeader(AmqpHeaders.DELIVERY_TAG, 7L)
+            .build();
+
+        //when
+        ManualAcknowledgment acknowledgment = ManualAcknowledgment.from(message).orElseThrow();
+        acknowledgment.acknowledge();
+        acknowledgment.reject();
+
+        //then
+        verify(channel).basicAck(7L, false);
+        verify(channel).basicNack(7L, false, false);
+    }
+
+    @Test
+    void should_acknowledgeThroughKafkaAcknowledgment() {
+        //given
+        Acknowledgment kafkaAcknowledgment = mock(Acknowledgment.class);
+        var message = MessageBuilder
+            .withPayload("payload")
+            .setHeader(KafkaHeaders.ACKNOWLEDGMENT, kafkaAcknowledgment)
+            .build();
+
+        //when
+        ManualAcknowledgment.from(message).orElseThrow().acknowledge();
+
+        //then
+        verify(kafkaAcknowledgment).acknowledge();
+    }
+}
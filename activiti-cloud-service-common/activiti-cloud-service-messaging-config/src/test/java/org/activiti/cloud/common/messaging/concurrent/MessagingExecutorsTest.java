@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.concurrent;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class MessagingExecutorsTest {
+
+    @Test
+    void should_createNumberedDaemonThreads() {
+        //given
+        ThreadFactory threadFactory = MessagingExecutors.daemonThreadFactory("test-");
+
+        //when
+        Thread first = threadFactory.newThread(() -> {});
+        Thread second = threadFactory.newThread(() -> {});
+
+        //then
+        assertThat(first.isDaemon()).isTrue();
+        assertThat(first.getName()).isEqualTo("test-1");
+        assertThat(second.getName()).isEqualTo("test-2");
+    }
+
+    @Test
+    void should_runTasksOnNamedThreads() throws Exception {
+        //given
+        ExecutorService executor = MessagingExecutors.fixedThreadPool(2, "pool-test-");
+
+        //when
+        String threadName = executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+
+        //then
+        assertThat(threadName).startsWith("pool-test-");
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_blockTheSubmitter_when_theQueueIsFull() throws Exception {
+        //given
+        ThreadPoolExecutor executor = MessagingExecutors.singleThreadExecutor("single-test-", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> executed = new CopyOnWriteArrayList<>();
+        executor.execute(() -> await(release));
+        executor.execute(() -> executed.add(1));
+
+        //when
+        CompletableFuture<Void> blocked = CompletableFuture.runAsync(() -> executor.execute(() -> executed.add(2)));
+
+        //then
+        assertThatThrownBy(() -> blocked.get(200, TimeUnit.MILLISECONDS)).isInstanceOf(TimeoutException.class);
+        release.countDown();
+        blocked.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(executed).containsExactly(1, 2);
+    }
+
+    @Test
+    void should_returnVirtualThreadExecutor_when_runtimeSupportsIt() {
+        //given
+        boolean supported = Runtime.version().feature() >= 21;
+
+        //when
+        Optional<ExecutorService> executor = MessagingExecutors.virtualThreadPerTaskExecutor();
+
+        //then
+        assertThat(executor.isPresent()).isEqualTo(supported);
+        executor.ifPresent(ExecutorService::shutdown);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.config.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.common.messaging.config.SmileMessageConverter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Compares the encoded size and the serialization time of engine events messages encoded as JSON and as Smile.
+ * It is excluded from the default build, run it with {@code -Dgroups=benchmark -DunitTests.excludedGroups=}.
+ */
+@Tag("benchmark")
+public class SmileMessageConverterBenchmarkTest {
+
+    private static final int ITERATIONS = 20_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SmileMessageConverter converter = new SmileMessageConverter(objectMapper);
+
+    @Test
+    public void should_compareJsonAndSmileEncodings() throws Exception {
+        for (int eventsPerMessage : new int[] { 1, 10, 50 }) {
+            List<Map<String, Object>> events = SmileMessageConverterTest.engineEvents(eventsPerMessage);
+            MessageHeaders headers = SmileMessageConverterTest.smileHeaders();
+            byte[] json = objectMapper.writeValueAsBytes(events);
+            byte[] smile = (byte[]) converter.toMessage(events, headers).getPayload();
+            Message<byte[]> smileMessage = MessageBuilder.createMessage(smile, headers);
+            Object type = new ParameterizedTypeReference<List<Map<String, Object>>>() {}.getType();
+
+            long jsonWrite = time(() -> objectMapper.writeValueAsBytes(events));
+            long smileWrite = time(() -> converter.toMessage(events, headers));
+            long jsonRead = time(() -> objectMapper.readValue(json, List.class));
+            long smileRead = time(() -> converter.fromMessage(smileMessage, List.class, type));
+
+            System.out.printf(
+                "%d events: json %d bytes, write %d us, read %d us | smile %d bytes, write %d us, read %d us%n",
+                eventsPerMessage,
+                json.length,
+                jsonWrite / ITERATIONS / 1000,
+                jsonRead / ITERATIONS / 1000,
+                smile.length,
+                smileWrite / ITERATIONS / 1000,
+                smileRead / ITERATIONS / 1000
+            );
+
+            assertThat(smile.length).isLessThan(json.length);
+        }
+    }
+
+    private long time(Encoding encoding) throws Exception {
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoding.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            encoding.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface Encoding {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.common.messaging.config.test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.common.messaging.config.SmileMessageConverter;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeType;
+
+public class SmileMessageConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final SmileMessageConverter converter = new SmileMessageConverter(objectMapper);
+
+    @Test
+    public void should_convertPayloadToSmileAndBack() {
+        //given
+        List<Map<String, Object>> events = engineEvents(5);
+
+        //when
+        Message<?> message = converter.toMessage(events, smileHeaders());
+        Object converted = converter.fromMessage(
+            message,
+            List.class,
+            new ParameterizedTypeReference<List<Map<String, Object>>>() {}.getType()
+        );
+
+        //then
+        assertThat(message.getPayload()).isInstanceOf(byte[].class);
+        assertThat(converted).isEqualTo(events);
+    }
+
+    @Test
+    public void should_writeSharedValuesOnce() throws Exception {
+        //given
+        List<Map<String, Object>> events = engineEvents(20);
+
+        //when
+        byte[] smile = (byte[]) converter.toMessage(events, smileHeaders()).getPayload();
+        byte[] json = objectMapper.writeValueAsBytes(events);
+
+        //then
+        assertThat(smile.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    public void should_notConvertMessagesWithOtherContentTypes() {
+        //given
+        Message<byte[]> message = MessageBuilder
+            .withPayload("[]".getBytes())
+            .setHeader(MessageHeaders.CONTENT_TYPE, "application/json")
+            .build();
+
+        //when
+        Object converted = converter.fromMessage(message, List.class);
+
+        //then
+        assertThat(converted).isNull();
+    }
+
+    @Test
+    public void should_notConvertMessagesWithoutContentType() {
+        //given
+        Message<byte[]> message = MessageBuilder.withPayload("[]".getBytes()).build();
+
+        //when
+        Object converted = converter.fromMessage(message, List.class);
+
+        //then
+        assertThat(converted).isNull();
+        assertThat(converter.toMessage(List.of(), new MessageHeaders(Map.of()))).isNull();
+    }
+
+    static MessageHeaders smileHeaders() {
+        return new MessageHeaders(
+            Map.of(MessageHeaders.CONTENT_TYPE, MimeType.valueOf(SmileMessageConverter.SMILE_MIME_TYPE))
+        );
+    }
+
+    static List<Map<String, Object>> engineEvents(int count) {
+        List<Map<String, Object>> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> entity = new LinkedHashMap<>();
+            entity.put("id", "task-" + i);
+            entity.put("name", "Review request");
+            entity.put("status", "ASSIGNED");
+            entity.put("assignee", "hruser");
+            entity.put("processInstanceId", "process-instance-id");
+            entity.put("processDefinitionId", "reviewProcess:1:process-definition-id");
+
+            Map<String, Object> event = new LinkedHashMap<>();
+            event.put("id", "event-" + i);
+            event.put("timestamp", 1700000000000L + i);
+            event.put("eventType", "TASK_ASSIGNED");
+            event.put("entity", entity);
+            event.put("entityId", "task-" + i);
+            event.put("sequenceNumber", i);
+            event.put("messageId", "message-id");
+            event.put("appName", "default-app");
+            event.put("appVersion", "1");
+            event.put("serviceName", "rb");
+            event.put("serviceFullName", "rb");
+            event.put("serviceType", "runtime-bundle");
+            event.put("serviceVersion", "8.1.0");
+            event.put("processInstanceId", "process-instance-id");
+            event.put("processDefinitionId", "reviewProcess:1:process-definition-id");
+            event.put("processDefinitionKey", "reviewProcess");
+            event.put("processDefinitionVersion", 1);
+            event.put("businessKey", "business-key");
+            events.add(event);
+        }
+        return events;
+    }
+}
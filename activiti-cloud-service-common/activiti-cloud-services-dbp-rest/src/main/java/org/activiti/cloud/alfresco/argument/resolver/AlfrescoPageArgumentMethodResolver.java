@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.alfresco.argument.resolver;
 
+import org.activiti.cloud.alfresco.data.domain.KeysetCursor;
 import org.springframework.core.MethodParameter;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableArgumentResolver;
@@ -58,14 +59,28 @@ public class AlfrescoPageArgumentMethodResolver implements PageableArgumentResol
         );
 
         AlfrescoQueryParameters alfrescoQueryParameters = pageParameterParser.parseParameters(webRequest);
-        if (
+        if (alfrescoQueryParameters.getCursorParameter().isSet()) {
+            return new KeysetPageRequest(
+                alfrescoQueryParameters.getMaxItemsParameter().getValue(),
+                basePageable.getSort(),
+                KeysetCursor.decode(alfrescoQueryParameters.getCursorParameter().getValue())
+            );
+        } else if (
             alfrescoQueryParameters.getSkipCountParameter().isSet() ||
             alfrescoQueryParameters.getMaxItemsParameter().isSet()
         ) {
             return new AlfrescoPageRequest(
                 alfrescoQueryParameters.getSkipCountParameter().getValue(),
                 alfrescoQueryParameters.getMaxItemsParameter().getValue(),
-                basePageable
+                basePageable,
+                alfrescoQueryParameters.getCountTotalParameter().getValue()
+            );
+        } else if (alfrescoQueryParameters.getCountTotalParameter().isSet() && basePageable.isPaged()) {
+            return new AlfrescoPageRequest(
+                basePageable.getOffset(),
+                basePageable.getPageSize(),
+                basePageable,
+                alfrescoQueryParameters.getCountTotalParameter().getValue()
             );
         } else {
             return basePageable;
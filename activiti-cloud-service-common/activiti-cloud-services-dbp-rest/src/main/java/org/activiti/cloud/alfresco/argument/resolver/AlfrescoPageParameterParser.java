@@ -26,7 +26,12 @@ public class AlfrescoPageParameterParser {
     }
 
     public AlfrescoQueryParameters parseParameters(NativeWebRequest webRequest) {
-        return new AlfrescoQueryParameters(parseSkipCount(webRequest), parseMaxItems(webRequest));
+        return new AlfrescoQueryParameters(
+            parseSkipCount(webRequest),
+            parseMaxItems(webRequest),
+            parseCountTotal(webRequest),
+            parseCursor(webRequest)
+        );
     }
 
     protected MaxItemsParameter parseMaxItems(NativeWebRequest webRequest) {
@@ -50,4 +55,15 @@ public class AlfrescoPageParameterParser {
         }
         return new SkipCountParameter(isSet, skipCount);
     }
+
+    protected CountTotalParameter parseCountTotal(NativeWebRequest webRequest) {
+        String countTotalString = webRequest.getParameter("countTotal");
+        boolean isSet = countTotalString != null;
+        return new CountTotalParameter(isSet, !isSet || Boolean.parseBoolean(countTotalString));
+    }
+
+    protected CursorParameter parseCursor(NativeWebRequest webRequest) {
+        String cursor = webRequest.getParameter("cursor");
+        return new CursorParameter(cursor != null, cursor);
+    }
 }
@@ -25,11 +25,17 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
 
     private final long skipCount;
     private final Pageable pageable;
+    private final boolean countTotal;
 
     public AlfrescoPageRequest(long skipCount, int maxItems, Pageable pageable) {
+        this(skipCount, maxItems, pageable, true);
+    }
+
+    public AlfrescoPageRequest(long skipCount, int maxItems, Pageable pageable, boolean countTotal) {
         super(0, maxItems);
         this.skipCount = skipCount;
         this.pageable = pageable;
+        this.countTotal = countTotal;
     }
 
     @Override
@@ -39,7 +45,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
 
     @Override
     public AlfrescoPageRequest next() {
-        return new AlfrescoPageRequest(skipCount + getPageSize(), getPageSize(), getPageable());
+        return new AlfrescoPageRequest(skipCount + getPageSize(), getPageSize(), getPageable(), countTotal);
     }
 
     @Override
@@ -70,7 +76,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
             nextPageSize = Math.toIntExact(skipCount);
         }
 
-        return new AlfrescoPageRequest(newSkipCount, nextPageSize, getPageable());
+        return new AlfrescoPageRequest(newSkipCount, nextPageSize, getPageable(), countTotal);
     }
 
     @Override
@@ -78,7 +84,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         long remainder = skipCount % getPageSize();
         int pageSize = Math.toIntExact(remainder == 0 ? getPageSize() : remainder);
 
-        return new AlfrescoPageRequest(0, pageSize, getPageable());
+        return new AlfrescoPageRequest(0, pageSize, getPageable(), countTotal);
     }
 
     @Override
@@ -89,7 +95,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
             );
         }
 
-        return new AlfrescoPageRequest((long) pageNumber * getPageSize(), getPageSize(), getPageable());
+        return new AlfrescoPageRequest((long) pageNumber * getPageSize(), getPageSize(), getPageable(), countTotal);
     }
 
     @Override
@@ -101,6 +107,14 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         return pageable;
     }
 
+    /**
+     * Whether the total number of items has to be counted. When {@code false}, the query can skip the count query
+     * and only tell whether more items are available.
+     */
+    public boolean isCountTotal() {
+        return countTotal;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -115,7 +129,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
 
         AlfrescoPageRequest that = (AlfrescoPageRequest) o;
 
-        if (skipCount != that.skipCount) {
+        if (skipCount != that.skipCount || countTotal != that.countTotal) {
             return false;
         }
         return pageable != null ? pageable.equals(that.pageable) : that.pageable == null;
@@ -126,6 +140,7 @@ public class AlfrescoPageRequest extends AbstractPageRequest implements Pageable
         int result = super.hashCode();
         result = 31 * result + (int) (skipCount ^ (skipCount >>> 32));
         result = 31 * result + (pageable != null ? pageable.hashCode() : 0);
+        result = 31 * result + (countTotal ? 1 : 0);
         return result;
     }
 }
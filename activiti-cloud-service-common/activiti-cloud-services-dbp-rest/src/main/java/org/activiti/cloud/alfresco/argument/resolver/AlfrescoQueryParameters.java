@@ -21,9 +21,32 @@ public class AlfrescoQueryParameters {
 
     private MaxItemsParameter maxItemsParameter;
 
+    private CountTotalParameter countTotalParameter;
+
+    private CursorParameter cursorParameter;
+
     public AlfrescoQueryParameters(SkipCountParameter skipCountParameter, MaxItemsParameter maxItemsParameter) {
+        this(skipCountParameter, maxItemsParameter, new CountTotalParameter(false, true));
+    }
+
+    public AlfrescoQueryParameters(
+        SkipCountParameter skipCountParameter,
+        MaxItemsParameter maxItemsParameter,
+        CountTotalParameter countTotalParameter
+    ) {
+        this(skipCountParameter, maxItemsParameter, countTotalParameter, new CursorParameter(false, null));
+    }
+
+    public AlfrescoQueryParameters(
+        SkipCountParameter skipCountParameter,
+        MaxItemsParameter maxItemsParameter,
+        CountTotalParameter countTotalParameter,
+        CursorParameter cursorParameter
+    ) {
         this.skipCountParameter = skipCountParameter;
         this.maxItemsParameter = maxItemsParameter;
+        this.countTotalParameter = countTotalParameter;
+        this.cursorParameter = cursorParameter;
     }
 
     public SkipCountParameter getSkipCountParameter() {
@@ -33,4 +56,12 @@ public class AlfrescoQueryParameters {
     public MaxItemsParameter getMaxItemsParameter() {
         return maxItemsParameter;
     }
+
+    public CountTotalParameter getCountTotalParameter() {
+        return countTotalParameter;
+    }
+
+    public CursorParameter getCursorParameter() {
+        return cursorParameter;
+    }
 }
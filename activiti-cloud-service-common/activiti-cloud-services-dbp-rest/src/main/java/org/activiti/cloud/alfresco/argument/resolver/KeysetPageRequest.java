@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Page request for the keyset (seek) pagination mode: instead of an offset, the page starts after the position encoded
+ * in the continuation cursor returned with the previous page. No total count is computed in this mode.
+ * <p>
+ * The position of the following page depends on the last row of this one, so {@link #next()} is only available on the
+ * request held by a fetched page, see {@link #withNextPosition(KeysetScrollPosition)}. Pages reached with
+ * {@link #next()} keep a link to the request of the page before them; a request decoded from a cursor has none, as
+ * keyset pages only scroll forward, and behaves like a first page for {@link #previous()}.
+ */
+public class KeysetPageRequest extends AbstractPageRequest {
+
+    private final Sort sort;
+    private final KeysetScrollPosition position;
+    private final KeysetScrollPosition nextPosition;
+    private final KeysetPageRequest previous;
+
+    public KeysetPageRequest(int maxItems, Sort sort, KeysetScrollPosition position) {
+        this(0, maxItems, sort, position, null, null);
+    }
+
+    public KeysetPageRequest(int maxItems, Sort sort) {
+        this(maxItems, sort, ScrollPosition.keyset());
+    }
+
+    private KeysetPageRequest(
+        int pageNumber,
+        int maxItems,
+        Sort sort,
+        KeysetScrollPosition position,
+        KeysetScrollPosition nextPosition,
+        KeysetPageRequest previous
+    ) {
+        super(pageNumber, maxItems);
+        this.sort = sort;
+        this.position = position;
+        this.nextPosition = nextPosition;
+        this.previous = previous;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    public KeysetScrollPosition getPosition() {
+        return position;
+    }
+
+    public Optional<KeysetScrollPosition> getNextPosition() {
+        return Optional.ofNullable(nextPosition);
+    }
+
+    /**
+     * Returns this request with the position of the page that follows it, known once this page has been fetched.
+     */
+    public KeysetPageRequest withNextPosition(KeysetScrollPosition nextPosition) {
+        return new KeysetPageRequest(getPageNumber(), getPageSize(), sort, position, nextPosition, previous);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return previous != null;
+    }
+
+    @Override
+    public KeysetPageRequest next() {
+        if (nextPosition == null) {
+            throw new IllegalStateException(
+                "The next keyset page is only known once this page has been fetched and has more items"
+            );
+        }
+        return new KeysetPageRequest(getPageNumber() + 1, getPageSize(), sort, nextPosition, null, this);
+    }
+
+    @Override
+    public KeysetPageRequest previous() {
+        return previous != null ? previous : this;
+    }
+
+    @Override
+    public KeysetPageRequest first() {
+        return new KeysetPageRequest(getPageSize(), sort);
+    }
+
+    /**
+     * Keyset pages can not be reached by number, only this page, the first one and the pages linked to this one through
+     * {@link #next()} and {@link #previous()} can be requested.
+     */
+    @Override
+    public Pageable withPage(int pageNumber) {
+        if (pageNumber == getPageNumber()) {
+            return this;
+        }
+        if (pageNumber == 0) {
+            return first();
+        }
+        if (pageNumber == getPageNumber() + 1 && nextPosition != null) {
+            return next();
+        }
+        if (pageNumber < getPageNumber() && previous != null) {
+            return previous.withPage(pageNumber);
+        }
+        throw new IllegalArgumentException(
+            "Keyset page " + pageNumber + " can only be reached by following the cursors of the pages before it"
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        KeysetPageRequest that = (KeysetPageRequest) o;
+        return Objects.equals(sort, that.sort) && Objects.equals(position, that.position);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), sort, position);
+    }
+}
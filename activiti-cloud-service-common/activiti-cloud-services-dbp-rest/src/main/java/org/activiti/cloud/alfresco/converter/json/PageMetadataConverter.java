@@ -23,8 +23,10 @@ public class PageMetadataConverter {
 
     public PaginationMetadata toAlfrescoPageMetadata(PagedModel.PageMetadata basePageMetadata, long count) {
         long skipCount = basePageMetadata.getNumber() * basePageMetadata.getSize();
+        String nextCursor = null;
         if (basePageMetadata instanceof ExtendedPageMetadata) {
             skipCount = ((ExtendedPageMetadata) basePageMetadata).getSkipCount();
+            nextCursor = ((ExtendedPageMetadata) basePageMetadata).getNextCursor();
         }
 
         // the page number starts from zero, so it's necessary to increment by one before comparing with total pages
@@ -32,8 +34,9 @@ public class PageMetadataConverter {
             skipCount,
             basePageMetadata.getSize(),
             count,
-            basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1,
-            basePageMetadata.getTotalElements()
+            nextCursor != null || basePageMetadata.getTotalPages() > basePageMetadata.getNumber() + 1,
+            basePageMetadata.getTotalElements(),
+            nextCursor
         );
     }
 }
@@ -53,10 +53,9 @@ public class AlfrescoPagedModelAssembler<T> extends PagedResourcesAssembler<T> {
         RepresentationModelAssembler<T, R> assembler
     ) {
         PagedModel<R> pagedModel = toModel(page, assembler);
-        ExtendedPageMetadata extendedPageMetadata = extendedPageMetadataConverter.toExtendedPageMetadata(
-            pageable.getOffset(),
-            pagedModel.getMetadata()
-        );
+        ExtendedPageMetadata extendedPageMetadata = page instanceof KeysetPage<T> keysetPage
+            ? extendedPageMetadataConverter.toExtendedPageMetadata(keysetPage.getNextCursor(), pagedModel.getMetadata())
+            : extendedPageMetadataConverter.toExtendedPageMetadata(pageable.getOffset(), pagedModel.getMetadata());
         pagedModel = PagedModel.of(pagedModel.getContent(), extendedPageMetadata, pagedModel.getLinks());
 
         return pagedModel;
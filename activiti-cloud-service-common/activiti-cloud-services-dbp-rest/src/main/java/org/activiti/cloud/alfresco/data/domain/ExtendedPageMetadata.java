@@ -16,6 +16,7 @@
 package org.activiti.cloud.alfresco.data.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import org.springframework.hateoas.PagedModel;
 
 public class ExtendedPageMetadata extends PagedModel.PageMetadata {
@@ -23,12 +24,31 @@ public class ExtendedPageMetadata extends PagedModel.PageMetadata {
     @JsonIgnore
     private long skipCount;
 
+    private String nextCursor;
+
     public ExtendedPageMetadata(long skipCount, long size, long number, long totalElements, long totalPages) {
+        this(skipCount, size, number, totalElements, totalPages, null);
+    }
+
+    public ExtendedPageMetadata(
+        long skipCount,
+        long size,
+        long number,
+        long totalElements,
+        long totalPages,
+        String nextCursor
+    ) {
         super(size, number, totalElements, totalPages);
         this.skipCount = skipCount;
+        this.nextCursor = nextCursor;
     }
 
     public long getSkipCount() {
         return skipCount;
     }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -19,6 +19,17 @@ import org.springframework.hateoas.PagedModel;
 
 public class ExtendedPageMetadataConverter {
 
+    public ExtendedPageMetadata toExtendedPageMetadata(String nextCursor, PagedModel.PageMetadata basePageMetadata) {
+        return new ExtendedPageMetadata(
+            0,
+            basePageMetadata.getSize(),
+            basePageMetadata.getNumber(),
+            basePageMetadata.getTotalElements(),
+            basePageMetadata.getTotalPages(),
+            nextCursor
+        );
+    }
+
     public ExtendedPageMetadata toExtendedPageMetadata(long skipCount, PagedModel.PageMetadata basePageMetadata) {
         long totalPages = basePageMetadata.getTotalPages();
         int skipCountRemainder = Math.toIntExact(skipCount % basePageMetadata.getSize());
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+/**
+ * Encodes keyset positions into opaque, URL safe continuation cursors and back. Keys are serialized as JSON, so dates
+ * travel as epoch milliseconds and enums as their names; they are converted back to the sort property types when the
+ * cursor is used in a query.
+ */
+public final class KeysetCursor {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<LinkedHashMap<String, Object>> KEYS_TYPE = new TypeReference<>() {};
+
+    private KeysetCursor() {}
+
+    public static String encode(KeysetScrollPosition position) {
+        try {
+            byte[] keys = OBJECT_MAPPER.writeValueAsBytes(position.getKeys());
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(keys);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to encode keyset cursor", e);
+        }
+    }
+
+    public static KeysetScrollPosition decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            byte[] keys = Base64.getUrlDecoder().decode(cursor.getBytes(StandardCharsets.US_ASCII));
+            Map<String, Object> position = OBJECT_MAPPER.readValue(keys, KEYS_TYPE);
+            return ScrollPosition.forward(position);
+        } catch (IllegalArgumentException | IOException e) {
+            throw new IllegalStateException("Invalid cursor '" + cursor + "'", e);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import org.activiti.cloud.alfresco.argument.resolver.KeysetPageRequest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Window;
+
+/**
+ * Page of a keyset paginated query. It only knows about its own content, the total is not counted, and carries the
+ * cursor to request the following page, if any. Its page request knows the position of the following page, so
+ * {@link #nextPageable()} can be used to navigate.
+ */
+public class KeysetPage<T> extends PageImpl<T> {
+
+    private final String nextCursor;
+
+    public KeysetPage(Window<T> window, KeysetPageRequest pageRequest) {
+        this(window, pageRequest, nextPosition(window));
+    }
+
+    private KeysetPage(Window<T> window, KeysetPageRequest pageRequest, KeysetScrollPosition nextPosition) {
+        super(
+            window.getContent(),
+            nextPosition != null ? pageRequest.withNextPosition(nextPosition) : pageRequest,
+            pageRequest.getOffset() + window.size()
+        );
+        this.nextCursor = nextPosition != null ? KeysetCursor.encode(nextPosition) : null;
+    }
+
+    private static KeysetScrollPosition nextPosition(Window<?> window) {
+        return window.hasNext() && !window.isEmpty()
+            ? (KeysetScrollPosition) window.positionAt(window.size() - 1)
+            : null;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    @Override
+    public boolean isLast() {
+        return !hasNext();
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.alfresco.rest.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 public class PaginationMetadata {
 
     private long skipCount;
@@ -27,14 +29,28 @@ public class PaginationMetadata {
 
     private long totalItems;
 
+    private String nextCursor;
+
     public PaginationMetadata() {}
 
     public PaginationMetadata(long skipCount, long maxItems, long count, boolean hasMoreItems, long totalItems) {
+        this(skipCount, maxItems, count, hasMoreItems, totalItems, null);
+    }
+
+    public PaginationMetadata(
+        long skipCount,
+        long maxItems,
+        long count,
+        boolean hasMoreItems,
+        long totalItems,
+        String nextCursor
+    ) {
         this.skipCount = skipCount;
         this.maxItems = maxItems;
         this.count = count;
         this.hasMoreItems = hasMoreItems;
         this.totalItems = totalItems;
+        this.nextCursor = nextCursor;
     }
 
     public long getSkipCount() {
@@ -56,4 +72,9 @@ public class PaginationMetadata {
     public long getTotalItems() {
         return totalItems;
     }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public String getNextCursor() {
+        return nextCursor;
+    }
 }
@@ -21,6 +21,8 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 
 import java.util.Collections;
+import java.util.Map;
+import org.activiti.cloud.alfresco.data.domain.KeysetCursor;
 import org.activiti.test.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -28,7 +30,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -152,4 +157,50 @@ public class AlfrescoPageArgumentMethodResolverTest {
         //then
         assertThat(resolvedPageable).isEqualTo(basePageable);
     }
+
+    @Test
+    public void resolveArgumentShouldReturnAKeysetPageRequestWhenCursorIsSet() throws Exception {
+        //given
+        MethodParameter methodParameter = mock(MethodParameter.class);
+        ModelAndViewContainer modelAndViewContainer = mock(ModelAndViewContainer.class);
+        NativeWebRequest webRequest = mock(NativeWebRequest.class);
+        WebDataBinderFactory binderFactory = mock(WebDataBinderFactory.class);
+
+        Pageable basePageable = PageRequest.of(0, 100, Sort.by("name"));
+        given(
+            pageableHandlerMethodArgumentResolver.resolveArgument(
+                methodParameter,
+                modelAndViewContainer,
+                webRequest,
+                binderFactory
+            )
+        )
+            .willReturn(basePageable);
+        String cursor = KeysetCursor.encode(ScrollPosition.forward(Map.of("name", "task", "id", "1")));
+        given(pageParameterParser.parseParameters(webRequest))
+            .willReturn(
+                new AlfrescoQueryParameters(
+                    new SkipCountParameter(false, 0),
+                    new MaxItemsParameter(true, 20),
+                    new CountTotalParameter(false, true),
+                    new CursorParameter(true, cursor)
+                )
+            );
+
+        //when
+        Pageable resolvedPageable = alfrescoPageArgumentMethodResolver.resolveArgument(
+            methodParameter,
+            modelAndViewContainer,
+            webRequest,
+            binderFactory
+        );
+
+        //then
+        assertThat(resolvedPageable).isInstanceOf(KeysetPageRequest.class);
+        KeysetPageRequest keysetPageRequest = (KeysetPageRequest) resolvedPageable;
+        assertThat(keysetPageRequest.getPageSize()).isEqualTo(20);
+        assertThat(keysetPageRequest.getOffset()).isZero();
+        assertThat(keysetPageRequest.getSort()).isEqualTo(Sort.by("name"));
+        assertThat(keysetPageRequest.getPosition().getKeys()).containsEntry("name", "task").containsEntry("id", "1");
+    }
 }
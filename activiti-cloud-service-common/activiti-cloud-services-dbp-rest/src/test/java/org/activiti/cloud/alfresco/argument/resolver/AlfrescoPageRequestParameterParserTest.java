@@ -27,6 +27,7 @@ public class AlfrescoPageRequestParameterParserTest {
     private static final int DEFAULT_PAGE_SIZE = 100;
     private static final String MAX_ITEMS_KEY = "maxItems";
     private static final String SKIP_COUNT_KEY = "skipCount";
+    private static final String COUNT_TOTAL_KEY = "countTotal";
 
     private AlfrescoPageParameterParser pageParameterParser = new AlfrescoPageParameterParser(DEFAULT_PAGE_SIZE);
 
@@ -84,6 +85,30 @@ public class AlfrescoPageRequestParameterParserTest {
         assertThat(skipCount).isNotSet().hasValue(0L);
     }
 
+    @Test
+    public void parseCountTotalShouldReturnValueOfCountTotalParameter() throws Exception {
+        //given
+        NativeWebRequest request = buildRequest(COUNT_TOTAL_KEY, "false");
+
+        //when
+        CountTotalParameter countTotal = pageParameterParser.parseCountTotal(request);
+
+        //then
+        assertThat(countTotal).isSet().hasValue(false);
+    }
+
+    @Test
+    public void parseCountTotalShouldReturnTrueWhenCountTotalIsNotSet() throws Exception {
+        //given
+        NativeWebRequest request = mock(NativeWebRequest.class);
+
+        //when
+        CountTotalParameter countTotal = pageParameterParser.parseCountTotal(request);
+
+        //then
+        assertThat(countTotal).isNotSet().hasValue(true);
+    }
+
     @Test
     public void parseParametersShouldParseSkipCountAndMaxItems() throws Exception {
         //given
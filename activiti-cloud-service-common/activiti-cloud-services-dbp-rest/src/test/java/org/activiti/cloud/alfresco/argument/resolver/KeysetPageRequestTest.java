@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.argument.resolver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.alfresco.data.domain.KeysetPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+class KeysetPageRequestTest {
+
+    private static final Sort SORT = Sort.by("name");
+
+    @Test
+    void nextShouldFailWhenThePageWasNotFetched() {
+        //given
+        KeysetPageRequest pageRequest = new KeysetPageRequest(2, SORT);
+
+        //then
+        assertThat(pageRequest.getNextPosition()).isEmpty();
+        assertThatThrownBy(pageRequest::next).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void nextPageableShouldStartAfterTheLastItemOfTheFetchedPage() {
+        //given
+        KeysetPage<String> page = new KeysetPage<>(
+            windowOf(List.of("a", "b"), true),
+            new KeysetPageRequest(2, SORT)
+        );
+
+        //when
+        Pageable next = page.nextPageable();
+
+        //then
+        assertThat(page.hasNext()).isTrue();
+        assertThat(page.isLast()).isFalse();
+        assertThat(next).isInstanceOf(KeysetPageRequest.class);
+        KeysetPageRequest nextRequest = (KeysetPageRequest) next;
+        assertThat(nextRequest.getPageNumber()).isEqualTo(1);
+        assertThat(nextRequest.getPageSize()).isEqualTo(2);
+        assertThat(nextRequest.getSort()).isEqualTo(SORT);
+        assertThat(nextRequest.getPosition().getKeys()).isEqualTo(Map.of("name", "b"));
+        assertThat(nextRequest.hasPrevious()).isTrue();
+        assertThat(nextRequest.previous()).isEqualTo(page.getPageable());
+    }
+
+    @Test
+    void lastPageShouldHaveNoNextPageable() {
+        //given
+        KeysetPage<String> page = new KeysetPage<>(windowOf(List.of("a"), false), new KeysetPageRequest(2, SORT));
+
+        //then
+        assertThat(page.hasNext()).isFalse();
+        assertThat(page.isLast()).isTrue();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.nextPageable().isPaged()).isFalse();
+    }
+
+    @Test
+    void previousShouldReturnItselfWhenDecodedFromACursor() {
+        //given
+        KeysetPageRequest pageRequest = new KeysetPageRequest(2, SORT, ScrollPosition.forward(Map.of("name", "b")));
+
+        //then
+        assertThat(pageRequest.hasPrevious()).isFalse();
+        assertThat(pageRequest.previous()).isSameAs(pageRequest);
+    }
+
+    @Test
+    void withPageShouldFollowTheLinkedPages() {
+        //given
+        KeysetPageRequest first = new KeysetPageRequest(2, SORT).withNextPosition(position("b"));
+        KeysetPageRequest second = first.next().withNextPosition(position("d"));
+        KeysetPageRequest third = second.next();
+
+        //then
+        assertThat(third.withPage(2)).isSameAs(third);
+        assertThat(third.withPage(1)).isEqualTo(second);
+        assertThat(third.withPage(0)).isEqualTo(first);
+        assertThat(second.withPage(2)).isEqualTo(third);
+        assertThatThrownBy(() -> first.withPage(2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> third.withPage(3)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static KeysetScrollPosition position(String name) {
+        return ScrollPosition.forward(Map.of("name", name));
+    }
+
+    private static Window<String> windowOf(List<String> content, boolean hasNext) {
+        return Window.from(content, index -> position(content.get(index)), hasNext);
+    }
+}
@@ -66,4 +66,16 @@ public class PageMetadataConverterTest {
         //then
         assertThat(alfrescoPageMetadata).hasSkipCount(3);
     }
+
+    @Test
+    public void toAlfrescoPageMetadataShouldExposeNextCursorWhenAvailable() {
+        //given
+        ExtendedPageMetadata baseMetadata = new ExtendedPageMetadata(0, 10, 0, 10, 1, "cursor");
+
+        //when
+        PaginationMetadata alfrescoPageMetadata = converter.toAlfrescoPageMetadata(baseMetadata, 10);
+
+        //then
+        assertThat(alfrescoPageMetadata).hasNextCursor("cursor").isHasMoreItems().hasSkipCount(0);
+    }
 }
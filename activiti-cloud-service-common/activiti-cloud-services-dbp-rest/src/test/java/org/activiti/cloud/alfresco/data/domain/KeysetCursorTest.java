@@ -0,0 +1,61 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+public class KeysetCursorTest {
+
+    @Test
+    public void should_decodeTheEncodedKeys() {
+        //given
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("createdDate", new Date(1000L));
+        keys.put("name", null);
+        keys.put("id", "taskId");
+
+        //when
+        KeysetScrollPosition position = KeysetCursor.decode(KeysetCursor.encode(ScrollPosition.forward(keys)));
+
+        //then
+        assertThat(position.isInitial()).isFalse();
+        assertThat(position.getKeys())
+            .containsExactly(entry("createdDate", 1000), entry("name", null), entry("id", "taskId"));
+    }
+
+    @Test
+    public void should_returnInitialPosition_when_cursorIsEmpty() {
+        //when
+        KeysetScrollPosition position = KeysetCursor.decode("");
+
+        //then
+        assertThat(position.isInitial()).isTrue();
+    }
+
+    @Test
+    public void should_throwIllegalStateException_when_cursorIsInvalid() {
+        assertThatThrownBy(() -> KeysetCursor.decode("not a cursor")).isInstanceOf(IllegalStateException.class);
+    }
+}